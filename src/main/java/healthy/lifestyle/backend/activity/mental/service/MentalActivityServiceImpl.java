@@ -48,7 +48,7 @@ public class MentalActivityServiceImpl implements MentalActivityService {
     VerificationUtil verificationUtil;
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public MentalActivityResponseDto getMentalActivityById(long mentalId, boolean requiredDefault, Long userId) {
         MentalActivity mental = mentalRepository
                 .findById(mentalId)
@@ -80,7 +80,7 @@ public class MentalActivityServiceImpl implements MentalActivityService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public Page<MentalActivityResponseDto> getMentalActivities(
             Long userId, String sortField, String sortDirection, int currentPageNumber, int pageSize) {
 
@@ -270,7 +270,7 @@ public class MentalActivityServiceImpl implements MentalActivityService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public Page<MentalActivityResponseDto> getMentalActivitiesWithFilter(
             Boolean isCustom,
             Long userId,
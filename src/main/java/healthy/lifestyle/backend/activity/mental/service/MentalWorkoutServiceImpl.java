@@ -99,7 +99,7 @@ public class MentalWorkoutServiceImpl implements MentalWorkoutService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public MentalWorkoutResponseDto getMentalWorkoutById(long mentalWorkoutId, boolean requiredDefault, Long userId) {
 
         MentalWorkout mentalWorkout = mentalWorkoutRepository
@@ -135,7 +135,7 @@ public class MentalWorkoutServiceImpl implements MentalWorkoutService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public Page<MentalWorkoutResponseDto> getMentalWorkoutsWithFilters(
             Boolean isCustom,
             Long userId,
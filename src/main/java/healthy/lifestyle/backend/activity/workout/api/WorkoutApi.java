@@ -2,9 +2,13 @@ package healthy.lifestyle.backend.activity.workout.api;
 
 import healthy.lifestyle.backend.activity.workout.model.Exercise;
 import healthy.lifestyle.backend.activity.workout.model.Workout;
+import java.util.Collection;
+import java.util.List;
 
 public interface WorkoutApi {
     Workout getWorkoutById(long workoutId);
 
     Exercise getExerciseById(long exerciseId);
+
+    List<Workout> getWorkoutsWithExercisesByIds(Collection<Long> workoutIds);
 }
@@ -6,6 +6,8 @@ import healthy.lifestyle.backend.activity.workout.repository.ExerciseRepository;
 import healthy.lifestyle.backend.activity.workout.repository.WorkoutRepository;
 import healthy.lifestyle.backend.exception.ApiException;
 import healthy.lifestyle.backend.exception.ErrorMessage;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -31,4 +33,9 @@ public class WorkoutApiImpl implements WorkoutApi {
                 .findById(exerciseId)
                 .orElseThrow(() -> new ApiException(ErrorMessage.WORKOUT_NOT_FOUND, exerciseId, HttpStatus.NOT_FOUND));
     }
+
+    @Override
+    public List<Workout> getWorkoutsWithExercisesByIds(Collection<Long> workoutIds) {
+        return workoutRepository.findAllByIdWithExercises(workoutIds);
+    }
 }
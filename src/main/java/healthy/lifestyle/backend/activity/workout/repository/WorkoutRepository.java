@@ -1,6 +1,7 @@
 package healthy.lifestyle.backend.activity.workout.repository;
 
 import healthy.lifestyle.backend.activity.workout.model.Workout;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -9,6 +10,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface WorkoutRepository extends JpaRepository<Workout, Long> {
+    @Query("SELECT DISTINCT w FROM Workout w LEFT JOIN FETCH w.exercises WHERE w.id IN :workoutIds")
+    List<Workout> findAllByIdWithExercises(@Param("workoutIds") Collection<Long> workoutIds);
+
     @Query("SELECT w FROM Workout w WHERE w.user.id = :userId AND w.title = :title AND w.isCustom = true")
     List<Workout> findCustomByTitleAndUserId(String title, Long userId);
 
@@ -104,7 +104,7 @@ public class ExerciseServiceImpl implements ExerciseService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public ExerciseResponseDto getExerciseById(long exerciseId, boolean requiredDefault, Long userId) {
         Exercise exercise = exerciseRepository
                 .findById(exerciseId)
@@ -140,7 +140,7 @@ public class ExerciseServiceImpl implements ExerciseService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public Page<ExerciseResponseDto> getExercisesWithFilter(
             Boolean isCustom,
             Long userId,
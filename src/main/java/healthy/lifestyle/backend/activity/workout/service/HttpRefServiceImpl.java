@@ -73,7 +73,7 @@ public class HttpRefServiceImpl implements HttpRefService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public HttpRefResponseDto getCustomHttpRefById(long userId, long httpRefId) {
         HttpRef httpRef = httpRefRepository
                 .findById(httpRefId)
@@ -91,7 +91,7 @@ public class HttpRefServiceImpl implements HttpRefService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public Page<HttpRefResponseDto> getHttpRefsWithFilter(
             Boolean isCustom,
             Long userId,
@@ -10,12 +10,15 @@ import healthy.lifestyle.backend.activity.workout.repository.WorkoutRepository;
 import healthy.lifestyle.backend.exception.ApiException;
 import healthy.lifestyle.backend.exception.ApiExceptionCustomMessage;
 import healthy.lifestyle.backend.exception.ErrorMessage;
+import healthy.lifestyle.backend.plan.shared.event.PlanChangedEvent;
+import healthy.lifestyle.backend.plan.workout.model.WorkoutPlan;
 import healthy.lifestyle.backend.shared.util.VerificationUtil;
 import healthy.lifestyle.backend.user.model.User;
 import healthy.lifestyle.backend.user.service.UserService;
 import java.util.*;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -44,6 +47,9 @@ public class WorkoutServiceImpl implements WorkoutService {
     @Autowired
     VerificationUtil verificationUtil;
 
+    @Autowired
+    ApplicationEventPublisher applicationEventPublisher;
+
     @Override
     @Transactional
     public WorkoutResponseDto createCustomWorkout(long userId, WorkoutCreateRequestDto requestDto) {
@@ -114,7 +120,7 @@ public class WorkoutServiceImpl implements WorkoutService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public WorkoutResponseDto getWorkoutById(long workoutId, boolean customRequired) {
         Workout workout = workoutRepository
                 .findById(workoutId)
@@ -155,7 +161,7 @@ public class WorkoutServiceImpl implements WorkoutService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public Page<WorkoutResponseDto> getWorkoutsWithFilter(
             Boolean isCustom,
             Long userId,
@@ -277,6 +283,15 @@ public class WorkoutServiceImpl implements WorkoutService {
         }
 
         Workout savedWorkout = workoutRepository.save(workout);
+
+        // Calendar weeks and notifications of the workout's plans show its title
+        if (requestDto.getTitle() != null && savedWorkout.getWorkoutPlans() != null) {
+            savedWorkout.getWorkoutPlans().stream()
+                    .filter(WorkoutPlan::getIsActive)
+                    .forEach(plan ->
+                            applicationEventPublisher.publishEvent(new PlanChangedEvent(userId, plan.getId())));
+        }
+
         WorkoutResponseDto workoutResponseDto = mapWorkoutToWorkoutResponseDto(savedWorkout);
         return workoutResponseDto;
     }
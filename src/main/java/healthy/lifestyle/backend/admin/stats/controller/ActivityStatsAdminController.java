@@ -0,0 +1,53 @@
+package healthy.lifestyle.backend.admin.stats.controller;
+
+import healthy.lifestyle.backend.stats.dto.ActivityStatsRebuildResponseDto;
+import healthy.lifestyle.backend.stats.dto.ActivityStatsRebuildStatusDto;
+import healthy.lifestyle.backend.stats.service.ActivityStatsRebuildJob;
+import healthy.lifestyle.backend.stats.service.ActivityStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("${api.basePath}/${api.version}/admin")
+public class ActivityStatsAdminController {
+    private final ActivityStatsService activityStatsService;
+
+    private final ActivityStatsRebuildJob activityStatsRebuildJob;
+
+    public ActivityStatsAdminController(
+            ActivityStatsService activityStatsService, ActivityStatsRebuildJob activityStatsRebuildJob) {
+        this.activityStatsService = activityStatsService;
+        this.activityStatsRebuildJob = activityStatsRebuildJob;
+    }
+
+    @Operation(summary = "Rebuild activity statistics of a user (admin)")
+    @PostMapping(value = "/stats/rebuild", params = "userId")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ActivityStatsRebuildResponseDto> rebuildUserStats(
+            @RequestParam(name = "userId") long userId) {
+        activityStatsService.rebuildUserStats(userId);
+        return ResponseEntity.ok(ActivityStatsRebuildResponseDto.builder().rebuiltUsers(1).build());
+    }
+
+    @Operation(summary = "Start a background rebuild of activity statistics of all users (admin)")
+    @PostMapping(value = "/stats/rebuild", params = "!userId")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ActivityStatsRebuildStatusDto> rebuildAllStats() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(activityStatsRebuildJob.start());
+    }
+
+    @Operation(summary = "Get the status of a background rebuild of activity statistics (admin)")
+    @GetMapping("/stats/rebuild/{jobId}")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ActivityStatsRebuildStatusDto> getRebuildStatus(@PathVariable String jobId) {
+        return ResponseEntity.ok(activityStatsRebuildJob.getStatus(jobId));
+    }
+}
@@ -0,0 +1,22 @@
+package healthy.lifestyle.backend.calendar.dto;
+
+import healthy.lifestyle.backend.calendar.model.ActivityType;
+import lombok.*;
+
+/**
+ * runs is the unpadded base64 of the year's run lengths, each one encoded as an unsigned LEB128 varint.
+ * Runs alternate between inactive and active days starting with inactive days (so the first run may be 0)
+ * and add up to the number of days in the year.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityHeatmapDto {
+    private ActivityType activityType;
+
+    private int activeDays;
+
+    private String runs;
+}
@@ -0,0 +1,17 @@
+package healthy.lifestyle.backend.calendar.dto;
+
+import java.util.List;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityHeatmapResponseDto {
+    private int year;
+
+    private int daysInYear;
+
+    private List<ActivityHeatmapDto> activities;
+}
@@ -29,4 +29,6 @@ public class ActivityRowDto {
     private int hours;
 
     private int minutes;
+
+    private int durationMinutes;
 }
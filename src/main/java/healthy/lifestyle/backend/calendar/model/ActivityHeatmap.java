@@ -0,0 +1,53 @@
+package healthy.lifestyle.backend.calendar.model;
+
+import healthy.lifestyle.backend.user.model.User;
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import lombok.*;
+
+/**
+ * user_activity_heatmaps table keeps one bitmap of active days per user, year and activity type.
+ * Bit (dayOfYear - 1) is stored in byte (dayOfYear - 1) / 8 at position (dayOfYear - 1) % 8,
+ * days are dates of the user, as the completion dates they are marked from.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "user_activity_heatmaps")
+public class ActivityHeatmap {
+    public static final int DAYS_BYTES = 46; // 366 days rounded up to whole bytes
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, unique = false)
+    private User user;
+
+    @Column(name = "year", unique = false, nullable = false)
+    private int year;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "activity_type", unique = false, nullable = false)
+    private ActivityType activityType;
+
+    @Column(name = "days", unique = false, nullable = false)
+    private byte[] days;
+
+    public boolean setActive(LocalDate day) {
+        int dayIndex = day.getDayOfYear() - 1;
+        int mask = 1 << (dayIndex & 7);
+        if ((this.days[dayIndex >> 3] & mask) != 0) return false;
+        this.days[dayIndex >> 3] |= (byte) mask;
+        return true;
+    }
+
+    public boolean isActive(int dayOfYear) {
+        int dayIndex = dayOfYear - 1;
+        return (this.days[dayIndex >> 3] & (1 << (dayIndex & 7))) != 0;
+    }
+}
@@ -1,10 +1,19 @@
 package healthy.lifestyle.backend.calendar.model;
 
+import healthy.lifestyle.backend.user.model.User;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
+/**
+ * Common columns of completion records. The id is declared by each record entity,
+ * so every records table can use its own pooled sequence.
+ * <p>
+ * completedAt is the calendar date of the user, in the user's timezone at the time of completion,
+ * and is stored without conversion to the database zone. Calendar weeks, heatmap days and stats streaks
+ * all compare it with dates of the user.
+ */
 @Getter
 @Setter
 @SuperBuilder
@@ -13,9 +22,9 @@ import lombok.experimental.SuperBuilder;
 @MappedSuperclass
 public class CompletionRecordBase {
 
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
 
     @Column(name = "completed_at", nullable = false, unique = false)
     private LocalDate completedAt;
@@ -0,0 +1,41 @@
+package healthy.lifestyle.backend.calendar.repository;
+
+import healthy.lifestyle.backend.calendar.model.ActivityHeatmap;
+import healthy.lifestyle.backend.calendar.model.ActivityType;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ActivityHeatmapRepository extends JpaRepository<ActivityHeatmap, Long> {
+    @Query("SELECT h FROM ActivityHeatmap h WHERE h.user.id = :userId AND h.year = :year")
+    List<ActivityHeatmap> findByUserIdAndYear(@Param("userId") long userId, @Param("year") int year);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM ActivityHeatmap h "
+            + "WHERE h.user.id = :userId AND h.year = :year AND h.activityType = :activityType")
+    Optional<ActivityHeatmap> findForUpdate(
+            @Param("userId") long userId,
+            @Param("year") int year,
+            @Param("activityType") ActivityType activityType);
+
+    @Query("SELECT DISTINCT r.completedAt FROM WorkoutCompletionRecord r WHERE r.user.id = :userId")
+    List<LocalDate> findWorkoutCompletionDates(@Param("userId") long userId);
+
+    @Modifying
+    @Query(
+            value = "INSERT INTO user_activity_heatmaps (user_id, year, activity_type, days) "
+                    + "VALUES (:userId, :year, :activityType, :days) "
+                    + "ON CONFLICT (user_id, year, activity_type) DO NOTHING",
+            nativeQuery = true)
+    void insertIfAbsent(
+            @Param("userId") long userId,
+            @Param("year") int year,
+            @Param("activityType") String activityType,
+            @Param("days") byte[] days);
+}
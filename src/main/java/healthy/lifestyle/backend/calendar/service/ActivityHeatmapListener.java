@@ -0,0 +1,27 @@
+package healthy.lifestyle.backend.calendar.service;
+
+import healthy.lifestyle.backend.calendar.model.ActivityType;
+import healthy.lifestyle.backend.plan.shared.event.WorkoutCompletionRecordedEvent;
+import healthy.lifestyle.backend.plan.workout.model.WorkoutCompletionRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks active days synchronously, so the heatmap is committed or rolled back together with the records.
+ */
+@Component
+public class ActivityHeatmapListener {
+    @Autowired
+    ActivityHeatmapService activityHeatmapService;
+
+    @EventListener
+    public void onWorkoutCompletionRecorded(WorkoutCompletionRecordedEvent event) {
+        activityHeatmapService.markActiveDays(
+                event.getUserId(),
+                ActivityType.WORKOUT,
+                event.getRecords().stream()
+                        .map(WorkoutCompletionRecord::getCompletedAt)
+                        .toList());
+    }
+}
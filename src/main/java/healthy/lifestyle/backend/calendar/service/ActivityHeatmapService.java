@@ -0,0 +1,14 @@
+package healthy.lifestyle.backend.calendar.service;
+
+import healthy.lifestyle.backend.calendar.dto.ActivityHeatmapResponseDto;
+import healthy.lifestyle.backend.calendar.model.ActivityType;
+import java.time.LocalDate;
+import java.util.Collection;
+
+public interface ActivityHeatmapService {
+    ActivityHeatmapResponseDto getHeatmap(long userId, Integer year);
+
+    void markActiveDays(long userId, ActivityType activityType, Collection<LocalDate> days);
+
+    void backfillActiveDays(long userId);
+}
@@ -0,0 +1,125 @@
+package healthy.lifestyle.backend.calendar.service;
+
+import healthy.lifestyle.backend.calendar.dto.ActivityHeatmapDto;
+import healthy.lifestyle.backend.calendar.dto.ActivityHeatmapResponseDto;
+import healthy.lifestyle.backend.calendar.model.ActivityHeatmap;
+import healthy.lifestyle.backend.calendar.model.ActivityType;
+import healthy.lifestyle.backend.calendar.repository.ActivityHeatmapRepository;
+import healthy.lifestyle.backend.user.api.UserApi;
+import healthy.lifestyle.backend.user.model.User;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class ActivityHeatmapServiceImpl implements ActivityHeatmapService {
+    @Autowired
+    ActivityHeatmapRepository activityHeatmapRepository;
+
+    @Autowired
+    UserApi userApi;
+
+    @Override
+    @Transactional(readOnly = true)
+    public ActivityHeatmapResponseDto getHeatmap(long userId, Integer year) {
+        int heatmapYear;
+        if (year != null) {
+            heatmapYear = year;
+        } else {
+            User user = userApi.getUserById(userId);
+            heatmapYear = LocalDate.now(ZoneId.of(user.getTimezone().getName())).getYear();
+        }
+        int daysInYear = Year.of(heatmapYear).length();
+
+        Map<ActivityType, ActivityHeatmap> heatmaps =
+                activityHeatmapRepository.findByUserIdAndYear(userId, heatmapYear).stream()
+                        .collect(Collectors.toMap(ActivityHeatmap::getActivityType, Function.identity()));
+
+        List<ActivityHeatmapDto> activities = new ArrayList<>();
+        for (ActivityType activityType : ActivityType.values()) {
+            ActivityHeatmap heatmap = heatmaps.get(activityType);
+            activities.add(buildActivityHeatmap(activityType, heatmap, daysInYear));
+        }
+
+        return ActivityHeatmapResponseDto.builder()
+                .year(heatmapYear)
+                .daysInYear(daysInYear)
+                .activities(activities)
+                .build();
+    }
+
+    /**
+     * Must run in the transaction that has recorded the activity.
+     */
+    @Override
+    @Transactional
+    public void markActiveDays(long userId, ActivityType activityType, Collection<LocalDate> days) {
+        Map<Integer, List<LocalDate>> daysByYear =
+                days.stream().collect(Collectors.groupingBy(LocalDate::getYear, TreeMap::new, Collectors.toList()));
+
+        for (Map.Entry<Integer, List<LocalDate>> entry : daysByYear.entrySet()) {
+            int year = entry.getKey();
+            activityHeatmapRepository.insertIfAbsent(
+                    userId, year, activityType.name(), new byte[ActivityHeatmap.DAYS_BYTES]);
+            ActivityHeatmap heatmap = activityHeatmapRepository
+                    .findForUpdate(userId, year, activityType)
+                    .orElseThrow();
+
+            boolean isChanged = false;
+            for (LocalDate day : entry.getValue()) {
+                isChanged |= heatmap.setActive(day);
+            }
+            if (isChanged) activityHeatmapRepository.save(heatmap);
+        }
+    }
+
+    /**
+     * Marks the days of all completion records of the user, including records written before the heatmaps
+     * existed or directly in the database. Days already marked are kept.
+     */
+    @Override
+    @Transactional
+    public void backfillActiveDays(long userId) {
+        markActiveDays(userId, ActivityType.WORKOUT, activityHeatmapRepository.findWorkoutCompletionDates(userId));
+    }
+
+    private ActivityHeatmapDto buildActivityHeatmap(
+            ActivityType activityType, ActivityHeatmap heatmap, int daysInYear) {
+        ByteArrayOutputStream runs = new ByteArrayOutputStream();
+        int activeDays = 0;
+        boolean isRunActive = false;
+        int runLength = 0;
+        for (int dayOfYear = 1; dayOfYear <= daysInYear; dayOfYear++) {
+            boolean isActive = heatmap != null && heatmap.isActive(dayOfYear);
+            if (isActive) activeDays++;
+            if (isActive != isRunActive) {
+                writeVarint(runs, runLength);
+                isRunActive = isActive;
+                runLength = 0;
+            }
+            runLength++;
+        }
+        writeVarint(runs, runLength);
+
+        return ActivityHeatmapDto.builder()
+                .activityType(activityType)
+                .activeDays(activeDays)
+                .runs(Base64.getEncoder().withoutPadding().encodeToString(runs.toByteArray()))
+                .build();
+    }
+
+    private void writeVarint(ByteArrayOutputStream output, int value) {
+        while ((value & ~0x7F) != 0) {
+            output.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.write(value);
+    }
+}
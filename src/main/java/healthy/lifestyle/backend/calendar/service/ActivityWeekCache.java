@@ -0,0 +1,147 @@
+package healthy.lifestyle.backend.calendar.service;
+
+import healthy.lifestyle.backend.calendar.dto.ActivityDayDto;
+import healthy.lifestyle.backend.calendar.dto.ActivityRowDto;
+import healthy.lifestyle.backend.calendar.dto.ActivityWeekDto;
+import healthy.lifestyle.backend.plan.shared.event.PlanChangedEvent;
+import healthy.lifestyle.backend.plan.shared.event.WorkoutCompletionRecordedEvent;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps assembled calendar weeks per user and week start date (in the user's zone).
+ * A cached week is only served for the timezone it was assembled in,
+ * so a timezone change of the user is picked up without explicit eviction.
+ * <p>
+ * A week assembled while an eviction ran may miss the change, it is only kept if no eviction happened since
+ * getGeneration() was read before assembling it. Weeks are copied in and out, a caller changing the returned
+ * week doesn't change the cached one.
+ */
+@Component
+public class ActivityWeekCache {
+    @Value("${calendar.week-cache.max-users:10000}")
+    int maxUsers;
+
+    @Value("${calendar.week-cache.max-weeks-per-user:4}")
+    int maxWeeksPerUser;
+
+    private final Map<Long, Map<LocalDate, CachedWeek>> weeksByUser = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    public Optional<ActivityWeekDto> get(long userId, LocalDate weekStartDate, String timezoneName) {
+        Map<LocalDate, CachedWeek> weeks = weeksByUser.get(userId);
+        if (weeks == null) return Optional.empty();
+        CachedWeek cachedWeek = weeks.get(weekStartDate);
+        if (cachedWeek == null || !cachedWeek.getTimezoneName().equals(timezoneName)) return Optional.empty();
+        return Optional.of(copyOf(cachedWeek.getWeek()));
+    }
+
+    public void put(
+            long userId, LocalDate weekStartDate, String timezoneName, ActivityWeekDto week, long generationBefore) {
+        if (!weeksByUser.containsKey(userId) && weeksByUser.size() >= maxUsers) {
+            evictAny(weeksByUser);
+        }
+        Map<LocalDate, CachedWeek> weeks = weeksByUser.computeIfAbsent(userId, key -> new ConcurrentHashMap<>());
+        if (!weeks.containsKey(weekStartDate) && weeks.size() >= maxWeeksPerUser) {
+            evictAny(weeks);
+        }
+        CachedWeek cachedWeek = new CachedWeek(timezoneName, copyOf(week));
+        weeks.put(weekStartDate, cachedWeek);
+        // An eviction counted after this check removes the week itself, as it removes after counting
+        if (generation.get() != generationBefore) weeks.remove(weekStartDate, cachedWeek);
+    }
+
+    public void evict(long userId) {
+        generation.incrementAndGet();
+        weeksByUser.remove(userId);
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        weeksByUser.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlanChanged(PlanChangedEvent event) {
+        evict(event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWorkoutCompletionRecorded(WorkoutCompletionRecordedEvent event) {
+        evict(event.getUserId());
+    }
+
+    private static ActivityWeekDto copyOf(ActivityWeekDto week) {
+        return ActivityWeekDto.builder()
+                .weekStartDate(week.getWeekStartDate())
+                .weekEndDate(week.getWeekEndDate())
+                .monday(copyOf(week.getMonday()))
+                .tuesday(copyOf(week.getTuesday()))
+                .wednesday(copyOf(week.getWednesday()))
+                .thursday(copyOf(week.getThursday()))
+                .friday(copyOf(week.getFriday()))
+                .saturday(copyOf(week.getSaturday()))
+                .sunday(copyOf(week.getSunday()))
+                .build();
+    }
+
+    private static ActivityDayDto copyOf(ActivityDayDto day) {
+        if (day == null) return null;
+        return ActivityDayDto.builder()
+                .dayDate(day.getDayDate())
+                .dayOfWeek(day.getDayOfWeek())
+                .activities(
+                        day.getActivities() == null
+                                ? null
+                                : day.getActivities().stream()
+                                        .map(ActivityWeekCache::copyOf)
+                                        .collect(Collectors.toCollection(ArrayList::new)))
+                .build();
+    }
+
+    private static ActivityRowDto copyOf(ActivityRowDto row) {
+        return ActivityRowDto.builder()
+                .activityId(row.getActivityId())
+                .activityType(row.getActivityType())
+                .isSingle(row.isSingle())
+                .isPausedBilling(row.isPausedBilling())
+                .isCompleted(row.isCompleted())
+                .title(row.getTitle())
+                .hours(row.getHours())
+                .minutes(row.getMinutes())
+                .durationMinutes(row.getDurationMinutes())
+                .build();
+    }
+
+    private static void evictAny(Map<?, ?> map) {
+        Iterator<?> iterator = map.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedWeek {
+        private final String timezoneName;
+
+        private final ActivityWeekDto week;
+    }
+}
@@ -0,0 +1,11 @@
+package healthy.lifestyle.backend.calendar.service;
+
+import healthy.lifestyle.backend.calendar.dto.ActivityDayDto;
+import healthy.lifestyle.backend.calendar.dto.ActivityWeekDto;
+import java.time.LocalDate;
+
+public interface CalendarService {
+    ActivityDayDto getTodayActivity(long userId);
+
+    ActivityWeekDto getWeekActivity(long userId, LocalDate date);
+}
@@ -0,0 +1,139 @@
+package healthy.lifestyle.backend.calendar.service;
+
+import healthy.lifestyle.backend.calendar.dto.ActivityDayDto;
+import healthy.lifestyle.backend.calendar.dto.ActivityRowDto;
+import healthy.lifestyle.backend.calendar.dto.ActivityWeekDto;
+import healthy.lifestyle.backend.calendar.model.ActivityType;
+import healthy.lifestyle.backend.plan.workout.api.WorkoutPlanApi;
+import healthy.lifestyle.backend.plan.workout.repository.WorkoutPlanOccurrence;
+import healthy.lifestyle.backend.shared.datasource.ReadWriteRoutingDataSource;
+import healthy.lifestyle.backend.shared.util.DateTimeService;
+import healthy.lifestyle.backend.user.api.UserApi;
+import healthy.lifestyle.backend.user.model.User;
+import java.time.*;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class CalendarServiceImpl implements CalendarService {
+    @Autowired
+    UserApi userApi;
+
+    @Autowired
+    WorkoutPlanApi workoutPlanApi;
+
+    @Autowired
+    DateTimeService dateTimeService;
+
+    @Autowired
+    ActivityWeekCache activityWeekCache;
+
+    // The same duration the schedule conflict check of workout plans reserves per slot
+    @Value("${plan.schedule.slot-duration-minutes}")
+    int slotDurationMinutes;
+
+    @Override
+    @Transactional(readOnly = true)
+    public ActivityDayDto getTodayActivity(long userId) {
+        User user = userApi.getUserById(userId);
+        String timezoneName = user.getTimezone().getName();
+        LocalDate today = LocalDate.now(ZoneId.of(timezoneName));
+        ActivityWeekDto week = getWeekActivity(userId, timezoneName, today);
+        return getDay(week, today.getDayOfWeek());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ActivityWeekDto getWeekActivity(long userId, LocalDate date) {
+        User user = userApi.getUserById(userId);
+        String timezoneName = user.getTimezone().getName();
+        LocalDate userDate = date != null ? date : LocalDate.now(ZoneId.of(timezoneName));
+        return getWeekActivity(userId, timezoneName, userDate);
+    }
+
+    private ActivityWeekDto getWeekActivity(long userId, String timezoneName, LocalDate userDate) {
+        LocalDate weekStartDate = userDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        Optional<ActivityWeekDto> cachedWeek = activityWeekCache.get(userId, weekStartDate, timezoneName);
+        if (cachedWeek.isPresent()) return cachedWeek.get();
+
+        long cacheGeneration = activityWeekCache.getGeneration();
+        ActivityWeekDto week = buildWeek(userId, ZoneId.of(timezoneName), weekStartDate);
+        // A lagging replica may not have the latest completion yet, caching it would outlive the eviction
+        if (!ReadWriteRoutingDataSource.isCurrentTransactionOnReplica()) {
+            activityWeekCache.put(userId, weekStartDate, timezoneName, week, cacheGeneration);
+        }
+        return week;
+    }
+
+    private ActivityWeekDto buildWeek(long userId, ZoneId userZone, LocalDate weekStartDate) {
+        ZoneId databaseZone = dateTimeService.getDatabaseTimezone().toZoneId();
+        LocalDateTime fromDateTime = weekStartDate
+                .atStartOfDay(userZone)
+                .withZoneSameInstant(databaseZone)
+                .toLocalDateTime();
+        LocalDateTime toDateTime = weekStartDate
+                .plusWeeks(1)
+                .atStartOfDay(userZone)
+                .withZoneSameInstant(databaseZone)
+                .toLocalDateTime();
+
+        Map<DayOfWeek, List<ActivityRowDto>> activitiesByDay = new EnumMap<>(DayOfWeek.class);
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) activitiesByDay.put(dayOfWeek, new ArrayList<>());
+
+        List<WorkoutPlanOccurrence> occurrences =
+                workoutPlanApi.getActiveOccurrences(userId, fromDateTime, toDateTime);
+        for (WorkoutPlanOccurrence occurrence : occurrences) {
+            ZonedDateTime userDateTime =
+                    occurrence.getOccurrenceAt().atZone(databaseZone).withZoneSameInstant(userZone);
+            activitiesByDay
+                    .get(userDateTime.getDayOfWeek())
+                    .add(ActivityRowDto.builder()
+                            .activityId(occurrence.getWorkoutId())
+                            .activityType(ActivityType.WORKOUT)
+                            .isSingle(true)
+                            .isPausedBilling(false)
+                            .isCompleted(Boolean.TRUE.equals(occurrence.getIsCompleted()))
+                            .title(occurrence.getWorkoutTitle())
+                            .hours(userDateTime.getHour())
+                            .minutes(userDateTime.getMinute())
+                            .durationMinutes(slotDurationMinutes)
+                            .build());
+        }
+
+        return ActivityWeekDto.builder()
+                .weekStartDate(weekStartDate)
+                .weekEndDate(weekStartDate.plusDays(6))
+                .monday(buildDay(weekStartDate, activitiesByDay))
+                .tuesday(buildDay(weekStartDate.plusDays(1), activitiesByDay))
+                .wednesday(buildDay(weekStartDate.plusDays(2), activitiesByDay))
+                .thursday(buildDay(weekStartDate.plusDays(3), activitiesByDay))
+                .friday(buildDay(weekStartDate.plusDays(4), activitiesByDay))
+                .saturday(buildDay(weekStartDate.plusDays(5), activitiesByDay))
+                .sunday(buildDay(weekStartDate.plusDays(6), activitiesByDay))
+                .build();
+    }
+
+    private ActivityDayDto buildDay(LocalDate dayDate, Map<DayOfWeek, List<ActivityRowDto>> activitiesByDay) {
+        return ActivityDayDto.builder()
+                .dayDate(dayDate)
+                .dayOfWeek(dayDate.getDayOfWeek())
+                .activities(activitiesByDay.get(dayDate.getDayOfWeek()))
+                .build();
+    }
+
+    private ActivityDayDto getDay(ActivityWeekDto week, DayOfWeek dayOfWeek) {
+        return switch (dayOfWeek) {
+            case MONDAY -> week.getMonday();
+            case TUESDAY -> week.getTuesday();
+            case WEDNESDAY -> week.getWednesday();
+            case THURSDAY -> week.getThursday();
+            case FRIDAY -> week.getFriday();
+            case SATURDAY -> week.getSaturday();
+            case SUNDAY -> week.getSunday();
+        };
+    }
+}
@@ -2,13 +2,16 @@ package healthy.lifestyle.backend.exception;
 
 import org.springframework.http.HttpStatus;
 
+/**
+ * A business rejection. Doesn't capture a stack trace, the ErrorMessage tells where it comes from.
+ */
 public class ApiException extends RuntimeException {
     protected ErrorMessage message;
     protected Long resourceId;
     protected HttpStatus httpStatus;
 
     public ApiException(ErrorMessage message, Long resourceId, HttpStatus httpStatus) {
-        super(message.getName());
+        super(message.getName(), null, false, false);
         this.message = message;
         this.resourceId = resourceId;
         this.httpStatus = httpStatus;
@@ -19,6 +22,10 @@ public class ApiException extends RuntimeException {
         return message.getName();
     }
 
+    public ErrorMessage getErrorMessage() {
+        return message;
+    }
+
     public Long getResourceId() {
         return resourceId;
     }
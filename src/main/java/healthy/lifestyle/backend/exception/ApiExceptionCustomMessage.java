@@ -2,12 +2,15 @@ package healthy.lifestyle.backend.exception;
 
 import org.springframework.http.HttpStatus;
 
+/**
+ * Like ApiException, doesn't capture a stack trace.
+ */
 public class ApiExceptionCustomMessage extends RuntimeException {
     protected String message;
     protected HttpStatus httpStatus;
 
     public ApiExceptionCustomMessage(String message, HttpStatus httpStatus) {
-        super(message);
+        super(message, null, false, false);
         this.message = message;
         this.httpStatus = httpStatus;
     }
@@ -16,6 +16,9 @@ public enum ErrorMessage {
     EXERCISE_NOT_FOUND("Exercise with id %d not found"),
     WORKOUT_NOT_FOUND("Workout with id %d not found"),
     WORKOUT_PLAN_NOT_FOUND("Workout plan with id %d not found"),
+    WORKOUT_PLAN_SCHEDULE_CONFLICT("Schedule overlaps with the workout plan with id %d"),
+    STATS_REBUILD_ALREADY_RUNNING("Statistics rebuild is already running"),
+    STATS_REBUILD_NOT_FOUND("Statistics rebuild job not found"),
     USER_NOT_FOUND("User with id %d not found"),
     NUTRITION_NOT_FOUND("Nutrition with id %d not found"),
     ROLE_NOT_FOUND("Role not found"),
@@ -26,6 +29,8 @@ public enum ErrorMessage {
     USER_HTTP_REF_MISMATCH("Http ref with id %d doesn't belong to the user"),
     USER_EXERCISE_MISMATCH("Exercise with id %d doesn't belong to the user"),
     USER_WORKOUT_MISMATCH("Workout with id %d doesn't belong to the user"),
+    USER_WORKOUT_PLAN_MISMATCH("Workout plan with id %d doesn't belong to the user"),
+    WORKOUT_EXERCISE_MISMATCH("Exercise with id %d doesn't belong to the workout"),
     USER_NUTRITION_MISMATCH("Nutrition with id %d doesn't belong to the user"),
     USER_REQUESTED_ANOTHER_USER_PROFILE("User has been requested another user profile"),
     EMPTY_REQUEST("Empty request"),
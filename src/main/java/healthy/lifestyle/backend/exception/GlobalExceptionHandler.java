@@ -2,12 +2,15 @@ package healthy.lifestyle.backend.exception;
 
 import static java.util.Objects.nonNull;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import java.time.Clock;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -20,21 +23,43 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+/**
+ * Every rejection increments api.errors tagged with its code (the ErrorMessage name, CUSTOM or VALIDATION) and status.
+ * 5xx outcomes are logged at ERROR, 4xx ones at WARN but at most logging.client-errors.max-per-second times a second.
+ */
 @ControllerAdvice
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+    static final String CUSTOM_CODE = "CUSTOM";
+
+    static final String VALIDATION_CODE = "VALIDATION";
+
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final MeterRegistry meterRegistry;
+
+    private final LogSampler clientErrorLogSampler;
+
+    public GlobalExceptionHandler(
+            MeterRegistry meterRegistry,
+            @Value("${logging.client-errors.max-per-second:10}") int maxClientErrorsLoggedPerSecond) {
+        this.meterRegistry = meterRegistry;
+        this.clientErrorLogSampler = new LogSampler(maxClientErrorsLoggedPerSecond, Clock.systemUTC());
+    }
+
     @ExceptionHandler(ApiException.class)
     public ResponseEntity<ExceptionDto> handleApiException(ApiException exception, WebRequest webRequest) {
-        logger.error(
-                "{}, {}, {}", webRequest.getDescription(false), exception.getHttpStatus(), exception.getStackTrace());
-
         String message;
         if (exception.getResourceId() != null) {
             message = exception.getMessageWithResourceId();
         } else {
             message = exception.getMessage();
         }
+        recordRejection(
+                exception.getErrorMessage().name(),
+                exception.getHttpStatus(),
+                webRequest.getDescription(false),
+                message);
+
         ExceptionDto exceptionDto = new ExceptionDto(message);
         return new ResponseEntity<>(exceptionDto, exception.getHttpStatus());
     }
@@ -42,8 +67,8 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     @ExceptionHandler(ApiExceptionCustomMessage.class)
     public ResponseEntity<ExceptionDto> handleApiExceptionCustomMessage(
             ApiExceptionCustomMessage exception, WebRequest webRequest) {
-        logger.error(
-                "{}, {}, {}", webRequest.getDescription(false), exception.getHttpStatus(), exception.getStackTrace());
+        recordRejection(
+                CUSTOM_CODE, exception.getHttpStatus(), webRequest.getDescription(false), exception.getMessage());
 
         ExceptionDto exceptionDto = new ExceptionDto(exception.getMessage());
         return new ResponseEntity<>(exceptionDto, exception.getHttpStatus());
@@ -51,13 +76,14 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<Map<String, String>> handleConstraintViolationException(
-            ConstraintViolationException exception) {
+            ConstraintViolationException exception, WebRequest webRequest) {
         Map<String, String> validationResult = new HashMap<>();
         for (ConstraintViolation<?> constraintViolation : exception.getConstraintViolations()) {
             String constraintMessage = constraintViolation.getMessage();
             String paramName = constraintViolation.getPropertyPath().toString().split("\\.")[1];
             validationResult.put(paramName, constraintMessage);
         }
+        recordRejection(VALIDATION_CODE, HttpStatus.BAD_REQUEST, webRequest.getDescription(false), validationResult);
         return new ResponseEntity<>(validationResult, HttpStatus.BAD_REQUEST);
     }
 
@@ -87,9 +113,24 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
             }
             String message = error.getDefaultMessage();
             errors.put(fieldName, message);
-            logger.error("{}: {} - {}", fieldName, message, HttpStatus.BAD_REQUEST.value());
         });
+        recordRejection(VALIDATION_CODE, HttpStatus.BAD_REQUEST, request.getDescription(false), errors);
 
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
+
+    private void recordRejection(String code, HttpStatusCode status, String description, Object message) {
+        meterRegistry
+                .counter("api.errors", "code", code, "status", String.valueOf(status.value()))
+                .increment();
+
+        if (status.is5xxServerError()) {
+            logger.error("{}, {}, {}", description, status, message);
+            return;
+        }
+        long suppressed = clientErrorLogSampler.tryAcquire();
+        if (suppressed >= 0) {
+            logger.warn("{}, {}, {}, suppressed={}", description, status, message, suppressed);
+        }
+    }
 }
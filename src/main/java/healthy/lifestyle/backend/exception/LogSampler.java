@@ -0,0 +1,44 @@
+package healthy.lifestyle.backend.exception;
+
+import java.time.Clock;
+
+/**
+ * Lets through at most maxPerSecond log lines a second. Counts the lines it has held back,
+ * the next line let through reports them.
+ */
+class LogSampler {
+    private final int maxPerSecond;
+
+    private final Clock clock;
+
+    // Guarded by this
+    private long windowStart;
+
+    private int permitsUsed;
+
+    private long suppressed;
+
+    LogSampler(int maxPerSecond, Clock clock) {
+        this.maxPerSecond = maxPerSecond;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the number of lines held back since the last one let through, or -1 if this one is held back.
+     */
+    synchronized long tryAcquire() {
+        long now = clock.millis();
+        if (now - windowStart >= 1000) {
+            windowStart = now;
+            permitsUsed = 0;
+        }
+        if (permitsUsed >= maxPerSecond) {
+            suppressed++;
+            return -1;
+        }
+        permitsUsed++;
+        long result = suppressed;
+        suppressed = 0;
+        return result;
+    }
+}
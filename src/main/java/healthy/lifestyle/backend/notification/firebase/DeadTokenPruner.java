@@ -0,0 +1,67 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects the tokens the provider has rejected as dead. They are dropped from the token directory at once,
+ * so the next reminders skip them, and deleted from firebase_user_tokens in batches.
+ */
+@Component
+public class DeadTokenPruner {
+    @Value("${notification.dead-tokens.batch-size:500}")
+    int batchSize;
+
+    @Autowired
+    FirebaseUserTokenRepository firebaseUserTokenRepository;
+
+    @Autowired
+    FirebaseTokenDirectory firebaseTokenDirectory;
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadTokenPruner.class);
+
+    private final ConcurrentLinkedQueue<String> deadTokens = new ConcurrentLinkedQueue<>();
+
+    public void enqueue(long userId, String token) {
+        firebaseTokenDirectory.removeToken(userId, token);
+        deadTokens.add(token);
+    }
+
+    @Scheduled(fixedDelayString = "${notification.dead-tokens.flush-interval-ms:10000}")
+    public void flush() {
+        List<String> batch = new ArrayList<>();
+        String token;
+        while ((token = deadTokens.poll()) != null) {
+            batch.add(token);
+            if (batch.size() >= batchSize) {
+                if (!delete(batch)) return;
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) delete(batch);
+    }
+
+    public int size() {
+        return deadTokens.size();
+    }
+
+    private boolean delete(List<String> batch) {
+        try {
+            int deleted = firebaseUserTokenRepository.deleteByTokenIn(batch);
+            logger.info("{} dead Firebase user tokens have been removed", deleted);
+            return true;
+        } catch (Exception e) {
+            // Retried on the next flush
+            deadTokens.addAll(batch);
+            logger.error("Error occurred while removing dead Firebase user tokens: {}", e.getMessage());
+            return false;
+        }
+    }
+}
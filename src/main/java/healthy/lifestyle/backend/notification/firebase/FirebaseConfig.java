@@ -1,29 +0,0 @@
-package healthy.lifestyle.backend.notification.firebase;
-
-import com.google.auth.oauth2.GoogleCredentials;
-import com.google.firebase.FirebaseApp;
-import com.google.firebase.FirebaseOptions;
-import com.google.firebase.messaging.FirebaseMessaging;
-import java.io.FileInputStream;
-import java.io.IOException;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-
-@Configuration
-public class FirebaseConfig {
-    @Value("${firebase.credentials.file}")
-    String firebaseCredentialsFile;
-
-    @Bean
-    FirebaseMessaging firebaseMessaging() throws IOException {
-        FileInputStream serviceAccount = new FileInputStream(firebaseCredentialsFile);
-
-        FirebaseOptions options = FirebaseOptions.builder()
-                .setCredentials(GoogleCredentials.fromStream(serviceAccount))
-                .build();
-
-        FirebaseApp app = FirebaseApp.initializeApp(options);
-        return FirebaseMessaging.getInstance(app);
-    }
-}
@@ -21,6 +21,13 @@ public class FirebaseController {
     @Autowired
     FirebaseService firebaseService;
 
+    @Autowired
+    FirebaseTokenRegistrationQueue firebaseTokenRegistrationQueue;
+
+    /**
+     * Accepts the registration with 202, it's written by FirebaseTokenRegistrationQueue within a flush interval.
+     * Only when the queue is full is it written before responding.
+     */
     @PostMapping("/handleFirebaseUserToken")
     @PreAuthorize("hasRole('ROLE_USER')")
     public ResponseEntity<?> handleFirebaseUserToken(
@@ -32,6 +39,9 @@ public class FirebaseController {
             long userId = authUtil.getUserIdFromAuthentication(
                     SecurityContextHolder.getContext().getAuthentication());
             String userAgent = request.getHeader("User-Agent");
+            if (firebaseTokenRegistrationQueue.offer(userId, requestDto, userAgent)) {
+                return ResponseEntity.accepted().build();
+            }
             firebaseService.handleFirebaseUserToken(userId, requestDto, userAgent);
             return ResponseEntity.ok().build();
         }
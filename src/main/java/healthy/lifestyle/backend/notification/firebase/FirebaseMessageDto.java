@@ -1,6 +1,11 @@
 package healthy.lifestyle.backend.notification.firebase;
 
 import healthy.lifestyle.backend.notification.scheduler.TaskDto;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import lombok.*;
 
 @Getter
@@ -44,4 +49,33 @@ public class FirebaseMessageDto {
 
         return FirebaseMessageDto.builder().title(title).body(message).build();
     }
+
+    /**
+     * Builds one message for several reminders of a user. Every activity is listed once, in order of its start,
+     * e.g. the DEFAULT and MAIN reminders of the same workout become one line.
+     */
+    public static FirebaseMessageDto buildFromTaskDtos(List<TaskDto> taskDtoList) {
+        Map<List<Object>, TaskDto> taskDtoByActivity = new LinkedHashMap<>();
+        taskDtoList.stream()
+                .sorted(Comparator.comparing(TaskDto::getActivityStartDateTimeInUserZone)
+                        .thenComparing(TaskDto::getNotificationStartDateTimeInServerZone))
+                .forEach(taskDto -> taskDtoByActivity.putIfAbsent(
+                        List.of(
+                                taskDto.getActivityType(),
+                                taskDto.getActivityId(),
+                                taskDto.getPlanId(),
+                                taskDto.getActivityStartDateTimeInUserZone().toInstant()),
+                        taskDto));
+        if (taskDtoByActivity.size() == 1)
+            return buildFromTaskDto(taskDtoByActivity.values().iterator().next());
+
+        String body = taskDtoByActivity.values().stream()
+                .map(FirebaseMessageDto::buildFromTaskDto)
+                .map(message -> message.getBody().isEmpty() ? message.getTitle() : message.getBody())
+                .collect(Collectors.joining("\n"));
+        return FirebaseMessageDto.builder()
+                .title(taskDtoByActivity.size() + " activities coming up")
+                .body(body)
+                .build();
+    }
 }
@@ -0,0 +1,112 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+import com.google.firebase.messaging.FirebaseMessaging;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Clock;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the FirebaseMessaging client on first use rather than during startup, so the credentials file and
+ * the Google client don't slow the startup down, and the app starts without credentials.
+ * <p>
+ * While the client can't be created, {@link #get()} returns empty and the next attempt is made
+ * firebase.init.retry-interval-ms later. A FirebaseMessaging bean, if one is defined, is used as is.
+ * <p>
+ * Metrics: notification.firebase.init (duration of the client creation) and notification.firebase.ready.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.push.provider", havingValue = "firebase", matchIfMissing = true)
+public class FirebaseMessagingClient {
+    @Value("${firebase.credentials.file}")
+    String firebaseCredentialsFile;
+
+    @Value("${firebase.init.retry-interval-ms:60000}")
+    long retryIntervalMillis;
+
+    @Value("${firebase.init.eager:false}")
+    boolean eager;
+
+    @Autowired
+    ObjectProvider<FirebaseMessaging> firebaseMessagingBean;
+
+    Clock clock = Clock.systemUTC();
+
+    private final Timer initTimer;
+
+    private volatile FirebaseMessaging firebaseMessaging;
+
+    private long nextAttemptMillis;
+
+    private static final Logger logger = LoggerFactory.getLogger(FirebaseMessagingClient.class);
+
+    public FirebaseMessagingClient(MeterRegistry meterRegistry) {
+        this.initTimer = Timer.builder("notification.firebase.init")
+                .description("Duration of the Firebase client creation")
+                .register(meterRegistry);
+        Gauge.builder("notification.firebase.ready", this, client -> client.isReady() ? 1 : 0)
+                .description("1 once the Firebase client has been created")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void initIfEager() {
+        if (eager) get();
+    }
+
+    public boolean isReady() {
+        return firebaseMessaging != null;
+    }
+
+    public Optional<FirebaseMessaging> get() {
+        FirebaseMessaging current = firebaseMessaging;
+        if (current != null) return Optional.of(current);
+
+        synchronized (this) {
+            if (firebaseMessaging != null) return Optional.of(firebaseMessaging);
+            if (clock.millis() < nextAttemptMillis) return Optional.empty();
+
+            long start = System.nanoTime();
+            try {
+                FirebaseMessaging bean = firebaseMessagingBean.getIfAvailable();
+                firebaseMessaging = bean != null ? bean : create();
+                long elapsedNanos = System.nanoTime() - start;
+                initTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+                logger.info("Firebase client has been created in {} ms", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            } catch (IOException | RuntimeException e) {
+                nextAttemptMillis = clock.millis() + retryIntervalMillis;
+                logger.warn(
+                        "Firebase client hasn't been created, push messages are queued for retry: {}", e.getMessage());
+            }
+            return Optional.ofNullable(firebaseMessaging);
+        }
+    }
+
+    private FirebaseMessaging create() throws IOException {
+        try (InputStream serviceAccount = new FileInputStream(firebaseCredentialsFile)) {
+            FirebaseOptions options = FirebaseOptions.builder()
+                    .setCredentials(GoogleCredentials.fromStream(serviceAccount))
+                    .build();
+            // The default app survives a context restart within the same JVM
+            FirebaseApp app =
+                    FirebaseApp.getApps().isEmpty() ? FirebaseApp.initializeApp(options) : FirebaseApp.getInstance();
+            return FirebaseMessaging.getInstance(app);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import com.google.firebase.messaging.*;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends a batch with a single FirebaseMessaging.sendEach call instead of a call per message.
+ * While the Firebase client isn't available, every message fails as UNAVAILABLE, so it's queued for retry.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.push.provider", havingValue = "firebase", matchIfMissing = true)
+public class FirebasePushProvider implements PushProvider {
+    // Firebase's limit for sendEach
+    private static final int MAX_BATCH_SIZE = 500;
+
+    @Autowired
+    FirebaseMessagingClient firebaseMessagingClient;
+
+    @Override
+    public int getMaxBatchSize() {
+        return MAX_BATCH_SIZE;
+    }
+
+    @Override
+    public List<PushResult> sendBatch(List<PushMessage> messages) {
+        Optional<FirebaseMessaging> firebaseMessaging = firebaseMessagingClient.get();
+        if (firebaseMessaging.isEmpty()) {
+            return Collections.nCopies(
+                    messages.size(), PushResult.failure(MessagingErrorCode.UNAVAILABLE, "Firebase isn't available"));
+        }
+
+        List<Message> firebaseMessages = messages.stream()
+                .map(message -> Message.builder()
+                        .setToken(message.getToken())
+                        .setNotification(Notification.builder()
+                                .setTitle(message.getTitle())
+                                .setBody(message.getBody())
+                                .setImage(message.getImage())
+                                .build())
+                        .build())
+                .toList();
+
+        try {
+            BatchResponse batchResponse = firebaseMessaging.get().sendEach(firebaseMessages);
+            return batchResponse.getResponses().stream()
+                    .map(response -> response.isSuccessful()
+                            ? PushResult.success(response.getMessageId())
+                            : PushResult.failure(
+                                    response.getException().getMessagingErrorCode(),
+                                    response.getException().getMessage()))
+                    .toList();
+        } catch (FirebaseMessagingException e) {
+            return Collections.nCopies(
+                    messages.size(), PushResult.failure(e.getMessagingErrorCode(), e.getMessage()));
+        }
+    }
+}
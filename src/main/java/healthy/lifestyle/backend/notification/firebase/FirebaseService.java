@@ -1,13 +1,10 @@
 package healthy.lifestyle.backend.notification.firebase;
 
-import com.google.firebase.messaging.*;
+import com.google.firebase.messaging.MessagingErrorCode;
 import healthy.lifestyle.backend.exception.ApiExceptionCustomMessage;
-import healthy.lifestyle.backend.notification.model.FirebaseUserToken;
 import healthy.lifestyle.backend.shared.util.DateTimeService;
-import healthy.lifestyle.backend.user.api.UserApi;
-import healthy.lifestyle.backend.user.model.User;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,96 +14,129 @@ import org.springframework.stereotype.Service;
 @Service
 public class FirebaseService {
     @Autowired
-    FirebaseMessaging firebaseMessaging;
+    PushProvider pushProvider;
 
     @Autowired
     FirebaseUserTokenRepository firebaseUserTokenRepository;
 
     @Autowired
-    UserApi userApi;
+    FirebaseTokenDirectory firebaseTokenDirectory;
+
+    @Autowired
+    DeadTokenPruner deadTokenPruner;
+
+    @Autowired
+    PushRetryQueue pushRetryQueue;
 
     @Autowired
     DateTimeService dateTimeService;
 
     private static final Logger logger = LoggerFactory.getLogger(FirebaseService.class);
 
+    /**
+     * Registers the token the app has just received and removes the one it had stored before, if it differs.
+     * The received token is always upserted: the directory may not have seen a write of another node yet
+     * (until its entry expires), and the upsert is idempotent.
+     */
     public void handleFirebaseUserToken(
             long userId, FirebaseController.FirebaseRequestDto requestDto, String userAgent) {
-        if (requestDto.getFirebaseUserTokenFromLocalStorage() == null) {
-            Optional<FirebaseUserToken> firebaseUserToken = firebaseUserTokenRepository.findByUser_IdAndToken(
-                    userId, requestDto.getFirebaseUserTokenNowReceived());
-            if (firebaseUserToken.isEmpty()) {
-                User user = userApi.getUserById(userId);
-                FirebaseUserToken newFirebaseUserToken = FirebaseUserToken.builder()
-                        .token(requestDto.getFirebaseUserTokenNowReceived())
-                        .userAgent(userAgent)
-                        .user(user)
-                        .createdAt(dateTimeService.getCurrentDatabaseDate())
-                        .build();
-                firebaseUserTokenRepository.save(newFirebaseUserToken);
-            }
-        } else {
-            if (!requestDto
-                    .getFirebaseUserTokenFromLocalStorage()
-                    .equals(requestDto.getFirebaseUserTokenNowReceived())) {
-                Optional<FirebaseUserToken> firebaseUserTokenFromLocalStorage =
-                        firebaseUserTokenRepository.findByUser_IdAndToken(
-                                userId, requestDto.getFirebaseUserTokenFromLocalStorage());
-                firebaseUserTokenFromLocalStorage.ifPresent(userToken -> firebaseUserTokenRepository.delete(userToken));
-
-                Optional<FirebaseUserToken> firebaseUserTokenNowReceived =
-                        firebaseUserTokenRepository.findByUser_IdAndToken(
-                                userId, requestDto.getFirebaseUserTokenNowReceived());
-                if (firebaseUserTokenNowReceived.isEmpty()) {
-                    User user = userApi.getUserById(userId);
-                    FirebaseUserToken newFirebaseUserToken = FirebaseUserToken.builder()
-                            .token(requestDto.getFirebaseUserTokenNowReceived())
-                            .userAgent(userAgent)
-                            .user(user)
-                            .createdAt(dateTimeService.getCurrentDatabaseDate())
-                            .build();
-                    firebaseUserTokenRepository.save(newFirebaseUserToken);
-                }
-            }
+        String receivedToken = requestDto.getFirebaseUserTokenNowReceived();
+        String localStorageToken = requestDto.getFirebaseUserTokenFromLocalStorage();
+
+        if (localStorageToken != null && !localStorageToken.equals(receivedToken)) {
+            firebaseUserTokenRepository.deleteByUserIdAndToken(userId, localStorageToken);
+            firebaseTokenDirectory.removeToken(userId, localStorageToken);
         }
+
+        firebaseUserTokenRepository.upsert(userId, receivedToken, userAgent, dateTimeService.getCurrentDatabaseDate());
+        firebaseTokenDirectory.addToken(userId, receivedToken);
     }
 
     public void sendMessage(long userId, FirebaseMessageDto firebaseMessageDto) {
-        List<FirebaseUserToken> firebaseUserTokens = firebaseUserTokenRepository.findByUser_Id(userId);
-        if (!firebaseUserTokens.isEmpty()) {
-            Notification notification = Notification.builder()
-                    .setTitle(firebaseMessageDto.getTitle())
-                    .setBody(firebaseMessageDto.getBody())
-                    .setImage(firebaseMessageDto.getImage())
-                    .build();
-
-            for (FirebaseUserToken firebaseUserToken : firebaseUserTokens) {
-                Message message = Message.builder()
-                        .setToken(firebaseUserToken.getToken())
-                        .setNotification(notification)
-                        // .putAllData(firebaseMessageDto.getData())
-                        .build();
-
-                try {
-                    firebaseMessaging.send(message);
-                    logger.info(
-                            "Firebase notification has been sent: userId={}, messageTitle={}, messageBody={}",
-                            userId,
-                            firebaseMessageDto.getTitle(),
-                            firebaseMessageDto.getBody());
-                } catch (FirebaseMessagingException e) {
-                    if (e.getMessagingErrorCode().equals(MessagingErrorCode.UNREGISTERED)) {
-                        long removedTokenId = firebaseUserToken.getId();
-                        firebaseUserTokenRepository.delete(firebaseUserToken);
-                        logger.info(
-                                "Firebase user token has been removed because of MessagingErrorCode.UNREGISTERED, userId={}, removedTokenId={}",
-                                userId,
-                                removedTokenId);
-                    } else {
-                        throw new ApiExceptionCustomMessage(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
-                    }
+        List<FirebaseUserMessageDto> failed =
+                sendMessages(List.of(new FirebaseUserMessageDto(userId, firebaseMessageDto)));
+        if (!failed.isEmpty()) {
+            throw new ApiExceptionCustomMessage(
+                    "Firebase notification hasn't been sent", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    /**
+     * Sends every message to all tokens of its user. Messages of all users are sent together, in batches of
+     * the provider's batch size. Dead tokens are pruned, transient failures are retried by the PushRetryQueue.
+     * Returns the messages that couldn't be delivered to any token of their user and won't be retried, a user
+     * without tokens isn't a failure.
+     */
+    public List<FirebaseUserMessageDto> sendMessages(List<FirebaseUserMessageDto> userMessages) {
+        Set<Long> userIds =
+                userMessages.stream().map(FirebaseUserMessageDto::getUserId).collect(Collectors.toSet());
+        Map<Long, List<String>> tokensByUser = firebaseTokenDirectory.getTokens(userIds);
+
+        List<PushMessage> pushMessages = new ArrayList<>();
+        List<FirebaseUserMessageDto> pushUserMessages = new ArrayList<>();
+        for (FirebaseUserMessageDto userMessage : userMessages) {
+            for (String token : tokensByUser.getOrDefault(userMessage.getUserId(), List.of())) {
+                pushMessages.add(PushMessage.builder()
+                        .token(token)
+                        .title(userMessage.getMessage().getTitle())
+                        .body(userMessage.getMessage().getBody())
+                        .image(userMessage.getMessage().getImage())
+                        .build());
+                pushUserMessages.add(userMessage);
+            }
+        }
+
+        // Messages have no equality of their own, the same message is sent to every token of the user
+        Set<FirebaseUserMessageDto> delivered = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<FirebaseUserMessageDto> retried = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<FirebaseUserMessageDto> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+        int batchSize = pushProvider.getMaxBatchSize();
+        for (int from = 0; from < pushMessages.size(); from += batchSize) {
+            List<PushMessage> batch = pushMessages.subList(from, Math.min(from + batchSize, pushMessages.size()));
+            List<PushResult> results;
+            try {
+                results = pushProvider.sendBatch(batch);
+            } catch (Exception e) {
+                results = Collections.nCopies(batch.size(), PushResult.failure(null, e.getMessage()));
+            }
+
+            for (int i = 0; i < results.size(); i++) {
+                PushResult result = results.get(i);
+                PushMessage pushMessage = batch.get(i);
+                FirebaseUserMessageDto userMessage = pushUserMessages.get(from + i);
+                if (result.isSuccessful()) {
+                    delivered.add(userMessage);
+                    continue;
+                }
+
+                PushFailureKind failureKind = PushFailureKind.classify(result);
+                if (failureKind == PushFailureKind.DEAD_TOKEN) {
+                    deadTokenPruner.enqueue(userMessage.getUserId(), pushMessage.getToken());
+                } else if (failureKind == PushFailureKind.TRANSIENT
+                        && pushRetryQueue.offer(userMessage.getUserId(), pushMessage, 1)) {
+                    retried.add(userMessage);
+                } else {
+                    failed.add(userMessage);
+                    logger.error(
+                            "Firebase notification hasn't been sent: userId={}, errorCode={}, error={}",
+                            userMessage.getUserId(),
+                            result.getErrorCode(),
+                            result.getErrorMessage());
                 }
             }
         }
+
+        logger.info(
+                "Firebase notifications have been sent: messages={}, pushMessages={}, delivered={}, retried={}",
+                userMessages.size(),
+                pushMessages.size(),
+                delivered.size(),
+                retried.size());
+
+        return userMessages.stream()
+                .filter(userMessage -> failed.contains(userMessage)
+                        && !delivered.contains(userMessage)
+                        && !retried.contains(userMessage))
+                .toList();
     }
 }
@@ -0,0 +1,115 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import healthy.lifestyle.backend.notification.model.FirebaseUserToken;
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the Firebase tokens of up to notification.token-directory.max-users users, loaded on the first send to
+ * a user (users without tokens are cached too). Callers update it after writing firebase_user_tokens.
+ * <p>
+ * Writes on other nodes only update their own directory, so a user is reloaded once it has been cached for
+ * notification.token-directory.ttl-seconds. Local writes don't extend that time.
+ * <p>
+ * A load only caches what it has read if no token has been written since the load started, a write racing with
+ * the load would otherwise be lost. Both sides run within ConcurrentHashMap.compute for the user.
+ */
+@Component
+public class FirebaseTokenDirectory {
+    @Value("${notification.token-directory.max-users:100000}")
+    int maxUsers;
+
+    @Value("${notification.token-directory.ttl-seconds:300}")
+    long ttlSeconds;
+
+    @Autowired
+    FirebaseUserTokenRepository firebaseUserTokenRepository;
+
+    Clock clock = Clock.systemUTC();
+
+    private final Map<Long, CachedTokens> tokensByUser = new ConcurrentHashMap<>();
+
+    private final AtomicLong writeSequence = new AtomicLong();
+
+    public List<String> getTokens(long userId) {
+        return getTokens(List.of(userId)).getOrDefault(userId, List.of());
+    }
+
+    /**
+     * Reads the users missing from the directory with a single query.
+     */
+    public Map<Long, List<String>> getTokens(Collection<Long> userIds) {
+        Map<Long, List<String>> result = new HashMap<>();
+        Set<Long> missingUserIds = new HashSet<>();
+        long now = clock.millis();
+        for (Long userId : userIds) {
+            CachedTokens cached = tokensByUser.get(userId);
+            if (cached != null && !cached.isExpired(now, ttlSeconds)) {
+                result.put(userId, cached.tokens());
+            } else {
+                missingUserIds.add(userId);
+            }
+        }
+        if (missingUserIds.isEmpty()) return result;
+
+        long loadSequence = writeSequence.get();
+        Map<Long, List<String>> loaded = firebaseUserTokenRepository.findByUser_IdIn(missingUserIds).stream()
+                .collect(Collectors.groupingBy(
+                        token -> token.getUser().getId(),
+                        Collectors.mapping(FirebaseUserToken::getToken, Collectors.toList())));
+        for (Long userId : missingUserIds) {
+            List<String> tokens = List.copyOf(loaded.getOrDefault(userId, List.of()));
+            result.put(userId, tokens);
+            if (tokensByUser.size() >= maxUsers) evictOne();
+            tokensByUser.compute(userId, (key, cached) -> {
+                if (cached != null && !cached.isExpired(now, ttlSeconds)) return cached;
+                // The time of expiry counts from before the load, so it covers writes the load may have missed
+                return writeSequence.get() == loadSequence ? new CachedTokens(tokens, now) : null;
+            });
+        }
+        return result;
+    }
+
+    public void addToken(long userId, String token) {
+        tokensByUser.compute(userId, (key, cached) -> {
+            writeSequence.incrementAndGet();
+            if (cached == null || cached.tokens().contains(token)) return cached;
+            List<String> tokens = new ArrayList<>(cached.tokens());
+            tokens.add(token);
+            return new CachedTokens(List.copyOf(tokens), cached.loadedAt());
+        });
+    }
+
+    public void removeToken(long userId, String token) {
+        tokensByUser.compute(userId, (key, cached) -> {
+            writeSequence.incrementAndGet();
+            if (cached == null || !cached.tokens().contains(token)) return cached;
+            return new CachedTokens(
+                    cached.tokens().stream().filter(elt -> !elt.equals(token)).toList(), cached.loadedAt());
+        });
+    }
+
+    public int size() {
+        return tokensByUser.size();
+    }
+
+    private void evictOne() {
+        Iterator<Long> iterator = tokensByUser.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private record CachedTokens(List<String> tokens, long loadedAt) {
+        private boolean isExpired(long now, long ttlSeconds) {
+            return now - loadedAt >= ttlSeconds * 1000;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+/**
+ * A pending change of a user's Firebase token, either its registration or its removal.
+ */
+public record FirebaseTokenRegistration(long userId, String token, String userAgent, boolean removal, int attempts) {
+    public static FirebaseTokenRegistration register(long userId, String token, String userAgent) {
+        return new FirebaseTokenRegistration(userId, token, userAgent, false, 0);
+    }
+
+    public static FirebaseTokenRegistration remove(long userId, String token) {
+        return new FirebaseTokenRegistration(userId, token, null, true, 0);
+    }
+
+    public FirebaseTokenRegistration nextAttempt() {
+        return new FirebaseTokenRegistration(userId, token, userAgent, removal, attempts + 1);
+    }
+}
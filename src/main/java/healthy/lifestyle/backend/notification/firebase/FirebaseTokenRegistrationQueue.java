@@ -0,0 +1,174 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import healthy.lifestyle.backend.shared.util.DateTimeService;
+import jakarta.annotation.PreDestroy;
+import java.sql.BatchUpdateException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Takes token registrations off the request path. Pending changes are keyed by (user, token), so a later change of
+ * the same pair replaces the earlier one, and every flush applies them as one batched delete and one batched upsert.
+ * The token directory is updated once the changes have been written.
+ * <p>
+ * At most notification.token-registration.max-pending pairs wait, a registration that doesn't fit is rejected and
+ * the caller writes it itself. A failed flush is retried up to notification.token-registration.max-attempts times,
+ * a change violating a constraint is dropped at once.
+ */
+@Component
+public class FirebaseTokenRegistrationQueue {
+    @Value("${notification.token-registration.max-pending:100000}")
+    int maxPending;
+
+    @Value("${notification.token-registration.max-attempts:3}")
+    int maxAttempts;
+
+    @Autowired
+    FirebaseUserTokenRepository firebaseUserTokenRepository;
+
+    @Autowired
+    FirebaseTokenDirectory firebaseTokenDirectory;
+
+    @Autowired
+    DateTimeService dateTimeService;
+
+    private static final Logger logger = LoggerFactory.getLogger(FirebaseTokenRegistrationQueue.class);
+
+    private final Map<TokenKey, FirebaseTokenRegistration> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Queues the received token and the removal of the one the app had stored before, if it differs.
+     * Returns false, having queued nothing, if the queue is full.
+     */
+    public boolean offer(long userId, FirebaseController.FirebaseRequestDto requestDto, String userAgent) {
+        String receivedToken = requestDto.getFirebaseUserTokenNowReceived();
+        String localStorageToken = requestDto.getFirebaseUserTokenFromLocalStorage();
+        boolean removal = localStorageToken != null && !localStorageToken.equals(receivedToken);
+        boolean registration = receivedToken != null;
+        if (!removal && !registration) return true;
+        if (pending.size() + 2 > maxPending) return false;
+
+        if (removal) {
+            put(FirebaseTokenRegistration.remove(userId, localStorageToken));
+        }
+        if (registration) {
+            put(FirebaseTokenRegistration.register(userId, receivedToken, userAgent));
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${notification.token-registration.flush-interval-ms:200}")
+    public void flush() {
+        List<FirebaseTokenRegistration> removals = new ArrayList<>();
+        List<FirebaseTokenRegistration> registrations = new ArrayList<>();
+        for (TokenKey key : pending.keySet()) {
+            FirebaseTokenRegistration change = pending.remove(key);
+            if (change == null) continue;
+            (change.removal() ? removals : registrations).add(change);
+        }
+        if (removals.isEmpty() && registrations.isEmpty()) return;
+
+        write(
+                removals,
+                firebaseUserTokenRepository::deleteAllTokens,
+                change -> firebaseTokenDirectory.removeToken(change.userId(), change.token()));
+
+        LocalDate createdAt = dateTimeService.getCurrentDatabaseDate();
+        write(
+                registrations,
+                changes -> firebaseUserTokenRepository.upsertAllTokens(changes, createdAt),
+                change -> firebaseTokenDirectory.addToken(change.userId(), change.token()));
+
+        logger.debug(
+                "Firebase user tokens have been flushed: removals={}, registrations={}",
+                removals.size(),
+                registrations.size());
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    private void put(FirebaseTokenRegistration change) {
+        pending.put(new TokenKey(change.userId(), change.token()), change);
+    }
+
+    /**
+     * A single invalid row fails the whole JDBC batch, the rows of a failed batch are then written one by one,
+     * so only the invalid ones are dropped and the others are written or retried.
+     */
+    private void write(
+            List<FirebaseTokenRegistration> changes,
+            Consumer<List<FirebaseTokenRegistration>> writer,
+            Consumer<FirebaseTokenRegistration> onWritten) {
+        if (changes.isEmpty()) return;
+
+        try {
+            writer.accept(changes);
+            changes.forEach(onWritten);
+        } catch (Exception e) {
+            if (changes.size() > 1 && isBatchFailure(e)) {
+                changes.forEach(change -> write(List.of(change), writer, onWritten));
+            } else if (changes.size() == 1 && e instanceof DataIntegrityViolationException) {
+                drop(changes.get(0), e);
+            } else {
+                requeue(changes, e);
+            }
+        }
+    }
+
+    private void requeue(List<FirebaseTokenRegistration> changes, Exception e) {
+        int dropped = 0;
+        for (FirebaseTokenRegistration change : changes) {
+            FirebaseTokenRegistration next = change.nextAttempt();
+            if (next.attempts() >= maxAttempts) {
+                drop(change, e);
+                dropped++;
+                continue;
+            }
+            // A change queued since the flush started is newer and wins
+            pending.putIfAbsent(new TokenKey(change.userId(), change.token()), next);
+        }
+        logger.error(
+                "Error occurred while writing Firebase user tokens: changes={}, dropped={}, error={}",
+                changes.size(),
+                dropped,
+                e.getMessage());
+    }
+
+    private void drop(FirebaseTokenRegistration change, Exception e) {
+        logger.warn(
+                "Firebase user token change has been dropped: userId={}, removal={}, userAgent={}, attempts={}, "
+                        + "error={}",
+                change.userId(),
+                change.removal(),
+                change.userAgent(),
+                change.attempts() + 1,
+                e.getMessage());
+    }
+
+    private static boolean isBatchFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BatchUpdateException) return true;
+        }
+        return false;
+    }
+
+    private record TokenKey(long userId, String token) {}
+}
@@ -0,0 +1,11 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+public class FirebaseUserMessageDto {
+    private final long userId;
+
+    private final FirebaseMessageDto message;
+}
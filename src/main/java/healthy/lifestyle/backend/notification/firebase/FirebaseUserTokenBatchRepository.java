@@ -0,0 +1,16 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface FirebaseUserTokenBatchRepository {
+    /**
+     * Upserts the registrations with JDBC batches, backed by uq_firebase_user_tokens_user_token.
+     */
+    void upsertAllTokens(List<FirebaseTokenRegistration> registrations, LocalDate createdAt);
+
+    /**
+     * Deletes the (user, token) pairs of the registrations with JDBC batches.
+     */
+    void deleteAllTokens(List<FirebaseTokenRegistration> registrations);
+}
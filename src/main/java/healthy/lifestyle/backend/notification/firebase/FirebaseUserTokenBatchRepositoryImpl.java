@@ -0,0 +1,45 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+public class FirebaseUserTokenBatchRepositoryImpl implements FirebaseUserTokenBatchRepository {
+    private static final int BATCH_SIZE = 100;
+
+    private static final String UPSERT_SQL = "INSERT INTO firebase_user_tokens "
+            + "(user_id, token, user_agent, created_at) VALUES (?, ?, ?, ?) "
+            + "ON CONFLICT (user_id, token) DO UPDATE SET user_agent = EXCLUDED.user_agent";
+
+    private static final String DELETE_SQL = "DELETE FROM firebase_user_tokens WHERE user_id = ? AND token = ?";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void upsertAllTokens(List<FirebaseTokenRegistration> registrations, LocalDate createdAt) {
+        if (registrations.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, registrations, BATCH_SIZE, (ps, registration) -> {
+            ps.setLong(1, registration.userId());
+            ps.setString(2, registration.token());
+            ps.setString(3, registration.userAgent());
+            ps.setDate(4, Date.valueOf(createdAt));
+        });
+    }
+
+    @Override
+    @Transactional
+    public void deleteAllTokens(List<FirebaseTokenRegistration> registrations) {
+        if (registrations.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(DELETE_SQL, registrations, BATCH_SIZE, (ps, registration) -> {
+            ps.setLong(1, registration.userId());
+            ps.setString(2, registration.token());
+        });
+    }
+}
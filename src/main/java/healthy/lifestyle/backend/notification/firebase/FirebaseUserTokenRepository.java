@@ -1,12 +1,47 @@
 package healthy.lifestyle.backend.notification.firebase;
 
 import healthy.lifestyle.backend.notification.model.FirebaseUserToken;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface FirebaseUserTokenRepository extends JpaRepository<FirebaseUserToken, Long> {
+public interface FirebaseUserTokenRepository
+        extends JpaRepository<FirebaseUserToken, Long>, FirebaseUserTokenBatchRepository {
     Optional<FirebaseUserToken> findByUser_IdAndToken(long userId, String token);
 
     List<FirebaseUserToken> findByUser_Id(long userId);
+
+    List<FirebaseUserToken> findByUser_IdIn(Collection<Long> userIds);
+
+    /**
+     * Backed by uq_firebase_user_tokens_user_token.
+     */
+    @Modifying
+    @Transactional
+    @Query(
+            value = "INSERT INTO firebase_user_tokens (user_id, token, user_agent, created_at) "
+                    + "VALUES (:userId, :token, :userAgent, :createdAt) "
+                    + "ON CONFLICT (user_id, token) DO UPDATE SET user_agent = EXCLUDED.user_agent",
+            nativeQuery = true)
+    void upsert(
+            @Param("userId") long userId,
+            @Param("token") String token,
+            @Param("userAgent") String userAgent,
+            @Param("createdAt") LocalDate createdAt);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM firebase_user_tokens WHERE user_id = :userId AND token = :token", nativeQuery = true)
+    int deleteByUserIdAndToken(@Param("userId") long userId, @Param("token") String token);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM firebase_user_tokens WHERE token IN (:tokens)", nativeQuery = true)
+    int deleteByTokenIn(@Param("tokens") Collection<String> tokens);
 }
@@ -0,0 +1,82 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stands in for Firebase in load tests and local runs: nothing leaves the process. Every batch takes
+ * latencyMillis plus up to latencyJitterMillis, batches over maxBatchSize are rejected like Firebase rejects them,
+ * and every message fails with an error code at that code's rate.
+ */
+public class LocalPushProvider implements PushProvider {
+    private final int maxBatchSize;
+
+    private final long latencyMillis;
+
+    private final long latencyJitterMillis;
+
+    private final Map<MessagingErrorCode, Double> errorRates;
+
+    private final AtomicLong messageIdSequence = new AtomicLong();
+
+    public LocalPushProvider(
+            int maxBatchSize,
+            long latencyMillis,
+            long latencyJitterMillis,
+            Map<MessagingErrorCode, Double> errorRates) {
+        this.maxBatchSize = maxBatchSize;
+        this.latencyMillis = latencyMillis;
+        this.latencyJitterMillis = latencyJitterMillis;
+        this.errorRates = new LinkedHashMap<>(errorRates);
+    }
+
+    @Override
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    @Override
+    public List<PushResult> sendBatch(List<PushMessage> messages) {
+        if (messages.size() > maxBatchSize) {
+            throw new IllegalArgumentException(
+                    "Batch of " + messages.size() + " messages exceeds the limit of " + maxBatchSize);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        simulateLatency(random);
+
+        List<PushResult> results = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            MessagingErrorCode errorCode = drawErrorCode(random.nextDouble());
+            results.add(
+                    errorCode == null
+                            ? PushResult.success("local-" + messageIdSequence.incrementAndGet())
+                            : PushResult.failure(errorCode, "Simulated " + errorCode));
+        }
+        return results;
+    }
+
+    private void simulateLatency(ThreadLocalRandom random) {
+        long millis = latencyMillis + (latencyJitterMillis > 0 ? random.nextLong(latencyJitterMillis + 1) : 0);
+        if (millis <= 0) return;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private MessagingErrorCode drawErrorCode(double draw) {
+        double cumulativeRate = 0;
+        for (Map.Entry<MessagingErrorCode, Double> entry : errorRates.entrySet()) {
+            cumulativeRate += entry.getValue();
+            if (draw < cumulativeRate) return entry.getKey();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,68 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+
+/**
+ * Measures the calls of the delegate provider.
+ * <p>
+ * Metrics: notification.provider.send (duration of a batch call), notification.provider.messages (by outcome)
+ * and notification.provider.failures (by error code and failure kind).
+ */
+public class MeteredPushProvider implements PushProvider {
+    private final PushProvider delegate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Timer sendTimer;
+
+    private final Counter deliveredCounter;
+
+    private final Counter failedCounter;
+
+    public MeteredPushProvider(PushProvider delegate, String providerName, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.sendTimer = Timer.builder("notification.provider.send")
+                .description("Duration of a push provider batch call")
+                .tag("provider", providerName)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.deliveredCounter = Counter.builder("notification.provider.messages")
+                .description("Push messages handed to the provider")
+                .tag("outcome", "delivered")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("notification.provider.messages")
+                .description("Push messages handed to the provider")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getMaxBatchSize() {
+        return delegate.getMaxBatchSize();
+    }
+
+    @Override
+    public List<PushResult> sendBatch(List<PushMessage> messages) {
+        List<PushResult> results = sendTimer.record(() -> delegate.sendBatch(messages));
+        for (PushResult result : results) {
+            if (result.isSuccessful()) {
+                deliveredCounter.increment();
+                continue;
+            }
+            failedCounter.increment();
+            meterRegistry
+                    .counter(
+                            "notification.provider.failures",
+                            "error_code",
+                            result.getErrorCode() == null ? "NONE" : result.getErrorCode().name(),
+                            "kind",
+                            PushFailureKind.classify(result).name())
+                    .increment();
+        }
+        return results;
+    }
+}
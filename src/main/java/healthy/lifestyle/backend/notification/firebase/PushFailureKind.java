@@ -0,0 +1,32 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+
+public enum PushFailureKind {
+    /**
+     * The token will never work again and should be removed.
+     */
+    DEAD_TOKEN,
+    /**
+     * The provider or the network failed, the same message may succeed later.
+     */
+    TRANSIENT,
+    /**
+     * Retrying won't help, e.g. the server's credentials are wrong.
+     */
+    PERMANENT;
+
+    public static PushFailureKind classify(PushResult result) {
+        // No error code means the request didn't reach the provider
+        if (result.getErrorCode() == null) return TRANSIENT;
+        return classify(result.getErrorCode());
+    }
+
+    public static PushFailureKind classify(MessagingErrorCode errorCode) {
+        return switch (errorCode) {
+            case UNREGISTERED, INVALID_ARGUMENT, SENDER_ID_MISMATCH -> DEAD_TOKEN;
+            case UNAVAILABLE, INTERNAL, QUOTA_EXCEEDED -> TRANSIENT;
+            case THIRD_PARTY_AUTH_ERROR -> PERMANENT;
+        };
+    }
+}
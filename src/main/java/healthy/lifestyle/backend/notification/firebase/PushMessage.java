@@ -0,0 +1,16 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import lombok.*;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class PushMessage {
+    private final String token;
+
+    private final String title;
+
+    private final String body;
+
+    private final String image;
+}
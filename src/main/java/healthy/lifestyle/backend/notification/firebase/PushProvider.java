@@ -0,0 +1,13 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import java.util.List;
+
+/**
+ * Push messaging backend. Implementations send up to {@link #getMaxBatchSize()} messages per call and return
+ * one result per message, in the order of the messages.
+ */
+public interface PushProvider {
+    int getMaxBatchSize();
+
+    List<PushResult> sendBatch(List<PushMessage> messages);
+}
@@ -0,0 +1,46 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * notification.push.provider selects where push messages go: firebase (default) or local, the in-process
+ * stand-in for load tests that needs no Firebase credentials.
+ */
+@Configuration
+public class PushProviderConfig {
+    @Bean
+    @Primary
+    public PushProvider pushProvider(
+            ObjectProvider<FirebasePushProvider> firebasePushProvider,
+            ObjectProvider<LocalPushProvider> localPushProvider,
+            MeterRegistry meterRegistry) {
+        LocalPushProvider local = localPushProvider.getIfAvailable();
+        if (local != null) return new MeteredPushProvider(local, "local", meterRegistry);
+        return new MeteredPushProvider(firebasePushProvider.getObject(), "firebase", meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.push.provider", havingValue = "local")
+    public LocalPushProvider localPushProvider(
+            @Value("${notification.push.local.max-batch-size:500}") int maxBatchSize,
+            @Value("${notification.push.local.latency-ms:50}") long latencyMillis,
+            @Value("${notification.push.local.latency-jitter-ms:20}") long latencyJitterMillis,
+            @Value("${notification.push.local.unregistered-rate:0.01}") double unregisteredRate,
+            @Value("${notification.push.local.unavailable-rate:0.005}") double unavailableRate) {
+        return new LocalPushProvider(
+                maxBatchSize,
+                latencyMillis,
+                latencyJitterMillis,
+                Map.of(
+                        MessagingErrorCode.UNREGISTERED, unregisteredRate,
+                        MessagingErrorCode.UNAVAILABLE, unavailableRate));
+    }
+}
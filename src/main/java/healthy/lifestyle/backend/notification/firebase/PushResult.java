@@ -0,0 +1,28 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+import lombok.*;
+
+/**
+ * Outcome of sending a single push message. errorCode is null on success, and may be null on failure
+ * if the provider didn't report one.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PushResult {
+    private final boolean successful;
+
+    private final String messageId;
+
+    private final MessagingErrorCode errorCode;
+
+    private final String errorMessage;
+
+    public static PushResult success(String messageId) {
+        return new PushResult(true, messageId, null, null);
+    }
+
+    public static PushResult failure(MessagingErrorCode errorCode, String errorMessage) {
+        return new PushResult(false, null, errorCode, errorMessage);
+    }
+}
@@ -0,0 +1,123 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import java.time.Clock;
+import java.util.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Retries push messages that failed transiently, with exponential backoff starting at
+ * notification.retry.initial-backoff-ms. A message is given up after notification.retry.max-attempts attempts,
+ * and a user has at most notification.retry.max-pending-per-user messages waiting, so a user whose tokens
+ * keep failing can't fill the queue.
+ */
+@Component
+public class PushRetryQueue {
+    @Value("${notification.retry.initial-backoff-ms:30000}")
+    long initialBackoffMillis;
+
+    @Value("${notification.retry.max-backoff-ms:900000}")
+    long maxBackoffMillis;
+
+    @Value("${notification.retry.max-attempts:5}")
+    int maxAttempts;
+
+    @Value("${notification.retry.max-pending-per-user:20}")
+    int maxPendingPerUser;
+
+    @Autowired
+    PushProvider pushProvider;
+
+    @Autowired
+    DeadTokenPruner deadTokenPruner;
+
+    Clock clock = Clock.systemUTC();
+
+    private static final Logger logger = LoggerFactory.getLogger(PushRetryQueue.class);
+
+    // Guarded by this
+    private final PriorityQueue<RetryItem> queue = new PriorityQueue<>(Comparator.comparingLong(RetryItem::dueAt));
+
+    private final Map<Long, Integer> pendingByUser = new HashMap<>();
+
+    /**
+     * attempts is the number of attempts made so far. Returns false if the message won't be retried.
+     */
+    public synchronized boolean offer(long userId, PushMessage message, int attempts) {
+        if (attempts >= maxAttempts) return false;
+        int pending = pendingByUser.getOrDefault(userId, 0);
+        if (pending >= maxPendingPerUser) return false;
+
+        pendingByUser.put(userId, pending + 1);
+        queue.add(new RetryItem(userId, message, attempts, clock.millis() + getBackoffMillis(attempts)));
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${notification.retry.poll-interval-ms:5000}")
+    public void retryDue() {
+        List<RetryItem> due = pollDue();
+        int batchSize = pushProvider.getMaxBatchSize();
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<RetryItem> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            List<PushResult> results;
+            try {
+                results = pushProvider.sendBatch(
+                        batch.stream().map(RetryItem::message).toList());
+            } catch (Exception e) {
+                results = Collections.nCopies(batch.size(), PushResult.failure(null, e.getMessage()));
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                handleResult(batch.get(i), results.get(i));
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return queue.size();
+    }
+
+    long getBackoffMillis(int attempts) {
+        long backoff = initialBackoffMillis << Math.min(attempts - 1, 20);
+        return Math.min(backoff, maxBackoffMillis);
+    }
+
+    private void handleResult(RetryItem item, PushResult result) {
+        if (result.isSuccessful()) return;
+
+        switch (PushFailureKind.classify(result)) {
+            case DEAD_TOKEN -> deadTokenPruner.enqueue(item.userId(), item.message().getToken());
+            case TRANSIENT -> {
+                if (!offer(item.userId(), item.message(), item.attempts() + 1)) {
+                    logger.error(
+                            "Firebase notification hasn't been sent after {} attempts: userId={}, errorCode={}",
+                            item.attempts() + 1,
+                            item.userId(),
+                            result.getErrorCode());
+                }
+            }
+            case PERMANENT -> logger.error(
+                    "Firebase notification hasn't been sent: userId={}, errorCode={}, error={}",
+                    item.userId(),
+                    result.getErrorCode(),
+                    result.getErrorMessage());
+        }
+    }
+
+    private synchronized List<RetryItem> pollDue() {
+        long now = clock.millis();
+        List<RetryItem> due = new ArrayList<>();
+        while (!queue.isEmpty() && queue.peek().dueAt() <= now) {
+            RetryItem item = queue.poll();
+            pendingByUser.computeIfPresent(item.userId(), (key, pending) -> pending > 1 ? pending - 1 : null);
+            due.add(item);
+        }
+        return due;
+    }
+
+    private record RetryItem(long userId, PushMessage message, int attempts, long dueAt) {}
+}
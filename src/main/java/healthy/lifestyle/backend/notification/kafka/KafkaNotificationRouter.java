@@ -0,0 +1,59 @@
+package healthy.lifestyle.backend.notification.kafka;
+
+import healthy.lifestyle.backend.notification.scheduler.NotificationRouter;
+import healthy.lifestyle.backend.notification.scheduler.TaskDto;
+import healthy.lifestyle.backend.notification.shared.ActivityType;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the commands to the partition of the user, the node owning the partition applies them.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.kafka.enabled", havingValue = "true")
+public class KafkaNotificationRouter implements NotificationRouter {
+    @Value("${notification.kafka.topic:notification-commands}")
+    String topic;
+
+    @Value("${notification.kafka.partitions:12}")
+    int partitions;
+
+    @Autowired
+    KafkaTemplate<String, NotificationCommand> notificationCommandKafkaTemplate;
+
+    public static int partitionFor(long userId, int partitions) {
+        return Math.floorMod(Long.hashCode(userId), partitions);
+    }
+
+    @Override
+    public void schedule(List<TaskDto> taskDtoList) {
+        for (TaskDto taskDto : taskDtoList) {
+            send(NotificationCommand.builder()
+                    .type(NotificationCommand.Type.SCHEDULE)
+                    .userId(taskDto.getUserId())
+                    .task(taskDto)
+                    .build());
+        }
+    }
+
+    @Override
+    public void cancel(long userId, ActivityType activityType, long activityId, long planId) {
+        send(NotificationCommand.builder()
+                .type(NotificationCommand.Type.CANCEL_PLAN)
+                .userId(userId)
+                .activityType(activityType)
+                .activityId(activityId)
+                .planId(planId)
+                .build());
+    }
+
+    private void send(NotificationCommand command) {
+        long userId = command.getUserId();
+        notificationCommandKafkaTemplate.send(
+                topic, partitionFor(userId, partitions), String.valueOf(userId), command);
+    }
+}
@@ -0,0 +1,29 @@
+package healthy.lifestyle.backend.notification.kafka;
+
+import healthy.lifestyle.backend.notification.scheduler.TaskDto;
+import healthy.lifestyle.backend.notification.shared.ActivityType;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationCommand {
+    private Type type;
+
+    private long userId;
+
+    private TaskDto task;
+
+    private ActivityType activityType;
+
+    private long activityId;
+
+    private long planId;
+
+    public enum Type {
+        SCHEDULE,
+        CANCEL_PLAN
+    }
+}
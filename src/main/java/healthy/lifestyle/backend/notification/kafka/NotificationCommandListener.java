@@ -0,0 +1,25 @@
+package healthy.lifestyle.backend.notification.kafka;
+
+import healthy.lifestyle.backend.notification.scheduler.NotificationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "notification.kafka.enabled", havingValue = "true")
+public class NotificationCommandListener {
+    @Autowired
+    NotificationService notificationService;
+
+    @KafkaListener(
+            topics = "${notification.kafka.topic:notification-commands}",
+            containerFactory = "notificationCommandListenerContainerFactory")
+    public void onCommand(NotificationCommand command) {
+        switch (command.getType()) {
+            case SCHEDULE -> notificationService.addScheduledFuture(command.getTask());
+            case CANCEL_PLAN -> notificationService.cancelAndRemoveScheduledFuture(
+                    command.getActivityType(), command.getActivityId(), command.getPlanId());
+        }
+    }
+}
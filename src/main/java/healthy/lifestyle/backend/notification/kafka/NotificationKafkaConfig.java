@@ -0,0 +1,84 @@
+package healthy.lifestyle.backend.notification.kafka;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.util.Map;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+/**
+ * Notification commands are keyed and partitioned by user id, so every node only schedules the notifications
+ * of the users whose partitions are assigned to it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "notification.kafka.enabled", havingValue = "true")
+public class NotificationKafkaConfig {
+    @Bean
+    public NewTopic notificationCommandsTopic(
+            @Value("${notification.kafka.topic:notification-commands}") String topic,
+            @Value("${notification.kafka.partitions:12}") int partitions,
+            @Value("${notification.kafka.replication-factor:1}") int replicationFactor) {
+        return TopicBuilder.name(topic)
+                .partitions(partitions)
+                .replicas(replicationFactor)
+                .build();
+    }
+
+    @Bean
+    public KafkaTemplate<String, NotificationCommand> notificationCommandKafkaTemplate(
+            KafkaProperties kafkaProperties, ObjectMapper objectMapper) {
+        Map<String, Object> properties = kafkaProperties.buildProducerProperties();
+        properties.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        properties.put(ProducerConfig.ACKS_CONFIG, "all");
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                properties, new StringSerializer(), new JsonSerializer<>(commandObjectMapper(objectMapper))));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, NotificationCommand>
+            notificationCommandListenerContainerFactory(
+                    KafkaProperties kafkaProperties,
+                    ObjectMapper objectMapper,
+                    NotificationPartitionRebalanceListener rebalanceListener,
+                    @Value("${notification.kafka.group-id:notification-scheduler}") String groupId) {
+        Map<String, Object> properties = kafkaProperties.buildConsumerProperties();
+        properties.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+
+        ConcurrentKafkaListenerContainerFactory<String, NotificationCommand> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(
+                properties,
+                new StringDeserializer(),
+                new JsonDeserializer<>(NotificationCommand.class, commandObjectMapper(objectMapper), false)));
+        factory.getContainerProperties().setConsumerRebalanceListener(rebalanceListener);
+        return factory;
+    }
+
+    /**
+     * Keeps the offsets and zone ids of the task's date-times, the user's zone is needed to render the message.
+     */
+    private static ObjectMapper commandObjectMapper(ObjectMapper objectMapper) {
+        return objectMapper
+                .copy()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.WRITE_DATES_WITH_ZONE_ID)
+                .disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE);
+    }
+}
@@ -0,0 +1,58 @@
+package healthy.lifestyle.backend.notification.kafka;
+
+import healthy.lifestyle.backend.notification.outbox.NotificationOutboxService;
+import healthy.lifestyle.backend.notification.scheduler.NotificationService;
+import healthy.lifestyle.backend.notification.scheduler.TaskDto;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops the notifications of the users whose partitions have been revoked and releases their outbox claims,
+ * so the next loader publishes them again to the new owner of the partition.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.kafka.enabled", havingValue = "true")
+public class NotificationPartitionRebalanceListener implements ConsumerRebalanceListener {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPartitionRebalanceListener.class);
+
+    @Value("${notification.kafka.partitions:12}")
+    int partitions;
+
+    @Autowired
+    NotificationService notificationService;
+
+    @Autowired
+    NotificationOutboxService notificationOutboxService;
+
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> revokedPartitions) {
+        if (revokedPartitions.isEmpty()) return;
+        Set<Integer> revoked =
+                revokedPartitions.stream().map(TopicPartition::partition).collect(Collectors.toSet());
+
+        List<TaskDto> cancelled = notificationService.cancelAndRemoveScheduledFutures(
+                taskDto -> revoked.contains(KafkaNotificationRouter.partitionFor(taskDto.getUserId(), partitions)));
+        List<Long> outboxIds =
+                cancelled.stream().map(TaskDto::getOutboxId).filter(Objects::nonNull).toList();
+        notificationOutboxService.releaseClaims(outboxIds);
+        logger.info(
+                "Partitions {} revoked, dropped {} notifications, released {} outbox claims",
+                revoked,
+                cancelled.size(),
+                outboxIds.size());
+    }
+
+    @Override
+    public void onPartitionsAssigned(Collection<TopicPartition> assignedPartitions) {}
+}
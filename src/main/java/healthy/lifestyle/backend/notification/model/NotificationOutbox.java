@@ -0,0 +1,65 @@
+package healthy.lifestyle.backend.notification.model;
+
+import healthy.lifestyle.backend.notification.shared.ActivityType;
+import healthy.lifestyle.backend.notification.shared.NotificationOutboxStatus;
+import healthy.lifestyle.backend.notification.shared.NotificationType;
+import healthy.lifestyle.backend.user.model.User;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.*;
+
+/**
+ * notification_outbox table keeps every notification that hasn't been sent yet, so pending notifications
+ * survive restarts. Date-times are in the database's timezone.
+ * A row is PENDING until a loader claims it for the next window (SCHEDULED until claimedUntil), then it's
+ * SENT, FAILED or, if nobody claimed it in time, EXPIRED.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "notification_outbox")
+public class NotificationOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, unique = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "activity_type", unique = false, nullable = false)
+    private ActivityType activityType;
+
+    @Column(name = "activity_id", unique = false, nullable = false)
+    private Long activityId;
+
+    @Column(name = "plan_id", unique = false, nullable = false)
+    private Long planId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "notification_type", unique = false, nullable = false)
+    private NotificationType notificationType;
+
+    @Column(name = "notify_before_in_minutes", unique = false, nullable = false)
+    private int notifyBeforeInMinutes;
+
+    @Column(name = "activity_start_at", unique = false, nullable = false)
+    private LocalDateTime activityStartAt;
+
+    @Column(name = "notify_at", unique = false, nullable = false)
+    private LocalDateTime notifyAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", unique = false, nullable = false)
+    private NotificationOutboxStatus status;
+
+    @Column(name = "claimed_until", unique = false, nullable = true)
+    private LocalDateTime claimedUntil;
+
+    @Column(name = "created_at", unique = false, nullable = false)
+    private LocalDateTime createdAt;
+}
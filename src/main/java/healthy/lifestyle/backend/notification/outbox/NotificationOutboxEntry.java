@@ -0,0 +1,28 @@
+package healthy.lifestyle.backend.notification.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * A claimed notification_outbox row with its user's timezone. Date-times are in the database's timezone.
+ */
+public interface NotificationOutboxEntry {
+    Long getId();
+
+    Long getUserId();
+
+    String getUserTimezone();
+
+    String getActivityType();
+
+    Long getActivityId();
+
+    Long getPlanId();
+
+    String getNotificationType();
+
+    Integer getNotifyBeforeInMinutes();
+
+    LocalDateTime getActivityStartAt();
+
+    LocalDateTime getNotifyAt();
+}
@@ -0,0 +1,21 @@
+package healthy.lifestyle.backend.notification.outbox;
+
+import healthy.lifestyle.backend.plan.shared.event.PlanChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rewrites the plan's unsent notifications in the transaction that changed the plan, so the outbox never
+ * disagrees with the committed plans. Workout plans are the only plans publishing PlanChangedEvent.
+ */
+@Component
+public class NotificationOutboxListener {
+    @Autowired
+    NotificationOutboxService notificationOutboxService;
+
+    @EventListener
+    public void onPlanChanged(PlanChangedEvent event) {
+        notificationOutboxService.rescheduleWorkoutPlan(event.getPlanId());
+    }
+}
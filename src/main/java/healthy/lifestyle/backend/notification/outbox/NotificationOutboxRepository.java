@@ -0,0 +1,144 @@
+package healthy.lifestyle.backend.notification.outbox;
+
+import healthy.lifestyle.backend.notification.model.NotificationOutbox;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+    /**
+     * Expands the workout plan's json_description slots within [start_date; end_date] (see
+     * WorkoutPlanRepository.findActiveOccurrences) into a MAIN notification at the start of every occurrence and
+     * a DEFAULT one 5 minutes before it. Only notifications due within [fromDateTime; untilDateTime) are inserted,
+     * already existing ones (e.g. sent before the plan changed) are kept.
+     */
+    @Modifying
+    @Query(
+            value = "INSERT INTO notification_outbox (user_id, activity_type, activity_id, plan_id, notification_type, "
+                    + "notify_before_in_minutes, activity_start_at, notify_at, status, created_at) "
+                    + "SELECT wp.user_id, 'WORKOUT', wp.workout_id, wp.id, n.notification_type, "
+                    + "n.notify_before_in_minutes, o.occurrence_at, "
+                    + "o.occurrence_at - make_interval(mins => n.notify_before_in_minutes), 'PENDING', :createdAt "
+                    + "FROM workout_plans wp "
+                    + "CROSS JOIN LATERAL jsonb_array_elements(wp.json_description) AS slot "
+                    + "CROSS JOIN LATERAL (SELECT d.series_day "
+                    + "+ make_time(CAST(slot ->> 'hours' AS int), CAST(slot ->> 'minutes' AS int), 0) AS occurrence_at "
+                    + "FROM generate_series(CAST(wp.start_date AS timestamp), CAST(wp.end_date AS timestamp), "
+                    + "interval '1 day') AS d(series_day) "
+                    + "WHERE slot ->> 'dayOfWeek' IS NULL OR to_char(d.series_day, 'FMDAY') = slot ->> 'dayOfWeek') o "
+                    + "CROSS JOIN (VALUES ('MAIN', 0), ('DEFAULT', 5)) "
+                    + "AS n(notification_type, notify_before_in_minutes) "
+                    + "WHERE wp.id = :planId AND wp.is_active = true "
+                    + "AND o.occurrence_at - make_interval(mins => n.notify_before_in_minutes) >= :fromDateTime "
+                    + "AND o.occurrence_at - make_interval(mins => n.notify_before_in_minutes) < :untilDateTime "
+                    + "ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertForWorkoutPlan(
+            @Param("planId") long planId,
+            @Param("fromDateTime") LocalDateTime fromDateTime,
+            @Param("untilDateTime") LocalDateTime untilDateTime,
+            @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Plans the notifications of all active workout plans due within [windowStart; windowEnd), set-based:
+     * slotFilter is a jsonpath predicate on the slots' hours (e.g. "$[*].hours == 9 || $[*].hours == 10") that
+     * narrows the plans down through the GIN index on json_description, then the matching slots are expanded
+     * like in {@link #insertForWorkoutPlan}. Users without a registered device get no notifications.
+     */
+    @Modifying
+    @Query(
+            value = "INSERT INTO notification_outbox (user_id, activity_type, activity_id, plan_id, notification_type, "
+                    + "notify_before_in_minutes, activity_start_at, notify_at, status, created_at) "
+                    + "SELECT wp.user_id, 'WORKOUT', wp.workout_id, wp.id, n.notification_type, "
+                    + "n.notify_before_in_minutes, o.occurrence_at, "
+                    + "o.occurrence_at - make_interval(mins => n.notify_before_in_minutes), 'PENDING', :createdAt "
+                    + "FROM workout_plans wp "
+                    + "CROSS JOIN LATERAL jsonb_array_elements(wp.json_description) AS slot "
+                    + "CROSS JOIN LATERAL (SELECT d.series_day "
+                    + "+ make_time(CAST(slot ->> 'hours' AS int), CAST(slot ->> 'minutes' AS int), 0) AS occurrence_at "
+                    + "FROM generate_series(date_trunc('day', CAST(:windowStart AS timestamp)), "
+                    + "CAST(:windowEnd AS timestamp) + interval '5 minutes', interval '1 day') AS d(series_day) "
+                    + "WHERE slot ->> 'dayOfWeek' IS NULL OR to_char(d.series_day, 'FMDAY') = slot ->> 'dayOfWeek') o "
+                    + "CROSS JOIN (VALUES ('MAIN', 0), ('DEFAULT', 5)) "
+                    + "AS n(notification_type, notify_before_in_minutes) "
+                    + "WHERE wp.is_active = true AND wp.json_description @@ CAST(:slotFilter AS jsonpath) "
+                    + "AND CAST(o.occurrence_at AS date) BETWEEN wp.start_date AND wp.end_date "
+                    + "AND o.occurrence_at - make_interval(mins => n.notify_before_in_minutes) >= :windowStart "
+                    + "AND o.occurrence_at - make_interval(mins => n.notify_before_in_minutes) < :windowEnd "
+                    + "AND EXISTS (SELECT 1 FROM firebase_user_tokens t WHERE t.user_id = wp.user_id) "
+                    + "ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertDueInWindow(
+            @Param("windowStart") LocalDateTime windowStart,
+            @Param("windowEnd") LocalDateTime windowEnd,
+            @Param("slotFilter") String slotFilter,
+            @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query(
+            value = "DELETE FROM notification_outbox WHERE activity_type = :activityType AND plan_id = :planId "
+                    + "AND status IN ('PENDING', 'SCHEDULED')",
+            nativeQuery = true)
+    int deleteUnsentByPlan(@Param("activityType") String activityType, @Param("planId") long planId);
+
+    /**
+     * Locks the claimable rows due before windowEnd: pending ones and scheduled ones whose claim has lapsed,
+     * e.g. because the instance that claimed them went down. Rows locked by another loader are skipped.
+     * Only the users of the given shards (user_id modulo shardCount) are claimed.
+     */
+    @Query(
+            value = "SELECT o.id AS \"id\", o.user_id AS \"userId\", tz.name AS \"userTimezone\", "
+                    + "o.activity_type AS \"activityType\", o.activity_id AS \"activityId\", o.plan_id AS \"planId\", "
+                    + "o.notification_type AS \"notificationType\", "
+                    + "o.notify_before_in_minutes AS \"notifyBeforeInMinutes\", "
+                    + "o.activity_start_at AS \"activityStartAt\", o.notify_at AS \"notifyAt\" "
+                    + "FROM notification_outbox o JOIN users u ON u.id = o.user_id "
+                    + "JOIN timezones tz ON tz.id = u.timezone_id "
+                    + "WHERE (o.status = 'PENDING' OR (o.status = 'SCHEDULED' AND o.claimed_until < :now)) "
+                    + "AND o.notify_at < :windowEnd AND mod(o.user_id, :shardCount) IN (:shards) "
+                    + "ORDER BY o.notify_at LIMIT :limit "
+                    + "FOR UPDATE OF o SKIP LOCKED",
+            nativeQuery = true)
+    List<NotificationOutboxEntry> lockClaimable(
+            @Param("now") LocalDateTime now,
+            @Param("windowEnd") LocalDateTime windowEnd,
+            @Param("shardCount") int shardCount,
+            @Param("shards") List<Integer> shards,
+            @Param("limit") int limit);
+
+    @Modifying
+    @Query(
+            value = "UPDATE notification_outbox SET status = 'SCHEDULED', claimed_until = :claimedUntil "
+                    + "WHERE id IN (:ids)",
+            nativeQuery = true)
+    int markScheduled(@Param("ids") List<Long> ids, @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    /**
+     * Unclaimed notifications due before expiredBefore are too late to be useful.
+     */
+    @Modifying
+    @Query(
+            value = "UPDATE notification_outbox SET status = 'EXPIRED' WHERE notify_at < :expiredBefore "
+                    + "AND (status = 'PENDING' OR (status = 'SCHEDULED' AND claimed_until < :now))",
+            nativeQuery = true)
+    int markExpired(@Param("now") LocalDateTime now, @Param("expiredBefore") LocalDateTime expiredBefore);
+
+    @Query(
+            value = "SELECT id FROM notification_outbox WHERE id IN (:ids) AND status = 'SCHEDULED' FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockScheduled(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query(value = "UPDATE notification_outbox SET status = :status WHERE id IN (:ids)", nativeQuery = true)
+    int updateStatus(@Param("ids") List<Long> ids, @Param("status") String status);
+
+    @Modifying
+    @Query(
+            value = "UPDATE notification_outbox SET status = 'PENDING', claimed_until = NULL "
+                    + "WHERE id IN (:ids) AND status = 'SCHEDULED'",
+            nativeQuery = true)
+    int releaseScheduled(@Param("ids") List<Long> ids);
+}
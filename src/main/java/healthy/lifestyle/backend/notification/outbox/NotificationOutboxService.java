@@ -0,0 +1,21 @@
+package healthy.lifestyle.backend.notification.outbox;
+
+import healthy.lifestyle.backend.notification.scheduler.TaskDto;
+import java.util.List;
+import java.util.Set;
+
+public interface NotificationOutboxService {
+    void rescheduleWorkoutPlan(long planId);
+
+    int planNextWindows();
+
+    List<TaskDto> claimNextWindow(int shardCount, List<Integer> shards);
+
+    int expireOverdue();
+
+    Set<Long> claimForSending(List<Long> outboxIds);
+
+    void markFailed(List<Long> outboxIds);
+
+    void releaseClaims(List<Long> outboxIds);
+}
@@ -0,0 +1,154 @@
+package healthy.lifestyle.backend.notification.outbox;
+
+import healthy.lifestyle.backend.notification.scheduler.TaskDto;
+import healthy.lifestyle.backend.notification.shared.ActivityType;
+import healthy.lifestyle.backend.notification.shared.NotificationOutboxStatus;
+import healthy.lifestyle.backend.notification.shared.NotificationType;
+import healthy.lifestyle.backend.shared.util.DateTimeService;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class NotificationOutboxServiceImpl implements NotificationOutboxService {
+    @Value("${notification.outbox.window-minutes:10}")
+    int windowMinutes;
+
+    @Value("${notification.outbox.claim-grace-minutes:5}")
+    int claimGraceMinutes;
+
+    @Value("${notification.outbox.max-lateness-minutes:60}")
+    int maxLatenessMinutes;
+
+    @Value("${notification.outbox.claim-batch-size:10000}")
+    int claimBatchSize;
+
+    @Value("${notification.outbox.planning-horizon-minutes:30}")
+    int planningHorizonMinutes;
+
+    @Autowired
+    NotificationOutboxRepository notificationOutboxRepository;
+
+    @Autowired
+    DateTimeService dateTimeService;
+
+    @Override
+    @Transactional
+    public void rescheduleWorkoutPlan(long planId) {
+        LocalDateTime now = dateTimeService.getCurrentDatabaseZonedDateTime().toLocalDateTime();
+        notificationOutboxRepository.deleteUnsentByPlan(ActivityType.WORKOUT.name(), planId);
+        notificationOutboxRepository.insertForWorkoutPlan(planId, now, now.plusMinutes(planningHorizonMinutes), now);
+    }
+
+    /**
+     * Plans the notifications of all active plans due within the next notification.outbox.planning-horizon-minutes,
+     * so the outbox only holds the next few windows rather than every future notification. Planning is idempotent,
+     * notifications that have already been planned are kept.
+     */
+    @Override
+    @Transactional
+    public int planNextWindows() {
+        LocalDateTime now = dateTimeService.getCurrentDatabaseZonedDateTime().toLocalDateTime();
+        LocalDateTime windowEnd = now.plusMinutes(planningHorizonMinutes);
+        return notificationOutboxRepository.insertDueInWindow(now, windowEnd, slotFilter(now, windowEnd), now);
+    }
+
+    /**
+     * Claims the notifications of the given user shards due within the next notification.outbox.window-minutes.
+     * The claim lasts until claim-grace-minutes after the window, afterwards another loader may claim the
+     * notifications again.
+     */
+    @Override
+    @Transactional
+    public List<TaskDto> claimNextWindow(int shardCount, List<Integer> shards) {
+        LocalDateTime now = dateTimeService.getCurrentDatabaseZonedDateTime().toLocalDateTime();
+        List<NotificationOutboxEntry> entries = notificationOutboxRepository.lockClaimable(
+                now, now.plusMinutes(windowMinutes), shardCount, shards, claimBatchSize);
+        if (entries.isEmpty()) return List.of();
+
+        notificationOutboxRepository.markScheduled(
+                entries.stream().map(NotificationOutboxEntry::getId).toList(),
+                now.plusMinutes(windowMinutes + claimGraceMinutes));
+        return entries.stream().map(this::toTaskDto).toList();
+    }
+
+    /**
+     * Unclaimed notifications due more than notification.outbox.max-lateness-minutes ago won't be sent.
+     */
+    @Override
+    @Transactional
+    public int expireOverdue() {
+        LocalDateTime now = dateTimeService.getCurrentDatabaseZonedDateTime().toLocalDateTime();
+        return notificationOutboxRepository.markExpired(now, now.minusMinutes(maxLatenessMinutes));
+    }
+
+    /**
+     * Marks the scheduled notifications as sent and returns their ids. Notifications that have been sent by
+     * another loader, or deleted since they were claimed, are left out.
+     */
+    @Override
+    @Transactional
+    public Set<Long> claimForSending(List<Long> outboxIds) {
+        List<Long> lockedIds = notificationOutboxRepository.lockScheduled(outboxIds);
+        if (lockedIds.isEmpty()) return Set.of();
+        notificationOutboxRepository.updateStatus(lockedIds, NotificationOutboxStatus.SENT.name());
+        return new HashSet<>(lockedIds);
+    }
+
+    @Override
+    @Transactional
+    public void markFailed(List<Long> outboxIds) {
+        notificationOutboxRepository.updateStatus(outboxIds, NotificationOutboxStatus.FAILED.name());
+    }
+
+    /**
+     * Makes scheduled notifications claimable right away, e.g. after this node has stopped owning their users.
+     */
+    @Override
+    @Transactional
+    public void releaseClaims(List<Long> outboxIds) {
+        if (outboxIds.isEmpty()) return;
+        notificationOutboxRepository.releaseScheduled(outboxIds);
+    }
+
+    private TaskDto toTaskDto(NotificationOutboxEntry entry) {
+        ZoneId databaseZone = dateTimeService.getDatabaseTimezone().toZoneId();
+        ZoneId userZone = ZoneId.of(entry.getUserTimezone());
+        return TaskDto.builder()
+                .outboxId(entry.getId())
+                .userId(entry.getUserId())
+                .notificationType(NotificationType.valueOf(entry.getNotificationType()))
+                .notifyBeforeInMinutes(entry.getNotifyBeforeInMinutes())
+                .activityType(ActivityType.valueOf(entry.getActivityType()))
+                .activityId(entry.getActivityId())
+                .planId(entry.getPlanId())
+                .notificationStartDateTimeInServerZone(entry.getNotifyAt().atZone(databaseZone))
+                .activityStartDateTimeInUserZone(
+                        entry.getActivityStartAt().atZone(databaseZone).withZoneSameInstant(userZone))
+                .build();
+    }
+
+    /**
+     * Matches the plans having a slot in one of the hours of [windowStart; windowEnd + 5 minutes], the latest
+     * activity start whose DEFAULT notification is due within the window.
+     */
+    static String slotFilter(LocalDateTime windowStart, LocalDateTime windowEnd) {
+        Set<Integer> hours = new TreeSet<>();
+        LocalDateTime lastActivityStart = windowEnd.plusMinutes(5);
+        for (LocalDateTime hour = windowStart.truncatedTo(ChronoUnit.HOURS);
+                !hour.isAfter(lastActivityStart) && hours.size() < 24;
+                hour = hour.plusHours(1)) {
+            hours.add(hour.getHour());
+        }
+        return hours.stream().map(hour -> "$[*].hours == " + hour).collect(Collectors.joining(" || "));
+    }
+}
@@ -0,0 +1,130 @@
+package healthy.lifestyle.backend.notification.scheduler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Separates dispatching from timing: {@link #dispatch(List)} only enqueues the batch, so the timing wheel's
+ * tick never waits for a send. A dispatch thread hands the batches to the delegate on an I/O pool, at most
+ * maxInFlight batches at a time.
+ * <p>
+ * Java 17 has no virtual threads, the I/O pool is a cached pool whose size the semaphore bounds to maxInFlight.
+ * <p>
+ * Metrics: notification.dispatch.queue.depth (reminders waiting for a permit), notification.dispatch.in-flight
+ * (batches being sent), notification.dispatch.lag (due time to start of the send, per reminder) and
+ * notification.dispatch.send (duration of a batch send).
+ */
+public class BoundedReminderDispatcher implements ReminderDispatcher {
+    private final ReminderDispatcher delegate;
+
+    private final int maxInFlight;
+
+    private final Semaphore inFlight;
+
+    private final Clock clock;
+
+    private final BlockingQueue<List<WheelTask>> queue = new LinkedBlockingQueue<>();
+
+    private final AtomicInteger queuedReminders = new AtomicInteger();
+
+    private final ExecutorService sendExecutor;
+
+    private final Thread dispatchThread;
+
+    private final Timer lagTimer;
+
+    private final Timer sendTimer;
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedReminderDispatcher.class);
+
+    public BoundedReminderDispatcher(
+            ReminderDispatcher delegate, int maxInFlight, Clock clock, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.clock = clock;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sendExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "notification-send-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("notification.dispatch.queue.depth", queuedReminders, AtomicInteger::get)
+                .description("Due reminders waiting to be sent")
+                .register(meterRegistry);
+        Gauge.builder("notification.dispatch.in-flight", this, BoundedReminderDispatcher::getInFlight)
+                .description("Reminder batches being sent")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("notification.dispatch.lag")
+                .description("Delay between the due time of a reminder and the start of its send")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("notification.dispatch.send")
+                .description("Duration of a reminder batch send")
+                .register(meterRegistry);
+
+        this.dispatchThread = new Thread(this::runDispatchLoop, "notification-dispatch");
+        this.dispatchThread.setDaemon(true);
+        this.dispatchThread.start();
+    }
+
+    @Override
+    public void dispatch(List<WheelTask> batch) {
+        queuedReminders.addAndGet(batch.size());
+        queue.add(batch);
+    }
+
+    public int getQueueDepth() {
+        return queuedReminders.get();
+    }
+
+    public int getInFlight() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    public void shutdown() {
+        dispatchThread.interrupt();
+        sendExecutor.shutdown();
+    }
+
+    private void runDispatchLoop() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                List<WheelTask> batch = queue.take();
+                inFlight.acquire();
+                queuedReminders.addAndGet(-batch.size());
+                try {
+                    sendExecutor.execute(() -> send(batch));
+                } catch (RejectedExecutionException e) {
+                    inFlight.release();
+                    logger.error("Reminder batch has been rejected: size={}", batch.size());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void send(List<WheelTask> batch) {
+        try {
+            long now = clock.millis();
+            for (WheelTask task : batch) {
+                lagTimer.record(Math.max(0, now - task.getDueEpochMinute() * 60_000L), TimeUnit.MILLISECONDS);
+            }
+            sendTimer.record(() -> delegate.dispatch(batch));
+        } catch (Exception e) {
+            logger.error("Error occurred while sending reminders: {}", e.getMessage());
+        } finally {
+            inFlight.release();
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package healthy.lifestyle.backend.notification.scheduler;
+
+public interface Cancellable {
+    void cancel();
+}
@@ -0,0 +1,90 @@
+package healthy.lifestyle.backend.notification.scheduler;
+
+import healthy.lifestyle.backend.notification.firebase.FirebaseMessageDto;
+import healthy.lifestyle.backend.notification.firebase.FirebaseService;
+import healthy.lifestyle.backend.notification.firebase.FirebaseUserMessageDto;
+import healthy.lifestyle.backend.notification.outbox.NotificationOutboxService;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FirebaseReminderDispatcher implements ReminderDispatcher {
+    @Autowired
+    FirebaseService firebaseService;
+
+    @Autowired
+    NotificationRegistry notificationRegistry;
+
+    @Autowired
+    NotificationOutboxService notificationOutboxService;
+
+    @Autowired
+    ReminderCoalescer reminderCoalescer;
+
+    @Autowired
+    NotificationMetrics notificationMetrics;
+
+    private static final Logger logger = LoggerFactory.getLogger(FirebaseReminderDispatcher.class);
+
+    @Override
+    public void dispatch(List<WheelTask> batch) {
+        // A cancelled notification has already been removed
+        List<TaskDto> taskDtoList = reminderCoalescer.pullForward(batch.stream()
+                .filter(task -> notificationRegistry.remove(task.getId()))
+                .map(WheelTask::getTaskDto)
+                .toList());
+
+        // Outbox notifications are sent only once, even if several loaders have claimed them
+        List<Long> outboxIds =
+                taskDtoList.stream().map(TaskDto::getOutboxId).filter(Objects::nonNull).toList();
+        Set<Long> sendableOutboxIds =
+                outboxIds.isEmpty() ? Set.of() : notificationOutboxService.claimForSending(outboxIds);
+        List<TaskDto> sendableTaskDtoList = taskDtoList.stream()
+                .filter(taskDto -> taskDto.getOutboxId() == null || sendableOutboxIds.contains(taskDto.getOutboxId()))
+                .toList();
+
+        // One message per user, messages of all users due in this tick are sent in provider-sized batches
+        Map<FirebaseUserMessageDto, List<TaskDto>> taskDtosByMessage = new IdentityHashMap<>();
+        for (List<TaskDto> userTaskDtoList : reminderCoalescer.groupByUser(sendableTaskDtoList)) {
+            taskDtosByMessage.put(
+                    new FirebaseUserMessageDto(
+                            userTaskDtoList.get(0).getUserId(), FirebaseMessageDto.buildFromTaskDtos(userTaskDtoList)),
+                    userTaskDtoList);
+        }
+        if (taskDtosByMessage.isEmpty()) return;
+
+        List<FirebaseUserMessageDto> failedMessages;
+        try {
+            failedMessages = firebaseService.sendMessages(new ArrayList<>(taskDtosByMessage.keySet()));
+        } catch (Exception e) {
+            logger.error("Error occurred while sending notifications: {}", e.getMessage());
+            failedMessages = new ArrayList<>(taskDtosByMessage.keySet());
+        }
+
+        Set<FirebaseUserMessageDto> failedMessageSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        failedMessageSet.addAll(failedMessages);
+        ZonedDateTime deliveredAt = ZonedDateTime.now();
+        taskDtosByMessage.forEach((message, messageTaskDtoList) -> {
+            if (failedMessageSet.contains(message)) return;
+            messageTaskDtoList.forEach(taskDto -> notificationMetrics.recordDelivered(
+                    taskDto.getNotificationStartDateTimeInServerZone(), deliveredAt));
+        });
+
+        List<Long> failedOutboxIds = failedMessages.stream()
+                .flatMap(message -> taskDtosByMessage.get(message).stream())
+                .map(TaskDto::getOutboxId)
+                .filter(Objects::nonNull)
+                .toList();
+        if (!failedOutboxIds.isEmpty()) notificationOutboxService.markFailed(failedOutboxIds);
+    }
+}
@@ -0,0 +1,24 @@
+package healthy.lifestyle.backend.notification.scheduler;
+
+import healthy.lifestyle.backend.notification.shared.ActivityType;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "notification.kafka.enabled", havingValue = "false", matchIfMissing = true)
+public class LocalNotificationRouter implements NotificationRouter {
+    @Autowired
+    NotificationService notificationService;
+
+    @Override
+    public void schedule(List<TaskDto> taskDtoList) {
+        notificationService.addScheduledFuture(taskDtoList);
+    }
+
+    @Override
+    public void cancel(long userId, ActivityType activityType, long activityId, long planId) {
+        notificationService.cancelAndRemoveScheduledFuture(activityType, activityId, planId);
+    }
+}
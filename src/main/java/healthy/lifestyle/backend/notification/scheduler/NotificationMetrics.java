@@ -0,0 +1,65 @@
+package healthy.lifestyle.backend.notification.scheduler;
+
+import healthy.lifestyle.backend.notification.shared.NotificationType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Metrics of the reminder path that don't belong to a single stage, exported through actuator/prometheus:
+ * notification.scheduled (pending reminders by type),
+ * notification.task-scheduler.queue.depth and notification.task-scheduler.active (the shared TaskScheduler)
+ * and notification.delivery.lag (due time to delivery by the provider).
+ * <p>
+ * The dispatch, coalescing and provider stages register their own metrics, see BoundedReminderDispatcher,
+ * ReminderCoalescer and MeteredPushProvider.
+ */
+@Component
+public class NotificationMetrics {
+    private final Timer deliveryLagTimer;
+
+    public NotificationMetrics(
+            MeterRegistry meterRegistry,
+            NotificationRegistry notificationRegistry,
+            TaskScheduler taskScheduler) {
+        for (NotificationType type : NotificationType.values()) {
+            Gauge.builder("notification.scheduled", notificationRegistry, registry -> registry.size(type))
+                    .description("Reminders waiting to fall due")
+                    .tag("type", type.name())
+                    .register(meterRegistry);
+        }
+
+        if (taskScheduler instanceof ThreadPoolTaskScheduler threadPoolTaskScheduler) {
+            Gauge.builder("notification.task-scheduler.queue.depth", threadPoolTaskScheduler, scheduler -> {
+                        ScheduledThreadPoolExecutor executor = scheduler.getScheduledThreadPoolExecutor();
+                        return executor.getQueue().size();
+                    })
+                    .description("Tasks waiting in the task scheduler")
+                    .register(meterRegistry);
+            Gauge.builder(
+                            "notification.task-scheduler.active",
+                            threadPoolTaskScheduler,
+                            ThreadPoolTaskScheduler::getActiveCount)
+                    .description("Threads of the task scheduler running a task")
+                    .register(meterRegistry);
+        }
+
+        this.deliveryLagTimer = Timer.builder("notification.delivery.lag")
+                .description("Delay between the due time of a reminder and its delivery by the provider")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public void recordDelivered(ZonedDateTime dueAt, ZonedDateTime deliveredAt) {
+        if (dueAt == null) return;
+        // Coalesced reminders may be delivered before they fall due
+        Duration lag = Duration.between(dueAt, deliveredAt);
+        deliveryLagTimer.record(lag.isNegative() ? Duration.ZERO : lag);
+    }
+}
@@ -0,0 +1,22 @@
+package healthy.lifestyle.backend.notification.scheduler;
+
+import healthy.lifestyle.backend.notification.shared.ActivityType;
+import healthy.lifestyle.backend.plan.shared.event.PlanDeactivatedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Cancels the already scheduled notifications of a deactivated workout plan once the deactivation commits.
+ * The outbox rows are rewritten by NotificationOutboxListener, this only frees the timers.
+ */
+@Component
+public class NotificationPlanListener {
+    @Autowired
+    NotificationRouter notificationRouter;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlanDeactivated(PlanDeactivatedEvent event) {
+        notificationRouter.cancel(event.getUserId(), ActivityType.WORKOUT, event.getActivityId(), event.getPlanId());
+    }
+}
@@ -0,0 +1,187 @@
+package healthy.lifestyle.backend.notification.scheduler;
+
+import healthy.lifestyle.backend.notification.shared.ActivityType;
+import healthy.lifestyle.backend.notification.shared.NotificationType;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the pending notifications by registration id with secondary indexes by
+ * (activityType, activityId, planId) and by user id, so cancelling the notifications of a plan or of a user
+ * doesn't scan all pending notifications.
+ * <p>
+ * A notification is registered before it's scheduled: {@link #reserve(TaskDto)} returns the id,
+ * {@link #attach(long, Cancellable)} stores the handle returned by the scheduler.
+ * When it fires, the task claims its registration with {@link #remove(long)} and only sends the notification
+ * if the claim succeeds, so a cancelled notification is never sent even if its handle couldn't be cancelled
+ * in time.
+ */
+@Component
+public class NotificationRegistry {
+    private final AtomicLong idSequence = new AtomicLong();
+
+    private final Map<Long, Registration> registrationsById = new ConcurrentHashMap<>();
+
+    private final Map<ActivityKey, Set<Long>> idsByActivity = new ConcurrentHashMap<>();
+
+    private final Map<Long, Set<Long>> idsByUser = new ConcurrentHashMap<>();
+
+    private final Map<NotificationType, AtomicInteger> sizeByType = new EnumMap<>(NotificationType.class);
+
+    public NotificationRegistry() {
+        for (NotificationType type : NotificationType.values()) sizeByType.put(type, new AtomicInteger());
+    }
+
+    public long reserve(TaskDto taskDto) {
+        long id = idSequence.incrementAndGet();
+        Registration registration = new Registration(taskDto);
+        registrationsById.put(id, registration);
+        addToIndex(idsByActivity, ActivityKey.of(taskDto), id);
+        addToIndex(idsByUser, taskDto.getUserId(), id);
+        if (taskDto.getNotificationType() != null)
+            sizeByType.get(taskDto.getNotificationType()).incrementAndGet();
+        return id;
+    }
+
+    /**
+     * Cancels the handle if the notification has been cancelled (or has already run) in the meantime.
+     */
+    public void attach(long id, Cancellable handle) {
+        Registration registration = registrationsById.get(id);
+        if (registration == null) {
+            handle.cancel();
+            return;
+        }
+        registration.setHandle(handle);
+    }
+
+    /**
+     * Returns false if the notification has already been removed, e.g. by a cancellation.
+     */
+    public boolean remove(long id) {
+        Registration registration = registrationsById.remove(id);
+        if (registration == null) return false;
+        removeFromIndex(idsByActivity, ActivityKey.of(registration.getTaskDto()), id);
+        removeFromIndex(idsByUser, registration.getTaskDto().getUserId(), id);
+        if (registration.getTaskDto().getNotificationType() != null)
+            sizeByType.get(registration.getTaskDto().getNotificationType()).decrementAndGet();
+        return true;
+    }
+
+    public int cancel(ActivityType activityType, long activityId, long planId) {
+        Set<Long> ids = idsByActivity.get(new ActivityKey(activityType, activityId, planId));
+        return ids == null ? 0 : cancelAll(ids);
+    }
+
+    public int cancelAllForUser(long userId) {
+        Set<Long> ids = idsByUser.get(userId);
+        return ids == null ? 0 : cancelAll(ids);
+    }
+
+    /**
+     * Cancels the notifications whose task matches, scanning all pending notifications.
+     * Returns the tasks of the cancelled notifications.
+     */
+    public List<TaskDto> cancelMatching(Predicate<TaskDto> predicate) {
+        List<TaskDto> cancelled = new ArrayList<>();
+        for (Map.Entry<Long, Registration> entry : registrationsById.entrySet()) {
+            TaskDto taskDto = entry.getValue().getTaskDto();
+            if (predicate.test(taskDto) && cancelAll(Set.of(entry.getKey())) > 0) cancelled.add(taskDto);
+        }
+        return cancelled;
+    }
+
+    /**
+     * Removes the user's notifications due at or before dueBefore and cancels their handles, so they can be sent
+     * together with a notification that is due now. Returns their tasks.
+     */
+    public List<TaskDto> removeForUserDueBefore(long userId, ZonedDateTime dueBefore) {
+        Set<Long> ids = idsByUser.get(userId);
+        if (ids == null) return List.of();
+
+        List<TaskDto> removed = new ArrayList<>();
+        for (Long id : ids) {
+            Registration registration = registrationsById.get(id);
+            if (registration == null) continue;
+            ZonedDateTime dueAt = registration.getTaskDto().getNotificationStartDateTimeInServerZone();
+            if (dueAt == null || dueAt.isAfter(dueBefore) || !remove(id)) continue;
+            Cancellable handle = registration.getHandle();
+            if (handle != null) handle.cancel();
+            removed.add(registration.getTaskDto());
+        }
+        return removed;
+    }
+
+    public int size() {
+        return registrationsById.size();
+    }
+
+    public int size(NotificationType type) {
+        return sizeByType.get(type).get();
+    }
+
+    private int cancelAll(Set<Long> ids) {
+        int cancelled = 0;
+        // The set is a concurrent view, removing its elements while iterating is safe
+        for (Long id : ids) {
+            Registration registration = registrationsById.get(id);
+            if (registration == null || !remove(id)) continue;
+            Cancellable handle = registration.getHandle();
+            if (handle != null) handle.cancel();
+            cancelled++;
+        }
+        return cancelled;
+    }
+
+    private static <K> void addToIndex(Map<K, Set<Long>> index, K key, long id) {
+        index.compute(key, (k, ids) -> {
+            Set<Long> result = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            result.add(id);
+            return result;
+        });
+    }
+
+    private static <K> void removeFromIndex(Map<K, Set<Long>> index, K key, long id) {
+        index.computeIfPresent(key, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private record ActivityKey(ActivityType activityType, long activityId, long planId) {
+        static ActivityKey of(TaskDto taskDto) {
+            return new ActivityKey(taskDto.getActivityType(), taskDto.getActivityId(), taskDto.getPlanId());
+        }
+    }
+
+    private static class Registration {
+        private final TaskDto taskDto;
+
+        private volatile Cancellable handle;
+
+        Registration(TaskDto taskDto) {
+            this.taskDto = taskDto;
+        }
+
+        TaskDto getTaskDto() {
+            return taskDto;
+        }
+
+        Cancellable getHandle() {
+            return handle;
+        }
+
+        void setHandle(Cancellable handle) {
+            this.handle = handle;
+        }
+    }
+}
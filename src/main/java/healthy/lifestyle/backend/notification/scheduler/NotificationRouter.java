@@ -0,0 +1,14 @@
+package healthy.lifestyle.backend.notification.scheduler;
+
+import healthy.lifestyle.backend.notification.shared.ActivityType;
+import java.util.List;
+
+/**
+ * Decides which node schedules a user's notifications: this one, or with notification.kafka.enabled
+ * the node owning the user's partition of the notification commands topic.
+ */
+public interface NotificationRouter {
+    void schedule(List<TaskDto> taskDtoList);
+
+    void cancel(long userId, ActivityType activityType, long activityId, long planId);
+}
@@ -1,29 +1,68 @@
 package healthy.lifestyle.backend.notification.scheduler;
 
+import healthy.lifestyle.backend.notification.outbox.NotificationOutboxService;
+import healthy.lifestyle.backend.shared.lease.LeaseService;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+/**
+ * Loads the notifications of the next window from the outbox into the timing wheel, so memory is
+ * proportional to the window rather than to all future notifications. The users are split into
+ * notification.outbox.shards shards spread over the live nodes.
+ */
 @Component
 public class NotificationScheduler {
 
     @Autowired
-    NotificationService notificationService;
+    NotificationRouter notificationRouter;
+
+    @Autowired
+    NotificationOutboxService notificationOutboxService;
+
+    @Autowired
+    LeaseService leaseService;
+
+    @Value("${notification.outbox.shards:16}")
+    int shards;
+
+    static final String LOADER_JOB = "notification-outbox-loader";
+
+    static final String EXPIRY_JOB = "notification-outbox-expiry";
 
     private static final Logger logger = LoggerFactory.getLogger(NotificationScheduler.class);
 
-    @Scheduled(cron = "0 0 * * * *") // Run every hour
-    public void addScheduledFuture() {
-        notificationService.removeDoneTasks();
-        logger.info("Every-hour scheduler has been started");
+    static final String PLANNER_JOB = "notification-outbox-planner";
 
-        //        List<TaskDto> taskDtoList = new ArrayList<>();
-        //        notificationService.addScheduledFuture(taskDtoList);
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:60000}")
+    public void planNextWindows() {
+        if (!leaseService.tryAcquire(PLANNER_JOB)) return;
+
+        int planned = notificationOutboxService.planNextWindows();
+        if (planned > 0) logger.info("{} notifications have been planned into the outbox", planned);
     }
 
-    //    @Scheduled(fixedDelay = 5000)
-    //    public void testNotification() {
-    //    }
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:60000}")
+    public void loadNextWindow() {
+        List<Integer> ownedShards = leaseService.getOwnedShards(LOADER_JOB, shards);
+        if (ownedShards.isEmpty()) return;
+
+        List<TaskDto> taskDtoList = notificationOutboxService.claimNextWindow(shards, ownedShards);
+        if (taskDtoList.isEmpty()) return;
+
+        notificationRouter.schedule(taskDtoList);
+        logger.info("{} notifications have been loaded from the outbox", taskDtoList.size());
+    }
+
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:60000}")
+    public void expireOverdue() {
+        if (!leaseService.tryAcquire(EXPIRY_JOB)) return;
+
+        int expired = notificationOutboxService.expireOverdue();
+        if (expired > 0) logger.warn("{} notifications have expired before being loaded", expired);
+    }
 }
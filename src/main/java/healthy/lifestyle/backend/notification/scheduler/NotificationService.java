@@ -1,16 +1,13 @@
 package healthy.lifestyle.backend.notification.scheduler;
 
 import healthy.lifestyle.backend.notification.firebase.FirebaseMessageDto;
-import healthy.lifestyle.backend.notification.firebase.FirebaseService;
 import healthy.lifestyle.backend.notification.shared.ActivityType;
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledFuture;
+import java.util.function.Predicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -18,12 +15,10 @@ public class NotificationService {
     // public class NotificationService implements SchedulingConfigurer {
 
     @Autowired
-    TaskScheduler taskScheduler;
+    TimingWheel timingWheel;
 
     @Autowired
-    FirebaseService firebaseService;
-
-    private final Map<TaskDto, ScheduledFuture> taskMapping = new ConcurrentHashMap<>();
+    NotificationRegistry notificationRegistry;
 
     private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
 
@@ -37,24 +32,21 @@ public class NotificationService {
 
     public void addScheduledFuture(List<TaskDto> taskDtoList) {
         for (TaskDto taskDto : taskDtoList) {
-            FirebaseMessageDto firebaseMessageDto = FirebaseMessageDto.buildFromTaskDto(taskDto);
-            Runnable runnable = () -> {
-                try {
-                    firebaseService.sendMessage(taskDto.getUserId(), firebaseMessageDto);
-                } catch (Exception e) {
-                    logger.error("Error occurred while sending notification: {}", e.getMessage());
-                }
-            };
-
-            ScheduledFuture<?> scheduledFuture =
-                    taskScheduler.schedule(runnable, Instant.from(taskDto.getNotificationStartDateTimeInServerZone()));
-            taskMapping.put(taskDto, scheduledFuture);
-            logger.info(
-                    "Event has been scheduled to send {} with title: {}, body: {}",
-                    taskDto.getNotificationStartDateTimeInServerZone(),
-                    firebaseMessageDto.getTitle(),
-                    firebaseMessageDto.getBody());
+            long registrationId = notificationRegistry.reserve(taskDto);
+            WheelTask wheelTask = timingWheel.schedule(
+                    registrationId, Instant.from(taskDto.getNotificationStartDateTimeInServerZone()), taskDto);
+            notificationRegistry.attach(registrationId, wheelTask);
+            if (logger.isDebugEnabled()) {
+                FirebaseMessageDto firebaseMessageDto = FirebaseMessageDto.buildFromTaskDto(taskDto);
+                logger.debug(
+                        "Event has been scheduled to send {} with title: {}, body: {}",
+                        taskDto.getNotificationStartDateTimeInServerZone(),
+                        firebaseMessageDto.getTitle(),
+                        firebaseMessageDto.getBody());
+            }
         }
+        // Called once per Kafka command, the loader logs the summary of a window at INFO
+        logger.debug("{} notifications have been scheduled", taskDtoList.size());
     }
 
     public void addScheduledFuture(TaskDto taskDto) {
@@ -62,35 +54,10 @@ public class NotificationService {
     }
 
     public void cancelAndRemoveScheduledFuture(ActivityType activityType, long activityId, long planId) {
-        Iterator<Map.Entry<TaskDto, ScheduledFuture>> iterator =
-                taskMapping.entrySet().iterator();
-
-        while (iterator.hasNext()) {
-            Map.Entry<TaskDto, ScheduledFuture> entry = iterator.next();
-            TaskDto taskDto = entry.getKey();
-            ScheduledFuture scheduledFuture = entry.getValue();
-
-            if (taskDto.getActivityType().equals(activityType)
-                    && taskDto.getActivityId() == activityId
-                    && taskDto.getPlanId() == planId) {
-                scheduledFuture.cancel(true);
-                iterator.remove();
-            }
-        }
+        notificationRegistry.cancel(activityType, activityId, planId);
     }
 
-    public void removeDoneTasks() {
-        Iterator<Map.Entry<TaskDto, ScheduledFuture>> iterator =
-                taskMapping.entrySet().iterator();
-
-        while (iterator.hasNext()) {
-            Map.Entry<TaskDto, ScheduledFuture> entry = iterator.next();
-            ScheduledFuture scheduledFuture = entry.getValue();
-
-            if (scheduledFuture.isDone()) {
-                scheduledFuture.cancel(false);
-                iterator.remove();
-            }
-        }
+    public List<TaskDto> cancelAndRemoveScheduledFutures(Predicate<TaskDto> predicate) {
+        return notificationRegistry.cancelMatching(predicate);
     }
 }
@@ -0,0 +1,86 @@
+package healthy.lifestyle.backend.notification.scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Merges the reminders of a user that fall due within notification.coalescing.window-minutes into one message.
+ * When a reminder fires, the user's reminders due within the following window are sent with it, i.e. at most
+ * window minutes early. With a window of 0 only the reminders due in the same minute are merged.
+ * <p>
+ * Metrics: notification.coalescing.reminders, notification.coalescing.messages and notification.coalescing.ratio
+ * (reminders per message).
+ */
+@Component
+public class ReminderCoalescer {
+    @Value("${notification.coalescing.window-minutes:3}")
+    int windowMinutes;
+
+    @Autowired
+    NotificationRegistry notificationRegistry;
+
+    private final Counter remindersCounter;
+
+    private final Counter messagesCounter;
+
+    public ReminderCoalescer(MeterRegistry meterRegistry) {
+        this.remindersCounter = Counter.builder("notification.coalescing.reminders")
+                .description("Reminders passed to the coalescing stage")
+                .register(meterRegistry);
+        this.messagesCounter = Counter.builder("notification.coalescing.messages")
+                .description("Messages left after coalescing the reminders per user")
+                .register(meterRegistry);
+        Gauge.builder("notification.coalescing.ratio", this, ReminderCoalescer::getRatio)
+                .description("Reminders per message")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the due reminders together with the users' reminders due within the window after them.
+     */
+    public List<TaskDto> pullForward(List<TaskDto> dueTaskDtoList) {
+        if (windowMinutes <= 0) return dueTaskDtoList;
+
+        Map<Long, ZonedDateTime> latestDueAtByUser = new HashMap<>();
+        for (TaskDto taskDto : dueTaskDtoList) {
+            ZonedDateTime dueAt = taskDto.getNotificationStartDateTimeInServerZone();
+            if (dueAt == null) continue;
+            latestDueAtByUser.merge(taskDto.getUserId(), dueAt, (a, b) -> a.isAfter(b) ? a : b);
+        }
+
+        List<TaskDto> taskDtoList = new ArrayList<>(dueTaskDtoList);
+        latestDueAtByUser.forEach((userId, latestDueAt) -> taskDtoList.addAll(
+                notificationRegistry.removeForUserDueBefore(userId, latestDueAt.plusMinutes(windowMinutes))));
+        return taskDtoList;
+    }
+
+    /**
+     * Groups the reminders by user, every group becomes one message.
+     */
+    public List<List<TaskDto>> groupByUser(List<TaskDto> taskDtoList) {
+        Map<Long, List<TaskDto>> taskDtosByUser = new LinkedHashMap<>();
+        for (TaskDto taskDto : taskDtoList) {
+            taskDtosByUser
+                    .computeIfAbsent(taskDto.getUserId(), userId -> new ArrayList<>())
+                    .add(taskDto);
+        }
+        remindersCounter.increment(taskDtoList.size());
+        messagesCounter.increment(taskDtosByUser.size());
+        return new ArrayList<>(taskDtosByUser.values());
+    }
+
+    public double getRatio() {
+        double messages = messagesCounter.count();
+        return messages == 0 ? 1 : remindersCounter.count() / messages;
+    }
+}
@@ -0,0 +1,10 @@
+package healthy.lifestyle.backend.notification.scheduler;
+
+import java.util.List;
+
+/**
+ * Receives the reminders that have become due within a tick of the {@link TimingWheel}.
+ */
+public interface ReminderDispatcher {
+    void dispatch(List<WheelTask> batch);
+}
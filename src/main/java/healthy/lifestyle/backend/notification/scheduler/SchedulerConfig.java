@@ -1,7 +1,10 @@
 package healthy.lifestyle.backend.notification.scheduler;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Clock;
 import java.util.TimeZone;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.TaskScheduler;
@@ -20,4 +23,24 @@ public class SchedulerConfig {
 
         return taskScheduler;
     }
+
+    @Bean
+    public BoundedReminderDispatcher boundedReminderDispatcher(
+            FirebaseReminderDispatcher firebaseReminderDispatcher,
+            MeterRegistry meterRegistry,
+            @Value("${notification.dispatch.max-in-flight:32}") int maxInFlight) {
+        return new BoundedReminderDispatcher(firebaseReminderDispatcher, maxInFlight, Clock.systemUTC(), meterRegistry);
+    }
+
+    @Bean
+    public TimingWheel timingWheel(
+            BoundedReminderDispatcher boundedReminderDispatcher,
+            MeterRegistry meterRegistry,
+            @Value("${notification.wheel.dispatch-batch-size:500}") int dispatchBatchSize) {
+        TimingWheel timingWheel = new TimingWheel(Clock.systemUTC(), boundedReminderDispatcher, dispatchBatchSize);
+        Gauge.builder("notification.wheel.size", timingWheel, TimingWheel::size)
+                .description("Reminders in the timing wheel")
+                .register(meterRegistry);
+        return timingWheel;
+    }
 }
@@ -11,6 +11,8 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 public class TaskDto {
+    private Long outboxId;
+
     private long userId;
 
     private NotificationType notificationType;
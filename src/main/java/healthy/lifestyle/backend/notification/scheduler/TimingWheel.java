@@ -0,0 +1,158 @@
+package healthy.lifestyle.backend.notification.scheduler;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel with one-minute ticks for pending reminders.
+ * <p>
+ * Each of the 4 levels has 64 buckets, a bucket of level k spans 64^k minutes, so the wheel covers
+ * 64^4 minutes (about 31 years) ahead. A reminder is linked into the bucket of the lowest level that covers
+ * its delay and moves down a level each time the wheel passes the start of its bucket. Scheduling and
+ * cancelling are O(1), every tick drains a single level 0 bucket and hands the due reminders to the
+ * {@link ReminderDispatcher} in batches. The dispatcher is expected to return quickly, e.g. by enqueueing
+ * the batch (see {@link BoundedReminderDispatcher}).
+ * <p>
+ * Reminders fire at the start of their due minute (rounded up), reminders due in the past fire at the next
+ * tick.
+ */
+public class TimingWheel {
+    static final int NO_BUCKET = -1;
+
+    private static final int SLOT_BITS = 6;
+
+    private static final int SLOTS = 1 << SLOT_BITS;
+
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private static final int LEVELS = 4;
+
+    public static final long MAX_DELAY_MINUTES = 1L << (SLOT_BITS * LEVELS);
+
+    private final WheelTask[] buckets = new WheelTask[LEVELS * SLOTS];
+
+    private final Clock clock;
+
+    private final ReminderDispatcher dispatcher;
+
+    private final int maxBatchSize;
+
+    private long currentMinute;
+
+    private int size;
+
+    public TimingWheel(Clock clock, ReminderDispatcher dispatcher, int maxBatchSize) {
+        this.clock = clock;
+        this.dispatcher = dispatcher;
+        this.maxBatchSize = maxBatchSize;
+        this.currentMinute = Math.floorDiv(clock.millis(), 60_000L);
+    }
+
+    public synchronized WheelTask schedule(long id, Instant dueAt, TaskDto taskDto) {
+        long dueMinute = Math.floorDiv(dueAt.toEpochMilli() + 59_999L, 60_000L);
+        if (dueMinute <= currentMinute) dueMinute = currentMinute + 1;
+        if (dueMinute - currentMinute >= MAX_DELAY_MINUTES) {
+            throw new IllegalArgumentException("Reminder is due too far in the future: " + dueAt);
+        }
+
+        WheelTask task = new WheelTask(this, id, dueMinute, taskDto);
+        link(task);
+        size++;
+        return task;
+    }
+
+    synchronized void cancel(WheelTask task) {
+        if (task.bucket == NO_BUCKET) return;
+        unlink(task);
+        size--;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Advances the wheel to the current minute.
+     */
+    public void tick() {
+        advanceTo(Math.floorDiv(clock.millis(), 60_000L));
+    }
+
+    public void advanceTo(long epochMinute) {
+        List<WheelTask> due = collectDue(epochMinute);
+        for (int from = 0; from < due.size(); from += maxBatchSize) {
+            dispatcher.dispatch(due.subList(from, Math.min(from + maxBatchSize, due.size())));
+        }
+    }
+
+    private synchronized List<WheelTask> collectDue(long epochMinute) {
+        List<WheelTask> due = new ArrayList<>();
+        while (currentMinute < epochMinute) {
+            currentMinute++;
+            // Higher levels first, a reminder may move down more than one level within the same tick
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentMinute & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(bucketIndex(level, currentMinute));
+                }
+            }
+            drain(bucketIndex(0, currentMinute), due);
+        }
+        size -= due.size();
+        return due;
+    }
+
+    private void link(WheelTask task) {
+        long delay = task.getDueEpochMinute() - currentMinute;
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= 1L << (SLOT_BITS * (level + 1))) level++;
+
+        int bucket = bucketIndex(level, task.getDueEpochMinute());
+        WheelTask head = buckets[bucket];
+        task.bucket = bucket;
+        task.previous = null;
+        task.next = head;
+        if (head != null) head.previous = task;
+        buckets[bucket] = task;
+    }
+
+    private void unlink(WheelTask task) {
+        if (task.previous != null) {
+            task.previous.next = task.next;
+        } else {
+            buckets[task.bucket] = task.next;
+        }
+        if (task.next != null) task.next.previous = task.previous;
+        task.bucket = NO_BUCKET;
+        task.previous = null;
+        task.next = null;
+    }
+
+    private void cascade(int bucket) {
+        WheelTask task = buckets[bucket];
+        buckets[bucket] = null;
+        while (task != null) {
+            WheelTask next = task.next;
+            link(task);
+            task = next;
+        }
+    }
+
+    private void drain(int bucket, List<WheelTask> due) {
+        WheelTask task = buckets[bucket];
+        buckets[bucket] = null;
+        while (task != null) {
+            WheelTask next = task.next;
+            task.bucket = NO_BUCKET;
+            task.previous = null;
+            task.next = null;
+            due.add(task);
+            task = next;
+        }
+    }
+
+    private static int bucketIndex(int level, long epochMinute) {
+        return level * SLOTS + (int) ((epochMinute >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+}
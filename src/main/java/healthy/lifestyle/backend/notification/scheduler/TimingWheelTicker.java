@@ -0,0 +1,16 @@
+package healthy.lifestyle.backend.notification.scheduler;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TimingWheelTicker {
+    @Autowired
+    TimingWheel timingWheel;
+
+    @Scheduled(cron = "0 * * * * *") // Run every minute
+    public void tick() {
+        timingWheel.tick();
+    }
+}
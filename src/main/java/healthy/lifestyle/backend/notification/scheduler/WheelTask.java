@@ -0,0 +1,46 @@
+package healthy.lifestyle.backend.notification.scheduler;
+
+/**
+ * A reminder pending in the {@link TimingWheel}. Tasks are linked directly into the wheel's buckets,
+ * so a pending reminder costs this record and its TaskDto only.
+ */
+public final class WheelTask implements Cancellable {
+    private final TimingWheel wheel;
+
+    private final long id;
+
+    private final long dueEpochMinute;
+
+    private final TaskDto taskDto;
+
+    // Guarded by the wheel
+    int bucket = TimingWheel.NO_BUCKET;
+
+    WheelTask previous;
+
+    WheelTask next;
+
+    WheelTask(TimingWheel wheel, long id, long dueEpochMinute, TaskDto taskDto) {
+        this.wheel = wheel;
+        this.id = id;
+        this.dueEpochMinute = dueEpochMinute;
+        this.taskDto = taskDto;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getDueEpochMinute() {
+        return dueEpochMinute;
+    }
+
+    public TaskDto getTaskDto() {
+        return taskDto;
+    }
+
+    @Override
+    public void cancel() {
+        wheel.cancel(this);
+    }
+}
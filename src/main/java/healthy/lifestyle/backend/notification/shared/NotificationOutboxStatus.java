@@ -0,0 +1,9 @@
+package healthy.lifestyle.backend.notification.shared;
+
+public enum NotificationOutboxStatus {
+    PENDING,
+    SCHEDULED,
+    SENT,
+    FAILED,
+    EXPIRED
+}
@@ -0,0 +1,16 @@
+package healthy.lifestyle.backend.plan.shared.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a user's plan has been created, updated or deactivated, or its activity has been renamed.
+ * Listeners caching schedule-derived data for the user should drop it.
+ */
+@Getter
+@AllArgsConstructor
+public class PlanChangedEvent {
+    private final long userId;
+
+    private final long planId;
+}
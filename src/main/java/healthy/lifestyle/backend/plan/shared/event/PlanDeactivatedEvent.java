@@ -0,0 +1,17 @@
+package healthy.lifestyle.backend.plan.shared.event;
+
+import lombok.Getter;
+
+/**
+ * Published when a user's plan has been deactivated. Carries the planned activity, so listeners holding
+ * per-activity state, like the scheduled notifications, can drop the plan without loading it.
+ */
+@Getter
+public class PlanDeactivatedEvent extends PlanChangedEvent {
+    private final long activityId;
+
+    public PlanDeactivatedEvent(long userId, long planId, long activityId) {
+        super(userId, planId);
+        this.activityId = activityId;
+    }
+}
@@ -0,0 +1,17 @@
+package healthy.lifestyle.backend.plan.shared.event;
+
+import healthy.lifestyle.backend.plan.workout.model.WorkoutCompletionRecord;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published once per ingested batch with the records that have actually been inserted.
+ */
+@Getter
+@AllArgsConstructor
+public class WorkoutCompletionRecordedEvent {
+    private final long userId;
+
+    private final List<WorkoutCompletionRecord> records;
+}
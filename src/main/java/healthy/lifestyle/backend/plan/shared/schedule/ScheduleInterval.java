@@ -0,0 +1,58 @@
+package healthy.lifestyle.backend.plan.shared.schedule;
+
+import healthy.lifestyle.backend.shared.util.JsonDescription;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Half-open interval [start; end) of minutes of the week, Monday 00:00 is minute 0.
+ */
+@Getter
+@AllArgsConstructor
+public class ScheduleInterval<T> {
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    public static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    private final int start;
+
+    private final int end;
+
+    private final T value;
+
+    /**
+     * Expands a json_description slot into intervals of durationMinutes. A slot without a day of week
+     * repeats every day, an interval crossing the end of the week is split in two.
+     */
+    public static <T> List<ScheduleInterval<T>> fromJsonDescription(
+            JsonDescription slot, int durationMinutes, T value) {
+        List<ScheduleInterval<T>> intervals = new ArrayList<>();
+        int minuteOfDay = slot.getHours() * 60 + slot.getMinutes();
+        if (slot.getDayOfWeek() != null) {
+            addInterval(intervals, minuteOfWeek(slot.getDayOfWeek(), minuteOfDay), durationMinutes, value);
+        } else {
+            for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                addInterval(intervals, minuteOfWeek(dayOfWeek, minuteOfDay), durationMinutes, value);
+            }
+        }
+        return intervals;
+    }
+
+    private static int minuteOfWeek(DayOfWeek dayOfWeek, int minuteOfDay) {
+        return (dayOfWeek.getValue() - 1) * MINUTES_PER_DAY + minuteOfDay;
+    }
+
+    private static <T> void addInterval(
+            List<ScheduleInterval<T>> intervals, int start, int durationMinutes, T value) {
+        int end = start + durationMinutes;
+        if (end <= MINUTES_PER_WEEK) {
+            intervals.add(new ScheduleInterval<>(start, end, value));
+        } else {
+            intervals.add(new ScheduleInterval<>(start, MINUTES_PER_WEEK, value));
+            intervals.add(new ScheduleInterval<>(0, end - MINUTES_PER_WEEK, value));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package healthy.lifestyle.backend.plan.shared.schedule;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable interval tree over schedule intervals.
+ * Intervals are sorted by start and laid out as an implicit balanced binary search tree
+ * (the middle element of every range is the root of that range), each node keeps the maximum end
+ * of its subtree. Finding the intervals overlapping a query takes O(log n + k) for k results.
+ */
+public class ScheduleIntervalTree<T> {
+    private final int[] starts;
+
+    private final int[] ends;
+
+    private final int[] maxEnds;
+
+    private final List<T> values;
+
+    public ScheduleIntervalTree(List<ScheduleInterval<T>> intervals) {
+        List<ScheduleInterval<T>> sorted = new ArrayList<>(intervals);
+        sorted.sort(Comparator.comparingInt(ScheduleInterval::getStart));
+
+        int size = sorted.size();
+        this.starts = new int[size];
+        this.ends = new int[size];
+        this.maxEnds = new int[size];
+        this.values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ScheduleInterval<T> interval = sorted.get(i);
+            this.starts[i] = interval.getStart();
+            this.ends[i] = interval.getEnd();
+            this.values.add(interval.getValue());
+        }
+        computeMaxEnds(0, size - 1);
+    }
+
+    public int size() {
+        return this.starts.length;
+    }
+
+    /**
+     * Returns the values of all intervals overlapping [start; end).
+     */
+    public List<T> findOverlapping(int start, int end) {
+        List<T> result = new ArrayList<>();
+        findOverlapping(0, this.starts.length - 1, start, end, result);
+        return result;
+    }
+
+    private int computeMaxEnds(int low, int high) {
+        if (low > high) return Integer.MIN_VALUE;
+        int middle = (low + high) >>> 1;
+        int childrenMaxEnd = Math.max(computeMaxEnds(low, middle - 1), computeMaxEnds(middle + 1, high));
+        int maxEnd = Math.max(this.ends[middle], childrenMaxEnd);
+        this.maxEnds[middle] = maxEnd;
+        return maxEnd;
+    }
+
+    private void findOverlapping(int low, int high, int start, int end, List<T> result) {
+        if (low > high) return;
+        int middle = (low + high) >>> 1;
+        // Nothing in this subtree ends after the query starts
+        if (this.maxEnds[middle] <= start) return;
+
+        findOverlapping(low, middle - 1, start, end, result);
+        // Intervals to the right start even later, so they can't overlap either
+        if (this.starts[middle] >= end) return;
+        if (this.ends[middle] > start) result.add(this.values.get(middle));
+        findOverlapping(middle + 1, high, start, end, result);
+    }
+}
@@ -0,0 +1,9 @@
+package healthy.lifestyle.backend.plan.workout.api;
+
+import healthy.lifestyle.backend.plan.workout.repository.WorkoutPlanOccurrence;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface WorkoutPlanApi {
+    List<WorkoutPlanOccurrence> getActiveOccurrences(long userId, LocalDateTime fromDateTime, LocalDateTime toDateTime);
+}
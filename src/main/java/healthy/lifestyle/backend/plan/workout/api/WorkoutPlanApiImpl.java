@@ -0,0 +1,21 @@
+package healthy.lifestyle.backend.plan.workout.api;
+
+import healthy.lifestyle.backend.plan.workout.repository.WorkoutPlanOccurrence;
+import healthy.lifestyle.backend.plan.workout.repository.WorkoutPlanRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class WorkoutPlanApiImpl implements WorkoutPlanApi {
+    @Autowired
+    WorkoutPlanRepository workoutPlanRepository;
+
+    @Override
+    public List<WorkoutPlanOccurrence> getActiveOccurrences(
+            long userId, LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        return workoutPlanRepository.findActiveOccurrences(
+                userId, fromDateTime.toLocalDate(), toDateTime.toLocalDate(), fromDateTime, toDateTime);
+    }
+}
@@ -0,0 +1,36 @@
+package healthy.lifestyle.backend.plan.workout.controller;
+
+import healthy.lifestyle.backend.plan.workout.dto.WorkoutCompletionBatchRequestDto;
+import healthy.lifestyle.backend.plan.workout.dto.WorkoutCompletionBatchResponseDto;
+import healthy.lifestyle.backend.plan.workout.service.WorkoutCompletionService;
+import healthy.lifestyle.backend.user.service.AuthUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+@Controller
+@RequestMapping("${api.basePath}/${api.version}/calendar/workouts/completions")
+public class WorkoutCompletionController {
+    @Autowired
+    AuthUtil authUtil;
+
+    @Autowired
+    WorkoutCompletionService workoutCompletionService;
+
+    @PostMapping
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @Operation(summary = "Mark workouts and exercises completed (accepts offline batches)")
+    public ResponseEntity<WorkoutCompletionBatchResponseDto> recordCompletions(
+            @Valid @RequestBody WorkoutCompletionBatchRequestDto requestDto) {
+        Long userId = authUtil.getUserIdFromAuthentication(
+                SecurityContextHolder.getContext().getAuthentication());
+        WorkoutCompletionBatchResponseDto responseDto = workoutCompletionService.recordCompletions(userId, requestDto);
+        return new ResponseEntity<>(responseDto, HttpStatus.OK);
+    }
+}
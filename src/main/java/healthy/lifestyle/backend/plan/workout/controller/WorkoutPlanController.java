@@ -5,6 +5,7 @@ import healthy.lifestyle.backend.plan.workout.dto.WorkoutPlanCreateRequestDto;
 import healthy.lifestyle.backend.plan.workout.dto.WorkoutPlanResponseDto;
 import healthy.lifestyle.backend.plan.workout.dto.WorkoutWithoutPlanResponseDto;
 import healthy.lifestyle.backend.plan.workout.service.WorkoutPlanService;
+import healthy.lifestyle.backend.shared.validation.annotation.IdValidation;
 import healthy.lifestyle.backend.user.service.AuthUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
@@ -15,8 +16,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+@Validated
 @Controller
 @RequestMapping("${api.basePath}/${api.version}/calendar/workouts")
 public class WorkoutPlanController {
@@ -57,4 +60,14 @@ public class WorkoutPlanController {
         List<WorkoutPlanResponseDto> responseDto = workoutPlanService.getWorkoutPlans(userId);
         return new ResponseEntity<>(responseDto, HttpStatus.OK);
     }
+
+    @DeleteMapping("/plans/{planId}")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @Operation(summary = "Deactivate workout plan (remove workout from the calendar)")
+    public ResponseEntity<?> deactivateWorkoutPlan(@PathVariable("planId") @IdValidation long planId) {
+        Long userId = authUtil.getUserIdFromAuthentication(
+                SecurityContextHolder.getContext().getAuthentication());
+        workoutPlanService.deactivateWorkoutPlan(userId, planId);
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+    }
 }
@@ -0,0 +1,20 @@
+package healthy.lifestyle.backend.plan.workout.dto;
+
+import healthy.lifestyle.backend.shared.validation.annotation.NotEmptyListValidation;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkoutCompletionBatchRequestDto {
+    public static final int MAX_BATCH_SIZE = 500;
+
+    @NotEmptyListValidation
+    @Size(max = MAX_BATCH_SIZE)
+    private List<@Valid WorkoutCompletionRequestDto> completions;
+}
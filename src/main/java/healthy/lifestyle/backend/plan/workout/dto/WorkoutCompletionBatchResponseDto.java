@@ -0,0 +1,14 @@
+package healthy.lifestyle.backend.plan.workout.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkoutCompletionBatchResponseDto {
+    private int received;
+
+    private int recorded; // new records, duplicates of already recorded completions are skipped
+}
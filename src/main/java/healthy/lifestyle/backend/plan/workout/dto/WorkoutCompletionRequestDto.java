@@ -0,0 +1,22 @@
+package healthy.lifestyle.backend.plan.workout.dto;
+
+import healthy.lifestyle.backend.shared.validation.annotation.IdValidation;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.time.LocalDate;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkoutCompletionRequestDto {
+    @IdValidation
+    private Long workoutId;
+
+    @PositiveOrZero
+    private Long exerciseId; // null if the whole workout has been completed
+
+    @NotNull private LocalDate completedAt; // in user's zone
+}
@@ -7,6 +7,11 @@ import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
+/**
+ * A record without an exercise marks the whole workout as completed on completedAt,
+ * otherwise it marks a single exercise of the workout.
+ * Ids come from a pooled sequence, so Hibernate and the JDBC batch writer can both allocate them in blocks.
+ */
 @Getter
 @Setter
 @SuperBuilder
@@ -15,6 +20,17 @@ import lombok.experimental.SuperBuilder;
 @Entity
 @Table(name = "workout_completion_records")
 public class WorkoutCompletionRecord extends CompletionRecordBase {
+    public static final String ID_SEQUENCE = "workout_completion_records_seq";
+
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workout_completion_records_id")
+    @SequenceGenerator(
+            name = "workout_completion_records_id",
+            sequenceName = ID_SEQUENCE,
+            allocationSize = ID_ALLOCATION_SIZE)
+    private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "workout_id", nullable = false, unique = false)
@@ -0,0 +1,13 @@
+package healthy.lifestyle.backend.plan.workout.repository;
+
+import healthy.lifestyle.backend.plan.workout.model.WorkoutCompletionRecord;
+import java.util.List;
+
+public interface WorkoutCompletionRecordBatchRepository {
+    /**
+     * Inserts the records with JDBC batches, skipping the ones that already exist
+     * for the same (user, workout, exercise, completed_at).
+     * Assigns ids to all records and returns only the records that have actually been inserted.
+     */
+    List<WorkoutCompletionRecord> insertAllIgnoringDuplicates(List<WorkoutCompletionRecord> records);
+}
@@ -0,0 +1,67 @@
+package healthy.lifestyle.backend.plan.workout.repository;
+
+import healthy.lifestyle.backend.plan.workout.model.WorkoutCompletionRecord;
+import java.sql.Date;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class WorkoutCompletionRecordBatchRepositoryImpl implements WorkoutCompletionRecordBatchRepository {
+    private static final int BATCH_SIZE = 100;
+
+    private static final String INSERT_SQL = "INSERT INTO workout_completion_records "
+            + "(id, user_id, workout_id, exercise_id, completed_at) VALUES (?, ?, ?, ?, ?) "
+            + "ON CONFLICT DO NOTHING";
+
+    private static final String NEXT_ID_BLOCKS_SQL =
+            "SELECT nextval('" + WorkoutCompletionRecord.ID_SEQUENCE + "') FROM generate_series(1, ?)";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<WorkoutCompletionRecord> insertAllIgnoringDuplicates(List<WorkoutCompletionRecord> records) {
+        if (records.isEmpty()) return new ArrayList<>();
+
+        assignIds(records);
+
+        int[][] updateCounts = jdbcTemplate.batchUpdate(INSERT_SQL, records, BATCH_SIZE, (ps, record) -> {
+            ps.setLong(1, record.getId());
+            ps.setLong(2, record.getUser().getId());
+            ps.setLong(3, record.getWorkout().getId());
+            if (record.getExercise() != null) {
+                ps.setLong(4, record.getExercise().getId());
+            } else {
+                ps.setNull(4, Types.BIGINT);
+            }
+            ps.setDate(5, Date.valueOf(record.getCompletedAt()));
+        });
+
+        List<WorkoutCompletionRecord> inserted = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : updateCounts) {
+            for (int updateCount : batch) {
+                if (updateCount > 0 || updateCount == Statement.SUCCESS_NO_INFO) inserted.add(records.get(index));
+                index++;
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Follows Hibernate's pooled optimizer: every sequence value is the upper bound
+     * of a block of ID_ALLOCATION_SIZE ids, so both writers can share the sequence.
+     */
+    private void assignIds(List<WorkoutCompletionRecord> records) {
+        int blockSize = WorkoutCompletionRecord.ID_ALLOCATION_SIZE;
+        int blocksCount = (records.size() + blockSize - 1) / blockSize;
+        List<Long> blockUpperBounds = jdbcTemplate.queryForList(NEXT_ID_BLOCKS_SQL, Long.class, blocksCount);
+        for (int i = 0; i < records.size(); i++) {
+            long upperBound = blockUpperBounds.get(i / blockSize);
+            records.get(i).setId(upperBound - blockSize + 1 + (i % blockSize));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package healthy.lifestyle.backend.plan.workout.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * A single scheduled occurrence of a workout plan slot, expanded from workout_plans.json_description.
+ * occurrenceAt is in the database's timezone.
+ */
+public interface WorkoutPlanOccurrence {
+    Long getPlanId();
+
+    Long getWorkoutId();
+
+    String getWorkoutTitle();
+
+    LocalDateTime getOccurrenceAt();
+
+    Boolean getIsCompleted();
+}
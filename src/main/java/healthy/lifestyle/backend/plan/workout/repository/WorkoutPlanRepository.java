@@ -1,11 +1,14 @@
 package healthy.lifestyle.backend.plan.workout.repository;
 
 import healthy.lifestyle.backend.plan.workout.model.WorkoutPlan;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface WorkoutPlanRepository extends JpaRepository<WorkoutPlan, Long> {
     @Query("SELECT wr FROM WorkoutPlan wr WHERE wr.user.id = :userId AND wr.workout.id = :workoutId")
@@ -18,20 +21,56 @@ public interface WorkoutPlanRepository extends JpaRepository<WorkoutPlan, Long>
     @Query("SELECT wr FROM WorkoutPlan wr WHERE wr.user.id = :userId")
     List<WorkoutPlan> findByUserId(long userId);
 
-    @Query(
-            value = "SELECT DISTINCT w.id, w.title FROM workouts w LEFT JOIN workout_plans wp "
-                    + "ON w.id = wp.workout_id AND wp.user_id = :userId "
-                    + "WHERE wp.id IS NULL AND w.is_custom = false;",
-            nativeQuery = true)
-    List<Object[]> getDefaultWorkoutsWithoutPlans(long userId);
+    /**
+     * Default workouts and the user's custom workouts the user has never planned, default workouts first.
+     * Backed by idx_workouts_is_custom_user_id and idx_workout_plans_user_id_workout_id.
+     */
+    String WORKOUTS_WITHOUT_PLANS_QUERY = "SELECT w.id AS \"id\", w.title AS \"title\" FROM workouts w "
+            + "WHERE (w.is_custom = false OR (w.is_custom = true AND w.user_id = :userId)) "
+            + "AND NOT EXISTS "
+            + "(SELECT 1 FROM workout_plans wp WHERE wp.user_id = :userId AND wp.workout_id = w.id) "
+            + "ORDER BY w.is_custom, w.id";
 
-    @Query(
-            value = "SELECT DISTINCT w.id, w.title FROM workouts w LEFT JOIN workout_plans wp "
-                    + "ON w.id = wp.workout_id AND w.user_id = :userId AND wp.user_id = :userId "
-                    + "WHERE wp.workout_id IS NULL AND w.is_custom = true;",
-            nativeQuery = true)
-    List<Object[]> getCustomWorkoutsWithoutPlans(long userId);
+    @Query(value = WORKOUTS_WITHOUT_PLANS_QUERY, nativeQuery = true)
+    List<WorkoutWithoutPlan> findWorkoutsWithoutPlans(@Param("userId") long userId);
 
     @Query(value = "SELECT wp FROM WorkoutPlan wp WHERE wp.isActive = true AND wp.user.id = :userId")
     List<WorkoutPlan> getAcitveWorkoutPlans(long userId);
+
+    /**
+     * Expands every json_description slot of the user's active plans into dated occurrences within
+     * [fromDateTime; toDateTime). All dates and date-times are in the database's timezone, fromDate and toDate
+     * cover the range.
+     * A whole-workout completion record (exercise_id IS NULL) marks the occurrence as completed. Its completed_at
+     * is a date of the user, so it is compared with the occurrence date in the user's timezone, the database's
+     * timezone being UTC.
+     */
+    @Query(
+            value = "SELECT wp.id AS \"planId\", w.id AS \"workoutId\", w.title AS \"workoutTitle\", "
+                    + "o.occurrence_at AS \"occurrenceAt\", "
+                    + "EXISTS (SELECT 1 FROM workout_completion_records wcr "
+                    + "WHERE wcr.user_id = wp.user_id AND wcr.workout_id = wp.workout_id AND wcr.exercise_id IS NULL "
+                    + "AND wcr.completed_at = "
+                    + "CAST(timezone(COALESCE(tz.name, 'UTC'), timezone('UTC', o.occurrence_at)) AS date)) "
+                    + "AS \"isCompleted\" "
+                    + "FROM workout_plans wp JOIN workouts w ON w.id = wp.workout_id "
+                    + "JOIN users u ON u.id = wp.user_id LEFT JOIN timezones tz ON tz.id = u.timezone_id "
+                    + "CROSS JOIN LATERAL jsonb_array_elements(wp.json_description) AS slot "
+                    + "CROSS JOIN LATERAL (SELECT d.series_day "
+                    + "+ make_time(CAST(slot ->> 'hours' AS int), CAST(slot ->> 'minutes' AS int), 0) AS occurrence_at "
+                    + "FROM generate_series(CAST(:fromDate AS timestamp), CAST(:toDate AS timestamp), interval '1 day') "
+                    + "AS d(series_day) "
+                    + "WHERE slot ->> 'dayOfWeek' IS NULL OR to_char(d.series_day, 'FMDAY') = slot ->> 'dayOfWeek') o "
+                    + "WHERE wp.user_id = :userId AND wp.is_active = true "
+                    + "AND wp.start_date <= :toDate AND wp.end_date >= :fromDate "
+                    + "AND CAST(o.occurrence_at AS date) BETWEEN wp.start_date AND wp.end_date "
+                    + "AND o.occurrence_at >= :fromDateTime AND o.occurrence_at < :toDateTime "
+                    + "ORDER BY o.occurrence_at",
+            nativeQuery = true)
+    List<WorkoutPlanOccurrence> findActiveOccurrences(
+            @Param("userId") long userId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate,
+            @Param("fromDateTime") LocalDateTime fromDateTime,
+            @Param("toDateTime") LocalDateTime toDateTime);
 }
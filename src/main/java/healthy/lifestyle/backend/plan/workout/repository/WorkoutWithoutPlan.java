@@ -0,0 +1,7 @@
+package healthy.lifestyle.backend.plan.workout.repository;
+
+public interface WorkoutWithoutPlan {
+    Long getId();
+
+    String getTitle();
+}
@@ -1,9 +1,13 @@
 package healthy.lifestyle.backend.plan.workout.service;
 
+import healthy.lifestyle.backend.plan.workout.dto.WorkoutCompletionBatchRequestDto;
+import healthy.lifestyle.backend.plan.workout.dto.WorkoutCompletionBatchResponseDto;
 import java.time.LocalDate;
 
 public interface WorkoutCompletionService {
-    void setSingleWorkoutCompleted(long workoutId, LocalDate completedAt);
+    void setSingleWorkoutCompleted(long userId, long workoutId, LocalDate completedAt);
 
-    void setExerciseCompleted(long workoutId, long exerciseId, LocalDate completedAt);
+    void setExerciseCompleted(long userId, long workoutId, long exerciseId, LocalDate completedAt);
+
+    WorkoutCompletionBatchResponseDto recordCompletions(long userId, WorkoutCompletionBatchRequestDto requestDto);
 }
@@ -3,11 +3,28 @@ package healthy.lifestyle.backend.plan.workout.service;
 import healthy.lifestyle.backend.activity.workout.api.WorkoutApi;
 import healthy.lifestyle.backend.activity.workout.model.Exercise;
 import healthy.lifestyle.backend.activity.workout.model.Workout;
+import healthy.lifestyle.backend.exception.ApiException;
+import healthy.lifestyle.backend.exception.ErrorMessage;
+import healthy.lifestyle.backend.plan.shared.event.WorkoutCompletionRecordedEvent;
+import healthy.lifestyle.backend.plan.workout.dto.WorkoutCompletionBatchRequestDto;
+import healthy.lifestyle.backend.plan.workout.dto.WorkoutCompletionBatchResponseDto;
+import healthy.lifestyle.backend.plan.workout.dto.WorkoutCompletionRequestDto;
 import healthy.lifestyle.backend.plan.workout.model.WorkoutCompletionRecord;
 import healthy.lifestyle.backend.plan.workout.repository.WorkoutCompletionRecordRepository;
+import healthy.lifestyle.backend.user.api.UserApi;
+import healthy.lifestyle.backend.user.model.User;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+@Service
 public class WorkoutCompletionServiceImpl implements WorkoutCompletionService {
     @Autowired
     WorkoutCompletionRecordRepository workoutCompletionRecordRepository;
@@ -15,25 +32,106 @@ public class WorkoutCompletionServiceImpl implements WorkoutCompletionService {
     @Autowired
     WorkoutApi workoutApi;
 
+    @Autowired
+    UserApi userApi;
+
+    @Autowired
+    ApplicationEventPublisher applicationEventPublisher;
+
     @Override
-    public void setSingleWorkoutCompleted(long workoutId, LocalDate completedAt) {
-        Workout workout = workoutApi.getWorkoutById(workoutId);
-        WorkoutCompletionRecord workoutCompletionRecord = WorkoutCompletionRecord.builder()
-                .workout(workout)
-                .completedAt(completedAt)
-                .build();
-        workoutCompletionRecordRepository.save(workoutCompletionRecord);
+    @Transactional
+    public void setSingleWorkoutCompleted(long userId, long workoutId, LocalDate completedAt) {
+        recordCompletions(
+                userId,
+                WorkoutCompletionBatchRequestDto.builder()
+                        .completions(List.of(WorkoutCompletionRequestDto.builder()
+                                .workoutId(workoutId)
+                                .completedAt(completedAt)
+                                .build()))
+                        .build());
     }
 
     @Override
-    public void setExerciseCompleted(long workoutId, long exerciseId, LocalDate completedAt) {
-        Workout workout = workoutApi.getWorkoutById(workoutId);
-        Exercise exercise = workoutApi.getExerciseById(exerciseId);
-        WorkoutCompletionRecord workoutCompletionRecord = WorkoutCompletionRecord.builder()
-                .workout(workout)
-                .exercise(exercise)
-                .completedAt(completedAt)
+    @Transactional
+    public void setExerciseCompleted(long userId, long workoutId, long exerciseId, LocalDate completedAt) {
+        recordCompletions(
+                userId,
+                WorkoutCompletionBatchRequestDto.builder()
+                        .completions(List.of(WorkoutCompletionRequestDto.builder()
+                                .workoutId(workoutId)
+                                .exerciseId(exerciseId)
+                                .completedAt(completedAt)
+                                .build()))
+                        .build());
+    }
+
+    @Override
+    @Transactional
+    public WorkoutCompletionBatchResponseDto recordCompletions(
+            long userId, WorkoutCompletionBatchRequestDto requestDto) {
+        User user = userApi.getUserById(userId);
+        LocalDate userToday = LocalDate.now(ZoneId.of(user.getTimezone().getName()));
+
+        Set<Long> workoutIds = requestDto.getCompletions().stream()
+                .map(WorkoutCompletionRequestDto::getWorkoutId)
+                .collect(Collectors.toSet());
+        Map<Long, Workout> workouts = workoutApi.getWorkoutsWithExercisesByIds(workoutIds).stream()
+                .collect(Collectors.toMap(Workout::getId, Function.identity()));
+
+        // Offline uploads may repeat the same completion, only the first one is kept
+        Map<CompletionKey, WorkoutCompletionRecord> records = new LinkedHashMap<>();
+        for (WorkoutCompletionRequestDto completion : requestDto.getCompletions()) {
+            Workout workout = validateWorkout(workouts, completion.getWorkoutId(), userId);
+            Exercise exercise = validateExercise(workout, completion.getExerciseId());
+
+            // Stored as sent, completedAt is a date of the user (see CompletionRecordBase)
+            LocalDate completedAt = completion.getCompletedAt();
+            if (completedAt.isAfter(userToday)) {
+                throw new ApiException(ErrorMessage.INCORRECT_TIME, null, HttpStatus.BAD_REQUEST);
+            }
+
+            CompletionKey key = new CompletionKey(workout.getId(), completion.getExerciseId(), completedAt);
+            records.putIfAbsent(
+                    key,
+                    WorkoutCompletionRecord.builder()
+                            .user(user)
+                            .workout(workout)
+                            .exercise(exercise)
+                            .completedAt(completedAt)
+                            .build());
+        }
+
+        List<WorkoutCompletionRecord> inserted =
+                workoutCompletionRecordRepository.insertAllIgnoringDuplicates(new ArrayList<>(records.values()));
+        if (!inserted.isEmpty()) {
+            applicationEventPublisher.publishEvent(new WorkoutCompletionRecordedEvent(userId, inserted));
+        }
+
+        return WorkoutCompletionBatchResponseDto.builder()
+                .received(requestDto.getCompletions().size())
+                .recorded(inserted.size())
                 .build();
-        workoutCompletionRecordRepository.save(workoutCompletionRecord);
     }
+
+    private Workout validateWorkout(Map<Long, Workout> workouts, long workoutId, long userId) {
+        Workout workout = workouts.get(workoutId);
+        if (workout == null) {
+            throw new ApiException(ErrorMessage.WORKOUT_NOT_FOUND, workoutId, HttpStatus.NOT_FOUND);
+        }
+        if (workout.isCustom() && workout.getUser().getId() != userId) {
+            throw new ApiException(ErrorMessage.USER_WORKOUT_MISMATCH, workoutId, HttpStatus.BAD_REQUEST);
+        }
+        return workout;
+    }
+
+    private Exercise validateExercise(Workout workout, Long exerciseId) {
+        if (exerciseId == null) return null;
+        return workout.getExercises().stream()
+                .filter(exercise -> exercise.getId().equals(exerciseId))
+                .findFirst()
+                .orElseThrow(() ->
+                        new ApiException(ErrorMessage.WORKOUT_EXERCISE_MISMATCH, exerciseId, HttpStatus.BAD_REQUEST));
+    }
+
+    private record CompletionKey(long workoutId, Long exerciseId, LocalDate completedAt) {}
 }
@@ -13,4 +13,6 @@ public interface WorkoutPlanService {
     List<WorkoutWithoutPlanResponseDto> getDefaultAndCustomWorkoutsWithoutPlans(long userId);
 
     List<WorkoutPlanResponseDto> getWorkoutPlans(long userId);
+
+    void deactivateWorkoutPlan(long userId, long planId);
 }
@@ -5,6 +5,8 @@ import healthy.lifestyle.backend.activity.workout.api.WorkoutApi;
 import healthy.lifestyle.backend.activity.workout.model.Workout;
 import healthy.lifestyle.backend.exception.ApiException;
 import healthy.lifestyle.backend.exception.ErrorMessage;
+import healthy.lifestyle.backend.plan.shared.event.PlanChangedEvent;
+import healthy.lifestyle.backend.plan.shared.event.PlanDeactivatedEvent;
 import healthy.lifestyle.backend.plan.workout.dto.WorkoutPlanCreateRequestDto;
 import healthy.lifestyle.backend.plan.workout.dto.WorkoutPlanResponseDto;
 import healthy.lifestyle.backend.plan.workout.dto.WorkoutWithoutPlanResponseDto;
@@ -19,6 +21,7 @@ import java.time.*;
 import java.util.*;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -43,6 +46,12 @@ public class WorkoutPlanServiceImpl implements WorkoutPlanService {
     @Autowired
     ModelMapper modelMapper;
 
+    @Autowired
+    ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    WorkoutScheduleIndex workoutScheduleIndex;
+
     @Override
     @Transactional
     public WorkoutPlanResponseDto createWorkoutPlan(WorkoutPlanCreateRequestDto requestDto, long userId)
@@ -57,11 +66,21 @@ public class WorkoutPlanServiceImpl implements WorkoutPlanService {
         List<JsonDescription> daysProcessed = jsonUtil.processJsonDescription(
                 days, ZoneId.of(user.getTimezone().getName()));
 
+        LocalDate startDate =
+                dateTimeService.convertToDBDate(requestDto.getStartDate(), user.getTimezone().getName());
+        LocalDate endDate = dateTimeService.convertToDBDate(requestDto.getEndDate(), user.getTimezone().getName());
+
+        // Activities of different plans can't be scheduled at the same time
+        Optional<Long> conflictingPlanId =
+                workoutScheduleIndex.findConflictingPlanId(userId, daysProcessed, startDate, endDate);
+        if (conflictingPlanId.isPresent()) {
+            throw new ApiException(
+                    ErrorMessage.WORKOUT_PLAN_SCHEDULE_CONFLICT, conflictingPlanId.get(), HttpStatus.CONFLICT);
+        }
+
         WorkoutPlan workoutPlan = WorkoutPlan.builder()
-                .startDate(dateTimeService.convertToDBDate(
-                        requestDto.getStartDate(), user.getTimezone().getName()))
-                .endDate(dateTimeService.convertToDBDate(
-                        requestDto.getEndDate(), user.getTimezone().getName()))
+                .startDate(startDate)
+                .endDate(endDate)
                 .jsonDescription(daysProcessed)
                 .isActive(true)
                 .createdAt(dateTimeService.getCurrentDatabaseZonedDateTime().toLocalDateTime())
@@ -71,6 +90,7 @@ public class WorkoutPlanServiceImpl implements WorkoutPlanService {
                 .build();
 
         WorkoutPlan workoutPlanSaved = workoutPlanRepository.save(workoutPlan);
+        applicationEventPublisher.publishEvent(new PlanChangedEvent(userId, workoutPlanSaved.getId()));
         WorkoutPlanResponseDto responseDto = WorkoutPlanResponseDto.builder()
                 .id(workoutPlanSaved.getId())
                 .workoutId(workout.getId())
@@ -89,21 +109,20 @@ public class WorkoutPlanServiceImpl implements WorkoutPlanService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<WorkoutWithoutPlanResponseDto> getDefaultAndCustomWorkoutsWithoutPlans(long userId) {
-        List<Object[]> workouts = new ArrayList<>();
-        workouts.addAll(workoutPlanRepository.getDefaultWorkoutsWithoutPlans(userId));
-        workouts.addAll(workoutPlanRepository.getCustomWorkoutsWithoutPlans(userId));
-        List<WorkoutWithoutPlanResponseDto> responseDtoList = workouts.stream()
-                .map(elt -> WorkoutWithoutPlanResponseDto.builder()
-                        .id((long) elt[0])
-                        .title((String) elt[1])
-                        .build())
-                .toList();
+        List<WorkoutWithoutPlanResponseDto> responseDtoList =
+                workoutPlanRepository.findWorkoutsWithoutPlans(userId).stream()
+                        .map(elt -> WorkoutWithoutPlanResponseDto.builder()
+                                .id(elt.getId())
+                                .title(elt.getTitle())
+                                .build())
+                        .toList();
         return responseDtoList;
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public List<WorkoutPlanResponseDto> getWorkoutPlans(long userId) {
         User user = userApi.getUserById(userId);
         List<WorkoutPlan> workoutPlans = workoutPlanRepository.getAcitveWorkoutPlans(userId);
@@ -128,8 +147,27 @@ public class WorkoutPlanServiceImpl implements WorkoutPlanService {
         return responseDtoList;
     }
 
+    @Override
+    @Transactional
+    public void deactivateWorkoutPlan(long userId, long planId) {
+        WorkoutPlan workoutPlan = workoutPlanRepository
+                .findById(planId)
+                .filter(WorkoutPlan::getIsActive)
+                .orElseThrow(() -> new ApiException(ErrorMessage.WORKOUT_PLAN_NOT_FOUND, planId, HttpStatus.NOT_FOUND));
+        if (workoutPlan.getUser().getId() != userId) {
+            throw new ApiException(ErrorMessage.USER_WORKOUT_PLAN_MISMATCH, planId, HttpStatus.BAD_REQUEST);
+        }
+
+        workoutPlan.setIsActive(false);
+        workoutPlan.setDeactivatedAt(dateTimeService.getCurrentDatabaseZonedDateTime().toLocalDateTime());
+        workoutPlanRepository.save(workoutPlan);
+        applicationEventPublisher.publishEvent(
+                new PlanDeactivatedEvent(userId, planId, workoutPlan.getWorkout().getId()));
+    }
+
     private Map<String, Object> validateCreateWorkoutPlan(WorkoutPlanCreateRequestDto requestDto, long userId) {
-        User user = userApi.getUserById(userId);
+        // Concurrent creations of the same user are serialized here, before any of the checks against existing plans
+        User user = userApi.getUserByIdForUpdate(userId);
         if (user == null) {
             throw new ApiException(ErrorMessage.USER_NOT_FOUND, userId, HttpStatus.BAD_REQUEST);
         }
@@ -0,0 +1,126 @@
+package healthy.lifestyle.backend.plan.workout.service;
+
+import healthy.lifestyle.backend.plan.shared.event.PlanChangedEvent;
+import healthy.lifestyle.backend.plan.shared.schedule.ScheduleInterval;
+import healthy.lifestyle.backend.plan.shared.schedule.ScheduleIntervalTree;
+import healthy.lifestyle.backend.plan.workout.model.WorkoutPlan;
+import healthy.lifestyle.backend.plan.workout.repository.WorkoutPlanRepository;
+import healthy.lifestyle.backend.shared.util.JsonDescription;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps an interval tree per user over the json_description slots of all active workout plans.
+ * Slots are in the database's timezone (UTC), every slot occupies plan.schedule.slot-duration-minutes.
+ * A cached tree is dropped once a plan change of the user has been committed.
+ * <p>
+ * Conflict checks run while holding the user's row lock. The tree is also dropped before the changing transaction
+ * commits and releases that lock, so the next check of the user loads the committed plans.
+ * <p>
+ * A tree loaded while an eviction ran may miss the change, it is put into the cache only
+ * if no eviction happened in the meantime. Evictions are counted globally, so an eviction
+ * of another user merely leaves the tree uncached until the next lookup.
+ */
+@Component
+public class WorkoutScheduleIndex {
+    @Value("${plan.schedule.slot-duration-minutes}")
+    int slotDurationMinutes;
+
+    @Value("${plan.schedule.index.max-users:10000}")
+    int maxUsers;
+
+    @Autowired
+    WorkoutPlanRepository workoutPlanRepository;
+
+    private final Map<Long, ScheduleIntervalTree<PlanSlot>> treesByUser = new ConcurrentHashMap<>();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Returns the id of an active plan having a slot that overlaps one of the given slots
+     * while both plans are in effect.
+     */
+    public Optional<Long> findConflictingPlanId(
+            long userId, List<JsonDescription> slots, LocalDate startDate, LocalDate endDate) {
+        ScheduleIntervalTree<PlanSlot> tree = getTree(userId);
+        if (tree.size() == 0) return Optional.empty();
+
+        for (JsonDescription slot : slots) {
+            for (ScheduleInterval<Void> interval :
+                    ScheduleInterval.<Void>fromJsonDescription(slot, slotDurationMinutes, null)) {
+                for (PlanSlot planSlot : tree.findOverlapping(interval.getStart(), interval.getEnd())) {
+                    if (!planSlot.getStartDate().isAfter(endDate)
+                            && !planSlot.getEndDate().isBefore(startDate)) {
+                        return Optional.of(planSlot.getPlanId());
+                    }
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    public void evict(long userId) {
+        evictions.incrementAndGet();
+        treesByUser.remove(userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlanChanged(PlanChangedEvent event) {
+        evict(event.getUserId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onPlanChangedBeforeCommit(PlanChangedEvent event) {
+        evict(event.getUserId());
+    }
+
+    private ScheduleIntervalTree<PlanSlot> getTree(long userId) {
+        ScheduleIntervalTree<PlanSlot> tree = treesByUser.get(userId);
+        if (tree != null) return tree;
+
+        long evictionsBeforeLoad = evictions.get();
+        List<ScheduleInterval<PlanSlot>> intervals = new ArrayList<>();
+        for (WorkoutPlan plan : workoutPlanRepository.getAcitveWorkoutPlans(userId)) {
+            PlanSlot planSlot = new PlanSlot(plan.getId(), plan.getStartDate(), plan.getEndDate());
+            for (JsonDescription slot : plan.getJsonDescription()) {
+                intervals.addAll(ScheduleInterval.fromJsonDescription(slot, slotDurationMinutes, planSlot));
+            }
+        }
+        tree = new ScheduleIntervalTree<>(intervals);
+
+        if (!treesByUser.containsKey(userId) && treesByUser.size() >= maxUsers) {
+            Iterator<Long> iterator = treesByUser.keySet().iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        treesByUser.put(userId, tree);
+        // An eviction counted after this check removes the tree itself, as it removes after counting
+        if (evictions.get() != evictionsBeforeLoad) treesByUser.remove(userId, tree);
+        return tree;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class PlanSlot {
+        private final long planId;
+
+        private final LocalDate startDate;
+
+        private final LocalDate endDate;
+    }
+}
@@ -20,6 +20,9 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     UserUtil userUtil;
 
+    /**
+     * Not read-only, so it stays on the primary: a user signing in right after signing up may not be on the replica.
+     */
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String usernameOrEmail) {
@@ -0,0 +1,6 @@
+package healthy.lifestyle.backend.shared.datasource;
+
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,72 @@
+package healthy.lifestyle.backend.shared.datasource;
+
+import java.util.function.Supplier;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica and everything else, including work outside of a transaction,
+ * to the primary. A committed read-write transaction that has written anything makes the client's reads sticky
+ * to the primary, see ReadYourWritesTracker.
+ * <p>
+ * Must be wrapped in a LazyConnectionDataSourceProxy, the transaction's read-only flag is only known once the
+ * transaction has begun, after the connection has been requested.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    private final TransactionWriteDetector transactionWriteDetector;
+
+    public ReadWriteRoutingDataSource(
+            ReadYourWritesTracker readYourWritesTracker, TransactionWriteDetector transactionWriteDetector) {
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.transactionWriteDetector = transactionWriteDetector;
+    }
+
+    /**
+     * Whether the current transaction reads from the replica, whose data may lag behind the primary.
+     * Results of such reads should not be cached beyond the transaction.
+     */
+    public static boolean isCurrentTransactionOnReplica() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.getSynchronizations().stream()
+                        .anyMatch(ReplicaReadSynchronization.class::isInstance);
+    }
+
+    @Override
+    protected DataSourceRoute determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) return DataSourceRoute.PRIMARY;
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            register(WriteSynchronization.class, WriteSynchronization::new);
+            return DataSourceRoute.PRIMARY;
+        }
+
+        if (readYourWritesTracker.isSticky()) return DataSourceRoute.PRIMARY;
+        register(ReplicaReadSynchronization.class, ReplicaReadSynchronization::new);
+        return DataSourceRoute.REPLICA;
+    }
+
+    private static <T extends TransactionSynchronization> void register(Class<T> type, Supplier<T> synchronization) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        if (TransactionSynchronizationManager.getSynchronizations().stream().anyMatch(type::isInstance)) return;
+        TransactionSynchronizationManager.registerSynchronization(synchronization.get());
+    }
+
+    private static class ReplicaReadSynchronization implements TransactionSynchronization {}
+
+    private class WriteSynchronization implements TransactionSynchronization {
+        private boolean written;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            written = transactionWriteDetector.hasWritten();
+        }
+
+        @Override
+        public void afterCommit() {
+            if (written) readYourWritesTracker.markWritten();
+        }
+    }
+}
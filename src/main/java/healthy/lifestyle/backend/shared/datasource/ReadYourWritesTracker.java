@@ -0,0 +1,71 @@
+package healthy.lifestyle.backend.shared.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Clock;
+import java.time.Duration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Keeps the reads of a client on the primary for stickinessMillis after the client's last write,
+ * so it doesn't miss its own changes while the replica catches up.
+ * <p>
+ * The time of the last write travels with the client in the last-write cookie rather than in memory of the node,
+ * so the stickiness holds whichever node serves the next request. Work outside of a request is never sticky.
+ */
+public class ReadYourWritesTracker {
+    public static final String COOKIE_NAME = "last-write";
+
+    private static final String REQUEST_ATTRIBUTE = ReadYourWritesTracker.class.getName() + ".lastWrite";
+
+    private final long stickinessMillis;
+
+    private final Clock clock;
+
+    public ReadYourWritesTracker(long stickinessMillis, Clock clock) {
+        this.stickinessMillis = stickinessMillis;
+        this.clock = clock;
+    }
+
+    public void markWritten() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) return;
+
+        long now = clock.millis();
+        attributes.getRequest().setAttribute(REQUEST_ATTRIBUTE, now);
+        HttpServletResponse response = attributes.getResponse();
+        if (response == null || response.isCommitted()) return;
+        ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, String.valueOf(now))
+                .path("/")
+                .maxAge(Duration.ofMillis(stickinessMillis))
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    public boolean isSticky() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) return false;
+
+        Long lastWrite = getLastWrite(attributes.getRequest());
+        // Both directions are bounded, a forged cookie from the future can't pin the client to the primary
+        return lastWrite != null && Math.abs(clock.millis() - lastWrite) < stickinessMillis;
+    }
+
+    private static Long getLastWrite(HttpServletRequest request) {
+        if (request.getAttribute(REQUEST_ATTRIBUTE) instanceof Long lastWrite) return lastWrite;
+        if (request.getCookies() == null) return null;
+        for (Cookie cookie : request.getCookies()) {
+            if (!COOKIE_NAME.equals(cookie.getName())) continue;
+            try {
+                return Long.parseLong(cookie.getValue());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,37 @@
+package healthy.lifestyle.backend.shared.datasource;
+
+import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Tells whether the current transaction has written anything. PostgreSQL assigns a transaction id on the first
+ * write only, so the persistence context is flushed and txid_current_if_assigned() is asked on the connection
+ * of the transaction.
+ */
+public class TransactionWriteDetector {
+    static final String TRANSACTION_ID_ASSIGNED_SQL = "SELECT txid_current_if_assigned() IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactoryProvider;
+
+    public TransactionWriteDetector(
+            DataSource transactionDataSource, ObjectProvider<EntityManagerFactory> entityManagerFactoryProvider) {
+        this.jdbcTemplate = new JdbcTemplate(transactionDataSource);
+        this.entityManagerFactoryProvider = entityManagerFactoryProvider;
+    }
+
+    public boolean hasWritten() {
+        EntityManagerFactory entityManagerFactory = entityManagerFactoryProvider.getIfAvailable();
+        if (entityManagerFactory != null
+                && TransactionSynchronizationManager.getResource(entityManagerFactory)
+                        instanceof EntityManagerHolder holder) {
+            holder.getEntityManager().flush();
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRANSACTION_ID_ASSIGNED_SQL, Boolean.class));
+    }
+}
@@ -0,0 +1,33 @@
+package healthy.lifestyle.backend.shared.lease;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * actuator/leases shows this node, the live nodes and every lease with its holder, renewals and failovers.
+ */
+@Component
+@Endpoint(id = "leases")
+public class LeaseEndpoint {
+    @Autowired
+    LeaseService leaseService;
+
+    @Autowired
+    SchedulerLeaseRepository schedulerLeaseRepository;
+
+    @ReadOperation
+    public Map<String, Object> leases() {
+        List<SchedulerLease> leases = schedulerLeaseRepository.findAll(Sort.by("name"));
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("node", leaseService.getNodeId());
+        result.put("liveNodes", leaseService.getLiveNodes());
+        result.put("leases", leases);
+        return result;
+    }
+}
@@ -0,0 +1,15 @@
+package healthy.lifestyle.backend.shared.lease;
+
+import java.util.List;
+
+public interface LeaseService {
+    String getNodeId();
+
+    boolean tryAcquire(String name);
+
+    List<Integer> getOwnedShards(String job, int shardCount);
+
+    List<String> getLiveNodes();
+
+    void heartbeat();
+}
@@ -0,0 +1,97 @@
+package healthy.lifestyle.backend.shared.lease;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Coordinates scheduled jobs across the nodes through lease rows, which unlike session-level advisory locks
+ * don't depend on keeping one pooled connection open.
+ * <p>
+ * A singleton job runs on the node holding its lease, see {@link #tryAcquire(String)}. A shardable job is spread
+ * over the live nodes, i.e. the nodes renewing their node lease, see {@link #getOwnedShards(String, int)}.
+ * While the membership changes two nodes may briefly own the same shard, so shardable jobs must tolerate
+ * running concurrently.
+ */
+@Service
+public class LeaseServiceImpl implements LeaseService {
+    static final String NODE_LEASE_PREFIX = "node:";
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaseServiceImpl.class);
+
+    @Value("${scheduler.lease.ttl-ms:90000}")
+    long ttlMillis;
+
+    @Value("${scheduler.lease.node-ttl-ms:30000}")
+    long nodeTtlMillis;
+
+    @Autowired
+    SchedulerLeaseRepository schedulerLeaseRepository;
+
+    private final String nodeId;
+
+    public LeaseServiceImpl(@Value("${scheduler.lease.node-id:}") String nodeId) {
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Acquires or renews the lease for scheduler.lease.ttl-ms, which has to be longer than the interval
+     * of the job, so the holder keeps the lease while it's alive.
+     */
+    @Override
+    public boolean tryAcquire(String name) {
+        return tryAcquire(name, ttlMillis);
+    }
+
+    /**
+     * Assigns the shards round-robin over the live nodes ordered by id, starting from a job-specific node,
+     * so the first shards of different jobs don't all land on the same node.
+     */
+    @Override
+    public List<Integer> getOwnedShards(String job, int shardCount) {
+        List<String> liveNodes = getLiveNodes();
+        int nodeIndex = liveNodes.indexOf(nodeId);
+        if (nodeIndex < 0) return List.of();
+
+        int offset = Math.floorMod(job.hashCode(), liveNodes.size());
+        List<Integer> shards = new ArrayList<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            if ((shard + offset) % liveNodes.size() == nodeIndex) shards.add(shard);
+        }
+        return shards;
+    }
+
+    @Override
+    public List<String> getLiveNodes() {
+        return schedulerLeaseRepository.findLiveHolders(NODE_LEASE_PREFIX);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${scheduler.lease.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        if (!tryAcquire(NODE_LEASE_PREFIX + nodeId, nodeTtlMillis))
+            logger.warn("Node lease of {} is held by another node, node ids must be unique", nodeId);
+    }
+
+    @PreDestroy
+    public void releaseAll() {
+        int released = schedulerLeaseRepository.releaseAll(nodeId);
+        logger.info("{} leases of {} have been released", released, nodeId);
+    }
+
+    private boolean tryAcquire(String name, long leaseTtlMillis) {
+        return schedulerLeaseRepository.tryAcquire(name, nodeId, leaseTtlMillis / 1000.0) > 0;
+    }
+}
@@ -0,0 +1,40 @@
+package healthy.lifestyle.backend.shared.lease;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.*;
+
+/**
+ * scheduler_leases table keeps one row per lease. The holder keeps the lease while it renews it before
+ * expiresAt, afterwards any node may take it over. Date-times are in the database's timezone.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "scheduler_leases")
+public class SchedulerLease {
+    @Id
+    @Column(name = "name", unique = true, nullable = false)
+    private String name;
+
+    @Column(name = "holder", unique = false, nullable = false)
+    private String holder;
+
+    @Column(name = "acquired_at", unique = false, nullable = false)
+    private LocalDateTime acquiredAt;
+
+    @Column(name = "renewed_at", unique = false, nullable = false)
+    private LocalDateTime renewedAt;
+
+    @Column(name = "expires_at", unique = false, nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "renewals", unique = false, nullable = false)
+    private long renewals;
+
+    @Column(name = "failovers", unique = false, nullable = false)
+    private long failovers;
+}
@@ -0,0 +1,55 @@
+package healthy.lifestyle.backend.shared.lease;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Lease times come from the database clock, in the database's timezone, so the nodes' clocks may drift apart
+ * without two nodes holding the same lease.
+ */
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+    String NOW = "(statement_timestamp() AT TIME ZONE 'UTC')";
+
+    /**
+     * Takes the lease if it's free or expired, or renews it if the holder already has it, for ttlSeconds.
+     * Returns 1 if the holder has the lease, 0 if another node has it.
+     */
+    @Modifying
+    @Transactional
+    @Query(
+            value = "INSERT INTO scheduler_leases "
+                    + "(name, holder, acquired_at, renewed_at, expires_at, renewals, failovers) "
+                    + "VALUES (:name, :holder, " + NOW + ", " + NOW + ", "
+                    + NOW + " + make_interval(secs => :ttlSeconds), 0, 0) "
+                    + "ON CONFLICT (name) DO UPDATE SET holder = EXCLUDED.holder, "
+                    + "acquired_at = CASE WHEN scheduler_leases.holder = EXCLUDED.holder "
+                    + "THEN scheduler_leases.acquired_at ELSE EXCLUDED.acquired_at END, "
+                    + "renewed_at = EXCLUDED.renewed_at, expires_at = EXCLUDED.expires_at, "
+                    + "renewals = CASE WHEN scheduler_leases.holder = EXCLUDED.holder "
+                    + "THEN scheduler_leases.renewals + 1 ELSE 0 END, "
+                    + "failovers = CASE WHEN scheduler_leases.holder = EXCLUDED.holder "
+                    + "THEN scheduler_leases.failovers ELSE scheduler_leases.failovers + 1 END "
+                    + "WHERE scheduler_leases.holder = EXCLUDED.holder OR scheduler_leases.expires_at < " + NOW,
+            nativeQuery = true)
+    int tryAcquire(
+            @Param("name") String name, @Param("holder") String holder, @Param("ttlSeconds") double ttlSeconds);
+
+    @Modifying
+    @Transactional
+    @Query(
+            value = "UPDATE scheduler_leases SET expires_at = " + NOW + " "
+                    + "WHERE holder = :holder AND expires_at > " + NOW,
+            nativeQuery = true)
+    int releaseAll(@Param("holder") String holder);
+
+    @Query(
+            value = "SELECT holder FROM scheduler_leases "
+                    + "WHERE name LIKE :namePrefix || '%' AND expires_at > " + NOW + " "
+                    + "ORDER BY holder",
+            nativeQuery = true)
+    List<String> findLiveHolders(@Param("namePrefix") String namePrefix);
+}
@@ -0,0 +1,15 @@
+package healthy.lifestyle.backend.shared.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LoggingMetrics {
+    public LoggingMetrics(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("logging.events.dropped", MeteredAsyncAppender.class, appender ->
+                        MeteredAsyncAppender.getDroppedCount())
+                .description("Log events dropped by the async appenders")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,28 @@
+package healthy.lifestyle.backend.shared.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An AsyncAppender counting the events it drops: the discardable ones (INFO and below) while the queue's
+ * remaining capacity is below the discarding threshold, and any event while the queue is full with neverBlock.
+ * The count is static, logback is configured before the application context exists. LoggingMetrics publishes it.
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+    private static final AtomicLong dropped = new AtomicLong();
+
+    public static long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remainingCapacity = getRemainingCapacity();
+        if ((remainingCapacity < getDiscardingThreshold() && isDiscardable(event))
+                || (isNeverBlock() && remainingCapacity == 0)) {
+            dropped.incrementAndGet();
+        }
+        super.append(event);
+    }
+}
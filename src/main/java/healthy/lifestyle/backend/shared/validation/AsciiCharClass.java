@@ -0,0 +1,93 @@
+package healthy.lifestyle.backend.shared.validation;
+
+/**
+ * Character classes of the validators as a 128-entry table of bit masks, a character is in a class if it's ASCII
+ * and its entry has one of the class's bits. The scanners work on [from, to) of the string, so trimming and
+ * splitting don't allocate.
+ */
+public final class AsciiCharClass {
+    public static final int LETTER = 1;
+
+    public static final int DIGIT = 1 << 1;
+
+    public static final int SPACE = 1 << 2;
+
+    public static final int TEXT_SYMBOL = 1 << 3;
+
+    public static final int TITLE_SYMBOL = 1 << 4;
+
+    public static final int USERNAME_SYMBOL = 1 << 5;
+
+    public static final int EMAIL_LOCAL_SYMBOL = 1 << 6;
+
+    public static final int EMAIL_DOMAIN_SYMBOL = 1 << 7;
+
+    public static final int PASSWORD_SYMBOL = 1 << 8;
+
+    private static final int[] CLASSES = new int[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) CLASSES[c] |= LETTER;
+        for (char c = 'A'; c <= 'Z'; c++) CLASSES[c] |= LETTER;
+        for (char c = '0'; c <= '9'; c++) CLASSES[c] |= DIGIT;
+        CLASSES[' '] |= SPACE;
+        add(".,-:;!?'\"#%()+=", TEXT_SYMBOL);
+        add(".,-()/", TITLE_SYMBOL);
+        add(".-_", USERNAME_SYMBOL);
+        add(".-_", EMAIL_LOCAL_SYMBOL);
+        add("-_", EMAIL_DOMAIN_SYMBOL);
+        add(".,-_<>:;!?#$%^&*()+=", PASSWORD_SYMBOL);
+    }
+
+    private AsciiCharClass() {}
+
+    public static boolean is(char c, int classes) {
+        return c < 128 && (CLASSES[c] & classes) != 0;
+    }
+
+    /**
+     * Whether every character of [from, to) is in one of the classes.
+     */
+    public static boolean allMatch(String value, int from, int to, int classes) {
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c >= 128 || (CLASSES[c] & classes) == 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Whether every character of the trimmed value is in one of the classes.
+     */
+    public static boolean allMatchTrimmed(String value, int classes) {
+        int start = trimStart(value);
+        return allMatch(value, start, trimEnd(value, start), classes);
+    }
+
+    /**
+     * trimStart and trimEnd return the bounds String.trim would keep.
+     */
+    public static int trimStart(String value) {
+        int start = 0;
+        while (start < value.length() && value.charAt(start) <= ' ') start++;
+        return start;
+    }
+
+    public static int trimEnd(String value, int trimStart) {
+        int end = value.length();
+        while (end > trimStart && value.charAt(end - 1) <= ' ') end--;
+        return end;
+    }
+
+    public static int count(String value, int from, int to, char c) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (value.charAt(i) == c) count++;
+        }
+        return count;
+    }
+
+    private static void add(String chars, int charClass) {
+        for (int i = 0; i < chars.length(); i++) CLASSES[chars.charAt(i)] |= charClass;
+    }
+}
@@ -0,0 +1,33 @@
+package healthy.lifestyle.backend.stats.controller;
+
+import healthy.lifestyle.backend.stats.dto.ActivityStatsResponseDto;
+import healthy.lifestyle.backend.stats.service.ActivityStatsService;
+import healthy.lifestyle.backend.user.service.AuthUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+@Controller
+@RequestMapping("${api.basePath}/${api.version}/stats")
+public class ActivityStatsController {
+    @Autowired
+    AuthUtil authUtil;
+
+    @Autowired
+    ActivityStatsService activityStatsService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @Operation(summary = "Get activity statistics and streaks")
+    public ResponseEntity<ActivityStatsResponseDto> getStats() {
+        Long userId = authUtil.getUserIdFromAuthentication(
+                SecurityContextHolder.getContext().getAuthentication());
+        ActivityStatsResponseDto responseDto = activityStatsService.getStats(userId);
+        return ResponseEntity.ok(responseDto);
+    }
+}
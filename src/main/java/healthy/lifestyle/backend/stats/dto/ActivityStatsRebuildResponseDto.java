@@ -0,0 +1,12 @@
+package healthy.lifestyle.backend.stats.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityStatsRebuildResponseDto {
+    private int rebuiltUsers;
+}
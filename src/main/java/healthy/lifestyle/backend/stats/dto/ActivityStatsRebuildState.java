@@ -0,0 +1,7 @@
+package healthy.lifestyle.backend.stats.dto;
+
+public enum ActivityStatsRebuildState {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
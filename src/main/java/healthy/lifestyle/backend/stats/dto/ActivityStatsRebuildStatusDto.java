@@ -0,0 +1,25 @@
+package healthy.lifestyle.backend.stats.dto;
+
+import java.time.Instant;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityStatsRebuildStatusDto {
+    private String jobId;
+
+    private ActivityStatsRebuildState state;
+
+    private Integer totalUsers;
+
+    private int rebuiltUsers;
+
+    private int failedUsers;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+}
@@ -0,0 +1,32 @@
+package healthy.lifestyle.backend.stats.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityStatsResponseDto {
+    private int currentStreak; // 0 if the user hasn't been active today or yesterday
+
+    private int longestStreak;
+
+    private LocalDate lastActiveDate; // in the user's timezone
+
+    private long workoutsCompleted;
+
+    private long exercisesCompleted;
+
+    private long workoutsThisWeek;
+
+    private long exercisesThisWeek;
+
+    private long workoutsThisMonth;
+
+    private long exercisesThisMonth;
+
+    private List<BodyPartStatsResponseDto> bodyParts;
+}
@@ -0,0 +1,16 @@
+package healthy.lifestyle.backend.stats.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BodyPartStatsResponseDto {
+    private long bodyPartId;
+
+    private String bodyPartName;
+
+    private long exercisesCompleted;
+}
@@ -0,0 +1,44 @@
+package healthy.lifestyle.backend.stats.model;
+
+import healthy.lifestyle.backend.user.model.User;
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import lombok.*;
+
+/**
+ * user_activity_stats table keeps a single aggregate row per user.
+ * The row is updated incrementally as completion records are inserted and can be rebuilt from
+ * workout_completion_records at any time.
+ * lastActiveDate is in the database's timezone.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "user_activity_stats")
+public class UserActivityStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, unique = true)
+    private User user;
+
+    @Column(name = "current_streak", unique = false, nullable = false)
+    private int currentStreak;
+
+    @Column(name = "longest_streak", unique = false, nullable = false)
+    private int longestStreak;
+
+    @Column(name = "last_active_date", unique = false, nullable = true)
+    private LocalDate lastActiveDate;
+
+    @Column(name = "workouts_completed", unique = false, nullable = false)
+    private long workoutsCompleted;
+
+    @Column(name = "exercises_completed", unique = false, nullable = false)
+    private long exercisesCompleted;
+}
@@ -0,0 +1,34 @@
+package healthy.lifestyle.backend.stats.model;
+
+import healthy.lifestyle.backend.activity.workout.model.BodyPart;
+import healthy.lifestyle.backend.user.model.User;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * user_body_part_stats table counts completed exercises per user and body part.
+ * A whole-workout completion counts every exercise of the workout.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "user_body_part_stats")
+public class UserBodyPartStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, unique = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "body_part_id", nullable = false, unique = false)
+    private BodyPart bodyPart;
+
+    @Column(name = "exercises_completed", unique = false, nullable = false)
+    private long exercisesCompleted;
+}
@@ -0,0 +1,35 @@
+package healthy.lifestyle.backend.stats.model;
+
+import healthy.lifestyle.backend.user.model.User;
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import lombok.*;
+
+/**
+ * user_daily_activity_stats table keeps one bucket per user and active day (in the database's timezone).
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "user_daily_activity_stats")
+public class UserDailyActivityStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, unique = false)
+    private User user;
+
+    @Column(name = "day", unique = false, nullable = false)
+    private LocalDate day;
+
+    @Column(name = "workouts_completed", unique = false, nullable = false)
+    private int workoutsCompleted;
+
+    @Column(name = "exercises_completed", unique = false, nullable = false)
+    private int exercisesCompleted;
+}
@@ -0,0 +1,11 @@
+package healthy.lifestyle.backend.stats.repository;
+
+public interface ActivityPeriodTotals {
+    Long getWorkoutsThisWeek();
+
+    Long getExercisesThisWeek();
+
+    Long getWorkoutsThisMonth();
+
+    Long getExercisesThisMonth();
+}
@@ -0,0 +1,18 @@
+package healthy.lifestyle.backend.stats.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Streaks and totals recomputed from user_daily_activity_stats. lastActiveDate is in the database's timezone.
+ */
+public interface ActivityStatsSummary {
+    Integer getCurrentStreak();
+
+    Integer getLongestStreak();
+
+    LocalDate getLastActiveDate();
+
+    Long getWorkoutsCompleted();
+
+    Long getExercisesCompleted();
+}
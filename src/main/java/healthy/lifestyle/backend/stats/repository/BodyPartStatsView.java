@@ -0,0 +1,9 @@
+package healthy.lifestyle.backend.stats.repository;
+
+public interface BodyPartStatsView {
+    Long getBodyPartId();
+
+    String getBodyPartName();
+
+    Long getExercisesCompleted();
+}
@@ -0,0 +1,41 @@
+package healthy.lifestyle.backend.stats.repository;
+
+import healthy.lifestyle.backend.stats.model.UserActivityStats;
+import jakarta.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface UserActivityStatsRepository extends JpaRepository<UserActivityStats, Long> {
+    @Query("SELECT s FROM UserActivityStats s WHERE s.user.id = :userId")
+    Optional<UserActivityStats> findByUserId(@Param("userId") long userId);
+
+    /**
+     * Concurrent batches of the same user are serialized on the stats row, so streaks are never updated
+     * from a stale row.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserActivityStats s WHERE s.user.id = :userId")
+    Optional<UserActivityStats> findByUserIdForUpdate(@Param("userId") long userId);
+
+    @Modifying
+    @Query(
+            value = "INSERT INTO user_activity_stats "
+                    + "(user_id, current_streak, longest_streak, workouts_completed, exercises_completed) "
+                    + "VALUES (:userId, 0, 0, 0, 0) ON CONFLICT (user_id) DO NOTHING",
+            nativeQuery = true)
+    void insertIfAbsent(@Param("userId") long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_activity_stats WHERE user_id = :userId", nativeQuery = true)
+    void deleteByUserId(@Param("userId") long userId);
+
+    @Query(
+            value = "SELECT DISTINCT user_id FROM workout_completion_records ORDER BY user_id",
+            nativeQuery = true)
+    List<Long> findUserIdsWithCompletions();
+}
@@ -0,0 +1,58 @@
+package healthy.lifestyle.backend.stats.repository;
+
+import healthy.lifestyle.backend.stats.model.UserBodyPartStats;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface UserBodyPartStatsRepository extends JpaRepository<UserBodyPartStats, Long> {
+    /**
+     * Adds the given completion records to the body part counters of their users.
+     * A whole-workout record (exercise_id IS NULL) counts every exercise of the workout.
+     */
+    @Modifying
+    @Query(
+            value = "INSERT INTO user_body_part_stats (user_id, body_part_id, exercises_completed) "
+                    + "SELECT r.user_id, ebp.body_part_id, COUNT(*) "
+                    + "FROM workout_completion_records r "
+                    + "JOIN workouts_exercises we ON we.workout_id = r.workout_id "
+                    + "AND (r.exercise_id IS NULL OR we.exercise_id = r.exercise_id) "
+                    + "JOIN exercises_body_parts ebp ON ebp.exercise_id = we.exercise_id "
+                    + "WHERE r.id IN (:recordIds) "
+                    + "GROUP BY r.user_id, ebp.body_part_id "
+                    + "ON CONFLICT (user_id, body_part_id) DO UPDATE SET "
+                    + "exercises_completed = user_body_part_stats.exercises_completed + EXCLUDED.exercises_completed",
+            nativeQuery = true)
+    void addCompletionRecords(@Param("recordIds") Collection<Long> recordIds);
+
+    /**
+     * Recomputes all body part counters of the user, existing counters have to be deleted beforehand.
+     */
+    @Modifying
+    @Query(
+            value = "INSERT INTO user_body_part_stats (user_id, body_part_id, exercises_completed) "
+                    + "SELECT r.user_id, ebp.body_part_id, COUNT(*) "
+                    + "FROM workout_completion_records r "
+                    + "JOIN workouts_exercises we ON we.workout_id = r.workout_id "
+                    + "AND (r.exercise_id IS NULL OR we.exercise_id = r.exercise_id) "
+                    + "JOIN exercises_body_parts ebp ON ebp.exercise_id = we.exercise_id "
+                    + "WHERE r.user_id = :userId "
+                    + "GROUP BY r.user_id, ebp.body_part_id",
+            nativeQuery = true)
+    void insertAllFromCompletionRecords(@Param("userId") long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_body_part_stats WHERE user_id = :userId", nativeQuery = true)
+    void deleteByUserId(@Param("userId") long userId);
+
+    @Query(
+            value = "SELECT bp.id AS \"bodyPartId\", bp.name AS \"bodyPartName\", "
+                    + "s.exercises_completed AS \"exercisesCompleted\" "
+                    + "FROM user_body_part_stats s JOIN body_parts bp ON bp.id = s.body_part_id "
+                    + "WHERE s.user_id = :userId ORDER BY bp.id",
+            nativeQuery = true)
+    List<BodyPartStatsView> findByUserId(@Param("userId") long userId);
+}
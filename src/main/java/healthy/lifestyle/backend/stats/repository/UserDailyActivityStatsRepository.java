@@ -0,0 +1,91 @@
+package healthy.lifestyle.backend.stats.repository;
+
+import healthy.lifestyle.backend.stats.model.UserDailyActivityStats;
+import java.time.LocalDate;
+import java.util.Collection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface UserDailyActivityStatsRepository extends JpaRepository<UserDailyActivityStats, Long> {
+    /**
+     * Adds the given completion records to the daily buckets of their users.
+     */
+    @Modifying
+    @Query(
+            value = "INSERT INTO user_daily_activity_stats "
+                    + "(user_id, day, workouts_completed, exercises_completed) "
+                    + "SELECT r.user_id, r.completed_at, "
+                    + "COUNT(*) FILTER (WHERE r.exercise_id IS NULL), "
+                    + "COUNT(*) FILTER (WHERE r.exercise_id IS NOT NULL) "
+                    + "FROM workout_completion_records r WHERE r.id IN (:recordIds) "
+                    + "GROUP BY r.user_id, r.completed_at "
+                    + "ON CONFLICT (user_id, day) DO UPDATE SET "
+                    + "workouts_completed = "
+                    + "user_daily_activity_stats.workouts_completed + EXCLUDED.workouts_completed, "
+                    + "exercises_completed = "
+                    + "user_daily_activity_stats.exercises_completed + EXCLUDED.exercises_completed",
+            nativeQuery = true)
+    void addCompletionRecords(@Param("recordIds") Collection<Long> recordIds);
+
+    /**
+     * Recomputes all daily buckets of the user, existing buckets have to be deleted beforehand.
+     */
+    @Modifying
+    @Query(
+            value = "INSERT INTO user_daily_activity_stats "
+                    + "(user_id, day, workouts_completed, exercises_completed) "
+                    + "SELECT r.user_id, r.completed_at, "
+                    + "COUNT(*) FILTER (WHERE r.exercise_id IS NULL), "
+                    + "COUNT(*) FILTER (WHERE r.exercise_id IS NOT NULL) "
+                    + "FROM workout_completion_records r WHERE r.user_id = :userId "
+                    + "GROUP BY r.user_id, r.completed_at",
+            nativeQuery = true)
+    void insertAllFromCompletionRecords(@Param("userId") long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_daily_activity_stats WHERE user_id = :userId", nativeQuery = true)
+    void deleteByUserId(@Param("userId") long userId);
+
+    /**
+     * Sums at most a month of buckets, days are in the database's timezone.
+     */
+    @Query(
+            value = "SELECT "
+                    + "COALESCE(SUM(workouts_completed) FILTER (WHERE day >= :weekStartDate), 0) "
+                    + "AS \"workoutsThisWeek\", "
+                    + "COALESCE(SUM(exercises_completed) FILTER (WHERE day >= :weekStartDate), 0) "
+                    + "AS \"exercisesThisWeek\", "
+                    + "COALESCE(SUM(workouts_completed) FILTER (WHERE day >= :monthStartDate), 0) "
+                    + "AS \"workoutsThisMonth\", "
+                    + "COALESCE(SUM(exercises_completed) FILTER (WHERE day >= :monthStartDate), 0) "
+                    + "AS \"exercisesThisMonth\" "
+                    + "FROM user_daily_activity_stats "
+                    + "WHERE user_id = :userId AND day >= LEAST(:weekStartDate, :monthStartDate) AND day <= :toDate",
+            nativeQuery = true)
+    ActivityPeriodTotals getPeriodTotals(
+            @Param("userId") long userId,
+            @Param("weekStartDate") LocalDate weekStartDate,
+            @Param("monthStartDate") LocalDate monthStartDate,
+            @Param("toDate") LocalDate toDate);
+
+    /**
+     * Derives streaks and totals from the daily buckets, used after backfills and rebuilds only.
+     * Consecutive days share the same (day - row number) value, so each group is a streak.
+     */
+    @Query(
+            value = "WITH days AS (SELECT day, day - CAST(ROW_NUMBER() OVER (ORDER BY day) AS int) AS island "
+                    + "FROM user_daily_activity_stats WHERE user_id = :userId), "
+                    + "islands AS (SELECT MAX(day) AS last_day, COUNT(*) AS length FROM days GROUP BY island) "
+                    + "SELECT CAST(COALESCE((SELECT length FROM islands ORDER BY last_day DESC LIMIT 1), 0) AS int) "
+                    + "AS \"currentStreak\", "
+                    + "CAST(COALESCE((SELECT MAX(length) FROM islands), 0) AS int) AS \"longestStreak\", "
+                    + "(SELECT MAX(last_day) FROM islands) AS \"lastActiveDate\", "
+                    + "(SELECT COALESCE(SUM(workouts_completed), 0) FROM user_daily_activity_stats "
+                    + "WHERE user_id = :userId) AS \"workoutsCompleted\", "
+                    + "(SELECT COALESCE(SUM(exercises_completed), 0) FROM user_daily_activity_stats "
+                    + "WHERE user_id = :userId) AS \"exercisesCompleted\"",
+            nativeQuery = true)
+    ActivityStatsSummary getSummary(@Param("userId") long userId);
+}
@@ -0,0 +1,20 @@
+package healthy.lifestyle.backend.stats.service;
+
+import healthy.lifestyle.backend.plan.shared.event.WorkoutCompletionRecordedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Updates the statistics synchronously, so they are committed or rolled back together with the records.
+ */
+@Component
+public class ActivityStatsListener {
+    @Autowired
+    ActivityStatsService activityStatsService;
+
+    @EventListener
+    public void onWorkoutCompletionRecorded(WorkoutCompletionRecordedEvent event) {
+        activityStatsService.addCompletionRecords(event.getUserId(), event.getRecords());
+    }
+}
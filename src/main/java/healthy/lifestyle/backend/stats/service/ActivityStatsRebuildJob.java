@@ -0,0 +1,144 @@
+package healthy.lifestyle.backend.stats.service;
+
+import healthy.lifestyle.backend.calendar.service.ActivityHeatmapService;
+import healthy.lifestyle.backend.exception.ApiException;
+import healthy.lifestyle.backend.exception.ErrorMessage;
+import healthy.lifestyle.backend.stats.dto.ActivityStatsRebuildState;
+import healthy.lifestyle.backend.stats.dto.ActivityStatsRebuildStatusDto;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recomputes the statistics of every user with completion records, e.g. after records have been backfilled
+ * directly in the database. Each user is rebuilt in its own transaction, so the job holds a single stats row
+ * lock at a time and a failure only affects one user. The activity heatmap of the user is backfilled from the
+ * same records, heatmaps are otherwise only marked for new completions.
+ * <p>
+ * A rebuild started with start() runs on a background thread of its own, at most one at a time per node.
+ * The status of the last rebuild is kept until the next one starts.
+ */
+@Component
+public class ActivityStatsRebuildJob {
+    private static final Logger logger = LoggerFactory.getLogger(ActivityStatsRebuildJob.class);
+
+    @Autowired
+    ActivityStatsService activityStatsService;
+
+    @Autowired
+    ActivityHeatmapService activityHeatmapService;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "activity-stats-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicReference<Run> lastRun = new AtomicReference<>();
+
+    public ActivityStatsRebuildStatusDto start() {
+        Run previous = lastRun.get();
+        Run run = new Run(UUID.randomUUID().toString(), Instant.now());
+        if ((previous != null && previous.state == ActivityStatsRebuildState.RUNNING)
+                || !lastRun.compareAndSet(previous, run)) {
+            throw new ApiException(ErrorMessage.STATS_REBUILD_ALREADY_RUNNING, null, HttpStatus.CONFLICT);
+        }
+        // The status is taken before the rebuild may update it from the executor thread
+        ActivityStatsRebuildStatusDto status = run.toDto();
+        executor.execute(() -> {
+            try {
+                rebuildAll(run);
+                run.finish(ActivityStatsRebuildState.COMPLETED);
+            } catch (RuntimeException exception) {
+                logger.error("Activity stats rebuild {} failed", run.jobId, exception);
+                run.finish(ActivityStatsRebuildState.FAILED);
+            }
+        });
+        return status;
+    }
+
+    public ActivityStatsRebuildStatusDto getStatus(String jobId) {
+        Run run = lastRun.get();
+        if (run == null || !run.jobId.equals(jobId)) {
+            throw new ApiException(ErrorMessage.STATS_REBUILD_NOT_FOUND, null, HttpStatus.NOT_FOUND);
+        }
+        return run.toDto();
+    }
+
+    public int rebuildAll() {
+        return rebuildAll(new Run(UUID.randomUUID().toString(), Instant.now()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private int rebuildAll(Run run) {
+        List<Long> userIds = activityStatsService.getUserIdsWithCompletions();
+        run.totalUsers = userIds.size();
+        for (Long userId : userIds) {
+            if (Thread.currentThread().isInterrupted()) break;
+            try {
+                activityStatsService.rebuildUserStats(userId);
+                activityHeatmapService.backfillActiveDays(userId);
+                run.rebuiltUsers++;
+            } catch (RuntimeException exception) {
+                run.failedUsers++;
+                logger.error("Failed to rebuild activity stats of user {}", userId, exception);
+            }
+        }
+        logger.info("Rebuilt activity stats of {} out of {} users", run.rebuiltUsers, userIds.size());
+        return run.rebuiltUsers;
+    }
+
+    /**
+     * Written by the rebuilding thread only, read by status requests.
+     */
+    private static class Run {
+        private final String jobId;
+
+        private final Instant startedAt;
+
+        private volatile ActivityStatsRebuildState state = ActivityStatsRebuildState.RUNNING;
+
+        private volatile Integer totalUsers;
+
+        private volatile int rebuiltUsers;
+
+        private volatile int failedUsers;
+
+        private volatile Instant finishedAt;
+
+        private Run(String jobId, Instant startedAt) {
+            this.jobId = jobId;
+            this.startedAt = startedAt;
+        }
+
+        private void finish(ActivityStatsRebuildState finalState) {
+            finishedAt = Instant.now();
+            state = finalState;
+        }
+
+        private ActivityStatsRebuildStatusDto toDto() {
+            return ActivityStatsRebuildStatusDto.builder()
+                    .jobId(jobId)
+                    .state(state)
+                    .totalUsers(totalUsers)
+                    .rebuiltUsers(rebuiltUsers)
+                    .failedUsers(failedUsers)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
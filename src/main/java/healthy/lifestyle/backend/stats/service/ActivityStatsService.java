@@ -0,0 +1,15 @@
+package healthy.lifestyle.backend.stats.service;
+
+import healthy.lifestyle.backend.plan.workout.model.WorkoutCompletionRecord;
+import healthy.lifestyle.backend.stats.dto.ActivityStatsResponseDto;
+import java.util.List;
+
+public interface ActivityStatsService {
+    ActivityStatsResponseDto getStats(long userId);
+
+    void addCompletionRecords(long userId, List<WorkoutCompletionRecord> records);
+
+    void rebuildUserStats(long userId);
+
+    List<Long> getUserIdsWithCompletions();
+}
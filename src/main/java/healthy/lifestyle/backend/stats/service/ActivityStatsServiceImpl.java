@@ -0,0 +1,157 @@
+package healthy.lifestyle.backend.stats.service;
+
+import healthy.lifestyle.backend.plan.workout.model.WorkoutCompletionRecord;
+import healthy.lifestyle.backend.stats.dto.ActivityStatsResponseDto;
+import healthy.lifestyle.backend.stats.dto.BodyPartStatsResponseDto;
+import healthy.lifestyle.backend.stats.model.UserActivityStats;
+import healthy.lifestyle.backend.stats.repository.*;
+import healthy.lifestyle.backend.user.api.UserApi;
+import healthy.lifestyle.backend.user.model.User;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class ActivityStatsServiceImpl implements ActivityStatsService {
+    @Autowired
+    UserActivityStatsRepository userActivityStatsRepository;
+
+    @Autowired
+    UserDailyActivityStatsRepository userDailyActivityStatsRepository;
+
+    @Autowired
+    UserBodyPartStatsRepository userBodyPartStatsRepository;
+
+    @Autowired
+    UserApi userApi;
+
+    @Override
+    @Transactional(readOnly = true)
+    public ActivityStatsResponseDto getStats(long userId) {
+        User user = userApi.getUserById(userId);
+        // Completion dates are dates of the user, so are the periods and the streak days compared with them
+        LocalDate today = LocalDate.now(ZoneId.of(user.getTimezone().getName()));
+        LocalDate weekStartDate = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate monthStartDate = today.withDayOfMonth(1);
+
+        ActivityStatsResponseDto responseDto = ActivityStatsResponseDto.builder()
+                .bodyParts(userBodyPartStatsRepository.findByUserId(userId).stream()
+                        .map(bodyPart -> BodyPartStatsResponseDto.builder()
+                                .bodyPartId(bodyPart.getBodyPartId())
+                                .bodyPartName(bodyPart.getBodyPartName())
+                                .exercisesCompleted(bodyPart.getExercisesCompleted())
+                                .build())
+                        .toList())
+                .build();
+
+        Optional<UserActivityStats> statsOptional = userActivityStatsRepository.findByUserId(userId);
+        if (statsOptional.isEmpty()) return responseDto;
+        UserActivityStats stats = statsOptional.get();
+
+        ActivityPeriodTotals periodTotals =
+                userDailyActivityStatsRepository.getPeriodTotals(userId, weekStartDate, monthStartDate, today);
+
+        // The stored streak is only extended by new activity, so it is ended on read once a day has been missed
+        boolean isStreakActive = stats.getLastActiveDate() != null
+                && !stats.getLastActiveDate().isBefore(today.minusDays(1));
+
+        responseDto.setCurrentStreak(isStreakActive ? stats.getCurrentStreak() : 0);
+        responseDto.setLongestStreak(stats.getLongestStreak());
+        responseDto.setLastActiveDate(stats.getLastActiveDate());
+        responseDto.setWorkoutsCompleted(stats.getWorkoutsCompleted());
+        responseDto.setExercisesCompleted(stats.getExercisesCompleted());
+        responseDto.setWorkoutsThisWeek(periodTotals.getWorkoutsThisWeek());
+        responseDto.setExercisesThisWeek(periodTotals.getExercisesThisWeek());
+        responseDto.setWorkoutsThisMonth(periodTotals.getWorkoutsThisMonth());
+        responseDto.setExercisesThisMonth(periodTotals.getExercisesThisMonth());
+        return responseDto;
+    }
+
+    /**
+     * Must run in the transaction that has inserted the records.
+     */
+    @Override
+    @Transactional
+    public void addCompletionRecords(long userId, List<WorkoutCompletionRecord> records) {
+        if (records.isEmpty()) return;
+
+        userActivityStatsRepository.insertIfAbsent(userId);
+        UserActivityStats stats =
+                userActivityStatsRepository.findByUserIdForUpdate(userId).orElseThrow();
+
+        List<Long> recordIds =
+                records.stream().map(WorkoutCompletionRecord::getId).toList();
+        userDailyActivityStatsRepository.addCompletionRecords(recordIds);
+        userBodyPartStatsRepository.addCompletionRecords(recordIds);
+
+        long exercisesCompleted =
+                records.stream().filter(record -> record.getExercise() != null).count();
+        stats.setWorkoutsCompleted(stats.getWorkoutsCompleted() + records.size() - exercisesCompleted);
+        stats.setExercisesCompleted(stats.getExercisesCompleted() + exercisesCompleted);
+
+        SortedSet<LocalDate> days = new TreeSet<>();
+        records.forEach(record -> days.add(record.getCompletedAt()));
+
+        boolean isBackfill = false;
+        for (LocalDate day : days) {
+            LocalDate lastActiveDate = stats.getLastActiveDate();
+            if (lastActiveDate == null || day.isAfter(lastActiveDate.plusDays(1))) {
+                stats.setCurrentStreak(1);
+            } else if (day.equals(lastActiveDate.plusDays(1))) {
+                stats.setCurrentStreak(stats.getCurrentStreak() + 1);
+            } else if (day.isBefore(lastActiveDate)) {
+                // A day before the last active one may join or bridge streaks, these are recomputed below
+                isBackfill = true;
+                continue;
+            } else {
+                continue;
+            }
+            stats.setLastActiveDate(day);
+            stats.setLongestStreak(Math.max(stats.getLongestStreak(), stats.getCurrentStreak()));
+        }
+
+        if (isBackfill) {
+            ActivityStatsSummary summary = userDailyActivityStatsRepository.getSummary(userId);
+            stats.setCurrentStreak(summary.getCurrentStreak());
+            stats.setLongestStreak(summary.getLongestStreak());
+            stats.setLastActiveDate(summary.getLastActiveDate());
+        }
+
+        userActivityStatsRepository.save(stats);
+    }
+
+    @Override
+    @Transactional
+    public void rebuildUserStats(long userId) {
+        userActivityStatsRepository.insertIfAbsent(userId);
+        UserActivityStats stats =
+                userActivityStatsRepository.findByUserIdForUpdate(userId).orElseThrow();
+
+        userDailyActivityStatsRepository.deleteByUserId(userId);
+        userDailyActivityStatsRepository.insertAllFromCompletionRecords(userId);
+        userBodyPartStatsRepository.deleteByUserId(userId);
+        userBodyPartStatsRepository.insertAllFromCompletionRecords(userId);
+
+        ActivityStatsSummary summary = userDailyActivityStatsRepository.getSummary(userId);
+        stats.setCurrentStreak(summary.getCurrentStreak());
+        stats.setLongestStreak(summary.getLongestStreak());
+        stats.setLastActiveDate(summary.getLastActiveDate());
+        stats.setWorkoutsCompleted(summary.getWorkoutsCompleted());
+        stats.setExercisesCompleted(summary.getExercisesCompleted());
+        userActivityStatsRepository.save(stats);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> getUserIdsWithCompletions() {
+        return userActivityStatsRepository.findUserIdsWithCompletions();
+    }
+}
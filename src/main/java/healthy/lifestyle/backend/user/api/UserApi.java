@@ -6,5 +6,7 @@ import java.util.TimeZone;
 public interface UserApi {
     User getUserById(long userId);
 
+    User getUserByIdForUpdate(long userId);
+
     TimeZone getUserTimeZone(long userId);
 }
@@ -21,6 +21,16 @@ public class UserApiImpl implements UserApi {
                 .orElseThrow(() -> new ApiException(ErrorMessage.USER_NOT_FOUND, userId, HttpStatus.BAD_REQUEST));
     }
 
+    /**
+     * Must run in a transaction, the user row stays locked until it ends.
+     */
+    @Override
+    public User getUserByIdForUpdate(long userId) {
+        return userRepository
+                .findByIdForUpdate(userId)
+                .orElseThrow(() -> new ApiException(ErrorMessage.USER_NOT_FOUND, userId, HttpStatus.BAD_REQUEST));
+    }
+
     @Override
     public TimeZone getUserTimeZone(long userId) {
         User user = userRepository
@@ -0,0 +1,144 @@
+package healthy.lifestyle.backend.calendar.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import healthy.lifestyle.backend.calendar.dto.ActivityHeatmapDto;
+import healthy.lifestyle.backend.calendar.dto.ActivityHeatmapResponseDto;
+import healthy.lifestyle.backend.calendar.model.ActivityHeatmap;
+import healthy.lifestyle.backend.calendar.model.ActivityType;
+import healthy.lifestyle.backend.calendar.repository.ActivityHeatmapRepository;
+import healthy.lifestyle.backend.testutil.TestUtil;
+import healthy.lifestyle.backend.user.api.UserApiImpl;
+import healthy.lifestyle.backend.user.model.User;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityHeatmapServiceImplTest {
+    @InjectMocks
+    ActivityHeatmapServiceImpl activityHeatmapService;
+
+    @Mock
+    ActivityHeatmapRepository activityHeatmapRepository;
+
+    @Mock
+    UserApiImpl userApi;
+
+    TestUtil testUtil = new TestUtil();
+
+    @Test
+    void getHeatmap_shouldReturnRunLengthEncodedDays_whenYearIsSpecified() {
+        // Given
+        User user = testUtil.createUser(1);
+        ActivityHeatmap heatmap = ActivityHeatmap.builder()
+                .id(1L)
+                .user(user)
+                .year(2024)
+                .activityType(ActivityType.WORKOUT)
+                .days(new byte[ActivityHeatmap.DAYS_BYTES])
+                .build();
+        heatmap.setActive(LocalDate.of(2024, 1, 1));
+        heatmap.setActive(LocalDate.of(2024, 1, 2));
+        heatmap.setActive(LocalDate.of(2024, 1, 5));
+
+        when(activityHeatmapRepository.findByUserIdAndYear(user.getId(), 2024)).thenReturn(List.of(heatmap));
+
+        // When
+        ActivityHeatmapResponseDto responseDto = activityHeatmapService.getHeatmap(user.getId(), 2024);
+
+        // Then
+        verify(userApi, never()).getUserById(anyLong());
+        assertEquals(2024, responseDto.getYear());
+        assertEquals(366, responseDto.getDaysInYear());
+        assertEquals(ActivityType.values().length, responseDto.getActivities().size());
+
+        ActivityHeatmapDto workouts = responseDto.getActivities().get(0);
+        assertEquals(ActivityType.WORKOUT, workouts.getActivityType());
+        assertEquals(3, workouts.getActiveDays());
+        // Runs 0, 2, 2, 1, 361
+        assertEquals("AAICAekC", workouts.getRuns());
+
+        ActivityHeatmapDto nutrition = responseDto.getActivities().get(1);
+        assertEquals(ActivityType.NUTRITION, nutrition.getActivityType());
+        assertEquals(0, nutrition.getActiveDays());
+        // A single run of 366 inactive days
+        assertEquals("7gI", nutrition.getRuns());
+    }
+
+    @Test
+    void markActiveDays_shouldSaveOnlyChangedHeatmaps_whenDaysSpanTwoYears() {
+        // Given
+        User user = testUtil.createUser(1);
+        ActivityHeatmap heatmap2023 = ActivityHeatmap.builder()
+                .id(1L)
+                .user(user)
+                .year(2023)
+                .activityType(ActivityType.WORKOUT)
+                .days(new byte[ActivityHeatmap.DAYS_BYTES])
+                .build();
+        heatmap2023.setActive(LocalDate.of(2023, 12, 31));
+        ActivityHeatmap heatmap2024 = ActivityHeatmap.builder()
+                .id(2L)
+                .user(user)
+                .year(2024)
+                .activityType(ActivityType.WORKOUT)
+                .days(new byte[ActivityHeatmap.DAYS_BYTES])
+                .build();
+
+        when(activityHeatmapRepository.findForUpdate(user.getId(), 2023, ActivityType.WORKOUT))
+                .thenReturn(Optional.of(heatmap2023));
+        when(activityHeatmapRepository.findForUpdate(user.getId(), 2024, ActivityType.WORKOUT))
+                .thenReturn(Optional.of(heatmap2024));
+
+        // When
+        activityHeatmapService.markActiveDays(
+                user.getId(),
+                ActivityType.WORKOUT,
+                List.of(LocalDate.of(2023, 12, 31), LocalDate.of(2024, 12, 31), LocalDate.of(2024, 12, 31)));
+
+        // Then
+        verify(activityHeatmapRepository, times(1)).insertIfAbsent(eq(user.getId()), eq(2023), eq("WORKOUT"), any());
+        verify(activityHeatmapRepository, times(1)).insertIfAbsent(eq(user.getId()), eq(2024), eq("WORKOUT"), any());
+        verify(activityHeatmapRepository, never()).save(heatmap2023);
+        verify(activityHeatmapRepository, times(1)).save(heatmap2024);
+        assertTrue(heatmap2024.isActive(366));
+        assertFalse(heatmap2024.isActive(365));
+    }
+
+    @Test
+    void backfillActiveDays_shouldMarkDaysOfExistingCompletionRecords() {
+        // Given
+        User user = testUtil.createUser(1);
+        ActivityHeatmap heatmap = ActivityHeatmap.builder()
+                .id(1L)
+                .user(user)
+                .year(2024)
+                .activityType(ActivityType.WORKOUT)
+                .days(new byte[ActivityHeatmap.DAYS_BYTES])
+                .build();
+        heatmap.setActive(LocalDate.of(2024, 3, 1));
+
+        when(activityHeatmapRepository.findWorkoutCompletionDates(user.getId()))
+                .thenReturn(List.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 10)));
+        when(activityHeatmapRepository.findForUpdate(user.getId(), 2024, ActivityType.WORKOUT))
+                .thenReturn(Optional.of(heatmap));
+
+        // When
+        activityHeatmapService.backfillActiveDays(user.getId());
+
+        // Then
+        verify(activityHeatmapRepository, times(1)).insertIfAbsent(eq(user.getId()), eq(2024), eq("WORKOUT"), any());
+        verify(activityHeatmapRepository, times(1)).save(heatmap);
+        assertTrue(heatmap.isActive(1));
+        assertTrue(heatmap.isActive(41));
+        assertTrue(heatmap.isActive(61));
+        assertFalse(heatmap.isActive(2));
+    }
+}
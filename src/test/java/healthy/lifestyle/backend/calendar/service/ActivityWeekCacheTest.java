@@ -0,0 +1,86 @@
+package healthy.lifestyle.backend.calendar.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import healthy.lifestyle.backend.calendar.dto.ActivityDayDto;
+import healthy.lifestyle.backend.calendar.dto.ActivityRowDto;
+import healthy.lifestyle.backend.calendar.dto.ActivityWeekDto;
+import healthy.lifestyle.backend.plan.shared.event.PlanChangedEvent;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ActivityWeekCacheTest {
+    static final long USER_ID = 1L;
+
+    static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    static final String TIMEZONE_NAME = "Europe/Berlin";
+
+    ActivityWeekCache activityWeekCache = new ActivityWeekCache();
+
+    @BeforeEach
+    void setUp() {
+        activityWeekCache.maxUsers = 10;
+        activityWeekCache.maxWeeksPerUser = 4;
+    }
+
+    @Test
+    void put_shouldNotCacheWeek_whenPlanChangedWhileAssembling() {
+        // Given
+        long generation = activityWeekCache.getGeneration();
+        // The plan change commits after the stale week has been assembled
+        activityWeekCache.onPlanChanged(new PlanChangedEvent(USER_ID, 10L));
+
+        // When
+        activityWeekCache.put(USER_ID, MONDAY, TIMEZONE_NAME, week(), generation);
+
+        // Then
+        assertEquals(Optional.empty(), activityWeekCache.get(USER_ID, MONDAY, TIMEZONE_NAME));
+    }
+
+    @Test
+    void get_shouldReturnCopy_whenCallerChangesWeek() {
+        // Given
+        ActivityWeekDto week = week();
+        activityWeekCache.put(USER_ID, MONDAY, TIMEZONE_NAME, week, activityWeekCache.getGeneration());
+        week.getMonday().getActivities().get(0).setCompleted(true);
+
+        // When
+        ActivityWeekDto first = activityWeekCache.get(USER_ID, MONDAY, TIMEZONE_NAME).orElseThrow();
+        first.getMonday().getActivities().get(0).setCompleted(true);
+        first.getMonday().getActivities().clear();
+        ActivityWeekDto second = activityWeekCache.get(USER_ID, MONDAY, TIMEZONE_NAME).orElseThrow();
+
+        // Then
+        assertNotSame(first, second);
+        assertEquals(1, second.getMonday().getActivities().size());
+        ActivityRowDto row = second.getMonday().getActivities().get(0);
+        assertFalse(row.isCompleted());
+        assertEquals(10L, row.getActivityId());
+        assertEquals(MONDAY, second.getWeekStartDate());
+    }
+
+    private ActivityWeekDto week() {
+        ActivityRowDto row = ActivityRowDto.builder()
+                .activityId(10L)
+                .title("Workout 1")
+                .isCompleted(false)
+                .hours(9)
+                .durationMinutes(60)
+                .build();
+        return ActivityWeekDto.builder()
+                .weekStartDate(MONDAY)
+                .weekEndDate(MONDAY.plusDays(6))
+                .monday(ActivityDayDto.builder()
+                        .dayDate(MONDAY)
+                        .dayOfWeek(DayOfWeek.MONDAY)
+                        .activities(new ArrayList<>(List.of(row)))
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,143 @@
+package healthy.lifestyle.backend.calendar.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import healthy.lifestyle.backend.calendar.dto.ActivityRowDto;
+import healthy.lifestyle.backend.calendar.dto.ActivityWeekDto;
+import healthy.lifestyle.backend.calendar.model.ActivityType;
+import healthy.lifestyle.backend.plan.workout.api.WorkoutPlanApiImpl;
+import healthy.lifestyle.backend.plan.workout.repository.WorkoutPlanOccurrence;
+import healthy.lifestyle.backend.shared.util.DateTimeService;
+import healthy.lifestyle.backend.testutil.TestUtil;
+import healthy.lifestyle.backend.user.api.UserApiImpl;
+import healthy.lifestyle.backend.user.model.Timezone;
+import healthy.lifestyle.backend.user.model.User;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarServiceImplTest {
+    @InjectMocks
+    CalendarServiceImpl calendarService;
+
+    @Mock
+    UserApiImpl userApi;
+
+    @Mock
+    WorkoutPlanApiImpl workoutPlanApi;
+
+    @Mock
+    ActivityWeekCache activityWeekCache;
+
+    @Spy
+    DateTimeService dateTimeService;
+
+    TestUtil testUtil = new TestUtil();
+
+    @Test
+    void getWeekActivity_shouldGroupOccurrencesByUserDay_whenWeekIsNotCached() {
+        // Given
+        User user = testUtil.createUser(1);
+        user.setTimezone(Timezone.builder().id(1L).name("Europe/Berlin").build());
+        LocalDate wednesday = LocalDate.of(2024, 2, 7);
+        LocalDate monday = LocalDate.of(2024, 2, 5);
+        calendarService.slotDurationMinutes = 45;
+
+        when(userApi.getUserById(user.getId())).thenReturn(user);
+        when(activityWeekCache.get(user.getId(), monday, "Europe/Berlin")).thenReturn(Optional.empty());
+        when(activityWeekCache.getGeneration()).thenReturn(7L);
+        when(workoutPlanApi.getActiveOccurrences(
+                        user.getId(), LocalDateTime.of(2024, 2, 4, 23, 0), LocalDateTime.of(2024, 2, 11, 23, 0)))
+                .thenReturn(List.of(
+                        occurrence(1L, 10L, "Workout 1", LocalDateTime.of(2024, 2, 5, 9, 30), true),
+                        occurrence(2L, 20L, "Workout 2", LocalDateTime.of(2024, 2, 7, 23, 15), false)));
+
+        // When
+        ActivityWeekDto week = calendarService.getWeekActivity(user.getId(), wednesday);
+
+        // Then
+        verify(activityWeekCache, times(1)).put(eq(user.getId()), eq(monday), eq("Europe/Berlin"), any(), eq(7L));
+        assertEquals(monday, week.getWeekStartDate());
+        assertEquals(monday.plusDays(6), week.getWeekEndDate());
+
+        assertEquals(1, week.getMonday().getActivities().size());
+        ActivityRowDto mondayRow = week.getMonday().getActivities().get(0);
+        assertEquals(10L, mondayRow.getActivityId());
+        assertEquals(ActivityType.WORKOUT, mondayRow.getActivityType());
+        assertTrue(mondayRow.isCompleted());
+        assertEquals(10, mondayRow.getHours());
+        assertEquals(30, mondayRow.getMinutes());
+        assertEquals(45, mondayRow.getDurationMinutes());
+
+        assertTrue(week.getWednesday().getActivities().isEmpty());
+        assertEquals(1, week.getThursday().getActivities().size());
+        ActivityRowDto thursdayRow = week.getThursday().getActivities().get(0);
+        assertEquals(20L, thursdayRow.getActivityId());
+        assertFalse(thursdayRow.isCompleted());
+        assertEquals(0, thursdayRow.getHours());
+        assertEquals(15, thursdayRow.getMinutes());
+    }
+
+    @Test
+    void getWeekActivity_shouldReturnCachedWeek_whenWeekIsCached() {
+        // Given
+        User user = testUtil.createUser(1);
+        user.setTimezone(Timezone.builder().id(1L).name("Europe/Berlin").build());
+        LocalDate monday = LocalDate.of(2024, 2, 5);
+        ActivityWeekDto cachedWeek =
+                ActivityWeekDto.builder().weekStartDate(monday).build();
+
+        when(userApi.getUserById(user.getId())).thenReturn(user);
+        when(activityWeekCache.get(user.getId(), monday, "Europe/Berlin")).thenReturn(Optional.of(cachedWeek));
+
+        // When
+        ActivityWeekDto week = calendarService.getWeekActivity(user.getId(), monday.plusDays(3));
+
+        // Then
+        verify(workoutPlanApi, never()).getActiveOccurrences(anyLong(), any(), any());
+        verify(activityWeekCache, never()).put(anyLong(), any(), any(), any(), anyLong());
+        assertSame(cachedWeek, week);
+    }
+
+    private WorkoutPlanOccurrence occurrence(
+            long planId, long workoutId, String title, LocalDateTime occurrenceAt, boolean isCompleted) {
+        return new WorkoutPlanOccurrence() {
+            @Override
+            public Long getPlanId() {
+                return planId;
+            }
+
+            @Override
+            public Long getWorkoutId() {
+                return workoutId;
+            }
+
+            @Override
+            public String getWorkoutTitle() {
+                return title;
+            }
+
+            @Override
+            public LocalDateTime getOccurrenceAt() {
+                return occurrenceAt;
+            }
+
+            @Override
+            public Boolean getIsCompleted() {
+                return isCompleted;
+            }
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package healthy.lifestyle.backend.exception;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+class GlobalExceptionHandlerTest {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    GlobalExceptionHandler globalExceptionHandler = new GlobalExceptionHandler(meterRegistry, 10);
+
+    @Test
+    void handleApiException_shouldCountRejectionsByErrorMessage() {
+        // Given
+        WebRequest webRequest = mock(WebRequest.class);
+        ApiException exception = new ApiException(ErrorMessage.WORKOUT_NOT_FOUND, 1L, HttpStatus.NOT_FOUND);
+
+        // When
+        ResponseEntity<ExceptionDto> response = globalExceptionHandler.handleApiException(exception, webRequest);
+        globalExceptionHandler.handleApiException(exception, webRequest);
+        globalExceptionHandler.handleApiExceptionCustomMessage(
+                new ApiExceptionCustomMessage("Unavailable", HttpStatus.SERVICE_UNAVAILABLE), webRequest);
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(
+                2.0,
+                meterRegistry
+                        .get("api.errors")
+                        .tags("code", "WORKOUT_NOT_FOUND", "status", "404")
+                        .counter()
+                        .count());
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("api.errors")
+                        .tags("code", GlobalExceptionHandler.CUSTOM_CODE, "status", "503")
+                        .counter()
+                        .count());
+    }
+
+    @Test
+    void apiException_shouldNotCaptureStackTrace() {
+        // When
+        ApiException exception = new ApiException(ErrorMessage.TITLE_DUPLICATE, null, HttpStatus.BAD_REQUEST);
+
+        // Then
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals(ErrorMessage.TITLE_DUPLICATE.getName(), exception.getMessage());
+    }
+
+    @Test
+    void logSampler_shouldLetThroughMaxPerSecondAndReportSuppressed() {
+        // Given
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(10_000L);
+        LogSampler logSampler = new LogSampler(2, clock);
+
+        // When
+        long first = logSampler.tryAcquire();
+        long second = logSampler.tryAcquire();
+        long third = logSampler.tryAcquire();
+        long fourth = logSampler.tryAcquire();
+        when(clock.millis()).thenReturn(11_000L);
+        long nextSecond = logSampler.tryAcquire();
+
+        // Then
+        assertEquals(0, first);
+        assertEquals(0, second);
+        assertEquals(-1, third);
+        assertEquals(-1, fourth);
+        assertEquals(2, nextSecond);
+    }
+}
@@ -0,0 +1,57 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DeadTokenPrunerTest {
+    @InjectMocks
+    DeadTokenPruner deadTokenPruner;
+
+    @Mock
+    FirebaseUserTokenRepository firebaseUserTokenRepository;
+
+    @Mock
+    FirebaseTokenDirectory firebaseTokenDirectory;
+
+    @Test
+    void flush_shouldDeleteQueuedTokensInBatches() {
+        // Given
+        deadTokenPruner.batchSize = 2;
+        deadTokenPruner.enqueue(1L, "token-1");
+        deadTokenPruner.enqueue(1L, "token-2");
+        deadTokenPruner.enqueue(2L, "token-3");
+
+        // When
+        deadTokenPruner.flush();
+
+        // Then
+        verify(firebaseTokenDirectory, times(1)).removeToken(1L, "token-1");
+        verify(firebaseTokenDirectory, times(1)).removeToken(2L, "token-3");
+        verify(firebaseUserTokenRepository, times(1)).deleteByTokenIn(List.of("token-1", "token-2"));
+        verify(firebaseUserTokenRepository, times(1)).deleteByTokenIn(List.of("token-3"));
+        assertEquals(0, deadTokenPruner.size());
+    }
+
+    @Test
+    void flush_shouldKeepTokens_whenDeletionFails() {
+        // Given
+        deadTokenPruner.batchSize = 10;
+        deadTokenPruner.enqueue(1L, "token-1");
+        when(firebaseUserTokenRepository.deleteByTokenIn(anyCollection())).thenThrow(new RuntimeException("Down"));
+
+        // When
+        deadTokenPruner.flush();
+
+        // Then
+        assertEquals(1, deadTokenPruner.size());
+    }
+}
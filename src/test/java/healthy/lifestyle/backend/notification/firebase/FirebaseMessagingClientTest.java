@@ -0,0 +1,67 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.google.firebase.messaging.FirebaseMessaging;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+class FirebaseMessagingClientTest {
+    static final Instant NOW = Instant.parse("2024-01-01T10:00:00Z");
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    FirebaseMessagingClient firebaseMessagingClient = new FirebaseMessagingClient(meterRegistry);
+
+    ObjectProvider<FirebaseMessaging> firebaseMessagingBean = mock(ObjectProvider.class);
+
+    @BeforeEach
+    void beforeEach() {
+        firebaseMessagingClient.firebaseMessagingBean = firebaseMessagingBean;
+        firebaseMessagingClient.firebaseCredentialsFile = "missing/firebase-service-account.json";
+        firebaseMessagingClient.retryIntervalMillis = 60_000;
+        firebaseMessagingClient.clock = Clock.fixed(NOW, ZoneOffset.UTC);
+    }
+
+    @Test
+    void get_shouldReturnDefinedBean() {
+        // Given
+        FirebaseMessaging firebaseMessaging = mock(FirebaseMessaging.class);
+        when(firebaseMessagingBean.getIfAvailable()).thenReturn(firebaseMessaging);
+
+        // When
+        Optional<FirebaseMessaging> first = firebaseMessagingClient.get();
+        Optional<FirebaseMessaging> second = firebaseMessagingClient.get();
+
+        // Then
+        assertSame(firebaseMessaging, first.orElseThrow());
+        assertSame(firebaseMessaging, second.orElseThrow());
+        verify(firebaseMessagingBean, times(1)).getIfAvailable();
+        assertEquals(1, meterRegistry.get("notification.firebase.ready").gauge().value());
+    }
+
+    @Test
+    void get_shouldReturnEmptyAndRetryAfterInterval_whenCredentialsAreMissing() {
+        // When
+        Optional<FirebaseMessaging> first = firebaseMessagingClient.get();
+        Optional<FirebaseMessaging> beforeInterval = firebaseMessagingClient.get();
+        firebaseMessagingClient.clock = Clock.fixed(NOW.plus(Duration.ofMinutes(1)), ZoneOffset.UTC);
+        Optional<FirebaseMessaging> afterInterval = firebaseMessagingClient.get();
+
+        // Then
+        assertTrue(first.isEmpty());
+        assertTrue(beforeInterval.isEmpty());
+        assertTrue(afterInterval.isEmpty());
+        verify(firebaseMessagingBean, times(2)).getIfAvailable();
+        assertFalse(firebaseMessagingClient.isReady());
+        assertEquals(0, meterRegistry.get("notification.firebase.ready").gauge().value());
+    }
+}
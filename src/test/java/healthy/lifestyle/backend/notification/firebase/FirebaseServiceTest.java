@@ -0,0 +1,161 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+import healthy.lifestyle.backend.shared.util.DateTimeService;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class FirebaseServiceTest {
+    @InjectMocks
+    FirebaseService firebaseService;
+
+    @Mock
+    PushProvider pushProvider;
+
+    @Mock
+    FirebaseUserTokenRepository firebaseUserTokenRepository;
+
+    @Mock
+    FirebaseTokenDirectory firebaseTokenDirectory;
+
+    @Mock
+    DeadTokenPruner deadTokenPruner;
+
+    @Mock
+    PushRetryQueue pushRetryQueue;
+
+    @Spy
+    DateTimeService dateTimeService;
+
+    @Test
+    void handleFirebaseUserToken_shouldReplaceStoredTokenWithReceivedOne() {
+        // Given
+        FirebaseController.FirebaseRequestDto requestDto = FirebaseController.FirebaseRequestDto.builder()
+                .firebaseUserTokenFromLocalStorage("old-token")
+                .firebaseUserTokenNowReceived("new-token")
+                .build();
+
+        // When
+        firebaseService.handleFirebaseUserToken(1L, requestDto, "User agent");
+
+        // Then
+        verify(firebaseUserTokenRepository, times(1)).deleteByUserIdAndToken(1L, "old-token");
+        verify(firebaseTokenDirectory, times(1)).removeToken(1L, "old-token");
+        verify(firebaseUserTokenRepository, times(1))
+                .upsert(eq(1L), eq("new-token"), eq("User agent"), any(LocalDate.class));
+        verify(firebaseTokenDirectory, times(1)).addToken(1L, "new-token");
+    }
+
+    @Test
+    void handleFirebaseUserToken_shouldUpsertTokenWithoutRemoval_whenTokenIsAlreadyStored() {
+        // Given
+        FirebaseController.FirebaseRequestDto requestDto = FirebaseController.FirebaseRequestDto.builder()
+                .firebaseUserTokenFromLocalStorage("token")
+                .firebaseUserTokenNowReceived("token")
+                .build();
+
+        // When
+        firebaseService.handleFirebaseUserToken(1L, requestDto, "User agent");
+
+        // Then
+        verify(firebaseUserTokenRepository, never()).deleteByUserIdAndToken(anyLong(), anyString());
+        verify(firebaseUserTokenRepository, times(1))
+                .upsert(eq(1L), eq("token"), eq("User agent"), any(LocalDate.class));
+        verify(firebaseTokenDirectory, times(1)).addToken(1L, "token");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendMessages_shouldSendMessagesOfAllUsersInProviderSizedBatches() {
+        // Given
+        FirebaseUserMessageDto message1 = new FirebaseUserMessageDto(1L, message("Title 1"));
+        FirebaseUserMessageDto message2 = new FirebaseUserMessageDto(2L, message("Title 2"));
+        when(firebaseTokenDirectory.getTokens(anyCollection()))
+                .thenReturn(Map.of(1L, List.of("token-11", "token-12"), 2L, List.of("token-21")));
+        when(pushProvider.getMaxBatchSize()).thenReturn(2);
+        when(pushProvider.sendBatch(anyList())).thenAnswer(invocation -> ((List<PushMessage>) invocation.getArgument(0))
+                .stream()
+                .map(pushMessage -> PushResult.success("id-" + pushMessage.getToken()))
+                .toList());
+
+        // When
+        List<FirebaseUserMessageDto> failed = firebaseService.sendMessages(List.of(message1, message2));
+
+        // Then
+        assertTrue(failed.isEmpty());
+        ArgumentCaptor<List<PushMessage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(pushProvider, times(2)).sendBatch(captor.capture());
+        List<List<PushMessage>> batches = captor.getAllValues();
+        assertEquals(List.of("token-11", "token-12"), batches.get(0).stream().map(PushMessage::getToken).toList());
+        assertEquals(List.of("token-21"), batches.get(1).stream().map(PushMessage::getToken).toList());
+        assertEquals("Title 2", batches.get(1).get(0).getTitle());
+        verifyNoInteractions(deadTokenPruner, pushRetryQueue);
+    }
+
+    @Test
+    void sendMessages_shouldPruneDeadTokensAndReturnUndeliveredMessages() {
+        // Given
+        FirebaseUserMessageDto message1 = new FirebaseUserMessageDto(1L, message("Title 1"));
+        FirebaseUserMessageDto message2 = new FirebaseUserMessageDto(2L, message("Title 2"));
+        FirebaseUserMessageDto messageWithoutTokens = new FirebaseUserMessageDto(3L, message("Title 3"));
+        when(firebaseTokenDirectory.getTokens(anyCollection()))
+                .thenReturn(Map.of(1L, List.of("token-11", "token-12"), 2L, List.of("token-21")));
+        when(pushProvider.getMaxBatchSize()).thenReturn(500);
+        when(pushProvider.sendBatch(anyList()))
+                .thenReturn(List.of(
+                        PushResult.failure(MessagingErrorCode.UNREGISTERED, "Unregistered"),
+                        PushResult.success("id-12"),
+                        PushResult.failure(MessagingErrorCode.THIRD_PARTY_AUTH_ERROR, "Auth error")));
+
+        // When
+        List<FirebaseUserMessageDto> failed =
+                firebaseService.sendMessages(List.of(message1, message2, messageWithoutTokens));
+
+        // Then
+        assertEquals(1, failed.size());
+        assertSame(message2, failed.get(0));
+        verify(deadTokenPruner, times(1)).enqueue(1L, "token-11");
+        verifyNoInteractions(pushRetryQueue);
+    }
+
+    @Test
+    void sendMessages_shouldRetryTransientFailures() {
+        // Given
+        FirebaseUserMessageDto retriedMessage = new FirebaseUserMessageDto(1L, message("Title 1"));
+        FirebaseUserMessageDto rejectedMessage = new FirebaseUserMessageDto(2L, message("Title 2"));
+        when(firebaseTokenDirectory.getTokens(anyCollection()))
+                .thenReturn(Map.of(1L, List.of("token-11"), 2L, List.of("token-21")));
+        when(pushProvider.getMaxBatchSize()).thenReturn(500);
+        when(pushProvider.sendBatch(anyList()))
+                .thenReturn(List.of(
+                        PushResult.failure(MessagingErrorCode.UNAVAILABLE, "Unavailable"),
+                        PushResult.failure(null, "Connection reset")));
+        when(pushRetryQueue.offer(eq(1L), any(PushMessage.class), eq(1))).thenReturn(true);
+        when(pushRetryQueue.offer(eq(2L), any(PushMessage.class), eq(1))).thenReturn(false);
+
+        // When
+        List<FirebaseUserMessageDto> failed = firebaseService.sendMessages(List.of(retriedMessage, rejectedMessage));
+
+        // Then
+        assertEquals(1, failed.size());
+        assertSame(rejectedMessage, failed.get(0));
+        verifyNoInteractions(deadTokenPruner);
+    }
+
+    private FirebaseMessageDto message(String title) {
+        return FirebaseMessageDto.builder().title(title).body("Body").build();
+    }
+}
@@ -0,0 +1,129 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import healthy.lifestyle.backend.notification.model.FirebaseUserToken;
+import healthy.lifestyle.backend.user.model.User;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class FirebaseTokenDirectoryTest {
+    static final Instant NOW = Instant.parse("2030-01-07T10:00:00Z");
+
+    @InjectMocks
+    FirebaseTokenDirectory firebaseTokenDirectory;
+
+    @Mock
+    FirebaseUserTokenRepository firebaseUserTokenRepository;
+
+    @BeforeEach
+    void beforeEach() {
+        firebaseTokenDirectory.maxUsers = 100;
+        firebaseTokenDirectory.ttlSeconds = 300;
+        firebaseTokenDirectory.clock = Clock.fixed(NOW, ZoneOffset.UTC);
+    }
+
+    @Test
+    void getTokens_shouldQueryOnlyUsersMissingFromDirectory() {
+        // Given
+        when(firebaseUserTokenRepository.findByUser_IdIn(anyCollection()))
+                .thenReturn(List.of(token("token-11", 1L), token("token-12", 1L)));
+
+        // When
+        Map<Long, List<String>> first = firebaseTokenDirectory.getTokens(List.of(1L, 2L));
+        Map<Long, List<String>> second = firebaseTokenDirectory.getTokens(List.of(1L, 2L));
+
+        // Then
+        assertEquals(List.of("token-11", "token-12"), first.get(1L));
+        assertEquals(List.of(), first.get(2L));
+        assertEquals(first, second);
+        assertEquals(2, firebaseTokenDirectory.size());
+        verify(firebaseUserTokenRepository, times(1)).findByUser_IdIn(anyCollection());
+    }
+
+    @Test
+    void addTokenAndRemoveToken_shouldUpdateCachedUser() {
+        // Given
+        when(firebaseUserTokenRepository.findByUser_IdIn(anyCollection())).thenReturn(List.of());
+        firebaseTokenDirectory.getTokens(1L);
+
+        // When
+        firebaseTokenDirectory.addToken(1L, "token-11");
+        firebaseTokenDirectory.addToken(1L, "token-12");
+        firebaseTokenDirectory.removeToken(1L, "token-11");
+
+        // Then
+        assertEquals(List.of("token-12"), firebaseTokenDirectory.getTokens(1L));
+        verify(firebaseUserTokenRepository, times(1)).findByUser_IdIn(anyCollection());
+    }
+
+    @Test
+    void getTokens_shouldNotCacheLoadedTokens_whenTokenIsWrittenDuringLoad() {
+        // Given
+        when(firebaseUserTokenRepository.findByUser_IdIn(anyCollection())).thenAnswer(invocation -> {
+            firebaseTokenDirectory.addToken(1L, "token-12");
+            return List.of(token("token-11", 1L));
+        });
+
+        // When
+        List<String> tokens = firebaseTokenDirectory.getTokens(1L);
+
+        // Then
+        assertEquals(List.of("token-11"), tokens);
+        assertEquals(0, firebaseTokenDirectory.size());
+    }
+
+    @Test
+    void getTokens_shouldReloadUser_whenCachedTokensHaveExpired() {
+        // Given
+        when(firebaseUserTokenRepository.findByUser_IdIn(anyCollection()))
+                .thenReturn(List.of(token("token-11", 1L)))
+                // Written by another node, this directory hasn't seen it
+                .thenReturn(List.of(token("token-11", 1L), token("token-12", 1L)));
+        firebaseTokenDirectory.getTokens(1L);
+
+        // When
+        firebaseTokenDirectory.clock = Clock.fixed(NOW.plus(Duration.ofSeconds(299)), ZoneOffset.UTC);
+        List<String> beforeExpiry = firebaseTokenDirectory.getTokens(1L);
+        firebaseTokenDirectory.clock = Clock.fixed(NOW.plus(Duration.ofSeconds(300)), ZoneOffset.UTC);
+        List<String> afterExpiry = firebaseTokenDirectory.getTokens(1L);
+
+        // Then
+        assertEquals(List.of("token-11"), beforeExpiry);
+        assertEquals(List.of("token-11", "token-12"), afterExpiry);
+        verify(firebaseUserTokenRepository, times(2)).findByUser_IdIn(anyCollection());
+    }
+
+    @Test
+    void getTokens_shouldKeepDirectoryBounded() {
+        // Given
+        firebaseTokenDirectory.maxUsers = 2;
+        when(firebaseUserTokenRepository.findByUser_IdIn(anyCollection())).thenReturn(List.of());
+
+        // When
+        firebaseTokenDirectory.getTokens(List.of(1L, 2L, 3L));
+
+        // Then
+        assertEquals(2, firebaseTokenDirectory.size());
+    }
+
+    private FirebaseUserToken token(String token, long userId) {
+        return FirebaseUserToken.builder()
+                .token(token)
+                .user(User.builder().id(userId).build())
+                .build();
+    }
+}
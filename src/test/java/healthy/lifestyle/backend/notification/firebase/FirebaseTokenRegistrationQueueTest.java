@@ -0,0 +1,174 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import healthy.lifestyle.backend.shared.util.DateTimeService;
+import java.sql.BatchUpdateException;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+@ExtendWith(MockitoExtension.class)
+class FirebaseTokenRegistrationQueueTest {
+    @InjectMocks
+    FirebaseTokenRegistrationQueue firebaseTokenRegistrationQueue;
+
+    @Mock
+    FirebaseUserTokenRepository firebaseUserTokenRepository;
+
+    @Mock
+    FirebaseTokenDirectory firebaseTokenDirectory;
+
+    @Spy
+    DateTimeService dateTimeService;
+
+    @Test
+    void flush_shouldApplyCollapsedChangesInOneBatchEach() {
+        // Given
+        firebaseTokenRegistrationQueue.maxPending = 100;
+        firebaseTokenRegistrationQueue.maxAttempts = 3;
+        firebaseTokenRegistrationQueue.offer(1L, request(null, "token-1"), "Agent 1");
+        firebaseTokenRegistrationQueue.offer(1L, request(null, "token-1"), "Agent 2");
+        firebaseTokenRegistrationQueue.offer(1L, request("token-1", "token-2"), "Agent 2");
+        firebaseTokenRegistrationQueue.offer(2L, request(null, "token-3"), "Agent 3");
+        assertEquals(3, firebaseTokenRegistrationQueue.size());
+
+        // When
+        firebaseTokenRegistrationQueue.flush();
+
+        // Then
+        verify(firebaseUserTokenRepository, times(1))
+                .deleteAllTokens(List.of(FirebaseTokenRegistration.remove(1L, "token-1")));
+        verify(firebaseUserTokenRepository, times(1))
+                .upsertAllTokens(
+                        argThat(registrations -> registrations.size() == 2
+                                && registrations.contains(FirebaseTokenRegistration.register(1L, "token-2", "Agent 2"))
+                                && registrations.contains(
+                                        FirebaseTokenRegistration.register(2L, "token-3", "Agent 3"))),
+                        any(LocalDate.class));
+        verify(firebaseTokenDirectory, times(1)).removeToken(1L, "token-1");
+        verify(firebaseTokenDirectory, times(1)).addToken(1L, "token-2");
+        verify(firebaseTokenDirectory, times(1)).addToken(2L, "token-3");
+        assertEquals(0, firebaseTokenRegistrationQueue.size());
+    }
+
+    @Test
+    void offer_shouldQueueRegistrationOnly_whenTokenIsAlreadyStored() {
+        // Given
+        firebaseTokenRegistrationQueue.maxPending = 100;
+
+        // When
+        boolean accepted = firebaseTokenRegistrationQueue.offer(1L, request("token", "token"), "Agent");
+
+        // Then
+        assertTrue(accepted);
+        assertEquals(1, firebaseTokenRegistrationQueue.size());
+        verifyNoInteractions(firebaseTokenDirectory);
+    }
+
+    @Test
+    void offer_shouldReject_whenQueueIsFull() {
+        // Given
+        firebaseTokenRegistrationQueue.maxPending = 2;
+        firebaseTokenRegistrationQueue.offer(1L, request(null, "token-1"), "Agent");
+
+        // When
+        boolean accepted = firebaseTokenRegistrationQueue.offer(2L, request(null, "token-2"), "Agent");
+
+        // Then
+        assertFalse(accepted);
+        assertEquals(1, firebaseTokenRegistrationQueue.size());
+    }
+
+    @Test
+    void flush_shouldRequeueChangesUntilMaxAttempts_whenWriteFails() {
+        // Given
+        firebaseTokenRegistrationQueue.maxPending = 100;
+        firebaseTokenRegistrationQueue.maxAttempts = 2;
+        firebaseTokenRegistrationQueue.offer(1L, request(null, "token-1"), "Agent");
+        doThrow(new RuntimeException("Down"))
+                .when(firebaseUserTokenRepository)
+                .upsertAllTokens(anyList(), any(LocalDate.class));
+
+        // When
+        firebaseTokenRegistrationQueue.flush();
+
+        // Then
+        assertEquals(1, firebaseTokenRegistrationQueue.size());
+        verify(firebaseTokenDirectory, never()).addToken(anyLong(), anyString());
+
+        // When
+        firebaseTokenRegistrationQueue.flush();
+
+        // Then
+        assertEquals(0, firebaseTokenRegistrationQueue.size());
+    }
+
+    @Test
+    void flush_shouldWriteRowsOneByOneAndDropOnlyInvalidOne_whenBatchFails() {
+        // Given
+        firebaseTokenRegistrationQueue.maxPending = 100;
+        firebaseTokenRegistrationQueue.maxAttempts = 3;
+        firebaseTokenRegistrationQueue.offer(1L, request(null, "token-1"), "Agent");
+        firebaseTokenRegistrationQueue.offer(2L, request(null, "token-2"), "Agent");
+        firebaseTokenRegistrationQueue.offer(3L, request(null, "token-3"), "Agent");
+        doAnswer(invocation -> {
+                    List<FirebaseTokenRegistration> registrations = invocation.getArgument(0);
+                    if (registrations.stream().anyMatch(registration -> registration.userId() == 2L)) {
+                        throw new DataIntegrityViolationException(
+                                "Batch entry has been aborted", new BatchUpdateException());
+                    }
+                    return null;
+                })
+                .when(firebaseUserTokenRepository)
+                .upsertAllTokens(anyList(), any(LocalDate.class));
+
+        // When
+        firebaseTokenRegistrationQueue.flush();
+
+        // Then
+        verify(firebaseUserTokenRepository, times(1))
+                .upsertAllTokens(argThat(registrations -> registrations.size() == 3), any(LocalDate.class));
+        verify(firebaseUserTokenRepository, times(3))
+                .upsertAllTokens(argThat(registrations -> registrations.size() == 1), any(LocalDate.class));
+        verify(firebaseTokenDirectory, times(1)).addToken(1L, "token-1");
+        verify(firebaseTokenDirectory, never()).addToken(2L, "token-2");
+        verify(firebaseTokenDirectory, times(1)).addToken(3L, "token-3");
+        assertEquals(0, firebaseTokenRegistrationQueue.size());
+    }
+
+    @Test
+    void flush_shouldRequeueEveryRow_whenRowsFailForAnotherReason() {
+        // Given
+        firebaseTokenRegistrationQueue.maxPending = 100;
+        firebaseTokenRegistrationQueue.maxAttempts = 3;
+        firebaseTokenRegistrationQueue.offer(1L, request(null, "token-1"), "Agent");
+        firebaseTokenRegistrationQueue.offer(2L, request(null, "token-2"), "Agent");
+        doThrow(new DataAccessResourceFailureException("Down", new BatchUpdateException()))
+                .when(firebaseUserTokenRepository)
+                .upsertAllTokens(anyList(), any(LocalDate.class));
+
+        // When
+        firebaseTokenRegistrationQueue.flush();
+
+        // Then
+        assertEquals(2, firebaseTokenRegistrationQueue.size());
+        verify(firebaseTokenDirectory, never()).addToken(anyLong(), anyString());
+    }
+
+    private FirebaseController.FirebaseRequestDto request(String localStorageToken, String receivedToken) {
+        return FirebaseController.FirebaseRequestDto.builder()
+                .firebaseUserTokenFromLocalStorage(localStorageToken)
+                .firebaseUserTokenNowReceived(receivedToken)
+                .build();
+    }
+}
@@ -0,0 +1,169 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.firebase.messaging.FirebaseMessaging;
+import healthy.lifestyle.backend.testconfig.BeanConfig;
+import healthy.lifestyle.backend.testconfig.ContainerConfig;
+import healthy.lifestyle.backend.testutil.DbUtil;
+import healthy.lifestyle.backend.user.model.Country;
+import healthy.lifestyle.backend.user.model.Role;
+import healthy.lifestyle.backend.user.model.Timezone;
+import healthy.lifestyle.backend.user.model.User;
+import java.sql.BatchUpdateException;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@SpringBootTest(properties = "notification.token-registration.flush-interval-ms=3600000")
+@Testcontainers
+@Import(BeanConfig.class)
+class FirebaseUserTokenBatchRepositoryTest {
+    @MockBean
+    FirebaseMessaging firebaseMessaging;
+
+    @Container
+    static PostgreSQLContainer<?> postgresqlContainer =
+            new PostgreSQLContainer<>(DockerImageName.parse(ContainerConfig.POSTGRES));
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresqlContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresqlContainer::getUsername);
+        registry.add("spring.datasource.password", postgresqlContainer::getPassword);
+    }
+
+    static final LocalDate FIRST_DATE = LocalDate.of(2030, 1, 7);
+
+    static final LocalDate SECOND_DATE = LocalDate.of(2030, 1, 8);
+
+    @Autowired
+    FirebaseUserTokenRepository firebaseUserTokenRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    DbUtil dbUtil;
+
+    User user1;
+
+    User user2;
+
+    @BeforeEach
+    void beforeEach() {
+        firebaseUserTokenRepository.deleteAll();
+        dbUtil.deleteAll();
+        Role role = dbUtil.createUserRole();
+        Country country = dbUtil.createCountry(1);
+        Timezone timezone = dbUtil.createTimezone(1);
+        user1 = dbUtil.createUser(1, role, country, timezone);
+        user2 = dbUtil.createUser(2, role, country, timezone);
+    }
+
+    @Test
+    void upsertAllTokensTest_shouldInsertNewTokensAndUpdateUserAgentOfExistingOnes() {
+        // Given
+        firebaseUserTokenRepository.upsertAllTokens(
+                List.of(FirebaseTokenRegistration.register(user1.getId(), "token-1", "Old agent")), FIRST_DATE);
+        long existingId = ((Number) tokenRow(user1.getId(), "token-1").get("id")).longValue();
+
+        // When
+        firebaseUserTokenRepository.upsertAllTokens(
+                List.of(
+                        FirebaseTokenRegistration.register(user1.getId(), "token-1", "New agent"),
+                        FirebaseTokenRegistration.register(user1.getId(), "token-2", "Agent"),
+                        FirebaseTokenRegistration.register(user2.getId(), "token-1", "Agent")),
+                SECOND_DATE);
+
+        // Then
+        assertEquals(3, countTokens());
+        Map<String, Object> updated = tokenRow(user1.getId(), "token-1");
+        assertEquals(existingId, ((Number) updated.get("id")).longValue());
+        assertEquals("New agent", updated.get("user_agent"));
+        // The conflict only refreshes the user agent, the token keeps its registration date
+        assertEquals(FIRST_DATE, ((Date) updated.get("created_at")).toLocalDate());
+        assertEquals(SECOND_DATE, ((Date) tokenRow(user1.getId(), "token-2").get("created_at")).toLocalDate());
+    }
+
+    @Test
+    void upsertAllTokensTest_shouldKeepLastUserAgent_whenBatchRepeatsToken() {
+        // When
+        firebaseUserTokenRepository.upsertAllTokens(
+                List.of(
+                        FirebaseTokenRegistration.register(user1.getId(), "token-1", "Agent 1"),
+                        FirebaseTokenRegistration.register(user1.getId(), "token-1", "Agent 2")),
+                FIRST_DATE);
+
+        // Then
+        assertEquals(1, countTokens());
+        assertEquals("Agent 2", tokenRow(user1.getId(), "token-1").get("user_agent"));
+    }
+
+    @Test
+    void upsertAllTokensTest_shouldWriteEveryChunk_whenRegistrationsExceedBatchSize() {
+        // Given
+        List<FirebaseTokenRegistration> registrations = IntStream.range(0, 250)
+                .mapToObj(i -> FirebaseTokenRegistration.register(user1.getId(), "token-" + i, "Agent"))
+                .toList();
+
+        // When
+        firebaseUserTokenRepository.upsertAllTokens(registrations, FIRST_DATE);
+
+        // Then
+        assertEquals(250, countTokens());
+    }
+
+    @Test
+    void upsertAllTokensTest_shouldRollBackBatchWithBatchUpdateCause_whenRowViolatesConstraint() {
+        // Given
+        long missingUserId = user2.getId() + 1000;
+        List<FirebaseTokenRegistration> registrations = List.of(
+                FirebaseTokenRegistration.register(user1.getId(), "token-1", "Agent"),
+                FirebaseTokenRegistration.register(missingUserId, "token-2", "Agent"),
+                FirebaseTokenRegistration.register(user2.getId(), "token-3", "Agent"));
+
+        // When
+        DataIntegrityViolationException exception = assertThrows(
+                DataIntegrityViolationException.class,
+                () -> firebaseUserTokenRepository.upsertAllTokens(registrations, FIRST_DATE));
+
+        // Then
+        assertTrue(hasCause(exception, BatchUpdateException.class), exception.toString());
+        assertEquals(0, countTokens());
+    }
+
+    private Map<String, Object> tokenRow(long userId, String token) {
+        return jdbcTemplate.queryForMap(
+                "SELECT id, user_agent, created_at FROM firebase_user_tokens WHERE user_id = ? AND token = ?",
+                userId,
+                token);
+    }
+
+    private int countTokens() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM firebase_user_tokens", Integer.class);
+    }
+
+    private static boolean hasCause(Throwable e, Class<? extends Throwable> type) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) return true;
+        }
+        return false;
+    }
+}
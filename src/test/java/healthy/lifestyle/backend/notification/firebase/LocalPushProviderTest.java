@@ -0,0 +1,56 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class LocalPushProviderTest {
+    @Test
+    void sendBatch_shouldReturnResultPerMessage() {
+        // Given
+        LocalPushProvider pushProvider = new LocalPushProvider(2, 0, 0, Map.of());
+
+        // When
+        List<PushResult> results = pushProvider.sendBatch(List.of(message("token-1"), message("token-2")));
+
+        // Then
+        assertEquals(2, results.size());
+        assertTrue(results.stream().allMatch(PushResult::isSuccessful));
+        assertNotEquals(results.get(0).getMessageId(), results.get(1).getMessageId());
+    }
+
+    @Test
+    void sendBatch_shouldFailWithErrorCode_whenErrorRateIsOne() {
+        // Given
+        LocalPushProvider pushProvider =
+                new LocalPushProvider(500, 0, 0, Map.of(MessagingErrorCode.UNREGISTERED, 1.0));
+
+        // When
+        List<PushResult> results = pushProvider.sendBatch(List.of(message("token-1")));
+
+        // Then
+        assertFalse(results.get(0).isSuccessful());
+        assertEquals(MessagingErrorCode.UNREGISTERED, results.get(0).getErrorCode());
+    }
+
+    @Test
+    void sendBatch_shouldThrowException_whenBatchExceedsLimit() {
+        // Given
+        LocalPushProvider pushProvider = new LocalPushProvider(1, 0, 0, Map.of());
+
+        // When
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> pushProvider.sendBatch(List.of(message("token-1"), message("token-2"))));
+
+        // Then
+        assertEquals("Batch of 2 messages exceeds the limit of 1", exception.getMessage());
+    }
+
+    private PushMessage message(String token) {
+        return PushMessage.builder().token(token).title("Title").body("Body").build();
+    }
+}
@@ -0,0 +1,76 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MeteredPushProviderTest {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void sendBatch_shouldCountOutcomesAndFailuresByErrorCode() {
+        // Given
+        List<PushResult> results = List.of(
+                PushResult.success("id-1"),
+                PushResult.failure(MessagingErrorCode.UNREGISTERED, "Unregistered"),
+                PushResult.failure(MessagingErrorCode.UNAVAILABLE, "Unavailable"),
+                PushResult.failure(MessagingErrorCode.UNAVAILABLE, "Unavailable"));
+        MeteredPushProvider pushProvider =
+                new MeteredPushProvider(new FixedPushProvider(results), "test", meterRegistry);
+
+        // When
+        List<PushResult> returned = pushProvider.sendBatch(List.of(
+                message("token-1"), message("token-2"), message("token-3"), message("token-4")));
+
+        // Then
+        assertSame(results, returned);
+        assertEquals(1, meterRegistry.get("notification.provider.send").timer().count());
+        assertEquals(
+                1,
+                meterRegistry
+                        .get("notification.provider.messages")
+                        .tag("outcome", "delivered")
+                        .counter()
+                        .count());
+        assertEquals(
+                3,
+                meterRegistry
+                        .get("notification.provider.messages")
+                        .tag("outcome", "failed")
+                        .counter()
+                        .count());
+        assertEquals(
+                1,
+                meterRegistry
+                        .get("notification.provider.failures")
+                        .tags("error_code", "UNREGISTERED", "kind", "DEAD_TOKEN")
+                        .counter()
+                        .count());
+        assertEquals(
+                2,
+                meterRegistry
+                        .get("notification.provider.failures")
+                        .tags("error_code", "UNAVAILABLE", "kind", "TRANSIENT")
+                        .counter()
+                        .count());
+    }
+
+    private PushMessage message(String token) {
+        return PushMessage.builder().token(token).title("Title").body("Body").build();
+    }
+
+    private record FixedPushProvider(List<PushResult> results) implements PushProvider {
+        @Override
+        public int getMaxBatchSize() {
+            return 500;
+        }
+
+        @Override
+        public List<PushResult> sendBatch(List<PushMessage> messages) {
+            return results;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package healthy.lifestyle.backend.notification.firebase;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PushRetryQueueTest {
+    static final Instant NOW = Instant.parse("2024-01-01T10:00:00Z");
+
+    @InjectMocks
+    PushRetryQueue pushRetryQueue;
+
+    @Mock
+    PushProvider pushProvider;
+
+    @Mock
+    DeadTokenPruner deadTokenPruner;
+
+    @BeforeEach
+    void beforeEach() {
+        pushRetryQueue.initialBackoffMillis = 1000;
+        pushRetryQueue.maxBackoffMillis = 5000;
+        pushRetryQueue.maxAttempts = 3;
+        pushRetryQueue.maxPendingPerUser = 2;
+        pushRetryQueue.clock = Clock.fixed(NOW, ZoneOffset.UTC);
+    }
+
+    @Test
+    void getBackoffMillis_shouldDoubleBackoffUpToMaximum() {
+        assertEquals(1000, pushRetryQueue.getBackoffMillis(1));
+        assertEquals(2000, pushRetryQueue.getBackoffMillis(2));
+        assertEquals(4000, pushRetryQueue.getBackoffMillis(3));
+        assertEquals(5000, pushRetryQueue.getBackoffMillis(4));
+        assertEquals(5000, pushRetryQueue.getBackoffMillis(100));
+    }
+
+    @Test
+    void offer_shouldRejectMessages_whenAttemptsOrPendingMessagesOfUserAreExhausted() {
+        assertFalse(pushRetryQueue.offer(1L, message("token-1"), 3));
+        assertTrue(pushRetryQueue.offer(1L, message("token-1"), 1));
+        assertTrue(pushRetryQueue.offer(1L, message("token-2"), 1));
+        assertFalse(pushRetryQueue.offer(1L, message("token-3"), 1));
+        assertTrue(pushRetryQueue.offer(2L, message("token-4"), 1));
+        assertEquals(3, pushRetryQueue.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void retryDue_shouldSendOnlyDueMessagesAndHandleResults() {
+        // Given
+        when(pushProvider.getMaxBatchSize()).thenReturn(500);
+        when(pushProvider.sendBatch(anyList())).thenAnswer(invocation -> ((List<PushMessage>) invocation.getArgument(0))
+                .stream()
+                .map(message -> switch (message.getToken()) {
+                    case "token-1" -> PushResult.success("id-1");
+                    case "token-2" -> PushResult.failure(MessagingErrorCode.UNREGISTERED, "Unregistered");
+                    default -> PushResult.failure(MessagingErrorCode.UNAVAILABLE, "Unavailable");
+                })
+                .toList());
+        pushRetryQueue.offer(1L, message("token-1"), 1);
+        pushRetryQueue.offer(2L, message("token-2"), 1);
+        pushRetryQueue.offer(3L, message("token-3"), 1);
+        pushRetryQueue.offer(4L, message("token-4"), 2);
+
+        // When
+        pushRetryQueue.clock = Clock.fixed(NOW.plus(Duration.ofMillis(1000)), ZoneOffset.UTC);
+        pushRetryQueue.retryDue();
+
+        // Then
+        verify(pushProvider, times(1)).sendBatch(argThat(batch -> batch.size() == 3));
+        verify(deadTokenPruner, times(1)).enqueue(2L, "token-2");
+        // token-4 isn't due yet, token-3 is waiting for its second retry
+        assertEquals(2, pushRetryQueue.size());
+    }
+
+    @Test
+    void retryDue_shouldGiveUp_whenMaxAttemptsAreReached() {
+        // Given
+        when(pushProvider.getMaxBatchSize()).thenReturn(500);
+        when(pushProvider.sendBatch(anyList()))
+                .thenReturn(List.of(PushResult.failure(MessagingErrorCode.UNAVAILABLE, "Unavailable")));
+        pushRetryQueue.offer(1L, message("token-1"), 2);
+
+        // When
+        pushRetryQueue.clock = Clock.fixed(NOW.plus(Duration.ofMillis(2000)), ZoneOffset.UTC);
+        pushRetryQueue.retryDue();
+
+        // Then
+        assertEquals(0, pushRetryQueue.size());
+        assertTrue(pushRetryQueue.offer(1L, message("token-1"), 1));
+    }
+
+    private PushMessage message(String token) {
+        return PushMessage.builder().token(token).title("Title").body("Body").build();
+    }
+}
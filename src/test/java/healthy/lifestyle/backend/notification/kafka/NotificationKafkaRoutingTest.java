@@ -0,0 +1,209 @@
+package healthy.lifestyle.backend.notification.kafka;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.google.firebase.messaging.FirebaseMessaging;
+import healthy.lifestyle.backend.notification.outbox.NotificationOutboxService;
+import healthy.lifestyle.backend.notification.scheduler.NotificationRouter;
+import healthy.lifestyle.backend.notification.scheduler.NotificationService;
+import healthy.lifestyle.backend.notification.scheduler.TaskDto;
+import healthy.lifestyle.backend.notification.shared.ActivityType;
+import healthy.lifestyle.backend.notification.shared.NotificationType;
+import healthy.lifestyle.backend.testconfig.BeanConfig;
+import healthy.lifestyle.backend.testconfig.ContainerConfig;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.StreamSupport;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@SpringBootTest(
+        properties = {
+            "notification.kafka.enabled=true",
+            "notification.kafka.topic=" + NotificationKafkaRoutingTest.TOPIC,
+            "notification.kafka.partitions=" + NotificationKafkaRoutingTest.PARTITIONS,
+            "notification.kafka.group-id=notification-scheduler-test",
+            "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+            "notification.outbox.poll-interval-ms=3600000"
+        })
+@EmbeddedKafka(topics = NotificationKafkaRoutingTest.TOPIC, partitions = NotificationKafkaRoutingTest.PARTITIONS)
+@Testcontainers
+@Import(BeanConfig.class)
+class NotificationKafkaRoutingTest {
+    static final String TOPIC = "notification-commands-test";
+
+    static final int PARTITIONS = 4;
+
+    static final long TIMEOUT_MS = 10_000;
+
+    @MockBean
+    FirebaseMessaging firebaseMessaging;
+
+    @MockBean
+    NotificationService notificationService;
+
+    @MockBean
+    NotificationOutboxService notificationOutboxService;
+
+    @Autowired
+    NotificationRouter notificationRouter;
+
+    @Autowired
+    KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @Autowired
+    EmbeddedKafkaBroker embeddedKafkaBroker;
+
+    @Captor
+    ArgumentCaptor<TaskDto> taskCaptor;
+
+    @Captor
+    ArgumentCaptor<List<Long>> outboxIdsCaptor;
+
+    @Container
+    static PostgreSQLContainer<?> postgresqlContainer =
+            new PostgreSQLContainer<>(DockerImageName.parse(ContainerConfig.POSTGRES));
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresqlContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresqlContainer::getUsername);
+        registry.add("spring.datasource.password", postgresqlContainer::getPassword);
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        MessageListenerContainer container = listenerContainer();
+        if (!container.isRunning()) container.start();
+        ContainerTestUtils.waitForAssignment(container, PARTITIONS);
+    }
+
+    @Test
+    void router_shouldBeKafkaRouter_whenKafkaEnabled() {
+        assertInstanceOf(KafkaNotificationRouter.class, notificationRouter);
+    }
+
+    @Test
+    void schedule_shouldPublishCommandToPartitionOfUserAndKeyItByUserId() {
+        // Given
+        long userId = 11L;
+
+        // When
+        notificationRouter.schedule(List.of(task(101L, userId, 1L)));
+
+        // Then
+        Map<String, Object> consumerProperties =
+                KafkaTestUtils.consumerProps("notification-kafka-routing-test", "false", embeddedKafkaBroker);
+        consumerProperties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        try (Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(
+                        consumerProperties, new StringDeserializer(), new StringDeserializer())
+                .createConsumer()) {
+            embeddedKafkaBroker.consumeFromAnEmbeddedTopic(consumer, TOPIC);
+            List<ConsumerRecord<String, String>> records = StreamSupport.stream(
+                            KafkaTestUtils.getRecords(consumer).records(TOPIC).spliterator(), false)
+                    .filter(record -> record.key().equals(String.valueOf(userId)))
+                    .toList();
+
+            assertEquals(1, records.size());
+            assertEquals(KafkaNotificationRouter.partitionFor(userId, PARTITIONS), records.get(0).partition());
+        }
+    }
+
+    @Test
+    void schedule_shouldBeConsumedAndScheduledByPartitionOwner() {
+        // Given
+        long userId = 12L;
+
+        // When
+        notificationRouter.schedule(List.of(task(102L, userId, 2L)));
+
+        // Then
+        verify(notificationService, timeout(TIMEOUT_MS)).addScheduledFuture(taskCaptor.capture());
+        TaskDto consumed = taskCaptor.getAllValues().stream()
+                .filter(taskDto -> taskDto.getUserId() == userId)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(102L, consumed.getOutboxId());
+        assertEquals(ActivityType.WORKOUT, consumed.getActivityType());
+        assertEquals(2L, consumed.getPlanId());
+    }
+
+    @Test
+    void cancel_shouldBeConsumedAndCancelThePlanNotifications() {
+        // When
+        notificationRouter.cancel(13L, ActivityType.WORKOUT, 3L, 4L);
+
+        // Then
+        verify(notificationService, timeout(TIMEOUT_MS)).cancelAndRemoveScheduledFuture(ActivityType.WORKOUT, 3L, 4L);
+    }
+
+    @Test
+    void rebalance_shouldAssignAllPartitionsAndReleaseClaimsOfRevokedPartitions() {
+        // Given
+        MessageListenerContainer container = listenerContainer();
+        List<TaskDto> scheduled = List.of(task(201L, 21L, 1L), task(202L, 22L, 1L), task(null, 23L, 1L));
+        when(notificationService.cancelAndRemoveScheduledFutures(any())).thenAnswer(invocation -> {
+            Predicate<TaskDto> predicate = invocation.getArgument(0);
+            return scheduled.stream().filter(predicate).toList();
+        });
+
+        assertEquals(
+                PARTITIONS,
+                container.getAssignedPartitions().stream()
+                        .map(TopicPartition::partition)
+                        .distinct()
+                        .count());
+
+        // When
+        container.stop();
+
+        // Then
+        verify(notificationOutboxService, timeout(TIMEOUT_MS)).releaseClaims(outboxIdsCaptor.capture());
+        assertEquals(List.of(201L, 202L), outboxIdsCaptor.getValue());
+    }
+
+    private MessageListenerContainer listenerContainer() {
+        return kafkaListenerEndpointRegistry.getListenerContainers().iterator().next();
+    }
+
+    private TaskDto task(Long outboxId, long userId, long planId) {
+        return TaskDto.builder()
+                .outboxId(outboxId)
+                .userId(userId)
+                .notificationType(NotificationType.MAIN)
+                .activityType(ActivityType.WORKOUT)
+                .activityId(1L)
+                .planId(planId)
+                .notificationStartDateTimeInServerZone(ZonedDateTime.now().plusDays(1))
+                .activityStartDateTimeInUserZone(ZonedDateTime.now().plusDays(1))
+                .build();
+    }
+}
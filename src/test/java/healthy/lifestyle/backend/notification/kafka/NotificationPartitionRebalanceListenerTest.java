@@ -0,0 +1,71 @@
+package healthy.lifestyle.backend.notification.kafka;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import healthy.lifestyle.backend.notification.outbox.NotificationOutboxService;
+import healthy.lifestyle.backend.notification.scheduler.NotificationService;
+import healthy.lifestyle.backend.notification.scheduler.TaskDto;
+import java.util.List;
+import java.util.function.Predicate;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationPartitionRebalanceListenerTest {
+    @InjectMocks
+    NotificationPartitionRebalanceListener rebalanceListener;
+
+    @Mock
+    NotificationService notificationService;
+
+    @Mock
+    NotificationOutboxService notificationOutboxService;
+
+    @Captor
+    ArgumentCaptor<List<Long>> outboxIdsCaptor;
+
+    @BeforeEach
+    void beforeEach() {
+        rebalanceListener.partitions = 4;
+    }
+
+    @Test
+    void onPartitionsRevoked_shouldDropNotificationsOfRevokedUsersAndReleaseTheirClaims() {
+        // Given
+        List<TaskDto> scheduled = List.of(task(1L, 1L), task(2L, 5L), task(3L, 2L), task(null, 1L));
+        when(notificationService.cancelAndRemoveScheduledFutures(any()))
+                .thenAnswer(invocation -> {
+                    Predicate<TaskDto> predicate = invocation.getArgument(0);
+                    return scheduled.stream().filter(predicate).toList();
+                });
+
+        // When
+        rebalanceListener.onPartitionsRevoked(List.of(new TopicPartition("notification-commands", 1)));
+
+        // Then
+        verify(notificationOutboxService, times(1)).releaseClaims(outboxIdsCaptor.capture());
+        assertEquals(List.of(1L, 2L), outboxIdsCaptor.getValue());
+    }
+
+    @Test
+    void onPartitionsRevoked_shouldDoNothing_whenNoPartitionRevoked() {
+        // When
+        rebalanceListener.onPartitionsRevoked(List.of());
+
+        // Then
+        verifyNoInteractions(notificationService, notificationOutboxService);
+    }
+
+    private TaskDto task(Long outboxId, long userId) {
+        return TaskDto.builder().outboxId(outboxId).userId(userId).build();
+    }
+}
@@ -0,0 +1,341 @@
+package healthy.lifestyle.backend.notification.outbox;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.firebase.messaging.FirebaseMessaging;
+import healthy.lifestyle.backend.activity.workout.model.BodyPart;
+import healthy.lifestyle.backend.activity.workout.model.Exercise;
+import healthy.lifestyle.backend.activity.workout.model.HttpRef;
+import healthy.lifestyle.backend.activity.workout.model.Workout;
+import healthy.lifestyle.backend.notification.firebase.FirebaseUserTokenRepository;
+import healthy.lifestyle.backend.notification.model.NotificationOutbox;
+import healthy.lifestyle.backend.notification.shared.NotificationOutboxStatus;
+import healthy.lifestyle.backend.notification.shared.NotificationType;
+import healthy.lifestyle.backend.plan.workout.model.WorkoutPlan;
+import healthy.lifestyle.backend.plan.workout.repository.WorkoutPlanRepository;
+import healthy.lifestyle.backend.shared.util.JsonDescription;
+import healthy.lifestyle.backend.testconfig.BeanConfig;
+import healthy.lifestyle.backend.testconfig.ContainerConfig;
+import healthy.lifestyle.backend.testutil.DbUtil;
+import healthy.lifestyle.backend.user.model.Country;
+import healthy.lifestyle.backend.user.model.Role;
+import healthy.lifestyle.backend.user.model.Timezone;
+import healthy.lifestyle.backend.user.model.User;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@SpringBootTest(properties = "notification.outbox.poll-interval-ms=3600000")
+@Testcontainers
+@Import(BeanConfig.class)
+@Transactional
+class NotificationOutboxRepositoryTest {
+    @MockBean
+    FirebaseMessaging firebaseMessaging;
+
+    @Container
+    static PostgreSQLContainer<?> postgresqlContainer =
+            new PostgreSQLContainer<>(DockerImageName.parse(ContainerConfig.POSTGRES));
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresqlContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresqlContainer::getUsername);
+        registry.add("spring.datasource.password", postgresqlContainer::getPassword);
+    }
+
+    static final LocalDate START_DATE = LocalDate.of(2030, 1, 7); // Monday
+
+    static final List<Integer> ALL_SHARDS = List.of(0);
+
+    static final LocalDateTime NO_LIMIT = LocalDateTime.of(2100, 1, 1, 0, 0);
+
+    @Autowired
+    NotificationOutboxRepository notificationOutboxRepository;
+
+    @Autowired
+    WorkoutPlanRepository workoutPlanRepository;
+
+    @Autowired
+    FirebaseUserTokenRepository firebaseUserTokenRepository;
+
+    @Autowired
+    DbUtil dbUtil;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void beforeEach() {
+        dbUtil.deleteAll();
+    }
+
+    @Test
+    void insertForWorkoutPlanTest_shouldInsertMainAndDefaultNotificationsForEveryOccurrence() {
+        // Given
+        WorkoutPlan workoutPlan = createWorkoutPlan();
+
+        // When
+        int inserted = notificationOutboxRepository.insertForWorkoutPlan(
+                workoutPlan.getId(), START_DATE.atStartOfDay(), NO_LIMIT, LocalDateTime.now());
+        int insertedAgain = notificationOutboxRepository.insertForWorkoutPlan(
+                workoutPlan.getId(), START_DATE.atStartOfDay(), NO_LIMIT, LocalDateTime.now());
+
+        // Then
+        // 7 daily occurrences and 1 weekly occurrence, 2 notifications each
+        assertEquals(16, inserted);
+        assertEquals(0, insertedAgain);
+
+        List<NotificationOutbox> firstDay = notificationOutboxRepository.findAll().stream()
+                .filter(elt -> elt.getActivityStartAt().toLocalDate().equals(START_DATE))
+                .sorted(Comparator.comparing(NotificationOutbox::getNotifyAt))
+                .toList();
+        assertEquals(4, firstDay.size());
+        assertEquals(NotificationType.DEFAULT, firstDay.get(0).getNotificationType());
+        assertEquals(START_DATE.atTime(10, 25), firstDay.get(0).getNotifyAt());
+        assertEquals(START_DATE.atTime(10, 30), firstDay.get(0).getActivityStartAt());
+        assertEquals(NotificationType.MAIN, firstDay.get(1).getNotificationType());
+        assertEquals(START_DATE.atTime(10, 30), firstDay.get(1).getNotifyAt());
+        assertEquals(START_DATE.atTime(17, 55), firstDay.get(2).getNotifyAt());
+        assertEquals(START_DATE.atTime(18, 0), firstDay.get(3).getNotifyAt());
+        assertTrue(firstDay.stream().allMatch(elt -> elt.getStatus() == NotificationOutboxStatus.PENDING));
+        assertTrue(firstDay.stream().allMatch(elt -> elt.getActivityId()
+                .equals(workoutPlan.getWorkout().getId())));
+    }
+
+    @Test
+    void insertForWorkoutPlanTest_shouldSkipNotificationsDueBeforeFromDateTime() {
+        // Given
+        WorkoutPlan workoutPlan = createWorkoutPlan();
+
+        // When
+        int inserted = notificationOutboxRepository.insertForWorkoutPlan(
+                workoutPlan.getId(), START_DATE.plusDays(6).atTime(10, 28), NO_LIMIT, LocalDateTime.now());
+
+        // Then
+        assertEquals(1, inserted);
+    }
+
+    @Test
+    void insertDueInWindowTest_shouldPlanNotificationsOfTheWindow() {
+        // Given
+        WorkoutPlan workoutPlan = createWorkoutPlan();
+        firebaseUserTokenRepository.upsert(workoutPlan.getUser().getId(), "token", "agent", LocalDate.now());
+        LocalDateTime windowStart = START_DATE.atTime(10, 20);
+        LocalDateTime windowEnd = START_DATE.atTime(10, 40);
+
+        // When
+        int otherHours = notificationOutboxRepository.insertDueInWindow(
+                windowStart, windowEnd, "$[*].hours == 11", LocalDateTime.now());
+        int inserted = notificationOutboxRepository.insertDueInWindow(
+                windowStart, windowEnd, "$[*].hours == 10", LocalDateTime.now());
+        int insertedAgain = notificationOutboxRepository.insertDueInWindow(
+                windowStart, windowEnd, "$[*].hours == 10", LocalDateTime.now());
+
+        // Then
+        assertEquals(0, otherHours);
+        assertEquals(2, inserted);
+        assertEquals(0, insertedAgain);
+        List<NotificationOutbox> planned = notificationOutboxRepository.findAll().stream()
+                .sorted(Comparator.comparing(NotificationOutbox::getNotifyAt))
+                .toList();
+        assertEquals(START_DATE.atTime(10, 25), planned.get(0).getNotifyAt());
+        assertEquals(NotificationType.DEFAULT, planned.get(0).getNotificationType());
+        assertEquals(START_DATE.atTime(10, 30), planned.get(1).getNotifyAt());
+        assertEquals(NotificationType.MAIN, planned.get(1).getNotificationType());
+    }
+
+    @Test
+    void insertDueInWindowTest_shouldSkipUsersWithoutDevices() {
+        // Given
+        createWorkoutPlan();
+
+        // When
+        int inserted = notificationOutboxRepository.insertDueInWindow(
+                START_DATE.atTime(10, 20), START_DATE.atTime(10, 40), "$[*].hours == 10", LocalDateTime.now());
+
+        // Then
+        assertEquals(0, inserted);
+    }
+
+    @Test
+    void insertDueInWindowTest_shouldFilterPlansThroughJsonDescriptionIndex() throws Exception {
+        // Given
+        createWorkoutPlan();
+        // The table is too small for the planner to prefer the index on its own
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        String query = NotificationOutboxRepository.class
+                .getMethod(
+                        "insertDueInWindow",
+                        LocalDateTime.class,
+                        LocalDateTime.class,
+                        String.class,
+                        LocalDateTime.class)
+                .getAnnotation(Query.class)
+                .value()
+                .replace(":windowStart", "'2030-01-07 10:20:00'")
+                .replace(":windowEnd", "'2030-01-07 10:40:00'")
+                .replace(":slotFilter", "'$[*].hours == 10'")
+                .replace(":createdAt", "'2030-01-01 00:00:00'");
+
+        // When
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + query, String.class));
+
+        // Then
+        assertTrue(plan.contains("idx_workout_plans_json_description"), plan);
+    }
+
+    @Test
+    void lockClaimableTest_shouldReturnOnlyUnclaimedNotificationsOfTheWindow() {
+        // Given
+        WorkoutPlan workoutPlan = createWorkoutPlan();
+        notificationOutboxRepository.insertForWorkoutPlan(
+                workoutPlan.getId(), START_DATE.atStartOfDay(), NO_LIMIT, LocalDateTime.now());
+        LocalDateTime now = START_DATE.atTime(10, 20);
+        LocalDateTime windowEnd = START_DATE.atTime(10, 40);
+
+        // When
+        List<NotificationOutboxEntry> claimable =
+                notificationOutboxRepository.lockClaimable(now, windowEnd, 1, ALL_SHARDS, 100);
+        notificationOutboxRepository.markScheduled(
+                claimable.stream().map(NotificationOutboxEntry::getId).toList(), windowEnd.plusMinutes(5));
+
+        // Then
+        assertEquals(2, claimable.size());
+        assertEquals(START_DATE.atTime(10, 25), claimable.get(0).getNotifyAt());
+        assertEquals(workoutPlan.getUser().getTimezone().getName(), claimable.get(0).getUserTimezone());
+        assertEquals(0, notificationOutboxRepository.lockClaimable(now, windowEnd, 1, ALL_SHARDS, 100).size());
+        // The claim has lapsed
+        assertEquals(
+                2,
+                notificationOutboxRepository
+                        .lockClaimable(windowEnd.plusMinutes(6), windowEnd, 1, ALL_SHARDS, 100)
+                        .size());
+    }
+
+    @Test
+    void lockClaimableTest_shouldReturnOnlyNotificationsOfTheShards() {
+        // Given
+        WorkoutPlan workoutPlan = createWorkoutPlan();
+        notificationOutboxRepository.insertForWorkoutPlan(
+                workoutPlan.getId(), START_DATE.atStartOfDay(), NO_LIMIT, LocalDateTime.now());
+        int userShard = (int) (workoutPlan.getUser().getId() % 2);
+        LocalDateTime now = START_DATE.atTime(10, 20);
+        LocalDateTime windowEnd = START_DATE.atTime(10, 40);
+
+        // When
+        List<NotificationOutboxEntry> otherShard =
+                notificationOutboxRepository.lockClaimable(now, windowEnd, 2, List.of(1 - userShard), 100);
+        List<NotificationOutboxEntry> ownShard =
+                notificationOutboxRepository.lockClaimable(now, windowEnd, 2, List.of(userShard), 100);
+
+        // Then
+        assertEquals(0, otherShard.size());
+        assertEquals(2, ownShard.size());
+    }
+
+    @Test
+    void lockScheduledTest_shouldReturnOnlyScheduledNotifications() {
+        // Given
+        WorkoutPlan workoutPlan = createWorkoutPlan();
+        notificationOutboxRepository.insertForWorkoutPlan(
+                workoutPlan.getId(), START_DATE.atStartOfDay(), NO_LIMIT, LocalDateTime.now());
+        List<Long> claimedIds = notificationOutboxRepository
+                .lockClaimable(START_DATE.atStartOfDay(), START_DATE.atTime(12, 0), 1, ALL_SHARDS, 100)
+                .stream()
+                .map(NotificationOutboxEntry::getId)
+                .toList();
+        notificationOutboxRepository.markScheduled(claimedIds, START_DATE.atTime(12, 5));
+
+        // When
+        notificationOutboxRepository.updateStatus(
+                claimedIds.subList(0, 1), NotificationOutboxStatus.SENT.name());
+        List<Long> lockedIds = notificationOutboxRepository.lockScheduled(claimedIds);
+
+        // Then
+        assertEquals(List.of(claimedIds.get(1)), lockedIds);
+    }
+
+    @Test
+    void markExpiredTest_shouldExpireUnclaimedNotificationsDueLongAgo() {
+        // Given
+        WorkoutPlan workoutPlan = createWorkoutPlan();
+        notificationOutboxRepository.insertForWorkoutPlan(
+                workoutPlan.getId(), START_DATE.atStartOfDay(), NO_LIMIT, LocalDateTime.now());
+        LocalDateTime now = START_DATE.atTime(12, 0);
+
+        // When
+        int expired = notificationOutboxRepository.markExpired(now, now.minusMinutes(60));
+
+        // Then
+        assertEquals(2, expired);
+        assertEquals(0, notificationOutboxRepository.lockClaimable(now, now, 1, ALL_SHARDS, 100).size());
+    }
+
+    @Test
+    void deleteUnsentByPlanTest_shouldKeepSentNotifications() {
+        // Given
+        WorkoutPlan workoutPlan = createWorkoutPlan();
+        notificationOutboxRepository.insertForWorkoutPlan(
+                workoutPlan.getId(), START_DATE.atStartOfDay(), NO_LIMIT, LocalDateTime.now());
+        List<Long> claimedIds = notificationOutboxRepository
+                .lockClaimable(START_DATE.atStartOfDay(), START_DATE.atTime(12, 0), 1, ALL_SHARDS, 100)
+                .stream()
+                .map(NotificationOutboxEntry::getId)
+                .toList();
+        notificationOutboxRepository.updateStatus(claimedIds, NotificationOutboxStatus.SENT.name());
+
+        // When
+        int deleted = notificationOutboxRepository.deleteUnsentByPlan("WORKOUT", workoutPlan.getId());
+
+        // Then
+        assertEquals(14, deleted);
+        assertEquals(2, notificationOutboxRepository.count());
+    }
+
+    private WorkoutPlan createWorkoutPlan() {
+        Role role = dbUtil.createUserRole();
+        Country country = dbUtil.createCountry(1);
+        Timezone timezone = dbUtil.createTimezone(1);
+        User user = dbUtil.createUser(1, role, country, timezone);
+        BodyPart bodyPart = dbUtil.createBodyPart(1);
+        HttpRef httpRef = dbUtil.createDefaultHttpRef(1);
+        Exercise exercise = dbUtil.createDefaultExercise(1, false, List.of(bodyPart), List.of(httpRef));
+        Workout workout = dbUtil.createDefaultWorkout(1, List.of(exercise));
+
+        return workoutPlanRepository.save(WorkoutPlan.builder()
+                .user(user)
+                .workout(workout)
+                .startDate(START_DATE)
+                .endDate(START_DATE.plusDays(6))
+                .jsonDescription(List.of(
+                        JsonDescription.builder().json_id(1).hours(10).minutes(30).build(),
+                        JsonDescription.builder()
+                                .json_id(2)
+                                .dayOfWeek(DayOfWeek.MONDAY)
+                                .hours(18)
+                                .minutes(0)
+                                .build()))
+                .isActive(true)
+                .createdAt(LocalDateTime.now())
+                .deactivatedAt(null)
+                .build());
+    }
+}
@@ -0,0 +1,81 @@
+package healthy.lifestyle.backend.notification.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class BoundedReminderDispatcherTest {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    CountDownLatch release = new CountDownLatch(1);
+
+    CountDownLatch completed = new CountDownLatch(5);
+
+    AtomicInteger running = new AtomicInteger();
+
+    AtomicInteger maxRunning = new AtomicInteger();
+
+    BoundedReminderDispatcher dispatcher = new BoundedReminderDispatcher(
+            batch -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                completed.countDown();
+            },
+            2,
+            Clock.systemUTC(),
+            meterRegistry);
+
+    @AfterEach
+    void afterEach() {
+        release.countDown();
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void dispatch_shouldSendAtMostMaxInFlightBatchesAtOnce() throws InterruptedException {
+        // Given
+        TimingWheel timingWheel = new TimingWheel(Clock.systemUTC(), batch -> {}, 1);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            dispatcher.dispatch(
+                    List.of(new WheelTask(timingWheel, i, 0, null), new WheelTask(timingWheel, i, 0, null)));
+        }
+        waitFor(() -> dispatcher.getInFlight() == 2);
+
+        // Then
+        assertEquals(2, dispatcher.getInFlight());
+        assertEquals(6, dispatcher.getQueueDepth());
+        assertEquals(6.0, meterRegistry.get("notification.dispatch.queue.depth").gauge().value());
+        assertEquals(2.0, meterRegistry.get("notification.dispatch.in-flight").gauge().value());
+
+        release.countDown();
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals(2, maxRunning.get());
+        waitFor(() -> dispatcher.getInFlight() == 0);
+        assertEquals(0, dispatcher.getQueueDepth());
+        assertEquals(10, meterRegistry.get("notification.dispatch.lag").timer().count());
+        waitFor(() -> meterRegistry.get("notification.dispatch.send").timer().count() == 5);
+    }
+
+    private void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition hasn't been met in time");
+            Thread.sleep(10);
+        }
+    }
+}
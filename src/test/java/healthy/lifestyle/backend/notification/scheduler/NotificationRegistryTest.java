@@ -0,0 +1,116 @@
+package healthy.lifestyle.backend.notification.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import healthy.lifestyle.backend.notification.shared.ActivityType;
+import healthy.lifestyle.backend.notification.shared.NotificationType;
+import org.junit.jupiter.api.Test;
+
+class NotificationRegistryTest {
+    NotificationRegistry notificationRegistry = new NotificationRegistry();
+
+    @Test
+    void cancel_shouldCancelOnlyNotificationsOfThePlan() {
+        // Given
+        Cancellable planHandle1 = mock(Cancellable.class);
+        Cancellable planHandle2 = mock(Cancellable.class);
+        Cancellable otherPlanHandle = mock(Cancellable.class);
+        notificationRegistry.attach(notificationRegistry.reserve(task(1L, 10L, 100L)), planHandle1);
+        notificationRegistry.attach(notificationRegistry.reserve(task(1L, 10L, 100L)), planHandle2);
+        notificationRegistry.attach(notificationRegistry.reserve(task(1L, 10L, 101L)), otherPlanHandle);
+
+        // When
+        int cancelled = notificationRegistry.cancel(ActivityType.WORKOUT, 10L, 100L);
+
+        // Then
+        assertEquals(2, cancelled);
+        assertEquals(1, notificationRegistry.size());
+        verify(planHandle1, times(1)).cancel();
+        verify(planHandle2, times(1)).cancel();
+        verify(otherPlanHandle, never()).cancel();
+        assertEquals(0, notificationRegistry.cancel(ActivityType.WORKOUT, 10L, 100L));
+    }
+
+    @Test
+    void cancelAllForUser_shouldCancelAllNotificationsOfTheUser() {
+        // Given
+        Cancellable userHandle1 = mock(Cancellable.class);
+        Cancellable userHandle2 = mock(Cancellable.class);
+        Cancellable otherUserHandle = mock(Cancellable.class);
+        notificationRegistry.attach(notificationRegistry.reserve(task(1L, 10L, 100L)), userHandle1);
+        notificationRegistry.attach(notificationRegistry.reserve(task(1L, 20L, 200L)), userHandle2);
+        notificationRegistry.attach(notificationRegistry.reserve(task(2L, 30L, 300L)), otherUserHandle);
+
+        // When
+        int cancelled = notificationRegistry.cancelAllForUser(1L);
+
+        // Then
+        assertEquals(2, cancelled);
+        assertEquals(1, notificationRegistry.size());
+        verify(otherUserHandle, never()).cancel();
+        assertEquals(0, notificationRegistry.cancel(ActivityType.WORKOUT, 20L, 200L));
+    }
+
+    @Test
+    void remove_shouldDropNotificationFromAllIndexes_whenNotificationHasRun() {
+        // Given
+        Cancellable handle = mock(Cancellable.class);
+        long id = notificationRegistry.reserve(task(1L, 10L, 100L));
+        notificationRegistry.attach(id, handle);
+
+        // When
+        boolean removed = notificationRegistry.remove(id);
+
+        // Then
+        assertTrue(removed);
+        assertEquals(0, notificationRegistry.size());
+        assertEquals(0, notificationRegistry.cancelAllForUser(1L));
+        assertEquals(0, notificationRegistry.cancel(ActivityType.WORKOUT, 10L, 100L));
+        verify(handle, never()).cancel();
+    }
+
+    @Test
+    void attach_shouldCancelHandle_whenNotificationHasBeenCancelledBeforeAttaching() {
+        // Given
+        Cancellable handle = mock(Cancellable.class);
+        long id = notificationRegistry.reserve(task(1L, 10L, 100L));
+        notificationRegistry.cancelAllForUser(1L);
+
+        // When
+        notificationRegistry.attach(id, handle);
+
+        // Then
+        assertEquals(0, notificationRegistry.size());
+        assertFalse(notificationRegistry.remove(id));
+        verify(handle, times(1)).cancel();
+    }
+
+    @Test
+    void size_shouldCountPendingNotificationsByType() {
+        // Given
+        TaskDto defaultTask = task(1L, 10L, 100L);
+        defaultTask.setNotificationType(NotificationType.DEFAULT);
+        long mainId = notificationRegistry.reserve(task(1L, 10L, 100L));
+        notificationRegistry.reserve(task(2L, 20L, 200L));
+        notificationRegistry.reserve(defaultTask);
+
+        // When
+        notificationRegistry.remove(mainId);
+
+        // Then
+        assertEquals(1, notificationRegistry.size(NotificationType.MAIN));
+        assertEquals(1, notificationRegistry.size(NotificationType.DEFAULT));
+        assertEquals(0, notificationRegistry.size(NotificationType.BEFORE));
+    }
+
+    private TaskDto task(long userId, long activityId, long planId) {
+        return TaskDto.builder()
+                .userId(userId)
+                .notificationType(NotificationType.MAIN)
+                .activityType(ActivityType.WORKOUT)
+                .activityId(activityId)
+                .planId(planId)
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package healthy.lifestyle.backend.notification.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import healthy.lifestyle.backend.notification.firebase.FirebaseMessageDto;
+import healthy.lifestyle.backend.notification.shared.ActivityType;
+import healthy.lifestyle.backend.notification.shared.NotificationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReminderCoalescerTest {
+    static final ZonedDateTime NOW = ZonedDateTime.of(2030, 1, 7, 9, 55, 0, 0, ZoneId.of("UTC"));
+
+    NotificationRegistry notificationRegistry = new NotificationRegistry();
+
+    ReminderCoalescer reminderCoalescer;
+
+    @BeforeEach
+    void beforeEach() {
+        reminderCoalescer = new ReminderCoalescer(new SimpleMeterRegistry());
+        reminderCoalescer.notificationRegistry = notificationRegistry;
+        reminderCoalescer.windowMinutes = 3;
+    }
+
+    @Test
+    void pullForward_shouldAddUsersRemindersDueWithinWindow() {
+        // Given
+        TaskDto due = task(1L, 10L, NOW, NOW.plusMinutes(5), NotificationType.DEFAULT);
+        TaskDto withinWindow = task(1L, 11L, NOW.plusMinutes(3), NOW.plusMinutes(3), NotificationType.MAIN);
+        TaskDto afterWindow = task(1L, 12L, NOW.plusMinutes(4), NOW.plusMinutes(4), NotificationType.MAIN);
+        TaskDto otherUser = task(2L, 13L, NOW.plusMinutes(1), NOW.plusMinutes(1), NotificationType.MAIN);
+        Cancellable withinWindowHandle = mock(Cancellable.class);
+        notificationRegistry.attach(notificationRegistry.reserve(withinWindow), withinWindowHandle);
+        notificationRegistry.reserve(afterWindow);
+        notificationRegistry.reserve(otherUser);
+
+        // When
+        List<TaskDto> taskDtoList = reminderCoalescer.pullForward(List.of(due));
+
+        // Then
+        assertEquals(List.of(due, withinWindow), taskDtoList);
+        assertEquals(2, notificationRegistry.size());
+        verify(withinWindowHandle, times(1)).cancel();
+    }
+
+    @Test
+    void groupByUser_shouldReturnOneGroupPerUserAndReportRatio() {
+        // Given
+        List<TaskDto> taskDtoList = new ArrayList<>();
+        taskDtoList.add(task(1L, 10L, NOW, NOW, NotificationType.MAIN));
+        taskDtoList.add(task(2L, 11L, NOW, NOW, NotificationType.MAIN));
+        taskDtoList.add(task(1L, 12L, NOW, NOW, NotificationType.MAIN));
+        taskDtoList.add(task(1L, 13L, NOW, NOW, NotificationType.MAIN));
+
+        // When
+        List<List<TaskDto>> groups = reminderCoalescer.groupByUser(taskDtoList);
+
+        // Then
+        assertEquals(2, groups.size());
+        assertEquals(3, groups.get(0).size());
+        assertEquals(1, groups.get(1).size());
+        assertEquals(2.0, reminderCoalescer.getRatio());
+    }
+
+    @Test
+    void buildFromTaskDtos_shouldListEveryActivityOnce() {
+        // Given
+        List<TaskDto> taskDtoList = List.of(
+                task(1L, 11L, NOW.plusMinutes(1), NOW.plusMinutes(6), NotificationType.DEFAULT),
+                task(1L, 10L, NOW.plusMinutes(5), NOW.plusMinutes(5), NotificationType.MAIN),
+                task(1L, 10L, NOW, NOW.plusMinutes(5), NotificationType.DEFAULT));
+
+        // When
+        FirebaseMessageDto message = FirebaseMessageDto.buildFromTaskDtos(taskDtoList);
+
+        // Then
+        assertEquals("2 activities coming up", message.getTitle());
+        assertEquals("Workout starts at 10:00\nWorkout starts at 10:01", message.getBody());
+    }
+
+    private TaskDto task(
+            long userId,
+            long activityId,
+            ZonedDateTime dueAt,
+            ZonedDateTime activityStartAt,
+            NotificationType notificationType) {
+        return TaskDto.builder()
+                .userId(userId)
+                .notificationType(notificationType)
+                .notifyBeforeInMinutes(notificationType == NotificationType.DEFAULT ? 5 : 0)
+                .activityType(ActivityType.WORKOUT)
+                .activityId(activityId)
+                .planId(100L)
+                .notificationStartDateTimeInServerZone(dueAt)
+                .activityStartDateTimeInUserZone(activityStartAt)
+                .build();
+    }
+}
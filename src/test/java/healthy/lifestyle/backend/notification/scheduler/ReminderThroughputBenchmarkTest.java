@@ -0,0 +1,220 @@
+package healthy.lifestyle.backend.notification.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+import com.google.firebase.messaging.MessagingErrorCode;
+import healthy.lifestyle.backend.notification.firebase.DeadTokenPruner;
+import healthy.lifestyle.backend.notification.firebase.FirebaseService;
+import healthy.lifestyle.backend.notification.firebase.FirebaseTokenDirectory;
+import healthy.lifestyle.backend.notification.firebase.LocalPushProvider;
+import healthy.lifestyle.backend.notification.firebase.PushMessage;
+import healthy.lifestyle.backend.notification.firebase.PushProvider;
+import healthy.lifestyle.backend.notification.firebase.PushResult;
+import healthy.lifestyle.backend.notification.firebase.PushRetryQueue;
+import healthy.lifestyle.backend.notification.outbox.NotificationOutboxService;
+import healthy.lifestyle.backend.notification.shared.ActivityType;
+import healthy.lifestyle.backend.notification.shared.NotificationType;
+import healthy.lifestyle.backend.shared.util.DateTimeService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Sends reminders of many users in 24 timezones, all due within a few minutes, through NotificationService,
+ * the timing wheel, BoundedReminderDispatcher, FirebaseReminderDispatcher and FirebaseService to a
+ * LocalPushProvider taking 20-30 ms per batch. Reports push throughput, lag from the tick to the delivery and
+ * heap per pending reminder for several notification.dispatch.max-in-flight values.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class ReminderThroughputBenchmarkTest {
+    static final int REMINDERS = 200_000;
+
+    static final int USERS = 50_000;
+
+    static final int MINUTES = 10;
+
+    static final Instant START = Instant.parse("2030-01-07T08:00:00Z");
+
+    @ParameterizedTest
+    @ValueSource(ints = {8, 32, 128})
+    void endToEnd(int maxInFlight) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Timer deliveryLag = Timer.builder("benchmark.delivery.lag")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        AtomicLong tickStartNanos = new AtomicLong();
+        AtomicInteger pushes = new AtomicInteger();
+        PushProvider pushProvider = measured(
+                new LocalPushProvider(
+                        500,
+                        20,
+                        10,
+                        Map.of(MessagingErrorCode.UNREGISTERED, 0.001, MessagingErrorCode.UNAVAILABLE, 0.002)),
+                deliveryLag,
+                tickStartNanos,
+                pushes);
+
+        NotificationRegistry notificationRegistry = new NotificationRegistry();
+        FirebaseReminderDispatcher firebaseReminderDispatcher =
+                firebaseReminderDispatcher(pushProvider, notificationRegistry, meterRegistry);
+        BoundedReminderDispatcher boundedReminderDispatcher = new BoundedReminderDispatcher(
+                firebaseReminderDispatcher, maxInFlight, Clock.systemUTC(), meterRegistry);
+        TimingWheel timingWheel = new TimingWheel(Clock.fixed(START, ZoneOffset.UTC), boundedReminderDispatcher, 500);
+        NotificationService notificationService = new NotificationService();
+        notificationService.timingWheel = timingWheel;
+        notificationService.notificationRegistry = notificationRegistry;
+
+        try {
+            // Given
+            long heapBefore = usedHeap();
+            int[] expectedPushesByMinute = new int[MINUTES + 1];
+            Set<Long> userMinutes = new HashSet<>();
+            List<TaskDto> taskDtoList = new ArrayList<>(REMINDERS);
+            for (int i = 0; i < REMINDERS; i++) {
+                int minute = 1 + i % MINUTES;
+                long userId = i % USERS;
+                // Reminders of a user due in the same minute are coalesced into one push
+                if (userMinutes.add(userId * (MINUTES + 1) + minute)) expectedPushesByMinute[minute]++;
+                taskDtoList.add(task(i, userId, minute));
+            }
+            notificationService.addScheduledFuture(taskDtoList);
+            long heapBytesPerReminder = (usedHeap() - heapBefore) / REMINDERS;
+
+            // When
+            long startNanos = System.nanoTime();
+            int expectedPushes = 0;
+            for (int minute = 1; minute <= MINUTES; minute++) {
+                expectedPushes += expectedPushesByMinute[minute];
+                tickStartNanos.set(System.nanoTime());
+                timingWheel.advanceTo(START.getEpochSecond() / 60 + minute);
+                int expected = expectedPushes;
+                waitFor(() -> pushes.get() >= expected);
+            }
+            long elapsedNanos = System.nanoTime() - startNanos;
+
+            // Then
+            assertEquals(expectedPushes, pushes.get());
+            assertEquals(0, notificationRegistry.size());
+            report(maxInFlight, expectedPushes, elapsedNanos, deliveryLag, heapBytesPerReminder);
+        } finally {
+            boundedReminderDispatcher.shutdown();
+        }
+    }
+
+    private static FirebaseReminderDispatcher firebaseReminderDispatcher(
+            PushProvider pushProvider, NotificationRegistry notificationRegistry, SimpleMeterRegistry meterRegistry) {
+        FirebaseTokenDirectory firebaseTokenDirectory = mock(FirebaseTokenDirectory.class);
+        when(firebaseTokenDirectory.getTokens(anyCollection())).thenAnswer(invocation -> {
+            Map<Long, List<String>> tokensByUser = new HashMap<>();
+            for (Object userId : (Collection<?>) invocation.getArgument(0)) {
+                tokensByUser.put((Long) userId, List.of("token-" + userId));
+            }
+            return tokensByUser;
+        });
+
+        FirebaseService firebaseService = new FirebaseService();
+        ReflectionTestUtils.setField(firebaseService, "pushProvider", pushProvider);
+        ReflectionTestUtils.setField(firebaseService, "firebaseTokenDirectory", firebaseTokenDirectory);
+        ReflectionTestUtils.setField(firebaseService, "deadTokenPruner", mock(DeadTokenPruner.class));
+        ReflectionTestUtils.setField(firebaseService, "pushRetryQueue", mock(PushRetryQueue.class));
+        ReflectionTestUtils.setField(firebaseService, "dateTimeService", new DateTimeService());
+
+        ReminderCoalescer reminderCoalescer = new ReminderCoalescer(meterRegistry);
+        reminderCoalescer.notificationRegistry = notificationRegistry;
+
+        FirebaseReminderDispatcher firebaseReminderDispatcher = new FirebaseReminderDispatcher();
+        firebaseReminderDispatcher.firebaseService = firebaseService;
+        firebaseReminderDispatcher.notificationRegistry = notificationRegistry;
+        firebaseReminderDispatcher.notificationOutboxService = mock(NotificationOutboxService.class);
+        firebaseReminderDispatcher.reminderCoalescer = reminderCoalescer;
+        firebaseReminderDispatcher.notificationMetrics =
+                new NotificationMetrics(meterRegistry, notificationRegistry, new ThreadPoolTaskScheduler());
+        return firebaseReminderDispatcher;
+    }
+
+    private static PushProvider measured(
+            PushProvider delegate, Timer deliveryLag, AtomicLong tickStartNanos, AtomicInteger pushes) {
+        return new PushProvider() {
+            @Override
+            public int getMaxBatchSize() {
+                return delegate.getMaxBatchSize();
+            }
+
+            @Override
+            public List<PushResult> sendBatch(List<PushMessage> messages) {
+                List<PushResult> results = delegate.sendBatch(messages);
+                long lagNanos = System.nanoTime() - tickStartNanos.get();
+                for (int i = 0; i < messages.size(); i++) deliveryLag.record(lagNanos, TimeUnit.NANOSECONDS);
+                pushes.addAndGet(messages.size());
+                return results;
+            }
+        };
+    }
+
+    private static TaskDto task(long id, long userId, int minute) {
+        ZonedDateTime dueAt = START.plusSeconds(minute * 60L).atZone(ZoneOffset.UTC);
+        return TaskDto.builder()
+                .userId(userId)
+                .notificationType(NotificationType.MAIN)
+                .activityType(ActivityType.WORKOUT)
+                .activityId(id)
+                .planId(id)
+                .notificationStartDateTimeInServerZone(dueAt)
+                .activityStartDateTimeInUserZone(
+                        dueAt.withZoneSameInstant(ZoneOffset.ofHours((int) (userId % 24) - 11)))
+                .build();
+    }
+
+    private static void report(
+            int maxInFlight, int pushes, long elapsedNanos, Timer deliveryLag, long heapBytesPerReminder) {
+        StringBuilder percentiles = new StringBuilder();
+        for (ValueAtPercentile percentile : deliveryLag.takeSnapshot().percentileValues()) {
+            percentiles.append(String.format(
+                    " p%.0f %.0f ms", percentile.percentile() * 100, percentile.value(TimeUnit.MILLISECONDS)));
+        }
+        System.out.printf(
+                "max-in-flight %d: %d reminders, %d pushes, %.0f pushes/s, lag%s, heap %d bytes per reminder%n",
+                maxInFlight,
+                REMINDERS,
+                pushes,
+                pushes * 1e9 / elapsedNanos,
+                percentiles,
+                heapBytesPerReminder);
+    }
+
+    private static void waitFor(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) fail("Reminders haven't been sent in time");
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted");
+            }
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,109 @@
+package healthy.lifestyle.backend.notification.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import healthy.lifestyle.backend.notification.shared.ActivityType;
+import healthy.lifestyle.backend.notification.shared.NotificationType;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Compares schedule and cancel throughput and heap usage of the timing wheel with the ThreadPoolTaskScheduler
+ * it replaced, for a million reminders spread over 30 days. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class TimingWheelBenchmarkTest {
+    static final int TASKS = 1_000_000;
+
+    static final long SPREAD_MINUTES = Duration.ofDays(30).toMinutes();
+
+    @Test
+    void timingWheel() {
+        TaskDto taskDto = task();
+        Instant now = Instant.now();
+        TimingWheel timingWheel = new TimingWheel(Clock.systemUTC(), batch -> {}, 500);
+
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        List<WheelTask> wheelTasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            wheelTasks.add(timingWheel.schedule(i, dueAt(now, i), taskDto));
+        }
+        long scheduleNanos = System.nanoTime() - start;
+        long heapAfter = usedHeap();
+
+        start = System.nanoTime();
+        for (WheelTask wheelTask : wheelTasks) wheelTask.cancel();
+        long cancelNanos = System.nanoTime() - start;
+
+        report("TimingWheel", scheduleNanos, cancelNanos, heapAfter - heapBefore);
+        assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    void threadPoolTaskScheduler() {
+        Instant now = Instant.now();
+        ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.setPoolSize(10);
+        taskScheduler.setRemoveOnCancelPolicy(true);
+        taskScheduler.initialize();
+
+        try {
+            long heapBefore = usedHeap();
+            long start = System.nanoTime();
+            List<ScheduledFuture<?>> futures = new ArrayList<>(TASKS);
+            for (int i = 0; i < TASKS; i++) {
+                futures.add(taskScheduler.schedule(() -> {}, dueAt(now, i)));
+            }
+            long scheduleNanos = System.nanoTime() - start;
+            long heapAfter = usedHeap();
+
+            start = System.nanoTime();
+            for (ScheduledFuture<?> future : futures) future.cancel(false);
+            long cancelNanos = System.nanoTime() - start;
+
+            report("ThreadPoolTaskScheduler", scheduleNanos, cancelNanos, heapAfter - heapBefore);
+            assertEquals(0, taskScheduler.getScheduledThreadPoolExecutor().getQueue().size());
+        } finally {
+            taskScheduler.shutdown();
+        }
+    }
+
+    private static Instant dueAt(Instant now, int i) {
+        // Deterministic spread over the whole period
+        return now.plus(Duration.ofMinutes(1 + (i * 7919L) % SPREAD_MINUTES));
+    }
+
+    private static void report(String name, long scheduleNanos, long cancelNanos, long heapBytes) {
+        System.out.printf(
+                "%s: schedule %.0f ops/s, cancel %.0f ops/s, heap %.1f MB per %d tasks%n",
+                name,
+                TASKS * 1e9 / scheduleNanos,
+                TASKS * 1e9 / cancelNanos,
+                heapBytes / (1024.0 * 1024.0),
+                TASKS);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static TaskDto task() {
+        return TaskDto.builder()
+                .userId(1L)
+                .notificationType(NotificationType.MAIN)
+                .activityType(ActivityType.WORKOUT)
+                .activityId(10L)
+                .planId(100L)
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+package healthy.lifestyle.backend.notification.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import healthy.lifestyle.backend.notification.shared.ActivityType;
+import healthy.lifestyle.backend.notification.shared.NotificationType;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+    static final Instant NOW = Instant.parse("2024-01-01T10:00:00Z");
+
+    List<List<WheelTask>> batches = new ArrayList<>();
+
+    TimingWheel timingWheel = new TimingWheel(
+            Clock.fixed(NOW, ZoneOffset.UTC), batch -> batches.add(List.copyOf(batch)), 2);
+
+    @Test
+    void advanceTo_shouldDispatchTasksAtTheirDueMinute_whenTasksCascadeFromHigherLevels() {
+        // Given
+        long nowMinute = NOW.getEpochSecond() / 60;
+        long[] delays = {1, 63, 64, 65, 4095, 4096, 4097, 300_000};
+        for (long delay : delays) {
+            timingWheel.schedule(delay, NOW.plus(Duration.ofMinutes(delay)), task());
+        }
+
+        // When
+        List<Long> firedAt = new ArrayList<>();
+        for (long minute = nowMinute + 1; minute <= nowMinute + 300_000; minute++) {
+            timingWheel.advanceTo(minute);
+            for (List<WheelTask> batch : batches) {
+                for (WheelTask wheelTask : batch) {
+                    assertEquals(minute, wheelTask.getDueEpochMinute());
+                    firedAt.add(minute - nowMinute);
+                }
+            }
+            batches.clear();
+        }
+
+        // Then
+        assertEquals(List.of(1L, 63L, 64L, 65L, 4095L, 4096L, 4097L, 300_000L), firedAt);
+        assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    void schedule_shouldRoundDueTimeUpToTheNextMinute() {
+        // Given
+        long nowMinute = NOW.getEpochSecond() / 60;
+        timingWheel.schedule(1L, NOW.plusSeconds(90), task());
+
+        // When
+        timingWheel.advanceTo(nowMinute + 1);
+        int dispatchedAfterFirstMinute = batches.size();
+        timingWheel.advanceTo(nowMinute + 2);
+
+        // Then
+        assertEquals(0, dispatchedAfterFirstMinute);
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    void schedule_shouldDispatchAtNextTick_whenTaskIsOverdue() {
+        // Given
+        long nowMinute = NOW.getEpochSecond() / 60;
+        timingWheel.schedule(1L, NOW.minus(Duration.ofHours(1)), task());
+
+        // When
+        timingWheel.advanceTo(nowMinute + 1);
+
+        // Then
+        assertEquals(1, batches.size());
+        assertEquals(1L, batches.get(0).get(0).getId());
+    }
+
+    @Test
+    void schedule_shouldThrowException_whenTaskIsBeyondTheWheelHorizon() {
+        // When
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> timingWheel.schedule(
+                        1L, NOW.plus(Duration.ofMinutes(TimingWheel.MAX_DELAY_MINUTES)), task()));
+
+        // Then
+        assertTrue(exception.getMessage().startsWith("Reminder is due too far in the future"));
+        assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    void cancel_shouldRemoveTaskFromTheWheel() {
+        // Given
+        long nowMinute = NOW.getEpochSecond() / 60;
+        WheelTask cancelled = timingWheel.schedule(1L, NOW.plus(Duration.ofMinutes(100)), task());
+        timingWheel.schedule(2L, NOW.plus(Duration.ofMinutes(100)), task());
+
+        // When
+        cancelled.cancel();
+        cancelled.cancel();
+        timingWheel.advanceTo(nowMinute + 100);
+
+        // Then
+        assertEquals(1, batches.size());
+        assertEquals(1, batches.get(0).size());
+        assertEquals(2L, batches.get(0).get(0).getId());
+        assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    void advanceTo_shouldSplitDueTasksIntoBatches() {
+        // Given
+        long nowMinute = NOW.getEpochSecond() / 60;
+        for (long id = 1; id <= 5; id++) {
+            timingWheel.schedule(id, NOW.plus(Duration.ofMinutes(10)), task());
+        }
+
+        // When
+        timingWheel.advanceTo(nowMinute + 10);
+
+        // Then
+        assertEquals(3, batches.size());
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+    }
+
+    private TaskDto task() {
+        return TaskDto.builder()
+                .userId(1L)
+                .notificationType(NotificationType.MAIN)
+                .activityType(ActivityType.WORKOUT)
+                .activityId(10L)
+                .planId(100L)
+                .build();
+    }
+}
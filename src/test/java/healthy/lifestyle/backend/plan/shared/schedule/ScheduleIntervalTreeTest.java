@@ -0,0 +1,77 @@
+package healthy.lifestyle.backend.plan.shared.schedule;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import healthy.lifestyle.backend.shared.util.JsonDescription;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ScheduleIntervalTreeTest {
+    @Test
+    void findOverlapping_shouldReturnSameIntervalsAsLinearScan_whenIntervalsAreRandom() {
+        // Given
+        Random random = new Random(42);
+        List<ScheduleInterval<Integer>> intervals = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int start = random.nextInt(ScheduleInterval.MINUTES_PER_WEEK);
+            intervals.add(new ScheduleInterval<>(start, start + 1 + random.nextInt(120), i));
+        }
+        ScheduleIntervalTree<Integer> tree = new ScheduleIntervalTree<>(intervals);
+
+        for (int query = 0; query < 1000; query++) {
+            int start = random.nextInt(ScheduleInterval.MINUTES_PER_WEEK);
+            int end = start + 1 + random.nextInt(120);
+            List<Integer> expected = intervals.stream()
+                    .filter(interval -> interval.getStart() < end && interval.getEnd() > start)
+                    .map(ScheduleInterval::getValue)
+                    .sorted()
+                    .toList();
+
+            // When
+            List<Integer> actual =
+                    tree.findOverlapping(start, end).stream().sorted().toList();
+
+            // Then
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void fromJsonDescription_shouldSplitInterval_whenSlotCrossesEndOfWeek() {
+        // Given
+        JsonDescription slot = JsonDescription.builder()
+                .dayOfWeek(DayOfWeek.SUNDAY)
+                .hours(23)
+                .minutes(30)
+                .build();
+
+        // When
+        List<ScheduleInterval<Long>> intervals = ScheduleInterval.fromJsonDescription(slot, 60, 1L);
+
+        // Then
+        assertEquals(2, intervals.size());
+        assertEquals(ScheduleInterval.MINUTES_PER_WEEK - 30, intervals.get(0).getStart());
+        assertEquals(ScheduleInterval.MINUTES_PER_WEEK, intervals.get(0).getEnd());
+        assertEquals(0, intervals.get(1).getStart());
+        assertEquals(30, intervals.get(1).getEnd());
+    }
+
+    @Test
+    void fromJsonDescription_shouldRepeatSlotEveryDay_whenDayOfWeekIsNull() {
+        // Given
+        JsonDescription slot = JsonDescription.builder().hours(8).minutes(0).build();
+
+        // When
+        List<ScheduleInterval<Long>> intervals = ScheduleInterval.fromJsonDescription(slot, 30, 1L);
+
+        // Then
+        assertEquals(7, intervals.size());
+        for (int day = 0; day < 7; day++) {
+            assertEquals(day * ScheduleInterval.MINUTES_PER_DAY + 8 * 60, intervals.get(day).getStart());
+            assertEquals(day * ScheduleInterval.MINUTES_PER_DAY + 8 * 60 + 30, intervals.get(day).getEnd());
+        }
+    }
+}
@@ -3,6 +3,10 @@ package healthy.lifestyle.backend.plan.workout.controller;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -143,6 +147,53 @@ class WorkoutPlanControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    @WithMockUser(username = "Username-1", password = "Password-1", roles = "USER")
+    void deactivateWorkoutPlan_shouldDeactivateWorkoutPlan_whenPlanBelongsToUser() throws Exception {
+        // Given
+        User user = dbUtil.createUser(1);
+        BodyPart bodyPart = dbUtil.createBodyPart(1);
+        Exercise exercise = dbUtil.createCustomExercise(1, true, List.of(bodyPart), Collections.emptyList(), user);
+        Workout workout = dbUtil.createCustomWorkout(1, List.of(exercise), user);
+        WorkoutPlan workoutPlan = dbUtil.createWorkoutPlan(1L, user, workout);
+
+        // When
+        mockMvc.perform(delete(URL.WORKOUT_PLAN_ID, workoutPlan.getId()))
+
+                // Then
+                .andExpect(status().isNoContent())
+                .andDo(print());
+
+        WorkoutPlan deactivated = dbUtil.getWorkoutPlanById(workoutPlan.getId());
+        assertFalse(deactivated.getIsActive());
+        assertNotNull(deactivated.getDeactivatedAt());
+    }
+
+    @Test
+    @WithMockUser(username = "Username-1", password = "Password-1", roles = "USER")
+    void deactivateWorkoutPlan_shouldThrowException_whenPlanBelongsToAnotherUser() throws Exception {
+        // Given
+        User user = dbUtil.createUser(1);
+        User anotherUser = dbUtil.createUser(2);
+        BodyPart bodyPart = dbUtil.createBodyPart(1);
+        Exercise exercise =
+                dbUtil.createCustomExercise(1, true, List.of(bodyPart), Collections.emptyList(), anotherUser);
+        Workout workout = dbUtil.createCustomWorkout(1, List.of(exercise), anotherUser);
+        WorkoutPlan workoutPlan = dbUtil.createWorkoutPlan(1L, anotherUser, workout);
+        ApiException expectedException = new ApiException(
+                ErrorMessage.USER_WORKOUT_PLAN_MISMATCH, workoutPlan.getId(), HttpStatus.BAD_REQUEST);
+
+        // When
+        mockMvc.perform(delete(URL.WORKOUT_PLAN_ID, workoutPlan.getId()))
+
+                // Then
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is(expectedException.getMessageWithResourceId())))
+                .andDo(print());
+
+        assertTrue(dbUtil.getWorkoutPlanById(workoutPlan.getId()).getIsActive());
+    }
+
     @Test
     @WithMockUser(username = "Username-1", password = "Password-1", roles = "USER")
     void createWorkoutPlan_shouldThrowException_whenWorkoutNotFound() throws Exception {
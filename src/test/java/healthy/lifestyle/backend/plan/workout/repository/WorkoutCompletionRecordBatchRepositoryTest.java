@@ -0,0 +1,243 @@
+package healthy.lifestyle.backend.plan.workout.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.firebase.messaging.FirebaseMessaging;
+import healthy.lifestyle.backend.activity.workout.model.BodyPart;
+import healthy.lifestyle.backend.activity.workout.model.Exercise;
+import healthy.lifestyle.backend.activity.workout.model.HttpRef;
+import healthy.lifestyle.backend.activity.workout.model.Workout;
+import healthy.lifestyle.backend.plan.workout.model.WorkoutCompletionRecord;
+import healthy.lifestyle.backend.testconfig.BeanConfig;
+import healthy.lifestyle.backend.testconfig.ContainerConfig;
+import healthy.lifestyle.backend.testutil.DbUtil;
+import healthy.lifestyle.backend.user.model.Country;
+import healthy.lifestyle.backend.user.model.Role;
+import healthy.lifestyle.backend.user.model.Timezone;
+import healthy.lifestyle.backend.user.model.User;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@SpringBootTest
+@Testcontainers
+@Import(BeanConfig.class)
+class WorkoutCompletionRecordBatchRepositoryTest {
+    @MockBean
+    FirebaseMessaging firebaseMessaging;
+
+    @Container
+    static PostgreSQLContainer<?> postgresqlContainer =
+            new PostgreSQLContainer<>(DockerImageName.parse(ContainerConfig.POSTGRES));
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresqlContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresqlContainer::getUsername);
+        registry.add("spring.datasource.password", postgresqlContainer::getPassword);
+    }
+
+    static final LocalDate FIRST_DATE = LocalDate.of(2030, 1, 7);
+
+    @Autowired
+    WorkoutCompletionRecordRepository workoutCompletionRecordRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    DbUtil dbUtil;
+
+    User user;
+
+    Workout workout;
+
+    Exercise exercise;
+
+    @BeforeEach
+    void beforeEach() {
+        dbUtil.deleteAll();
+        Role role = dbUtil.createUserRole();
+        Country country = dbUtil.createCountry(1);
+        Timezone timezone = dbUtil.createTimezone(1);
+        user = dbUtil.createUser(1, role, country, timezone);
+        BodyPart bodyPart = dbUtil.createBodyPart(1);
+        HttpRef httpRef = dbUtil.createDefaultHttpRef(1);
+        exercise = dbUtil.createDefaultExercise(1, false, List.of(bodyPart), List.of(httpRef));
+        workout = dbUtil.createDefaultWorkout(1, List.of(exercise));
+    }
+
+    @Test
+    void insertAllIgnoringDuplicatesTest_shouldInsertAllRecordsWithAssignedIds() {
+        // Given
+        List<WorkoutCompletionRecord> records = workoutRecords(0, 120);
+
+        // When
+        List<WorkoutCompletionRecord> inserted = workoutCompletionRecordRepository.insertAllIgnoringDuplicates(records);
+
+        // Then
+        assertEquals(120, inserted.size());
+        assertEquals(120, countRecords());
+        Set<Long> assignedIds = ids(inserted);
+        assertEquals(120, assignedIds.size());
+        assertEquals(assignedIds, new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT id FROM workout_completion_records", Long.class)));
+        for (WorkoutCompletionRecord record : inserted) {
+            assertEquals(
+                    record.getCompletedAt(),
+                    jdbcTemplate.queryForObject(
+                            "SELECT completed_at FROM workout_completion_records WHERE id = ?",
+                            LocalDate.class,
+                            record.getId()));
+        }
+    }
+
+    @Test
+    void insertAllIgnoringDuplicatesTest_shouldSkipExistingAndRepeatedRecords() {
+        // Given
+        WorkoutCompletionRecord existingWorkoutRecord = workoutRecord(FIRST_DATE, null);
+        WorkoutCompletionRecord existingExerciseRecord = workoutRecord(FIRST_DATE, exercise);
+        workoutCompletionRecordRepository.insertAllIgnoringDuplicates(
+                List.of(existingWorkoutRecord, existingExerciseRecord));
+        Long existingWorkoutRecordId = existingWorkoutRecord.getId();
+
+        WorkoutCompletionRecord newRecord = workoutRecord(FIRST_DATE.plusDays(1), null);
+        List<WorkoutCompletionRecord> records = List.of(
+                workoutRecord(FIRST_DATE, null),
+                workoutRecord(FIRST_DATE, exercise),
+                newRecord,
+                workoutRecord(FIRST_DATE.plusDays(1), null));
+
+        // When
+        List<WorkoutCompletionRecord> inserted = workoutCompletionRecordRepository.insertAllIgnoringDuplicates(records);
+
+        // Then
+        assertEquals(1, inserted.size());
+        assertSame(newRecord, inserted.get(0));
+        assertEquals(3, countRecords());
+        assertEquals(
+                existingWorkoutRecordId,
+                jdbcTemplate.queryForObject(
+                        "SELECT id FROM workout_completion_records "
+                                + "WHERE completed_at = ? AND exercise_id IS NULL",
+                        Long.class,
+                        FIRST_DATE));
+        assertEquals(
+                newRecord.getId(),
+                jdbcTemplate.queryForObject(
+                        "SELECT id FROM workout_completion_records WHERE completed_at = ?",
+                        Long.class,
+                        FIRST_DATE.plusDays(1)));
+    }
+
+    @Test
+    void insertAllIgnoringDuplicatesTest_shouldNotCollideWithIdsAllocatedByHibernate() {
+        // Given
+        WorkoutCompletionRecord savedRecord = workoutCompletionRecordRepository.save(workoutRecord(FIRST_DATE, null));
+
+        // When
+        List<WorkoutCompletionRecord> inserted =
+                workoutCompletionRecordRepository.insertAllIgnoringDuplicates(workoutRecords(1, 10));
+        WorkoutCompletionRecord nextSavedRecord =
+                workoutCompletionRecordRepository.save(workoutRecord(FIRST_DATE.plusYears(1), null));
+
+        // Then
+        assertEquals(10, inserted.size());
+        assertEquals(12, countRecords());
+        Set<Long> batchIds = ids(inserted);
+        assertFalse(batchIds.contains(savedRecord.getId()));
+        assertFalse(batchIds.contains(nextSavedRecord.getId()));
+    }
+
+    @Test
+    void insertAllIgnoringDuplicatesTest_shouldInsertEveryRecordOnce_whenBatchesRunConcurrently() throws Exception {
+        // Given
+        int batchesCount = 4;
+        // Every batch has 30 records of its own and 30 records shared with all other batches
+        List<List<WorkoutCompletionRecord>> batches = IntStream.range(0, batchesCount)
+                .mapToObj(batch -> {
+                    List<WorkoutCompletionRecord> records = new ArrayList<>(workoutRecords(1000 + batch * 30, 30));
+                    records.addAll(workoutRecords(0, 30));
+                    return records;
+                })
+                .toList();
+        ExecutorService executor = Executors.newFixedThreadPool(batchesCount);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        List<Future<List<WorkoutCompletionRecord>>> futures = new ArrayList<>();
+        try {
+            for (List<WorkoutCompletionRecord> batch : batches) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return workoutCompletionRecordRepository.insertAllIgnoringDuplicates(batch);
+                }));
+            }
+            start.countDown();
+            List<WorkoutCompletionRecord> inserted = new ArrayList<>();
+            for (Future<List<WorkoutCompletionRecord>> future : futures) {
+                inserted.addAll(future.get(30, TimeUnit.SECONDS));
+            }
+
+            // Then
+            assertEquals(batchesCount * 30 + 30, countRecords());
+            assertEquals(countRecords(), inserted.size());
+            Set<Long> insertedIds = ids(inserted);
+            assertEquals(inserted.size(), insertedIds.size());
+            assertEquals(
+                    insertedIds,
+                    new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM workout_completion_records", Long.class)));
+            Set<Long> allAssignedIds = new HashSet<>();
+            batches.forEach(batch -> allAssignedIds.addAll(ids(batch)));
+            assertEquals(batchesCount * 60, allAssignedIds.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<WorkoutCompletionRecord> workoutRecords(int firstDay, int count) {
+        return IntStream.range(firstDay, firstDay + count)
+                .mapToObj(day -> workoutRecord(FIRST_DATE.plusDays(day), null))
+                .toList();
+    }
+
+    private WorkoutCompletionRecord workoutRecord(LocalDate completedAt, Exercise exercise) {
+        return WorkoutCompletionRecord.builder()
+                .user(user)
+                .workout(workout)
+                .exercise(exercise)
+                .completedAt(completedAt)
+                .build();
+    }
+
+    private static Set<Long> ids(List<WorkoutCompletionRecord> records) {
+        Set<Long> ids = new HashSet<>();
+        records.forEach(record -> ids.add(record.getId()));
+        return ids;
+    }
+
+    private int countRecords() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM workout_completion_records", Integer.class);
+    }
+}
@@ -0,0 +1,384 @@
+package healthy.lifestyle.backend.plan.workout.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.firebase.messaging.FirebaseMessaging;
+import healthy.lifestyle.backend.activity.workout.model.BodyPart;
+import healthy.lifestyle.backend.activity.workout.model.Exercise;
+import healthy.lifestyle.backend.activity.workout.model.HttpRef;
+import healthy.lifestyle.backend.activity.workout.model.Workout;
+import healthy.lifestyle.backend.plan.workout.model.WorkoutPlan;
+import healthy.lifestyle.backend.shared.util.JsonDescription;
+import healthy.lifestyle.backend.testconfig.BeanConfig;
+import healthy.lifestyle.backend.testconfig.ContainerConfig;
+import healthy.lifestyle.backend.testutil.DbUtil;
+import healthy.lifestyle.backend.user.model.Country;
+import healthy.lifestyle.backend.user.model.Role;
+import healthy.lifestyle.backend.user.model.Timezone;
+import healthy.lifestyle.backend.user.model.User;
+import healthy.lifestyle.backend.user.repository.TimezoneRepository;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@SpringBootTest
+@Testcontainers
+@Import(BeanConfig.class)
+class WorkoutPlanRepositoryTest {
+    @MockBean
+    FirebaseMessaging firebaseMessaging;
+
+    @Container
+    static PostgreSQLContainer<?> postgresqlContainer =
+            new PostgreSQLContainer<>(DockerImageName.parse(ContainerConfig.POSTGRES));
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresqlContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresqlContainer::getUsername);
+        registry.add("spring.datasource.password", postgresqlContainer::getPassword);
+    }
+
+    @Autowired
+    WorkoutPlanRepository workoutPlanRepository;
+
+    @Autowired
+    TimezoneRepository timezoneRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    DbUtil dbUtil;
+
+    @BeforeEach
+    void beforeEach() {
+        dbUtil.deleteAll();
+    }
+
+    @AfterEach
+    void afterEach() {
+        jdbcTemplate.update("DELETE FROM workout_plans WHERE user_id IN "
+                + "(SELECT id FROM users WHERE username LIKE 'synthetic-%')");
+        jdbcTemplate.update("DELETE FROM workouts WHERE title LIKE 'Synthetic workout %'");
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE 'synthetic-%'");
+    }
+
+    @Test
+    void findWorkoutsWithoutPlansTest_shouldReturnDefaultAndOwnCustomWorkoutsWithoutPlans() {
+        // Given
+        Role role = dbUtil.createUserRole();
+        Country country = dbUtil.createCountry(1);
+        Timezone timezone = dbUtil.createTimezone(1);
+        User user1 = dbUtil.createUser(1, role, country, timezone);
+        User user2 = dbUtil.createUser(2, role, country, timezone);
+
+        BodyPart bodyPart = dbUtil.createBodyPart(1);
+        HttpRef httpRef = dbUtil.createDefaultHttpRef(1);
+        Exercise exercise = dbUtil.createDefaultExercise(1, false, List.of(bodyPart), List.of(httpRef));
+
+        Workout defaultWorkoutWithPlan = dbUtil.createDefaultWorkout(1, List.of(exercise));
+        Workout defaultWorkoutWithoutPlan = dbUtil.createDefaultWorkout(2, List.of(exercise));
+        Workout customWorkoutWithPlan = dbUtil.createCustomWorkout(3, List.of(exercise), user1);
+        Workout customWorkoutWithoutPlan = dbUtil.createCustomWorkout(4, List.of(exercise), user1);
+        Workout anotherUserCustomWorkout = dbUtil.createCustomWorkout(5, List.of(exercise), user2);
+
+        dbUtil.createWorkoutPlan(1L, user1, defaultWorkoutWithPlan);
+        dbUtil.createWorkoutPlan(2L, user1, customWorkoutWithPlan);
+        dbUtil.createWorkoutPlan(3L, user2, defaultWorkoutWithoutPlan);
+
+        // When
+        List<WorkoutWithoutPlan> workouts = workoutPlanRepository.findWorkoutsWithoutPlans(user1.getId());
+
+        // Then
+        assertEquals(2, workouts.size());
+        assertEquals(defaultWorkoutWithoutPlan.getId(), workouts.get(0).getId());
+        assertEquals(defaultWorkoutWithoutPlan.getTitle(), workouts.get(0).getTitle());
+        assertEquals(customWorkoutWithoutPlan.getId(), workouts.get(1).getId());
+        assertNotEquals(anotherUserCustomWorkout.getId(), workouts.get(1).getId());
+    }
+
+    @Test
+    void findWorkoutsWithoutPlansTest_shouldUseIndexes_whenDatasetIsLarge() {
+        // Given
+        Role role = dbUtil.createUserRole();
+        Country country = dbUtil.createCountry(1);
+        Timezone timezone = dbUtil.createTimezone(1);
+        User user = dbUtil.createUser(1, role, country, timezone);
+        createSyntheticDataset(user.getId(), 1000, 20, 100);
+
+        // When
+        String plan = String.join(
+                "\n",
+                jdbcTemplate.queryForList(
+                        "EXPLAIN " + WorkoutPlanRepository.WORKOUTS_WITHOUT_PLANS_QUERY.replace(
+                                ":userId", String.valueOf(user.getId())),
+                        String.class));
+
+        // Then
+        assertFalse(plan.contains("Seq Scan on workout_plans"), plan);
+        assertFalse(plan.contains("Seq Scan on workouts"), plan);
+        // Both indexes lead with user_id, the planner is free to probe either of them
+        assertTrue(
+                plan.contains("idx_workout_plans_user_id_workout_id")
+                        || plan.contains("idx_workout_plans_user_active_dates"),
+                plan);
+        assertTrue(plan.contains("idx_workouts_is_custom_user_id"), plan);
+    }
+
+    @Test
+    void findActiveOccurrencesTest_shouldExpandActivePlanSlotsWithinRangeAndMarkCompletedOnes() {
+        // Given
+        Role role = dbUtil.createUserRole();
+        Country country = dbUtil.createCountry(1);
+        Timezone timezone = dbUtil.createTimezone(1);
+        User user1 = dbUtil.createUser(1, role, country, timezone);
+        User user2 = dbUtil.createUser(2, role, country, timezone);
+
+        BodyPart bodyPart = dbUtil.createBodyPart(1);
+        HttpRef httpRef = dbUtil.createDefaultHttpRef(1);
+        Exercise exercise = dbUtil.createDefaultExercise(1, false, List.of(bodyPart), List.of(httpRef));
+        Workout workout1 = dbUtil.createDefaultWorkout(1, List.of(exercise));
+        Workout workout2 = dbUtil.createDefaultWorkout(2, List.of(exercise));
+        Workout workout3 = dbUtil.createDefaultWorkout(3, List.of(exercise));
+
+        // Monday to Sunday
+        LocalDate fromDate = LocalDate.of(2030, 1, 7);
+        LocalDate toDate = LocalDate.of(2030, 1, 13);
+
+        WorkoutPlan plan = createPlan(
+                user1,
+                workout1,
+                LocalDate.of(2030, 1, 1),
+                LocalDate.of(2030, 1, 31),
+                true,
+                slot(DayOfWeek.MONDAY, 9, 30),
+                slot(DayOfWeek.WEDNESDAY, 18, 0));
+        // Starts on Thursday, the Monday slot of the range is before the plan
+        WorkoutPlan planStartingInRange = createPlan(
+                user1,
+                workout2,
+                LocalDate.of(2030, 1, 10),
+                LocalDate.of(2030, 1, 31),
+                true,
+                slot(DayOfWeek.MONDAY, 8, 0),
+                slot(DayOfWeek.FRIDAY, 7, 0));
+        createPlan(
+                user1,
+                workout3,
+                LocalDate.of(2030, 1, 1),
+                LocalDate.of(2030, 1, 31),
+                false,
+                slot(DayOfWeek.TUESDAY, 10, 0));
+        createPlan(
+                user2,
+                workout3,
+                LocalDate.of(2030, 1, 1),
+                LocalDate.of(2030, 1, 31),
+                true,
+                slot(DayOfWeek.TUESDAY, 10, 0));
+
+        // Only whole-workout completions mark the occurrence as completed
+        jdbcTemplate.update(
+                "INSERT INTO workout_completion_records (user_id, workout_id, exercise_id, completed_at) "
+                        + "VALUES (?, ?, NULL, ?), (?, ?, ?, ?)",
+                user1.getId(),
+                workout1.getId(),
+                LocalDate.of(2030, 1, 9),
+                user1.getId(),
+                workout1.getId(),
+                exercise.getId(),
+                LocalDate.of(2030, 1, 7));
+
+        // When
+        List<WorkoutPlanOccurrence> occurrences = workoutPlanRepository.findActiveOccurrences(
+                user1.getId(), fromDate, toDate, fromDate.atStartOfDay(), toDate.plusDays(1).atStartOfDay());
+
+        // Then
+        assertEquals(3, occurrences.size());
+
+        assertEquals(plan.getId(), occurrences.get(0).getPlanId());
+        assertEquals(workout1.getId(), occurrences.get(0).getWorkoutId());
+        assertEquals(workout1.getTitle(), occurrences.get(0).getWorkoutTitle());
+        assertEquals(LocalDateTime.of(2030, 1, 7, 9, 30), occurrences.get(0).getOccurrenceAt());
+        assertFalse(occurrences.get(0).getIsCompleted());
+
+        assertEquals(plan.getId(), occurrences.get(1).getPlanId());
+        assertEquals(LocalDateTime.of(2030, 1, 9, 18, 0), occurrences.get(1).getOccurrenceAt());
+        assertTrue(occurrences.get(1).getIsCompleted());
+
+        assertEquals(planStartingInRange.getId(), occurrences.get(2).getPlanId());
+        assertEquals(workout2.getId(), occurrences.get(2).getWorkoutId());
+        assertEquals(LocalDateTime.of(2030, 1, 11, 7, 0), occurrences.get(2).getOccurrenceAt());
+        assertFalse(occurrences.get(2).getIsCompleted());
+    }
+
+    @Test
+    void findActiveOccurrencesTest_shouldExcludeOccurrencesOutsideDateTimeRange() {
+        // Given
+        Role role = dbUtil.createUserRole();
+        Country country = dbUtil.createCountry(1);
+        Timezone timezone = dbUtil.createTimezone(1);
+        User user = dbUtil.createUser(1, role, country, timezone);
+
+        BodyPart bodyPart = dbUtil.createBodyPart(1);
+        HttpRef httpRef = dbUtil.createDefaultHttpRef(1);
+        Exercise exercise = dbUtil.createDefaultExercise(1, false, List.of(bodyPart), List.of(httpRef));
+        Workout workout = dbUtil.createDefaultWorkout(1, List.of(exercise));
+
+        createPlan(
+                user,
+                workout,
+                LocalDate.of(2030, 1, 1),
+                LocalDate.of(2030, 1, 31),
+                true,
+                slot(DayOfWeek.MONDAY, 6, 0),
+                slot(DayOfWeek.MONDAY, 12, 0),
+                slot(DayOfWeek.MONDAY, 22, 0));
+        LocalDate monday = LocalDate.of(2030, 1, 7);
+
+        // When
+        List<WorkoutPlanOccurrence> occurrences = workoutPlanRepository.findActiveOccurrences(
+                user.getId(), monday, monday, monday.atTime(6, 0), monday.atTime(22, 0));
+
+        // Then
+        assertEquals(
+                List.of(monday.atTime(6, 0), monday.atTime(12, 0)),
+                occurrences.stream().map(WorkoutPlanOccurrence::getOccurrenceAt).toList());
+    }
+
+    @Test
+    void findActiveOccurrencesTest_shouldMatchCompletionsByUserDate_whenOccurrenceCrossesMidnightInUtc() {
+        // Given
+        Role role = dbUtil.createUserRole();
+        Country country = dbUtil.createCountry(1);
+        Timezone newYork = timezoneRepository.save(
+                Timezone.builder().GMT("GMT-5:00").name("America/New_York").build());
+        Timezone tokyo = timezoneRepository.save(
+                Timezone.builder().GMT("GMT+9:00").name("Asia/Tokyo").build());
+        User newYorkUser = dbUtil.createUser(1, role, country, newYork);
+        User tokyoUser = dbUtil.createUser(2, role, country, tokyo);
+
+        BodyPart bodyPart = dbUtil.createBodyPart(1);
+        HttpRef httpRef = dbUtil.createDefaultHttpRef(1);
+        Exercise exercise = dbUtil.createDefaultExercise(1, false, List.of(bodyPart), List.of(httpRef));
+        Workout workout = dbUtil.createDefaultWorkout(1, List.of(exercise));
+
+        // Wednesday 2030-01-09 20:00 in New York is Thursday 01:00 in UTC
+        createPlan(
+                newYorkUser,
+                workout,
+                LocalDate.of(2030, 1, 1),
+                LocalDate.of(2030, 1, 31),
+                true,
+                slot(DayOfWeek.THURSDAY, 1, 0));
+        // Thursday 2030-01-10 07:00 in Tokyo is Wednesday 22:00 in UTC
+        createPlan(
+                tokyoUser,
+                workout,
+                LocalDate.of(2030, 1, 1),
+                LocalDate.of(2030, 1, 31),
+                true,
+                slot(DayOfWeek.WEDNESDAY, 22, 0));
+
+        // Completion dates are dates of the user
+        jdbcTemplate.update(
+                "INSERT INTO workout_completion_records (user_id, workout_id, exercise_id, completed_at) "
+                        + "VALUES (?, ?, NULL, ?), (?, ?, NULL, ?)",
+                newYorkUser.getId(),
+                workout.getId(),
+                LocalDate.of(2030, 1, 9),
+                tokyoUser.getId(),
+                workout.getId(),
+                LocalDate.of(2030, 1, 10));
+        LocalDate fromDate = LocalDate.of(2030, 1, 7);
+        LocalDate toDate = LocalDate.of(2030, 1, 13);
+
+        // When
+        List<WorkoutPlanOccurrence> newYorkOccurrences = workoutPlanRepository.findActiveOccurrences(
+                newYorkUser.getId(), fromDate, toDate, fromDate.atStartOfDay(), toDate.plusDays(1).atStartOfDay());
+        List<WorkoutPlanOccurrence> tokyoOccurrences = workoutPlanRepository.findActiveOccurrences(
+                tokyoUser.getId(), fromDate, toDate, fromDate.atStartOfDay(), toDate.plusDays(1).atStartOfDay());
+
+        // Then
+        assertEquals(1, newYorkOccurrences.size());
+        assertEquals(LocalDateTime.of(2030, 1, 10, 1, 0), newYorkOccurrences.get(0).getOccurrenceAt());
+        assertTrue(newYorkOccurrences.get(0).getIsCompleted());
+
+        assertEquals(1, tokyoOccurrences.size());
+        assertEquals(LocalDateTime.of(2030, 1, 9, 22, 0), tokyoOccurrences.get(0).getOccurrenceAt());
+        assertTrue(tokyoOccurrences.get(0).getIsCompleted());
+    }
+
+    private WorkoutPlan createPlan(
+            User user,
+            Workout workout,
+            LocalDate startDate,
+            LocalDate endDate,
+            boolean isActive,
+            JsonDescription... slots) {
+        return workoutPlanRepository.save(WorkoutPlan.builder()
+                .user(user)
+                .workout(workout)
+                .startDate(startDate)
+                .endDate(endDate)
+                .jsonDescription(List.of(slots))
+                .isActive(isActive)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    private JsonDescription slot(DayOfWeek dayOfWeek, int hours, int minutes) {
+        return JsonDescription.builder()
+                .dayOfWeek(dayOfWeek)
+                .hours(hours)
+                .minutes(minutes)
+                .build();
+    }
+
+    /**
+     * Every synthetic user gets customWorkoutsPerUser custom workouts, a third of them planned.
+     */
+    private void createSyntheticDataset(
+            long templateUserId, int users, int customWorkoutsPerUser, int defaultWorkouts) {
+        jdbcTemplate.update(
+                "INSERT INTO users (username, email, full_name, password, role_id, country_id, age, timezone_id) "
+                        + "SELECT 'synthetic-' || g, 'synthetic-' || g || '@email.com', u.full_name, u.password, "
+                        + "u.role_id, u.country_id, u.age, u.timezone_id "
+                        + "FROM users u CROSS JOIN generate_series(1, ?) g WHERE u.id = ?",
+                users,
+                templateUserId);
+        jdbcTemplate.update(
+                "INSERT INTO workouts (title, description, is_custom, user_id) "
+                        + "SELECT 'Synthetic workout ' || g, 'Description', false, NULL "
+                        + "FROM generate_series(1, ?) g",
+                defaultWorkouts);
+        jdbcTemplate.update(
+                "INSERT INTO workouts (title, description, is_custom, user_id) "
+                        + "SELECT 'Synthetic workout ' || u.id || '-' || g, 'Description', true, u.id "
+                        + "FROM users u CROSS JOIN generate_series(1, ?) g WHERE u.username LIKE 'synthetic-%'",
+                customWorkoutsPerUser);
+        jdbcTemplate.update("INSERT INTO workout_plans "
+                + "(user_id, workout_id, json_description, start_date, end_date, is_active, created_at) "
+                + "SELECT w.user_id, w.id, CAST('[]' AS jsonb), current_date, current_date, true, now() "
+                + "FROM workouts w WHERE w.is_custom = true AND w.title LIKE 'Synthetic workout %' AND w.id % 3 = 0");
+        jdbcTemplate.execute("ANALYZE users");
+        jdbcTemplate.execute("ANALYZE workouts");
+        jdbcTemplate.execute("ANALYZE workout_plans");
+    }
+}
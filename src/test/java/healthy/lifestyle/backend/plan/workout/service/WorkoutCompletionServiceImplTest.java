@@ -0,0 +1,206 @@
+package healthy.lifestyle.backend.plan.workout.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import healthy.lifestyle.backend.activity.workout.api.WorkoutApiImpl;
+import healthy.lifestyle.backend.activity.workout.model.Exercise;
+import healthy.lifestyle.backend.activity.workout.model.Workout;
+import healthy.lifestyle.backend.exception.ApiException;
+import healthy.lifestyle.backend.exception.ErrorMessage;
+import healthy.lifestyle.backend.plan.shared.event.WorkoutCompletionRecordedEvent;
+import healthy.lifestyle.backend.plan.workout.dto.WorkoutCompletionBatchRequestDto;
+import healthy.lifestyle.backend.plan.workout.dto.WorkoutCompletionBatchResponseDto;
+import healthy.lifestyle.backend.plan.workout.dto.WorkoutCompletionRequestDto;
+import healthy.lifestyle.backend.plan.workout.model.WorkoutCompletionRecord;
+import healthy.lifestyle.backend.plan.workout.repository.WorkoutCompletionRecordRepository;
+import healthy.lifestyle.backend.testutil.TestUtil;
+import healthy.lifestyle.backend.user.api.UserApiImpl;
+import healthy.lifestyle.backend.user.model.Timezone;
+import healthy.lifestyle.backend.user.model.User;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+
+@ExtendWith(MockitoExtension.class)
+class WorkoutCompletionServiceImplTest {
+    @InjectMocks
+    WorkoutCompletionServiceImpl workoutCompletionService;
+
+    @Mock
+    WorkoutCompletionRecordRepository workoutCompletionRecordRepository;
+
+    @Mock
+    WorkoutApiImpl workoutApi;
+
+    @Mock
+    UserApiImpl userApi;
+
+    @Mock
+    ApplicationEventPublisher applicationEventPublisher;
+
+    TestUtil testUtil = new TestUtil();
+
+    @Test
+    void recordCompletions_shouldInsertDistinctRecordsAndPublishEvent_whenBatchHasDuplicates() {
+        // Given
+        User user = testUtil.createUser(1);
+        Exercise exercise = testUtil.createDefaultExercise(1);
+        Workout workout = testUtil.createDefaultWorkout(1, List.of(exercise));
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        WorkoutCompletionRequestDto workoutCompletion = WorkoutCompletionRequestDto.builder()
+                .workoutId(workout.getId())
+                .completedAt(yesterday)
+                .build();
+        WorkoutCompletionRequestDto exerciseCompletion = WorkoutCompletionRequestDto.builder()
+                .workoutId(workout.getId())
+                .exerciseId(exercise.getId())
+                .completedAt(yesterday)
+                .build();
+        WorkoutCompletionBatchRequestDto requestDto = WorkoutCompletionBatchRequestDto.builder()
+                .completions(List.of(workoutCompletion, exerciseCompletion, workoutCompletion))
+                .build();
+
+        when(userApi.getUserById(user.getId())).thenReturn(user);
+        when(workoutApi.getWorkoutsWithExercisesByIds(anyCollection())).thenReturn(List.of(workout));
+        when(workoutCompletionRecordRepository.insertAllIgnoringDuplicates(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        WorkoutCompletionBatchResponseDto responseDto =
+                workoutCompletionService.recordCompletions(user.getId(), requestDto);
+
+        // Then
+        ArgumentCaptor<List<WorkoutCompletionRecord>> recordsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(workoutCompletionRecordRepository, times(1)).insertAllIgnoringDuplicates(recordsCaptor.capture());
+        verify(applicationEventPublisher, times(1)).publishEvent(any(WorkoutCompletionRecordedEvent.class));
+
+        List<WorkoutCompletionRecord> records = recordsCaptor.getValue();
+        assertEquals(2, records.size());
+        assertNull(records.get(0).getExercise());
+        assertEquals(exercise.getId(), records.get(1).getExercise().getId());
+        assertEquals(3, responseDto.getReceived());
+        assertEquals(2, responseDto.getRecorded());
+    }
+
+    @Test
+    void recordCompletions_shouldNotPublishEvent_whenAllRecordsAlreadyExist() {
+        // Given
+        User user = testUtil.createUser(1);
+        Workout workout = testUtil.createDefaultWorkout(1, List.of(testUtil.createDefaultExercise(1)));
+        WorkoutCompletionBatchRequestDto requestDto = WorkoutCompletionBatchRequestDto.builder()
+                .completions(List.of(WorkoutCompletionRequestDto.builder()
+                        .workoutId(workout.getId())
+                        .completedAt(LocalDate.now().minusDays(1))
+                        .build()))
+                .build();
+
+        when(userApi.getUserById(user.getId())).thenReturn(user);
+        when(workoutApi.getWorkoutsWithExercisesByIds(anyCollection())).thenReturn(List.of(workout));
+        when(workoutCompletionRecordRepository.insertAllIgnoringDuplicates(anyList()))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        WorkoutCompletionBatchResponseDto responseDto =
+                workoutCompletionService.recordCompletions(user.getId(), requestDto);
+
+        // Then
+        verify(applicationEventPublisher, never()).publishEvent(any(Object.class));
+        assertEquals(1, responseDto.getReceived());
+        assertEquals(0, responseDto.getRecorded());
+    }
+
+    @Test
+    void recordCompletions_shouldStoreUserDate_whenUserIsAheadOfDatabaseZone() {
+        // Given
+        User user = testUtil.createUser(1);
+        user.setTimezone(Timezone.builder().id(1L).name("Pacific/Kiritimati").build());
+        Workout workout = testUtil.createDefaultWorkout(1, List.of(testUtil.createDefaultExercise(1)));
+        // A day ahead of UTC for most of the UTC day
+        LocalDate userToday = LocalDate.now(ZoneId.of("Pacific/Kiritimati"));
+        WorkoutCompletionBatchRequestDto requestDto = WorkoutCompletionBatchRequestDto.builder()
+                .completions(List.of(WorkoutCompletionRequestDto.builder()
+                        .workoutId(workout.getId())
+                        .completedAt(userToday)
+                        .build()))
+                .build();
+
+        when(userApi.getUserById(user.getId())).thenReturn(user);
+        when(workoutApi.getWorkoutsWithExercisesByIds(anyCollection())).thenReturn(List.of(workout));
+        when(workoutCompletionRecordRepository.insertAllIgnoringDuplicates(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        workoutCompletionService.recordCompletions(user.getId(), requestDto);
+
+        // Then
+        ArgumentCaptor<List<WorkoutCompletionRecord>> recordsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(workoutCompletionRecordRepository, times(1)).insertAllIgnoringDuplicates(recordsCaptor.capture());
+        assertEquals(userToday, recordsCaptor.getValue().get(0).getCompletedAt());
+    }
+
+    @Test
+    void recordCompletions_shouldThrowException_whenCompletionIsAfterUserToday() {
+        // Given
+        User user = testUtil.createUser(1);
+        user.setTimezone(Timezone.builder().id(1L).name("Pacific/Pago_Pago").build());
+        Workout workout = testUtil.createDefaultWorkout(1, List.of(testUtil.createDefaultExercise(1)));
+        LocalDate userTomorrow = LocalDate.now(ZoneId.of("Pacific/Pago_Pago")).plusDays(1);
+        WorkoutCompletionBatchRequestDto requestDto = WorkoutCompletionBatchRequestDto.builder()
+                .completions(List.of(WorkoutCompletionRequestDto.builder()
+                        .workoutId(workout.getId())
+                        .completedAt(userTomorrow)
+                        .build()))
+                .build();
+
+        when(userApi.getUserById(user.getId())).thenReturn(user);
+        when(workoutApi.getWorkoutsWithExercisesByIds(anyCollection())).thenReturn(List.of(workout));
+
+        // When
+        ApiException actual = assertThrows(
+                ApiException.class, () -> workoutCompletionService.recordCompletions(user.getId(), requestDto));
+
+        // Then
+        verify(workoutCompletionRecordRepository, never()).insertAllIgnoringDuplicates(anyList());
+        assertEquals(ErrorMessage.INCORRECT_TIME.getName(), actual.getMessage());
+        assertEquals(HttpStatus.BAD_REQUEST, actual.getHttpStatus());
+    }
+
+    @Test
+    void recordCompletions_shouldThrowException_whenExerciseDoesNotBelongToWorkout() {
+        // Given
+        User user = testUtil.createUser(1);
+        Workout workout = testUtil.createDefaultWorkout(1, List.of(testUtil.createDefaultExercise(1)));
+        long wrongExerciseId = 1000L;
+        WorkoutCompletionBatchRequestDto requestDto = WorkoutCompletionBatchRequestDto.builder()
+                .completions(List.of(WorkoutCompletionRequestDto.builder()
+                        .workoutId(workout.getId())
+                        .exerciseId(wrongExerciseId)
+                        .completedAt(LocalDate.now().minusDays(1))
+                        .build()))
+                .build();
+        ApiException expected =
+                new ApiException(ErrorMessage.WORKOUT_EXERCISE_MISMATCH, wrongExerciseId, HttpStatus.BAD_REQUEST);
+
+        when(userApi.getUserById(user.getId())).thenReturn(user);
+        when(workoutApi.getWorkoutsWithExercisesByIds(anyCollection())).thenReturn(List.of(workout));
+
+        // When
+        ApiException actual = assertThrows(
+                ApiException.class, () -> workoutCompletionService.recordCompletions(user.getId(), requestDto));
+
+        // Then
+        verify(workoutCompletionRecordRepository, never()).insertAllIgnoringDuplicates(anyList());
+        assertEquals(expected.getMessageWithResourceId(), actual.getMessageWithResourceId());
+        assertEquals(expected.getHttpStatus(), actual.getHttpStatus());
+    }
+}
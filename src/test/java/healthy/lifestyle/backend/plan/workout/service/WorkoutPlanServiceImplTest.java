@@ -8,6 +8,8 @@ import healthy.lifestyle.backend.activity.workout.api.WorkoutApiImpl;
 import healthy.lifestyle.backend.activity.workout.model.Workout;
 import healthy.lifestyle.backend.exception.ApiException;
 import healthy.lifestyle.backend.exception.ErrorMessage;
+import healthy.lifestyle.backend.plan.shared.event.PlanChangedEvent;
+import healthy.lifestyle.backend.plan.shared.event.PlanDeactivatedEvent;
 import healthy.lifestyle.backend.plan.workout.dto.WorkoutPlanCreateRequestDto;
 import healthy.lifestyle.backend.plan.workout.dto.WorkoutPlanResponseDto;
 import healthy.lifestyle.backend.plan.workout.model.WorkoutPlan;
@@ -24,17 +26,20 @@ import healthy.lifestyle.backend.user.model.User;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 
 @ExtendWith(MockitoExtension.class)
@@ -57,6 +62,12 @@ class WorkoutPlanServiceImplTest {
     @Mock
     JsonUtil jsonUtil;
 
+    @Mock
+    ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    WorkoutScheduleIndex workoutScheduleIndex;
+
     @Spy
     ModelMapper modelMapper;
 
@@ -79,7 +90,7 @@ class WorkoutPlanServiceImplTest {
         WorkoutPlanCreateRequestDto requestDto = dtoUtil.workoutPlanCreateRequestDto(seed, workout.getId());
         List<JsonDescription> mockJsonDescription = List.of(SharedUtil.createJsonDescription(1));
 
-        when(userApi.getUserById(user.getId())).thenReturn(user);
+        when(userApi.getUserByIdForUpdate(user.getId())).thenReturn(user);
         when(workoutApi.getWorkoutById(workout.getId())).thenReturn(workout);
         when(workoutPlanRepository.findByUserIdAndWorkoutId(user.getId(), requestDto.getWorkoutId()))
                 .thenReturn(Collections.EMPTY_LIST);
@@ -96,12 +107,13 @@ class WorkoutPlanServiceImplTest {
         WorkoutPlanResponseDto responseDto = workoutPlanService.createWorkoutPlan(requestDto, user.getId());
 
         // Then
-        verify(userApi, times(1)).getUserById(user.getId());
+        verify(userApi, times(1)).getUserByIdForUpdate(user.getId());
         verify(workoutApi, times(1)).getWorkoutById(workout.getId());
         verify(workoutPlanRepository, times(1)).findByUserIdAndWorkoutId(user.getId(), workout.getId());
         verify(jsonUtil, times(1)).deserializeJsonStringToJsonDescriptionList(anyString());
         verify(jsonUtil, times(1)).processJsonDescription(anyList(), any());
         verify(jsonUtil, times(1)).serializeJsonDescriptionList(anyList(), anyString());
+        verify(applicationEventPublisher, times(1)).publishEvent(any(PlanChangedEvent.class));
 
         assertEquals(workout.getId(), responseDto.getWorkoutId());
         assertEquals(requestDto.getStartDate(), responseDto.getStartDate());
@@ -120,7 +132,7 @@ class WorkoutPlanServiceImplTest {
         WorkoutPlanCreateRequestDto requestDto = dtoUtil.workoutPlanCreateRequestDto(seed, workout.getId());
         ApiException expectedException = new ApiException(ErrorMessage.ALREADY_EXISTS, 1L, HttpStatus.CONFLICT);
 
-        when(userApi.getUserById(user.getId())).thenReturn(user);
+        when(userApi.getUserByIdForUpdate(user.getId())).thenReturn(user);
         when(workoutApi.getWorkoutById(anyLong())).thenReturn(workout);
         when(workoutPlanRepository.findByUserIdAndWorkoutId(user.getId(), workout.getId()))
                 .thenReturn(List.of(workoutPlanAlreadyExists));
@@ -130,7 +142,7 @@ class WorkoutPlanServiceImplTest {
                 assertThrows(ApiException.class, () -> workoutPlanService.createWorkoutPlan(requestDto, user.getId()));
 
         // Then
-        verify(userApi, times(1)).getUserById(user.getId());
+        verify(userApi, times(1)).getUserByIdForUpdate(user.getId());
         verify(workoutApi, times(1)).getWorkoutById(workout.getId());
         verify(workoutPlanRepository, times(1)).findByUserIdAndWorkoutId(user.getId(), workout.getId());
 
@@ -138,6 +150,39 @@ class WorkoutPlanServiceImplTest {
         assertEquals(expectedException.getHttpStatus(), actualException.getHttpStatus());
     }
 
+    @Test
+    void createWorkoutPlan_shouldThrowException_whenScheduleOverlapsAnotherPlan() throws JsonProcessingException {
+        // Given
+        int seed = 1;
+        User user = testUtil.createUser(seed);
+        Workout workout = testUtil.createDefaultWorkout(seed);
+        WorkoutPlanCreateRequestDto requestDto = dtoUtil.workoutPlanCreateRequestDto(seed, workout.getId());
+        List<JsonDescription> mockJsonDescription = List.of(SharedUtil.createJsonDescription(1));
+        ApiException expectedException =
+                new ApiException(ErrorMessage.WORKOUT_PLAN_SCHEDULE_CONFLICT, 2L, HttpStatus.CONFLICT);
+
+        when(userApi.getUserByIdForUpdate(user.getId())).thenReturn(user);
+        when(workoutApi.getWorkoutById(workout.getId())).thenReturn(workout);
+        when(workoutPlanRepository.findByUserIdAndWorkoutId(user.getId(), requestDto.getWorkoutId()))
+                .thenReturn(Collections.EMPTY_LIST);
+        when(jsonUtil.deserializeJsonStringToJsonDescriptionList(anyString())).thenReturn(mockJsonDescription);
+        when(jsonUtil.processJsonDescription(anyList(), any())).thenReturn(mockJsonDescription);
+        when(workoutScheduleIndex.findConflictingPlanId(
+                        eq(user.getId()), eq(mockJsonDescription), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(Optional.of(2L));
+
+        // When
+        ApiException actualException =
+                assertThrows(ApiException.class, () -> workoutPlanService.createWorkoutPlan(requestDto, user.getId()));
+
+        // Then
+        verify(workoutPlanRepository, never()).save(any(WorkoutPlan.class));
+        verify(applicationEventPublisher, never()).publishEvent(any(Object.class));
+
+        assertEquals(expectedException.getMessageWithResourceId(), actualException.getMessageWithResourceId());
+        assertEquals(expectedException.getHttpStatus(), actualException.getHttpStatus());
+    }
+
     @Test
     void createWorkoutPlan_shouldThrowException_whenWorkoutNotFound() {
         // Given
@@ -147,7 +192,7 @@ class WorkoutPlanServiceImplTest {
         WorkoutPlanCreateRequestDto requestDto = dtoUtil.workoutPlanCreateRequestDto(seed, wrongWorkoutId);
         ApiException expected = new ApiException(ErrorMessage.WORKOUT_NOT_FOUND, null, HttpStatus.BAD_REQUEST);
 
-        when(userApi.getUserById(user.getId())).thenReturn(user);
+        when(userApi.getUserByIdForUpdate(user.getId())).thenReturn(user);
         when(workoutApi.getWorkoutById(wrongWorkoutId)).thenReturn(null);
 
         // When
@@ -155,7 +200,7 @@ class WorkoutPlanServiceImplTest {
                 assertThrows(ApiException.class, () -> workoutPlanService.createWorkoutPlan(requestDto, user.getId()));
 
         // Then
-        verify(userApi, times(1)).getUserById(user.getId());
+        verify(userApi, times(1)).getUserByIdForUpdate(user.getId());
         verify(workoutApi, times(1)).getWorkoutById(wrongWorkoutId);
         verify(workoutPlanRepository, times(0)).findByUserIdAndWorkoutId(user.getId(), wrongWorkoutId);
 
@@ -174,7 +219,7 @@ class WorkoutPlanServiceImplTest {
         requestDto.setStartDate(startDate);
         requestDto.setEndDate(endDate);
 
-        when(userApi.getUserById(user.getId())).thenReturn(user);
+        when(userApi.getUserByIdForUpdate(user.getId())).thenReturn(user);
         when(workoutApi.getWorkoutById(workout.getId())).thenReturn(workout);
 
         ApiException expected = new ApiException(ErrorMessage.INCORRECT_TIME, null, HttpStatus.BAD_REQUEST);
@@ -184,7 +229,7 @@ class WorkoutPlanServiceImplTest {
                 assertThrows(ApiException.class, () -> workoutPlanService.createWorkoutPlan(requestDto, user.getId()));
 
         // Then
-        verify(userApi, times(1)).getUserById(user.getId());
+        verify(userApi, times(1)).getUserByIdForUpdate(user.getId());
         verify(workoutApi, times(1)).getWorkoutById(workout.getId());
         verify(workoutPlanRepository, times(1)).findByUserIdAndWorkoutId(user.getId(), workout.getId());
 
@@ -192,6 +237,83 @@ class WorkoutPlanServiceImplTest {
         assertEquals(expected.getHttpStatus(), actual.getHttpStatus());
     }
 
+    @Test
+    void deactivateWorkoutPlan_shouldDeactivatePlanAndPublishEvent_whenPlanBelongsToUser() {
+        // Given
+        int seed = 1;
+        User user = testUtil.createUser(seed);
+        Workout workout = testUtil.createDefaultWorkout(seed);
+        WorkoutPlan workoutPlan = testUtil.createWorkoutPlan((long) seed, user, workout);
+
+        when(workoutPlanRepository.findById(workoutPlan.getId())).thenReturn(Optional.of(workoutPlan));
+
+        // When
+        workoutPlanService.deactivateWorkoutPlan(user.getId(), workoutPlan.getId());
+
+        // Then
+        ArgumentCaptor<PlanDeactivatedEvent> eventCaptor = ArgumentCaptor.forClass(PlanDeactivatedEvent.class);
+        verify(workoutPlanRepository, times(1)).save(workoutPlan);
+        verify(applicationEventPublisher, times(1)).publishEvent(eventCaptor.capture());
+
+        assertFalse(workoutPlan.getIsActive());
+        assertNotNull(workoutPlan.getDeactivatedAt());
+        assertEquals(user.getId(), eventCaptor.getValue().getUserId());
+        assertEquals(workoutPlan.getId(), eventCaptor.getValue().getPlanId());
+        assertEquals(workout.getId(), eventCaptor.getValue().getActivityId());
+    }
+
+    @Test
+    void deactivateWorkoutPlan_shouldThrowException_whenPlanAlreadyDeactivated() {
+        // Given
+        int seed = 1;
+        User user = testUtil.createUser(seed);
+        Workout workout = testUtil.createDefaultWorkout(seed);
+        WorkoutPlan workoutPlan = testUtil.createWorkoutPlan((long) seed, user, workout);
+        workoutPlan.setIsActive(false);
+        ApiException expectedException =
+                new ApiException(ErrorMessage.WORKOUT_PLAN_NOT_FOUND, workoutPlan.getId(), HttpStatus.NOT_FOUND);
+
+        when(workoutPlanRepository.findById(workoutPlan.getId())).thenReturn(Optional.of(workoutPlan));
+
+        // When
+        ApiException actualException = assertThrows(
+                ApiException.class,
+                () -> workoutPlanService.deactivateWorkoutPlan(user.getId(), workoutPlan.getId()));
+
+        // Then
+        verify(workoutPlanRepository, never()).save(any(WorkoutPlan.class));
+        verify(applicationEventPublisher, never()).publishEvent(any(Object.class));
+
+        assertEquals(expectedException.getMessageWithResourceId(), actualException.getMessageWithResourceId());
+        assertEquals(expectedException.getHttpStatus(), actualException.getHttpStatus());
+    }
+
+    @Test
+    void deactivateWorkoutPlan_shouldThrowException_whenPlanBelongsToAnotherUser() {
+        // Given
+        User user = testUtil.createUser(1);
+        User anotherUser = testUtil.createUser(2);
+        Workout workout = testUtil.createDefaultWorkout(1);
+        WorkoutPlan workoutPlan = testUtil.createWorkoutPlan(1L, anotherUser, workout);
+        ApiException expectedException = new ApiException(
+                ErrorMessage.USER_WORKOUT_PLAN_MISMATCH, workoutPlan.getId(), HttpStatus.BAD_REQUEST);
+
+        when(workoutPlanRepository.findById(workoutPlan.getId())).thenReturn(Optional.of(workoutPlan));
+
+        // When
+        ApiException actualException = assertThrows(
+                ApiException.class,
+                () -> workoutPlanService.deactivateWorkoutPlan(user.getId(), workoutPlan.getId()));
+
+        // Then
+        verify(workoutPlanRepository, never()).save(any(WorkoutPlan.class));
+        verify(applicationEventPublisher, never()).publishEvent(any(Object.class));
+        assertTrue(workoutPlan.getIsActive());
+
+        assertEquals(expectedException.getMessageWithResourceId(), actualException.getMessageWithResourceId());
+        assertEquals(expectedException.getHttpStatus(), actualException.getHttpStatus());
+    }
+
     static Stream<Arguments> createWorkoutPlanInvalidDate() {
         return Stream.of(
                 // Invalid start date
@@ -0,0 +1,99 @@
+package healthy.lifestyle.backend.plan.workout.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import healthy.lifestyle.backend.plan.shared.event.PlanChangedEvent;
+import healthy.lifestyle.backend.plan.workout.model.WorkoutPlan;
+import healthy.lifestyle.backend.plan.workout.repository.WorkoutPlanRepository;
+import healthy.lifestyle.backend.shared.util.JsonDescription;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class WorkoutScheduleIndexTest {
+    static final long USER_ID = 1L;
+
+    static final LocalDate START_DATE = LocalDate.of(2030, 1, 1);
+
+    static final LocalDate END_DATE = LocalDate.of(2030, 12, 31);
+
+    @InjectMocks
+    WorkoutScheduleIndex workoutScheduleIndex;
+
+    @Mock
+    WorkoutPlanRepository workoutPlanRepository;
+
+    @BeforeEach
+    void setUp() {
+        workoutScheduleIndex.slotDurationMinutes = 60;
+        workoutScheduleIndex.maxUsers = 10;
+    }
+
+    @Test
+    void findConflictingPlanId_shouldUseCachedTree_whenNoPlanChanged() {
+        // Given
+        when(workoutPlanRepository.getAcitveWorkoutPlans(USER_ID)).thenReturn(List.of(plan(10L, 9, 0)));
+
+        // When
+        Optional<Long> first = findConflict(9, 30);
+        Optional<Long> second = findConflict(10, 0);
+
+        // Then
+        assertEquals(Optional.of(10L), first);
+        assertEquals(Optional.empty(), second);
+        verify(workoutPlanRepository, times(1)).getAcitveWorkoutPlans(USER_ID);
+    }
+
+    @Test
+    void findConflictingPlanId_shouldNotCacheTree_whenPlanChangedWhileLoading() {
+        // Given
+        when(workoutPlanRepository.getAcitveWorkoutPlans(USER_ID))
+                .thenAnswer(invocation -> {
+                    // The plan change commits after the stale plans have been read
+                    workoutScheduleIndex.onPlanChanged(new PlanChangedEvent(USER_ID, 10L));
+                    return List.of();
+                })
+                .thenReturn(List.of(plan(10L, 9, 0)));
+
+        // When
+        Optional<Long> staleResult = findConflict(9, 0);
+        Optional<Long> reloadedResult = findConflict(9, 0);
+
+        // Then
+        assertEquals(Optional.empty(), staleResult);
+        assertEquals(Optional.of(10L), reloadedResult);
+        verify(workoutPlanRepository, times(2)).getAcitveWorkoutPlans(USER_ID);
+    }
+
+    private Optional<Long> findConflict(int hours, int minutes) {
+        return workoutScheduleIndex.findConflictingPlanId(
+                USER_ID, List.of(slot(hours, minutes)), START_DATE, END_DATE);
+    }
+
+    private WorkoutPlan plan(long id, int hours, int minutes) {
+        return WorkoutPlan.builder()
+                .id(id)
+                .startDate(START_DATE)
+                .endDate(END_DATE)
+                .isActive(true)
+                .jsonDescription(List.of(slot(hours, minutes)))
+                .build();
+    }
+
+    private JsonDescription slot(int hours, int minutes) {
+        return JsonDescription.builder()
+                .dayOfWeek(DayOfWeek.MONDAY)
+                .hours(hours)
+                .minutes(minutes)
+                .build();
+    }
+}
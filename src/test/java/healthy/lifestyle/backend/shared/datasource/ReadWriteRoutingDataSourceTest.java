@@ -0,0 +1,154 @@
+package healthy.lifestyle.backend.shared.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import jakarta.servlet.http.Cookie;
+import java.time.Clock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class ReadWriteRoutingDataSourceTest {
+    Clock clock = mock(Clock.class);
+
+    TransactionWriteDetector transactionWriteDetector = mock(TransactionWriteDetector.class);
+
+    ReadWriteRoutingDataSource routingDataSource =
+            new ReadWriteRoutingDataSource(new ReadYourWritesTracker(5000, clock), transactionWriteDetector);
+
+    MockHttpServletRequest request = new MockHttpServletRequest();
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @BeforeEach
+    void setUp() {
+        when(clock.millis()).thenReturn(1_000_000L);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void determineCurrentLookupKey_shouldRouteByTransactionReadOnlyFlag() {
+        // Given
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // When
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        DataSourceRoute readOnlyRoute = routingDataSource.determineCurrentLookupKey();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        DataSourceRoute readWriteRoute = routingDataSource.determineCurrentLookupKey();
+
+        // Then
+        assertEquals(DataSourceRoute.REPLICA, readOnlyRoute);
+        assertEquals(DataSourceRoute.PRIMARY, readWriteRoute);
+    }
+
+    @Test
+    void determineCurrentLookupKey_shouldRouteToPrimary_whenNoTransactionIsActive() {
+        // When
+        DataSourceRoute route = routingDataSource.determineCurrentLookupKey();
+
+        // Then
+        assertEquals(DataSourceRoute.PRIMARY, route);
+    }
+
+    @Test
+    void determineCurrentLookupKey_shouldMarkWriteOnCommit_whenTransactionHasWritten() {
+        // Given
+        when(transactionWriteDetector.hasWritten()).thenReturn(true);
+        beginTransaction(false);
+        routingDataSource.determineCurrentLookupKey();
+        assertNull(response.getHeader(HttpHeaders.SET_COOKIE));
+
+        // When
+        commit();
+        beginTransaction(true);
+        DataSourceRoute sameRequestRoute = routingDataSource.determineCurrentLookupKey();
+
+        // Then
+        String cookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        assertNotNull(cookie);
+        assertTrue(cookie.startsWith(ReadYourWritesTracker.COOKIE_NAME + "=1000000"), cookie);
+        assertEquals(DataSourceRoute.PRIMARY, sameRequestRoute);
+    }
+
+    @Test
+    void determineCurrentLookupKey_shouldNotMarkWrite_whenTransactionHasNotWritten() {
+        // Given
+        when(transactionWriteDetector.hasWritten()).thenReturn(false);
+        beginTransaction(false);
+        routingDataSource.determineCurrentLookupKey();
+
+        // When
+        commit();
+        beginTransaction(true);
+        DataSourceRoute route = routingDataSource.determineCurrentLookupKey();
+
+        // Then
+        assertNull(response.getHeader(HttpHeaders.SET_COOKIE));
+        assertEquals(DataSourceRoute.REPLICA, route);
+    }
+
+    @Test
+    void determineCurrentLookupKey_shouldKeepReadsOnPrimary_whileLastWriteCookieIsFresh() {
+        // Given
+        request.setCookies(new Cookie(ReadYourWritesTracker.COOKIE_NAME, "1000000"));
+        beginTransaction(true);
+
+        // When
+        when(clock.millis()).thenReturn(1_004_999L);
+        DataSourceRoute stickyRoute = routingDataSource.determineCurrentLookupKey();
+        when(clock.millis()).thenReturn(1_005_000L);
+        DataSourceRoute expiredRoute = routingDataSource.determineCurrentLookupKey();
+        request.setCookies(new Cookie(ReadYourWritesTracker.COOKIE_NAME, "9999999"));
+        DataSourceRoute forgedRoute = routingDataSource.determineCurrentLookupKey();
+
+        // Then
+        assertEquals(DataSourceRoute.PRIMARY, stickyRoute);
+        assertEquals(DataSourceRoute.REPLICA, expiredRoute);
+        assertEquals(DataSourceRoute.REPLICA, forgedRoute);
+        verifyNoInteractions(transactionWriteDetector);
+    }
+
+    @Test
+    void isCurrentTransactionOnReplica_shouldBeTrue_onlyAfterReplicaHasBeenChosen() {
+        // Given
+        beginTransaction(true);
+        assertFalse(ReadWriteRoutingDataSource.isCurrentTransactionOnReplica());
+
+        // When
+        routingDataSource.determineCurrentLookupKey();
+
+        // Then
+        assertTrue(ReadWriteRoutingDataSource.isCurrentTransactionOnReplica());
+    }
+
+    private void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.clear();
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private void commit() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.beforeCommit(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+    }
+}
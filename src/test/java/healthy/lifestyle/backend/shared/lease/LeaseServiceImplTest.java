@@ -0,0 +1,50 @@
+package healthy.lifestyle.backend.shared.lease;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class LeaseServiceImplTest {
+    @Test
+    void getOwnedShards_shouldSpreadShardsOverLiveNodes() {
+        // Given
+        List<String> liveNodes = List.of("node-1", "node-2", "node-3");
+        List<Integer> allShards = new ArrayList<>();
+
+        for (String nodeId : liveNodes) {
+            LeaseServiceImpl leaseService = leaseService(nodeId, liveNodes);
+
+            // When
+            List<Integer> shards = leaseService.getOwnedShards("job", 16);
+
+            // Then
+            assertTrue(shards.size() == 5 || shards.size() == 6);
+            allShards.addAll(shards);
+        }
+        assertEquals(16, allShards.size());
+        assertEquals(16, allShards.stream().distinct().count());
+    }
+
+    @Test
+    void getOwnedShards_shouldReturnNoShards_whenNodeIsNotLive() {
+        // Given
+        LeaseServiceImpl leaseService = leaseService("node-4", List.of("node-1", "node-2"));
+
+        // When
+        List<Integer> shards = leaseService.getOwnedShards("job", 16);
+
+        // Then
+        assertTrue(shards.isEmpty());
+    }
+
+    private LeaseServiceImpl leaseService(String nodeId, List<String> liveNodes) {
+        LeaseServiceImpl leaseService = new LeaseServiceImpl(nodeId);
+        leaseService.schedulerLeaseRepository = mock(SchedulerLeaseRepository.class);
+        when(leaseService.schedulerLeaseRepository.findLiveHolders(LeaseServiceImpl.NODE_LEASE_PREFIX))
+                .thenReturn(liveNodes);
+        return leaseService;
+    }
+}
@@ -0,0 +1,142 @@
+package healthy.lifestyle.backend.shared.lease;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.firebase.messaging.FirebaseMessaging;
+import healthy.lifestyle.backend.testconfig.BeanConfig;
+import healthy.lifestyle.backend.testconfig.ContainerConfig;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@SpringBootTest(properties = "scheduler.lease.heartbeat-interval-ms=3600000")
+@Testcontainers
+@Import(BeanConfig.class)
+class SchedulerLeaseRepositoryTest {
+    @MockBean
+    FirebaseMessaging firebaseMessaging;
+
+    @Container
+    static PostgreSQLContainer<?> postgresqlContainer =
+            new PostgreSQLContainer<>(DockerImageName.parse(ContainerConfig.POSTGRES));
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresqlContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresqlContainer::getUsername);
+        registry.add("spring.datasource.password", postgresqlContainer::getPassword);
+    }
+
+    static final String LEASE = "test-lease";
+
+    static final LocalDateTime LONG_AGO = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    @Autowired
+    SchedulerLeaseRepository schedulerLeaseRepository;
+
+    @BeforeEach
+    void beforeEach() {
+        schedulerLeaseRepository.deleteAll();
+    }
+
+    @Test
+    void tryAcquireTest_shouldTakeFreeLeaseForTtlFromDatabaseClock() {
+        // When
+        int acquired = schedulerLeaseRepository.tryAcquire(LEASE, "node-1", 60);
+
+        // Then
+        assertEquals(1, acquired);
+        SchedulerLease lease = schedulerLeaseRepository.findById(LEASE).orElseThrow();
+        assertEquals("node-1", lease.getHolder());
+        assertEquals(lease.getAcquiredAt(), lease.getRenewedAt());
+        assertEquals(Duration.ofSeconds(60), Duration.between(lease.getRenewedAt(), lease.getExpiresAt()));
+    }
+
+    @Test
+    void tryAcquireTest_shouldRenewLease_whenHolderHasIt() {
+        // Given
+        schedulerLeaseRepository.tryAcquire(LEASE, "node-1", 60);
+        SchedulerLease acquiredLease = schedulerLeaseRepository.findById(LEASE).orElseThrow();
+
+        // When
+        int acquired = schedulerLeaseRepository.tryAcquire(LEASE, "node-1", 120);
+
+        // Then
+        assertEquals(1, acquired);
+        SchedulerLease lease = schedulerLeaseRepository.findById(LEASE).orElseThrow();
+        assertEquals("node-1", lease.getHolder());
+        assertEquals(acquiredLease.getAcquiredAt(), lease.getAcquiredAt());
+        assertFalse(lease.getRenewedAt().isBefore(acquiredLease.getRenewedAt()));
+        assertEquals(Duration.ofSeconds(120), Duration.between(lease.getRenewedAt(), lease.getExpiresAt()));
+        assertEquals(1, lease.getRenewals());
+        assertEquals(0, lease.getFailovers());
+    }
+
+    @Test
+    void tryAcquireTest_shouldNotTakeLease_whenAnotherNodeHasIt() {
+        // Given
+        schedulerLeaseRepository.tryAcquire(LEASE, "node-1", 60);
+
+        // When
+        int acquired = schedulerLeaseRepository.tryAcquire(LEASE, "node-2", 60);
+
+        // Then
+        assertEquals(0, acquired);
+        assertEquals("node-1", schedulerLeaseRepository.findById(LEASE).orElseThrow().getHolder());
+    }
+
+    @Test
+    void tryAcquireTest_shouldFailOver_whenLeaseHasExpired() {
+        // Given
+        schedulerLeaseRepository.save(expiredLease(LEASE, "node-1"));
+
+        // When
+        int acquired = schedulerLeaseRepository.tryAcquire(LEASE, "node-2", 60);
+
+        // Then
+        assertEquals(1, acquired);
+        SchedulerLease lease = schedulerLeaseRepository.findById(LEASE).orElseThrow();
+        assertEquals("node-2", lease.getHolder());
+        assertTrue(lease.getAcquiredAt().isAfter(LONG_AGO));
+        assertEquals(0, lease.getRenewals());
+        assertEquals(1, lease.getFailovers());
+    }
+
+    @Test
+    void findLiveHoldersTest_shouldSkipExpiredAndReleasedLeases() {
+        // Given
+        schedulerLeaseRepository.tryAcquire("test:node-1", "node-1", 60);
+        schedulerLeaseRepository.tryAcquire("test:node-2", "node-2", 60);
+        schedulerLeaseRepository.save(expiredLease("test:node-3", "node-3"));
+
+        // When
+        int released = schedulerLeaseRepository.releaseAll("node-2");
+        List<String> liveHolders = schedulerLeaseRepository.findLiveHolders("test:");
+
+        // Then
+        assertEquals(1, released);
+        assertEquals(List.of("node-1"), liveHolders);
+    }
+
+    private SchedulerLease expiredLease(String name, String holder) {
+        return SchedulerLease.builder()
+                .name(name)
+                .holder(holder)
+                .acquiredAt(LONG_AGO)
+                .renewedAt(LONG_AGO)
+                .expiresAt(LONG_AGO.plusMinutes(1))
+                .build();
+    }
+}
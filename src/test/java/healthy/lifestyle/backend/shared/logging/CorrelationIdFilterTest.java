@@ -0,0 +1,45 @@
+package healthy.lifestyle.backend.shared.logging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class CorrelationIdFilterTest {
+    CorrelationIdFilter correlationIdFilter = new CorrelationIdFilter();
+
+    @Test
+    void doFilter_shouldPutRequestIdIntoMdcWhileHandlingRequest() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(CorrelationIdFilter.HEADER, "request-1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> requestIdInChain = new AtomicReference<>();
+
+        // When
+        correlationIdFilter.doFilter(
+                request, response, (req, res) -> requestIdInChain.set(MDC.get(CorrelationIdFilter.MDC_KEY)));
+
+        // Then
+        assertEquals("request-1", requestIdInChain.get());
+        assertEquals("request-1", response.getHeader(CorrelationIdFilter.HEADER));
+        assertNull(MDC.get(CorrelationIdFilter.MDC_KEY));
+    }
+
+    @Test
+    void doFilter_shouldGenerateRequestId_whenHeaderIsMissing() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        correlationIdFilter.doFilter(new MockHttpServletRequest(), response, new MockFilterChain());
+
+        // Then
+        assertNotNull(response.getHeader(CorrelationIdFilter.HEADER));
+        assertEquals(36, response.getHeader(CorrelationIdFilter.HEADER).length());
+    }
+}
@@ -0,0 +1,115 @@
+package healthy.lifestyle.backend.shared.logging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MeteredAsyncAppenderTest {
+    static final long TIMEOUT_MS = 5_000;
+
+    LoggerContext loggerContext = new LoggerContext();
+
+    Logger logger = loggerContext.getLogger(MeteredAsyncAppenderTest.class);
+
+    BlockingAppender blockingAppender = new BlockingAppender();
+
+    MeteredAsyncAppender meteredAsyncAppender = new MeteredAsyncAppender();
+
+    @BeforeEach
+    void setUp() {
+        blockingAppender.setContext(loggerContext);
+        blockingAppender.start();
+
+        // Queue of 4, INFO and below are discarded once fewer than 2 slots are left
+        meteredAsyncAppender.setContext(loggerContext);
+        meteredAsyncAppender.setQueueSize(4);
+        meteredAsyncAppender.setDiscardingThreshold(2);
+        meteredAsyncAppender.setNeverBlock(true);
+        meteredAsyncAppender.addAppender(blockingAppender);
+        meteredAsyncAppender.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockingAppender.release.countDown();
+        meteredAsyncAppender.stop();
+    }
+
+    @Test
+    void append_shouldCountDiscardedInfoEvents_whenQueueIsBelowDiscardingThreshold() throws Exception {
+        // Given
+        blockWorker();
+        append(Level.INFO);
+        append(Level.INFO);
+        append(Level.INFO);
+        long droppedBefore = MeteredAsyncAppender.getDroppedCount();
+
+        // When
+        append(Level.INFO);
+        append(Level.DEBUG);
+
+        // Then
+        assertEquals(droppedBefore + 2, MeteredAsyncAppender.getDroppedCount());
+    }
+
+    @Test
+    void append_shouldKeepWarnEventsBelowDiscardingThresholdAndCountThemOnlyWhenQueueIsFull() throws Exception {
+        // Given
+        blockWorker();
+        append(Level.INFO);
+        append(Level.INFO);
+        append(Level.INFO);
+        long droppedBefore = MeteredAsyncAppender.getDroppedCount();
+
+        // When
+        append(Level.WARN);
+        long droppedBelowThreshold = MeteredAsyncAppender.getDroppedCount();
+        append(Level.WARN);
+        append(Level.ERROR);
+
+        // Then
+        assertEquals(droppedBefore, droppedBelowThreshold);
+        assertEquals(droppedBefore + 2, MeteredAsyncAppender.getDroppedCount());
+    }
+
+    /**
+     * Lets the worker take the first event and block in the child appender, the queue stays empty.
+     */
+    private void blockWorker() throws InterruptedException {
+        append(Level.ERROR);
+        assertTrue(blockingAppender.blocked.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertEquals(4, meteredAsyncAppender.getRemainingCapacity());
+    }
+
+    private void append(Level level) {
+        LoggingEvent event = new LoggingEvent(
+                MeteredAsyncAppenderTest.class.getName(), logger, level, "Message " + level, null, null);
+        meteredAsyncAppender.doAppend(event);
+    }
+
+    private static class BlockingAppender extends AppenderBase<ILoggingEvent> {
+        private final CountDownLatch blocked = new CountDownLatch(1);
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
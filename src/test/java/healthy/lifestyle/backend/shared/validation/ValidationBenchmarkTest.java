@@ -0,0 +1,136 @@
+package healthy.lifestyle.backend.shared.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import healthy.lifestyle.backend.user.validation.LegacyValidators;
+import healthy.lifestyle.backend.user.validation.UserValidationUtil;
+import healthy.lifestyle.backend.user.validation.ValidationInputs;
+import java.util.List;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Times the lookup-table validators against the char[] scanners they replaced, LegacyValidators,
+ * on realistic inputs mixed with random ones. That both give the same results is checked by
+ * LegacyValidatorsEquivalenceTest. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class ValidationBenchmarkTest {
+    static final int INPUTS = 20_000;
+
+    static final int WARMUP_ROUNDS = 20;
+
+    static final int ROUNDS = 50;
+
+    final ValidationUtil validationUtil = new ValidationUtil();
+
+    final UserValidationUtil userValidationUtil = new UserValidationUtil();
+
+    final LegacyValidators legacy = new LegacyValidators();
+
+    @Test
+    void title() {
+        compare(
+                "title",
+                inputs(new String[] {"Morning stretching", "Push-ups (advanced)", "Yoga 1.5/2"}),
+                legacy::isValidTitle,
+                validationUtil::isValidTitle);
+    }
+
+    @Test
+    void description() {
+        compare(
+                "description",
+                inputs(new String[] {
+                    "Keep your back straight, breathe in; hold for 10 seconds!",
+                    "Warm-up: 5 min jogging + stretching (optional)",
+                    "\"Plank\" - 3 sets, 45% effort?"
+                }),
+                legacy::isValidDescription,
+                validationUtil::isValidDescription);
+    }
+
+    @Test
+    void webLink() {
+        compare(
+                "webLink",
+                inputs(new String[] {"https://youtube", "http://example.com", "https://www.example.com/video"}),
+                legacy::isValidWebLink,
+                validationUtil::isValidWebLink);
+    }
+
+    @Test
+    void email() {
+        compare(
+                "email",
+                inputs(new String[] {"john.doe@mail.com", "user_1@my-host.org", "ab@cd.", "a@@b.cd", " x@yz.io "}),
+                legacy::isValidEmail,
+                userValidationUtil::isValidEmail);
+    }
+
+    @Test
+    void username() {
+        compare(
+                "username",
+                inputs(new String[] {"john.doe", "user_123", "some-name"}),
+                legacy::isValidUsername,
+                userValidationUtil::isValidUsername);
+    }
+
+    @Test
+    void fullName() {
+        compare(
+                "fullName",
+                inputs(new String[] {"John Doe", "Jane Mary Smith", "Li"}),
+                legacy::isValidFullName,
+                userValidationUtil::isValidFullName);
+    }
+
+    @Test
+    void password() {
+        compare(
+                "password",
+                inputs(new String[] {"Str0ng-Passw0rd!", "qwerty_1234$", "a<b>c:d;e^f&g*"}),
+                legacy::isValidPassword,
+                userValidationUtil::isValidPassword);
+    }
+
+    private void compare(String name, List<String> inputs, Predicate<String> legacyCheck, Predicate<String> check) {
+        // Inputs the legacy check fails on with an exception would time the exception
+        List<String> validInputs =
+                inputs.stream().filter(input -> safeTest(legacyCheck, input)).toList();
+        double legacyNanos = measure(validInputs, legacyCheck);
+        double nanos = measure(validInputs, check);
+        System.out.printf(
+                "%-12s legacy=%8.1f ns/op  table=%8.1f ns/op  speedup=%.1fx  (%d inputs)%n",
+                name, legacyNanos, nanos, legacyNanos / nanos, validInputs.size());
+    }
+
+    private static double measure(List<String> inputs, Predicate<String> check) {
+        int sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (String input : inputs) if (check.test(input)) sink++;
+        }
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (String input : inputs) if (check.test(input)) sink++;
+        }
+        long elapsed = System.nanoTime() - start;
+        assertTrue(sink >= 0);
+        return (double) elapsed / ((long) ROUNDS * Math.max(1, inputs.size()));
+    }
+
+    private static List<String> inputs(String[] realistic) {
+        return ValidationInputs.mixed(realistic, INPUTS);
+    }
+
+    private static boolean safeTest(Predicate<String> check, String input) {
+        try {
+            check.test(input);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
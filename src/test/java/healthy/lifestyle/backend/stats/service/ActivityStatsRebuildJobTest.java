@@ -0,0 +1,112 @@
+package healthy.lifestyle.backend.stats.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import healthy.lifestyle.backend.calendar.service.ActivityHeatmapService;
+import healthy.lifestyle.backend.exception.ApiException;
+import healthy.lifestyle.backend.exception.ErrorMessage;
+import healthy.lifestyle.backend.stats.dto.ActivityStatsRebuildState;
+import healthy.lifestyle.backend.stats.dto.ActivityStatsRebuildStatusDto;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityStatsRebuildJobTest {
+    static final long TIMEOUT_MS = 5_000;
+
+    @InjectMocks
+    ActivityStatsRebuildJob activityStatsRebuildJob;
+
+    @Mock
+    ActivityStatsService activityStatsService;
+
+    @Mock
+    ActivityHeatmapService activityHeatmapService;
+
+    @AfterEach
+    void tearDown() {
+        activityStatsRebuildJob.shutdown();
+    }
+
+    @Test
+    void start_shouldRebuildInBackgroundAndRejectConcurrentRun() throws Exception {
+        // Given
+        CountDownLatch rebuildStarted = new CountDownLatch(1);
+        CountDownLatch releaseRebuild = new CountDownLatch(1);
+        when(activityStatsService.getUserIdsWithCompletions()).thenReturn(List.of(1L, 2L));
+        doAnswer(invocation -> {
+                    rebuildStarted.countDown();
+                    releaseRebuild.await();
+                    return null;
+                })
+                .when(activityStatsService)
+                .rebuildUserStats(1L);
+        doThrow(new IllegalStateException("Broken record")).when(activityStatsService).rebuildUserStats(2L);
+
+        // When
+        ActivityStatsRebuildStatusDto started = activityStatsRebuildJob.start();
+        assertTrue(rebuildStarted.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        ApiException exception = assertThrows(ApiException.class, () -> activityStatsRebuildJob.start());
+        ActivityStatsRebuildStatusDto running = activityStatsRebuildJob.getStatus(started.getJobId());
+        releaseRebuild.countDown();
+
+        // Then
+        assertEquals(ActivityStatsRebuildState.RUNNING, started.getState());
+        assertEquals(ErrorMessage.STATS_REBUILD_ALREADY_RUNNING.getName(), exception.getMessage());
+        assertEquals(HttpStatus.CONFLICT.value(), exception.getHttpStatusValue());
+        assertEquals(ActivityStatsRebuildState.RUNNING, running.getState());
+        assertEquals(2, running.getTotalUsers());
+
+        ActivityStatsRebuildStatusDto finished = awaitFinished(started.getJobId());
+        assertEquals(ActivityStatsRebuildState.COMPLETED, finished.getState());
+        assertEquals(1, finished.getRebuiltUsers());
+        assertEquals(1, finished.getFailedUsers());
+        assertNotNull(finished.getFinishedAt());
+        assertNotEquals(started.getJobId(), activityStatsRebuildJob.start().getJobId());
+    }
+
+    @Test
+    void rebuildAll_shouldBackfillHeatmapOfEveryRebuiltUser() {
+        // Given
+        when(activityStatsService.getUserIdsWithCompletions()).thenReturn(List.of(1L, 2L, 3L));
+        doThrow(new IllegalStateException("Broken record")).when(activityStatsService).rebuildUserStats(2L);
+
+        // When
+        int rebuilt = activityStatsRebuildJob.rebuildAll();
+
+        // Then
+        assertEquals(2, rebuilt);
+        verify(activityHeatmapService, times(1)).backfillActiveDays(1L);
+        verify(activityHeatmapService, never()).backfillActiveDays(2L);
+        verify(activityHeatmapService, times(1)).backfillActiveDays(3L);
+    }
+
+    @Test
+    void getStatus_shouldThrowNotFound_whenJobIsUnknown() {
+        // When
+        ApiException exception = assertThrows(ApiException.class, () -> activityStatsRebuildJob.getStatus("unknown"));
+
+        // Then
+        assertEquals(ErrorMessage.STATS_REBUILD_NOT_FOUND.getName(), exception.getMessage());
+        assertEquals(HttpStatus.NOT_FOUND.value(), exception.getHttpStatusValue());
+    }
+
+    private ActivityStatsRebuildStatusDto awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        ActivityStatsRebuildStatusDto status = activityStatsRebuildJob.getStatus(jobId);
+        while (status.getState() == ActivityStatsRebuildState.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            status = activityStatsRebuildJob.getStatus(jobId);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,196 @@
+package healthy.lifestyle.backend.stats.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import healthy.lifestyle.backend.activity.workout.model.Exercise;
+import healthy.lifestyle.backend.activity.workout.model.Workout;
+import healthy.lifestyle.backend.plan.workout.model.WorkoutCompletionRecord;
+import healthy.lifestyle.backend.stats.dto.ActivityStatsResponseDto;
+import healthy.lifestyle.backend.stats.model.UserActivityStats;
+import healthy.lifestyle.backend.stats.repository.*;
+import healthy.lifestyle.backend.testutil.TestUtil;
+import healthy.lifestyle.backend.user.api.UserApiImpl;
+import healthy.lifestyle.backend.user.model.Timezone;
+import healthy.lifestyle.backend.user.model.User;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityStatsServiceImplTest {
+    @InjectMocks
+    ActivityStatsServiceImpl activityStatsService;
+
+    @Mock
+    UserActivityStatsRepository userActivityStatsRepository;
+
+    @Mock
+    UserDailyActivityStatsRepository userDailyActivityStatsRepository;
+
+    @Mock
+    UserBodyPartStatsRepository userBodyPartStatsRepository;
+
+    @Mock
+    UserApiImpl userApi;
+
+    TestUtil testUtil = new TestUtil();
+
+    @Test
+    void addCompletionRecords_shouldExtendStreakIncrementally_whenDaysFollowLastActiveDate() {
+        // Given
+        User user = testUtil.createUser(1);
+        LocalDate lastActiveDate = LocalDate.of(2024, 2, 5);
+        UserActivityStats stats = UserActivityStats.builder()
+                .id(1L)
+                .user(user)
+                .currentStreak(3)
+                .longestStreak(3)
+                .lastActiveDate(lastActiveDate)
+                .workoutsCompleted(3)
+                .exercisesCompleted(0)
+                .build();
+        List<WorkoutCompletionRecord> records = List.of(
+                record(11L, user, null, lastActiveDate.plusDays(2)),
+                record(10L, user, null, lastActiveDate.plusDays(1)),
+                record(12L, user, testUtil.createDefaultExercise(1), lastActiveDate.plusDays(2)));
+
+        when(userActivityStatsRepository.findByUserIdForUpdate(user.getId())).thenReturn(Optional.of(stats));
+
+        // When
+        activityStatsService.addCompletionRecords(user.getId(), records);
+
+        // Then
+        verify(userActivityStatsRepository, times(1)).insertIfAbsent(user.getId());
+        verify(userDailyActivityStatsRepository, times(1)).addCompletionRecords(List.of(11L, 10L, 12L));
+        verify(userBodyPartStatsRepository, times(1)).addCompletionRecords(List.of(11L, 10L, 12L));
+        verify(userDailyActivityStatsRepository, never()).getSummary(anyLong());
+        verify(userActivityStatsRepository, times(1)).save(stats);
+
+        assertEquals(5, stats.getCurrentStreak());
+        assertEquals(5, stats.getLongestStreak());
+        assertEquals(lastActiveDate.plusDays(2), stats.getLastActiveDate());
+        assertEquals(5, stats.getWorkoutsCompleted());
+        assertEquals(1, stats.getExercisesCompleted());
+    }
+
+    @Test
+    void addCompletionRecords_shouldRecomputeStreaksFromDailyBuckets_whenDayIsBackfilled() {
+        // Given
+        User user = testUtil.createUser(1);
+        LocalDate lastActiveDate = LocalDate.of(2024, 2, 5);
+        UserActivityStats stats = UserActivityStats.builder()
+                .id(1L)
+                .user(user)
+                .currentStreak(1)
+                .longestStreak(2)
+                .lastActiveDate(lastActiveDate)
+                .workoutsCompleted(3)
+                .exercisesCompleted(0)
+                .build();
+        List<WorkoutCompletionRecord> records = List.of(record(10L, user, null, lastActiveDate.minusDays(1)));
+        ActivityStatsSummary summary = mock(ActivityStatsSummary.class);
+
+        when(userActivityStatsRepository.findByUserIdForUpdate(user.getId())).thenReturn(Optional.of(stats));
+        when(userDailyActivityStatsRepository.getSummary(user.getId())).thenReturn(summary);
+        when(summary.getCurrentStreak()).thenReturn(4);
+        when(summary.getLongestStreak()).thenReturn(4);
+        when(summary.getLastActiveDate()).thenReturn(lastActiveDate);
+
+        // When
+        activityStatsService.addCompletionRecords(user.getId(), records);
+
+        // Then
+        verify(userActivityStatsRepository, times(1)).save(stats);
+        assertEquals(4, stats.getCurrentStreak());
+        assertEquals(4, stats.getLongestStreak());
+        assertEquals(lastActiveDate, stats.getLastActiveDate());
+        assertEquals(4, stats.getWorkoutsCompleted());
+    }
+
+    @Test
+    void getStats_shouldResetCurrentStreak_whenUserWasNotActiveTodayOrYesterday() {
+        // Given
+        User user = testUtil.createUser(1);
+        user.setTimezone(Timezone.builder().id(1L).name("UTC").build());
+        LocalDate today = LocalDate.now(ZoneId.of("UTC"));
+        UserActivityStats stats = UserActivityStats.builder()
+                .id(1L)
+                .user(user)
+                .currentStreak(6)
+                .longestStreak(8)
+                .lastActiveDate(today.minusDays(2))
+                .workoutsCompleted(20)
+                .exercisesCompleted(7)
+                .build();
+        ActivityPeriodTotals periodTotals = mock(ActivityPeriodTotals.class);
+
+        when(userApi.getUserById(user.getId())).thenReturn(user);
+        when(userBodyPartStatsRepository.findByUserId(user.getId())).thenReturn(Collections.emptyList());
+        when(userActivityStatsRepository.findByUserId(user.getId())).thenReturn(Optional.of(stats));
+        when(userDailyActivityStatsRepository.getPeriodTotals(
+                        eq(user.getId()), any(LocalDate.class), eq(today.withDayOfMonth(1)), eq(today)))
+                .thenReturn(periodTotals);
+        when(periodTotals.getWorkoutsThisMonth()).thenReturn(5L);
+
+        // When
+        ActivityStatsResponseDto responseDto = activityStatsService.getStats(user.getId());
+
+        // Then
+        assertEquals(0, responseDto.getCurrentStreak());
+        assertEquals(8, responseDto.getLongestStreak());
+        assertEquals(today.minusDays(2), responseDto.getLastActiveDate());
+        assertEquals(20, responseDto.getWorkoutsCompleted());
+        assertEquals(7, responseDto.getExercisesCompleted());
+        assertEquals(5, responseDto.getWorkoutsThisMonth());
+        assertTrue(responseDto.getBodyParts().isEmpty());
+    }
+
+    @Test
+    void getStats_shouldKeepStreakAndPeriodsInUserDates_whenUserIsAheadOfDatabaseZone() {
+        // Given
+        User user = testUtil.createUser(1);
+        user.setTimezone(Timezone.builder().id(1L).name("Pacific/Kiritimati").build());
+        LocalDate userToday = LocalDate.now(ZoneId.of("Pacific/Kiritimati"));
+        UserActivityStats stats = UserActivityStats.builder()
+                .id(1L)
+                .user(user)
+                .currentStreak(3)
+                .longestStreak(3)
+                .lastActiveDate(userToday.minusDays(1))
+                .build();
+        ActivityPeriodTotals periodTotals = mock(ActivityPeriodTotals.class);
+
+        when(userApi.getUserById(user.getId())).thenReturn(user);
+        when(userBodyPartStatsRepository.findByUserId(user.getId())).thenReturn(Collections.emptyList());
+        when(userActivityStatsRepository.findByUserId(user.getId())).thenReturn(Optional.of(stats));
+        when(userDailyActivityStatsRepository.getPeriodTotals(
+                        eq(user.getId()), any(LocalDate.class), eq(userToday.withDayOfMonth(1)), eq(userToday)))
+                .thenReturn(periodTotals);
+
+        // When
+        ActivityStatsResponseDto responseDto = activityStatsService.getStats(user.getId());
+
+        // Then
+        assertEquals(3, responseDto.getCurrentStreak());
+        assertEquals(userToday.minusDays(1), responseDto.getLastActiveDate());
+    }
+
+    private WorkoutCompletionRecord record(long id, User user, Exercise exercise, LocalDate completedAt) {
+        Workout workout = testUtil.createDefaultWorkout(1, Collections.emptyList());
+        return WorkoutCompletionRecord.builder()
+                .id(id)
+                .user(user)
+                .workout(workout)
+                .exercise(exercise)
+                .completedAt(completedAt)
+                .build();
+    }
+}
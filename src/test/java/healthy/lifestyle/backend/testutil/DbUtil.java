@@ -23,9 +23,15 @@ import healthy.lifestyle.backend.activity.workout.repository.BodyPartRepository;
 import healthy.lifestyle.backend.activity.workout.repository.ExerciseRepository;
 import healthy.lifestyle.backend.activity.workout.repository.HttpRefRepository;
 import healthy.lifestyle.backend.activity.workout.repository.WorkoutRepository;
+import healthy.lifestyle.backend.calendar.repository.ActivityHeatmapRepository;
+import healthy.lifestyle.backend.notification.outbox.NotificationOutboxRepository;
 import healthy.lifestyle.backend.plan.workout.model.WorkoutPlan;
+import healthy.lifestyle.backend.plan.workout.repository.WorkoutCompletionRecordRepository;
 import healthy.lifestyle.backend.plan.workout.repository.WorkoutPlanRepository;
 import healthy.lifestyle.backend.shared.util.JsonDescription;
+import healthy.lifestyle.backend.stats.repository.UserActivityStatsRepository;
+import healthy.lifestyle.backend.stats.repository.UserBodyPartStatsRepository;
+import healthy.lifestyle.backend.stats.repository.UserDailyActivityStatsRepository;
 import healthy.lifestyle.backend.user.model.Country;
 import healthy.lifestyle.backend.user.model.Role;
 import healthy.lifestyle.backend.user.model.Timezone;
@@ -75,6 +81,24 @@ public class DbUtil implements Util {
     @Autowired
     WorkoutPlanRepository workoutPlanRepository;
 
+    @Autowired
+    WorkoutCompletionRecordRepository workoutCompletionRecordRepository;
+
+    @Autowired
+    ActivityHeatmapRepository activityHeatmapRepository;
+
+    @Autowired
+    NotificationOutboxRepository notificationOutboxRepository;
+
+    @Autowired
+    UserActivityStatsRepository userActivityStatsRepository;
+
+    @Autowired
+    UserDailyActivityStatsRepository userDailyActivityStatsRepository;
+
+    @Autowired
+    UserBodyPartStatsRepository userBodyPartStatsRepository;
+
     @Autowired
     MentalActivityRepository mentalRepository;
 
@@ -99,6 +123,12 @@ public class DbUtil implements Util {
 
     @Transactional
     public void deleteAll() {
+        notificationOutboxRepository.deleteAll();
+        activityHeatmapRepository.deleteAll();
+        userBodyPartStatsRepository.deleteAll();
+        userDailyActivityStatsRepository.deleteAll();
+        userActivityStatsRepository.deleteAll();
+        workoutCompletionRecordRepository.deleteAll();
         workoutPlanRepository.deleteAll();
         workoutRepository.deleteAll();
         exerciseRepository.deleteAll();
@@ -378,6 +408,10 @@ public class DbUtil implements Util {
         return workoutRepository.findById(id).orElse(null);
     }
 
+    public WorkoutPlan getWorkoutPlanById(long id) {
+        return workoutPlanRepository.findById(id).orElse(null);
+    }
+
     @Override
     public MentalActivity createDefaultMentalActivity(int seed, List<HttpRef> httpRefs, MentalType mentalType) {
         return this.createMentalActivityBase(seed, false, httpRefs, null, mentalType);
@@ -58,6 +58,8 @@ public class URL {
 
     public static final String WORKOUT_PLANS = "/api/v1/calendar/workouts/plans";
 
+    public static final String WORKOUT_PLAN_ID = "/api/v1/calendar/workouts/plans/{planId}";
+
     public static final String DEFAULT_MENTAL_WORKOUT_ID = "/api/v1/mental_workouts/default/{mental_workout_id}";
 
     public static final String CUSTOM_MENTAL_WORKOUT_ID = "/api/v1/mental_workouts/{mental_workout_id}";
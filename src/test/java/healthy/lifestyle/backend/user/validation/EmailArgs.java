@@ -18,7 +18,10 @@ public class EmailArgs {
         "ab@cd@.ef",
         "a b@cd.ef",
         "ab@c d.ef",
-        "ab@cd.e f"
+        "ab@cd.e f",
+        "ab@",
+        "ab@cd.",
+        "@cd.ef"
     };
 
     private static final Object[] nullOrBlankEmails = new Object[] {null, "", " ", "  "};
@@ -0,0 +1,124 @@
+package healthy.lifestyle.backend.user.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The char[] scanners of ValidationUtil and UserValidationUtil the lookup tables replaced.
+ * Kept as the reference the lookup tables are compared with.
+ */
+public class LegacyValidators {
+    private final char[] alphabet = new char[] {
+        'a', 'b', 'c', 'd', 'e', 'f', 'g', 'h', 'i', 'j', 'k', 'l', 'm',
+        'n', 'o', 'p', 'q', 'r', 's', 't', 'u', 'v', 'w', 'x', 'y', 'z',
+        'A', 'B', 'C', 'D', 'E', 'F', 'G', 'H', 'I', 'J', 'K', 'L', 'M',
+        'N', 'O', 'P', 'Q', 'R', 'S', 'T', 'U', 'V', 'W', 'X', 'Y', 'Z'
+    };
+
+    private final char[] digits = new char[] {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9'};
+
+    private final char[] textSymbols =
+            new char[] {'.', ',', '-', ':', ';', '!', '?', '\'', '\"', '#', '%', '(', ')', '+', '='};
+
+    private final char[] titleSymbols = new char[] {'.', ',', '-', '(', ')', '/'};
+
+    private final char[] usernameSymbols = new char[] {'.', '-', '_'};
+
+    private final char[] emailFirstPartSymbols = new char[] {'.', '-', '_'};
+
+    private final char[] emailSecondPartSymbols = new char[] {'-', '_'};
+
+    private final char[] passwordSymbols = new char[] {
+        '.', ',', '-', '_', '<', '>', ':', ';', '!', '?', '#', '$', '%', '^', '&', '*', '(', ')', '+', '='
+    };
+
+    public boolean isValidTitle(String title) {
+        for (char c : title.trim().toCharArray()) {
+            if (!(in(c, alphabet) || in(c, digits) || c == ' ' || in(c, titleSymbols))) return false;
+        }
+        return true;
+    }
+
+    public boolean isValidDescription(String description) {
+        for (char c : description.trim().toCharArray()) {
+            if (!(in(c, alphabet) || in(c, digits) || c == ' ' || in(c, textSymbols))) return false;
+        }
+        return true;
+    }
+
+    public boolean isValidWebLink(String webLink) {
+        String trim = webLink.trim();
+        List<Integer> dotIndexes = new ArrayList<>();
+        char[] webLinkTrimArr = trim.toCharArray();
+        for (int i = 0; i < webLinkTrimArr.length; i++) {
+            if (webLinkTrimArr[i] == '.') dotIndexes.add(i);
+        }
+        if (dotIndexes.size() != 1) return false;
+        return trim.startsWith("http://") || trim.startsWith("https://");
+    }
+
+    public boolean isValidEmail(String email) {
+        String trimEmail = email.trim();
+        List<Integer> atIndexes = new ArrayList<>();
+        char[] trimArr = trimEmail.toCharArray();
+        for (int i = 0; i < trimArr.length; i++) {
+            if (trimArr[i] == '@') atIndexes.add(i);
+        }
+        if (atIndexes.size() != 1) return false;
+
+        String[] trimEmailSplit = trimEmail.split("@");
+        char[] firstPartArr = trimEmailSplit[0].toCharArray();
+        if (firstPartArr.length < 1) return false;
+        for (char c : firstPartArr) {
+            if (!(in(c, emailFirstPartSymbols) || in(c, alphabet) || in(c, digits))) return false;
+        }
+
+        String secondAndThirdParts = trimEmailSplit[1];
+        char[] secondAndThirdPartsArr = secondAndThirdParts.toCharArray();
+        List<Integer> dotIndexes = new ArrayList<>();
+        for (int i = 0; i < secondAndThirdPartsArr.length; i++) {
+            if (secondAndThirdPartsArr[i] == '.') dotIndexes.add(i);
+        }
+        if (dotIndexes.size() != 1) return false;
+
+        String[] secondAndThirdPartsSplit = secondAndThirdParts.split("\\.");
+        char[] secondPartArr = secondAndThirdPartsSplit[0].toCharArray();
+        char[] thirdPartArr = secondAndThirdPartsSplit[1].toCharArray();
+        if (secondPartArr.length < 2 || thirdPartArr.length < 2) return false;
+        for (char c : secondPartArr) {
+            if (!(in(c, emailSecondPartSymbols) || in(c, alphabet) || in(c, digits))) return false;
+        }
+        for (char c : thirdPartArr) {
+            if (!in(c, alphabet)) return false;
+        }
+        return true;
+    }
+
+    public boolean isValidUsername(String username) {
+        for (char c : username.trim().toCharArray()) {
+            if (!(in(c, alphabet) || in(c, digits) || in(c, usernameSymbols))) return false;
+        }
+        return true;
+    }
+
+    public boolean isValidFullName(String fullName) {
+        for (char c : fullName.trim().toCharArray()) {
+            if (!(in(c, alphabet) || c == ' ')) return false;
+        }
+        return true;
+    }
+
+    public boolean isValidPassword(String password) {
+        for (char c : password.trim().toCharArray()) {
+            if (!(in(c, alphabet) || in(c, digits) || in(c, passwordSymbols))) return false;
+        }
+        return true;
+    }
+
+    private static boolean in(char c, char[] chars) {
+        for (char candidate : chars) {
+            if (c == candidate) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,110 @@
+package healthy.lifestyle.backend.user.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import healthy.lifestyle.backend.shared.validation.ValidationUtil;
+import java.util.List;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The lookup-table validators must give the same result as the char[] scanners they replaced, LegacyValidators,
+ * for realistic inputs mixed with random ones. The only exception: inputs the legacy email check failed on
+ * with an exception (a trailing '@' or '.') are now invalid.
+ */
+class LegacyValidatorsEquivalenceTest {
+    static final int INPUTS = 20_000;
+
+    final ValidationUtil validationUtil = new ValidationUtil();
+
+    final UserValidationUtil userValidationUtil = new UserValidationUtil();
+
+    final LegacyValidators legacy = new LegacyValidators();
+
+    @Test
+    void isValidTitle_shouldMatchLegacyValidator() {
+        assertEquivalent(
+                "title",
+                ValidationInputs.mixed(
+                        new String[] {"Morning stretching", "Push-ups (advanced)", "Yoga 1.5/2"}, INPUTS),
+                legacy::isValidTitle,
+                validationUtil::isValidTitle);
+    }
+
+    @Test
+    void isValidDescription_shouldMatchLegacyValidator() {
+        assertEquivalent(
+                "description",
+                ValidationInputs.mixed(
+                        new String[] {
+                            "Keep your back straight, breathe in; hold for 10 seconds!",
+                            "Warm-up: 5 min jogging + stretching (optional)",
+                            "\"Plank\" - 3 sets, 45% effort?"
+                        },
+                        INPUTS),
+                legacy::isValidDescription,
+                validationUtil::isValidDescription);
+    }
+
+    @Test
+    void isValidWebLink_shouldMatchLegacyValidator() {
+        assertEquivalent(
+                "webLink",
+                ValidationInputs.mixed(
+                        new String[] {"https://youtube", "http://example.com", "https://www.example.com/video"},
+                        INPUTS),
+                legacy::isValidWebLink,
+                validationUtil::isValidWebLink);
+    }
+
+    @Test
+    void isValidEmail_shouldMatchLegacyValidator() {
+        assertEquivalent(
+                "email",
+                ValidationInputs.mixed(
+                        new String[] {"john.doe@mail.com", "user_1@my-host.org", "ab@cd.", "a@@b.cd", " x@yz.io "},
+                        INPUTS),
+                legacy::isValidEmail,
+                userValidationUtil::isValidEmail);
+    }
+
+    @Test
+    void isValidUsername_shouldMatchLegacyValidator() {
+        assertEquivalent(
+                "username",
+                ValidationInputs.mixed(new String[] {"john.doe", "user_123", "some-name"}, INPUTS),
+                legacy::isValidUsername,
+                userValidationUtil::isValidUsername);
+    }
+
+    @Test
+    void isValidFullName_shouldMatchLegacyValidator() {
+        assertEquivalent(
+                "fullName",
+                ValidationInputs.mixed(new String[] {"John Doe", "Jane Mary Smith", "Li"}, INPUTS),
+                legacy::isValidFullName,
+                userValidationUtil::isValidFullName);
+    }
+
+    @Test
+    void isValidPassword_shouldMatchLegacyValidator() {
+        assertEquivalent(
+                "password",
+                ValidationInputs.mixed(new String[] {"Str0ng-Passw0rd!", "qwerty_1234$", "a<b>c:d;e^f&g*"}, INPUTS),
+                legacy::isValidPassword,
+                userValidationUtil::isValidPassword);
+    }
+
+    private static void assertEquivalent(
+            String name, List<String> inputs, Predicate<String> legacyCheck, Predicate<String> check) {
+        for (String input : inputs) {
+            boolean expected;
+            try {
+                expected = legacyCheck.test(input);
+            } catch (RuntimeException e) {
+                expected = false;
+            }
+            assertEquals(expected, check.test(input), () -> name + " differs for \"" + input + "\"");
+        }
+    }
+}
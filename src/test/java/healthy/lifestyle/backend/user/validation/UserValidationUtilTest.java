@@ -3,12 +3,10 @@ package healthy.lifestyle.backend.user.validation;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-import healthy.lifestyle.backend.shared.validation.ValidationUtil;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.InjectMocks;
-import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -16,9 +14,6 @@ class UserValidationUtilTest {
     @InjectMocks
     UserValidationUtil userValidationUtil;
 
-    @Spy
-    ValidationUtil validationUtil;
-
     @ParameterizedTest
     @MethodSource("healthy.lifestyle.backend.user.validation.EmailArgs#getValidEmails")
     void isValidEmail_shouldReturnTrue_whenValidEmail(String email) {
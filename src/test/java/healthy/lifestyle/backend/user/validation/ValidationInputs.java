@@ -0,0 +1,39 @@
+package healthy.lifestyle.backend.user.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Inputs for comparing the validators with LegacyValidators: the realistic inputs repeated,
+ * with single-character mutations of them and random strings mixed in. Seeded, so every run gets the same inputs.
+ */
+public class ValidationInputs {
+    static final String FUZZ_CHARS = "abcXYZ019 .,-_:;!?'\"#%()+=/@<>$^&*\t\u00e9\u0416";
+
+    public static List<String> mixed(String[] realistic, int count) {
+        Random random = new Random(42);
+        List<String> inputs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String base = realistic[i % realistic.length];
+            switch (i % 4) {
+                case 0, 1 -> inputs.add(base);
+                case 2 -> {
+                    StringBuilder mutated = new StringBuilder(base);
+                    mutated.setCharAt(
+                            random.nextInt(base.length()), FUZZ_CHARS.charAt(random.nextInt(FUZZ_CHARS.length())));
+                    inputs.add(mutated.toString());
+                }
+                default -> {
+                    StringBuilder randomInput = new StringBuilder();
+                    int length = random.nextInt(16);
+                    for (int j = 0; j < length; j++) {
+                        randomInput.append(FUZZ_CHARS.charAt(random.nextInt(FUZZ_CHARS.length())));
+                    }
+                    inputs.add(randomInput.toString());
+                }
+            }
+        }
+        return inputs;
+    }
+}